@@ -0,0 +1,382 @@
+package io.github.smling.proxmoxmcpserver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.RequestCoalescer;
+import it.corsinvest.proxmoxve.api.MethodType;
+import it.corsinvest.proxmoxve.api.ResponseType;
+import it.corsinvest.proxmoxve.api.Result;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Synthetic cluster of {@code nodes x guests x storages} served from recorded API fixtures.
+ *
+ * <p>Every response is built once per trial, so benchmarks measure tool parsing, aggregation and
+ * formatting rather than I/O. Half of the guests on each node are VMs and half are containers.
+ * {@code latencyMillis} makes each request block like a real upstream call.</p>
+ */
+@State(Scope.Benchmark)
+public class SyntheticCluster {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long GIB = 1024L * 1024L * 1024L;
+    private static final long BASE_CTIME = 1_700_000_000L;
+
+    @Param({"3", "12"})
+    public int nodes;
+
+    @Param({"20", "200"})
+    public int guestsPerNode;
+
+    @Param({"2"})
+    public int storagesPerNode;
+
+    @Param({"0"})
+    public int latencyMillis;
+
+    private final Map<String, Result> fixtures = new HashMap<>();
+    private ProxmoxClient client;
+    private ClusterInventory inventory;
+    private ToolsConfig tools;
+
+    /**
+     * Records the fixtures for the configured cluster size.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixtures.clear();
+        ArrayNode guests = MAPPER.createArrayNode();
+        ArrayNode storage = MAPPER.createArrayNode();
+        ArrayNode nodeList = MAPPER.createArrayNode();
+        int vmid = 100;
+        for (int n = 1; n <= nodes; n++) {
+            String node = nodeName(n);
+            nodeList.add(MAPPER.createObjectNode().put("type", "node").put("node", node).put("status", "online"));
+            int firstVmid = vmid;
+            for (int g = 0; g < guestsPerNode; g++, vmid++) {
+                boolean container = g % 2 == 1;
+                guests.add(guest(node, vmid, container));
+                String type = container ? "lxc" : "qemu";
+                record("/nodes/" + node + "/" + type + "/" + vmid + "/config", config(vmid, container));
+                if (container) {
+                    record("/nodes/" + node + "/lxc/" + vmid + "/rrddata",
+                        Map.of("timeframe", "hour", "ds", "cpu,mem,maxmem"), rrd(vmid));
+                }
+            }
+            for (int s = 1; s <= storagesPerNode; s++) {
+                String store = "store" + s;
+                storage.add(MAPPER.createObjectNode()
+                    .put("type", "storage")
+                    .put("id", "storage/" + node + "/" + store)
+                    .put("node", node)
+                    .put("storage", store)
+                    .put("content", "backup,iso,vztmpl")
+                    .put("status", "available"));
+                record("/nodes/" + node + "/storage/" + store + "/content", Map.of("content", "backup"),
+                    backups(store, firstVmid, guestsPerNode));
+            }
+        }
+        record("/cluster/resources", Map.of("type", "vm"), guests);
+        record("/cluster/resources", Map.of("type", "storage"), storage);
+        record("/cluster/resources", Map.of("type", "node"), nodeList);
+        record("/nodes", nodeList);
+
+        client = new FixtureClient(fixtures, latencyMillis);
+        inventory = new ClusterInventory(client);
+        tools = new ToolsConfig();
+    }
+
+    /**
+     * Releases the fixture client.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+    }
+
+    /**
+     * Returns the client that serves the recorded fixtures.
+     *
+     * @return the fixture client
+     */
+    public ProxmoxClient client() {
+        return client;
+    }
+
+    /**
+     * Returns an uncached inventory over the fixture client.
+     *
+     * @return the cluster inventory
+     */
+    public ClusterInventory inventory() {
+        return inventory;
+    }
+
+    /**
+     * Returns default tool execution settings.
+     *
+     * @return the tool settings
+     */
+    public ToolsConfig tools() {
+        return tools;
+    }
+
+    /**
+     * Returns the name of a node in the cluster.
+     *
+     * @param index the one-based node index
+     * @return the node name
+     */
+    public static String nodeName(int index) {
+        return "pve" + index;
+    }
+
+    /**
+     * Returns the name of a guest in the cluster.
+     *
+     * @param vmid the guest ID
+     * @return the guest name
+     */
+    public static String guestName(int vmid) {
+        return "guest-" + vmid;
+    }
+
+    /**
+     * Returns the ID of the first guest on a node.
+     *
+     * @param index the one-based node index
+     * @return the first guest ID on that node
+     */
+    public int firstVmid(int index) {
+        return 100 + (index - 1) * guestsPerNode;
+    }
+
+    /**
+     * Converts the recorded cluster resources into rows shaped like the tool output.
+     *
+     * @param type the guest type, {@code qemu} or {@code lxc}
+     * @return the guest rows
+     */
+    public List<Map<String, Object>> guestRows(String type) {
+        JsonNode guests = fixtures.get(RequestCoalescer.key("/cluster/resources", Map.of("type", "vm")))
+            .getResponse().path("data");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (JsonNode guest : guests) {
+            if (!type.equals(guest.path("type").asText())) {
+                continue;
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("vmid", guest.path("vmid").asText());
+            row.put("name", guest.path("name").asText());
+            row.put("node", guest.path("node").asText());
+            row.put("status", guest.path("status").asText());
+            row.put("cpu", guest.path("cpu").asDouble());
+            row.put("cpus", guest.path("maxcpu").asInt());
+            row.put("memory", Map.of("used", guest.path("mem").asLong(), "total", guest.path("maxmem").asLong()));
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Converts the recorded storage resources into rows shaped like the tool output.
+     *
+     * @return the storage rows
+     */
+    public List<Map<String, Object>> storageRows() {
+        JsonNode storage = fixtures.get(RequestCoalescer.key("/cluster/resources", Map.of("type", "storage")))
+            .getResponse().path("data");
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (JsonNode store : storage) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("storage", store.path("storage").asText());
+            row.put("type", "dir");
+            row.put("content", store.path("content").asText());
+            row.put("status", store.path("status").asText());
+            row.put("used", 120 * GIB);
+            row.put("total", 500 * GIB);
+            row.put("avail", 380 * GIB);
+            rows.add(row);
+        }
+        return rows;
+    }
+
+    /**
+     * Builds a cluster resource entry for a guest.
+     *
+     * @param node the node name
+     * @param vmid the guest ID
+     * @param container whether the guest is a container
+     * @return the resource entry
+     */
+    private static ObjectNode guest(String node, int vmid, boolean container) {
+        boolean running = vmid % 5 != 0;
+        return MAPPER.createObjectNode()
+            .put("id", (container ? "lxc/" : "qemu/") + vmid)
+            .put("type", container ? "lxc" : "qemu")
+            .put("node", node)
+            .put("vmid", vmid)
+            .put("name", guestName(vmid))
+            .put("status", running ? "running" : "stopped")
+            .put("cpu", running ? 0.02 + (vmid % 7) / 100.0 : 0.0)
+            .put("maxcpu", 2)
+            .put("mem", running ? (vmid % 4 + 1) * GIB / 4 : 0L)
+            .put("maxmem", 2 * GIB)
+            .put("uptime", running ? 86_400L : 0L);
+    }
+
+    /**
+     * Builds a guest configuration.
+     *
+     * @param vmid the guest ID
+     * @param container whether the guest is a container
+     * @return the guest configuration
+     */
+    private static ObjectNode config(int vmid, boolean container) {
+        ObjectNode config = MAPPER.createObjectNode()
+            .put("cores", 2)
+            .put("memory", 2048)
+            .put("name", guestName(vmid));
+        if (container) {
+            config.put("hostname", guestName(vmid)).put("swap", 512).put("rootfs", "store1:vm-" + vmid + "-disk-0");
+        } else {
+            config.put("sockets", 1).put("scsi0", "store1:vm-" + vmid + "-disk-0,size=32G");
+        }
+        return config;
+    }
+
+    /**
+     * Builds an hour of RRD samples at one-minute resolution.
+     *
+     * @param vmid the guest ID
+     * @return the RRD samples
+     */
+    private static ArrayNode rrd(int vmid) {
+        ArrayNode samples = MAPPER.createArrayNode();
+        for (int minute = 0; minute < 60; minute++) {
+            samples.add(MAPPER.createObjectNode()
+                .put("time", BASE_CTIME + minute * 60L)
+                .put("cpu", (vmid % 7 + minute % 3) / 100.0)
+                .put("mem", (vmid % 4 + 1) * GIB / 4)
+                .put("maxmem", 2 * GIB));
+        }
+        return samples;
+    }
+
+    /**
+     * Builds the backup listing for one storage pool, one archive per guest on the node.
+     *
+     * @param store the storage name
+     * @param firstVmid the first guest ID on the node
+     * @param count the number of guests on the node
+     * @return the content listing
+     */
+    private static ArrayNode backups(String store, int firstVmid, int count) {
+        ArrayNode content = MAPPER.createArrayNode();
+        for (int vmid = firstVmid; vmid < firstVmid + count; vmid++) {
+            boolean container = (vmid - firstVmid) % 2 == 1;
+            long ctime = BASE_CTIME + vmid * 3_600L;
+            content.add(MAPPER.createObjectNode()
+                .put("volid", store + ":backup/vzdump-" + (container ? "lxc" : "qemu") + "-" + vmid + "-" + ctime
+                    + (container ? ".tar.zst" : ".vma.zst"))
+                .put("content", "backup")
+                .put("format", container ? "tar.zst" : "vma.zst")
+                .put("vmid", vmid)
+                .put("ctime", ctime)
+                .put("size", (vmid % 9 + 1) * GIB)
+                .put("notes", guestName(vmid))
+                .put("protected", vmid % 10 == 0));
+        }
+        return content;
+    }
+
+    /**
+     * Records a fixture for a path without query parameters.
+     *
+     * @param path the API path
+     * @param data the response data
+     */
+    private void record(String path, JsonNode data) {
+        record(path, Map.of(), data);
+    }
+
+    /**
+     * Records a fixture for a path and query.
+     *
+     * @param path the API path
+     * @param query the query parameters
+     * @param data the response data
+     */
+    private void record(String path, Map<String, String> query, JsonNode data) {
+        ObjectNode response = MAPPER.createObjectNode();
+        response.set("data", data);
+        fixtures.put(RequestCoalescer.key(path, query),
+            new Result(response, 200, "OK", true, path, Map.copyOf(query), MethodType.GET, ResponseType.JSON));
+    }
+
+    /**
+     * Client stub that answers GET requests from the recorded fixtures.
+     */
+    private static final class FixtureClient extends ProxmoxClient {
+        private final Map<String, Result> fixtures;
+        private final long latencyMillis;
+
+        /**
+         * Creates a stub client; no connection is ever opened.
+         *
+         * @param fixtures recorded responses keyed by path and query
+         * @param latencyMillis simulated upstream latency per request, blocking the calling thread
+         */
+        private FixtureClient(Map<String, Result> fixtures, long latencyMillis) {
+            super("127.0.0.1", 8006, false, "benchmark@pve", "benchmark", "unused");
+            this.fixtures = fixtures;
+            this.latencyMillis = latencyMillis;
+        }
+
+        /**
+         * Returns the recorded response for a path without query parameters.
+         *
+         * @param path the API path
+         * @return the recorded result
+         * @throws InterruptedException when interrupted during simulated latency
+         */
+        @Override
+        public Result get(String path) throws InterruptedException {
+            return get(path, Map.of());
+        }
+
+        /**
+         * Returns the recorded response for a path and query.
+         *
+         * @param path the API path
+         * @param query query parameters
+         * @return the recorded result
+         * @throws InterruptedException when interrupted during simulated latency
+         */
+        @Override
+        public Result get(String path, Map<String, String> query) throws InterruptedException {
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            Result result = fixtures.get(RequestCoalescer.key(path, query));
+            if (result == null) {
+                throw new IllegalStateException("Proxmox API error: 404 - no fixture for " + path);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package io.github.smling.proxmoxmcpserver.formatting;
+
+import io.github.smling.proxmoxmcpserver.SyntheticCluster;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of the {@link ProxmoxTemplates} renderers for a synthetic cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ProxmoxTemplatesBenchmark {
+    private List<Map<String, Object>> vms;
+    private List<Map<String, Object>> containers;
+    private List<Map<String, Object>> storage;
+
+    /**
+     * Builds the rows to render.
+     *
+     * @param cluster the synthetic cluster
+     */
+    @Setup(Level.Trial)
+    public void setUp(SyntheticCluster cluster) {
+        vms = cluster.guestRows("qemu");
+        containers = cluster.guestRows("lxc");
+        storage = cluster.storageRows();
+    }
+
+    /**
+     * Renders the VM list.
+     *
+     * @return the rendered list
+     */
+    @Benchmark
+    public String vmList() {
+        return ProxmoxTemplates.vmList(vms);
+    }
+
+    /**
+     * Renders the container list.
+     *
+     * @return the rendered list
+     */
+    @Benchmark
+    public String containerList() {
+        return ProxmoxTemplates.containerList(containers);
+    }
+
+    /**
+     * Renders the storage list.
+     *
+     * @return the rendered list
+     */
+    @Benchmark
+    public String storageList() {
+        return ProxmoxTemplates.storageList(storage);
+    }
+}
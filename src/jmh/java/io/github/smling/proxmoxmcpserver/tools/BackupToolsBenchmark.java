@@ -0,0 +1,60 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import io.github.smling.proxmoxmcpserver.SyntheticCluster;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link BackupTools#listBackups(String, String, String)} over a synthetic cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BackupToolsBenchmark {
+    private BackupTools backupTools;
+    private String node;
+
+    /**
+     * Creates the tool over the fixture client.
+     *
+     * @param cluster the synthetic cluster
+     */
+    @Setup(Level.Trial)
+    public void setUp(SyntheticCluster cluster) {
+        backupTools = new BackupTools(cluster.client(), cluster.tools(), cluster.inventory());
+        node = SyntheticCluster.nodeName(1);
+    }
+
+    /**
+     * Lists, sorts and renders every backup in the cluster.
+     *
+     * @return the formatted backup list
+     */
+    @Benchmark
+    public String listAllBackups() {
+        return backupTools.listBackups(null, null, null);
+    }
+
+    /**
+     * Lists the backups stored on a single node.
+     *
+     * @return the formatted backup list
+     */
+    @Benchmark
+    public String listNodeBackups() {
+        return backupTools.listBackups(node, null, null);
+    }
+}
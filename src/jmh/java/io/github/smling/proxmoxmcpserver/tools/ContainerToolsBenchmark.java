@@ -0,0 +1,78 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import io.github.smling.proxmoxmcpserver.SyntheticCluster;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of container listing and selector resolution over a synthetic cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContainerToolsBenchmark {
+    private ContainerTools containerTools;
+    private String selector;
+
+    /**
+     * Creates the tool and a selector that mixes every supported token form.
+     *
+     * @param cluster the synthetic cluster
+     */
+    @Setup(Level.Trial)
+    public void setUp(SyntheticCluster cluster) {
+        containerTools = new ContainerTools(cluster.client(), cluster.tools(), cluster.inventory());
+        int last = cluster.nodes;
+        int first = cluster.firstVmid(1) + 1;
+        int tail = cluster.firstVmid(last) + 1;
+        selector = String.join(",",
+            String.valueOf(first),
+            SyntheticCluster.nodeName(last) + ":" + tail,
+            SyntheticCluster.nodeName(last) + "/" + SyntheticCluster.guestName(tail + 2),
+            SyntheticCluster.guestName(first + 2));
+    }
+
+    /**
+     * Lists containers without live stats.
+     *
+     * @return the formatted container list
+     */
+    @Benchmark
+    public String getContainers() {
+        return containerTools.getContainers(null, false, false, "pretty");
+    }
+
+    /**
+     * Lists containers with live stats and configuration, rendered as JSON.
+     *
+     * @return the container list as JSON
+     */
+    @Benchmark
+    public String getContainersWithStats() {
+        return containerTools.getContainers(null, true, false, "json");
+    }
+
+    /**
+     * Resolves a mixed selector against the full container inventory.
+     *
+     * @return the resolved targets
+     */
+    @Benchmark
+    public List<ContainerTools.ContainerTarget> resolveTargets() {
+        return containerTools.resolveTargets(selector);
+    }
+}
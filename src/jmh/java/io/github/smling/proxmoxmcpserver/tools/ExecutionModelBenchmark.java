@@ -0,0 +1,99 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import io.github.smling.proxmoxmcpserver.SyntheticCluster;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to complete a burst of concurrent tool calls that block on upstream I/O.
+ *
+ * <p>{@code platform} runs each call on a fixed pool sized like Tomcat's default request pool
+ * (200 threads), {@code virtual} runs each call on its own virtual thread, as with
+ * {@code spring.threads.virtual.enabled=true}. Every API request sleeps {@code latencyMillis}.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExecutionModelBenchmark {
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"1000"})
+    public int concurrentCalls;
+
+    @Param({"20"})
+    public int latencyMillis;
+
+    private SyntheticCluster cluster;
+    private VmTools vmTools;
+    private ExecutorService executor;
+
+    /**
+     * Builds a small cluster with blocking fixtures and the executor for the selected mode.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        cluster = new SyntheticCluster();
+        cluster.nodes = 1;
+        cluster.guestsPerNode = 4;
+        cluster.storagesPerNode = 1;
+        cluster.latencyMillis = latencyMillis;
+        cluster.setUp();
+        vmTools = new VmTools(cluster.client(), cluster.tools(), cluster.inventory());
+        executor = switch (mode) {
+            case "platform" -> Executors.newFixedThreadPool(PLATFORM_THREADS);
+            case "virtual" -> Executors.newVirtualThreadPerTaskExecutor();
+            default -> throw new IllegalArgumentException("Unknown mode: " + mode);
+        };
+    }
+
+    /**
+     * Stops the executor and the fixture client.
+     */
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.close();
+        cluster.tearDown();
+    }
+
+    /**
+     * Submits {@code concurrentCalls} VM listings at once and waits for all of them.
+     *
+     * @return the total response length, to keep results alive
+     * @throws Exception when a call fails
+     */
+    @Benchmark
+    public long burst() throws Exception {
+        List<Future<String>> calls = new ArrayList<>(concurrentCalls);
+        for (int i = 0; i < concurrentCalls; i++) {
+            calls.add(executor.submit(vmTools::getVms));
+        }
+        long length = 0;
+        for (Future<String> call : calls) {
+            length += call.get().length();
+        }
+        return length;
+    }
+}
@@ -0,0 +1,48 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import io.github.smling.proxmoxmcpserver.SyntheticCluster;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of {@link VmTools#getVms()} over a synthetic cluster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VmToolsBenchmark {
+    private VmTools vmTools;
+
+    /**
+     * Creates the tool over the fixture client.
+     *
+     * @param cluster the synthetic cluster
+     */
+    @Setup(Level.Trial)
+    public void setUp(SyntheticCluster cluster) {
+        vmTools = new VmTools(cluster.client(), cluster.tools(), cluster.inventory());
+    }
+
+    /**
+     * Lists every VM including its configured core count.
+     *
+     * @return the formatted VM list
+     */
+    @Benchmark
+    public String getVms() {
+        return vmTools.getVms();
+    }
+}
@@ -0,0 +1,151 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Cluster inventory cache settings.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CacheConfig {
+    private boolean enabled = true;
+    @JsonProperty("nodes_ttl_seconds")
+    private int nodesTtlSeconds = 60;
+    @JsonProperty("guests_ttl_seconds")
+    private int guestsTtlSeconds = 15;
+    @JsonProperty("storage_ttl_seconds")
+    private int storageTtlSeconds = 60;
+    @JsonProperty("refresh_ahead_ratio")
+    private double refreshAheadRatio = 0.8;
+    @JsonProperty("max_stale_seconds")
+    private int maxStaleSeconds = 120;
+    @JsonProperty("rrd_max_series")
+    private int rrdMaxSeries = 4096;
+
+    /**
+     * Returns whether inventory lookups are cached.
+     *
+     * @return {@code true} when caching is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether inventory lookups are cached.
+     *
+     * @param enabled whether to cache inventory lookups
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns how long the node list stays fresh.
+     *
+     * @return the node TTL in seconds
+     */
+    public int getNodesTtlSeconds() {
+        return nodesTtlSeconds;
+    }
+
+    /**
+     * Sets how long the node list stays fresh.
+     *
+     * @param nodesTtlSeconds the node TTL in seconds
+     */
+    public void setNodesTtlSeconds(int nodesTtlSeconds) {
+        this.nodesTtlSeconds = nodesTtlSeconds;
+    }
+
+    /**
+     * Returns how long the VM and container lists stay fresh.
+     *
+     * @return the guest TTL in seconds
+     */
+    public int getGuestsTtlSeconds() {
+        return guestsTtlSeconds;
+    }
+
+    /**
+     * Sets how long the VM and container lists stay fresh.
+     *
+     * @param guestsTtlSeconds the guest TTL in seconds
+     */
+    public void setGuestsTtlSeconds(int guestsTtlSeconds) {
+        this.guestsTtlSeconds = guestsTtlSeconds;
+    }
+
+    /**
+     * Returns how long the storage list stays fresh.
+     *
+     * @return the storage TTL in seconds
+     */
+    public int getStorageTtlSeconds() {
+        return storageTtlSeconds;
+    }
+
+    /**
+     * Sets how long the storage list stays fresh.
+     *
+     * @param storageTtlSeconds the storage TTL in seconds
+     */
+    public void setStorageTtlSeconds(int storageTtlSeconds) {
+        this.storageTtlSeconds = storageTtlSeconds;
+    }
+
+    /**
+     * Returns the fraction of the TTL after which recently read entries are refreshed in the background.
+     *
+     * @return the refresh-ahead ratio, {@code 0} to disable
+     */
+    public double getRefreshAheadRatio() {
+        return refreshAheadRatio;
+    }
+
+    /**
+     * Sets the fraction of the TTL after which recently read entries are refreshed in the background.
+     *
+     * @param refreshAheadRatio the refresh-ahead ratio, {@code 0} to disable
+     */
+    public void setRefreshAheadRatio(double refreshAheadRatio) {
+        this.refreshAheadRatio = refreshAheadRatio;
+    }
+
+    /**
+     * Returns how long an expired node or storage entry may still be served while it is revalidated.
+     * Guest entries carry live status and are never served past their TTL.
+     *
+     * @return the stale window in seconds
+     */
+    public int getMaxStaleSeconds() {
+        return maxStaleSeconds;
+    }
+
+    /**
+     * Sets how long an expired node or storage entry may still be served while it is revalidated.
+     *
+     * @param maxStaleSeconds the stale window in seconds
+     */
+    public void setMaxStaleSeconds(int maxStaleSeconds) {
+        this.maxStaleSeconds = maxStaleSeconds;
+    }
+
+    /**
+     * Returns how many guest RRD series are kept in memory.
+     *
+     * @return the maximum number of cached series
+     */
+    public int getRrdMaxSeries() {
+        return rrdMaxSeries;
+    }
+
+    /**
+     * Sets how many guest RRD series are kept in memory.
+     *
+     * @param rrdMaxSeries the maximum number of cached series
+     */
+    public void setRrdMaxSeries(int rrdMaxSeries) {
+        this.rrdMaxSeries = rrdMaxSeries;
+    }
+}
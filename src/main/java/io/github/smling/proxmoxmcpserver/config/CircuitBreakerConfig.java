@@ -0,0 +1,70 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Per-node circuit breaker settings for the Proxmox API client.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class CircuitBreakerConfig {
+    private boolean enabled = true;
+    @JsonProperty("failure_threshold")
+    private int failureThreshold = 5;
+    @JsonProperty("open_seconds")
+    private int openSeconds = 30;
+
+    /**
+     * Returns whether requests to failing nodes are short-circuited.
+     *
+     * @return {@code true} when the circuit breaker is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether requests to failing nodes are short-circuited.
+     *
+     * @param enabled whether to enable the circuit breaker
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns how many consecutive failures open a node's circuit.
+     *
+     * @return the failure threshold
+     */
+    public int getFailureThreshold() {
+        return failureThreshold;
+    }
+
+    /**
+     * Sets how many consecutive failures open a node's circuit.
+     *
+     * @param failureThreshold the failure threshold
+     */
+    public void setFailureThreshold(int failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    /**
+     * Returns how long an open circuit rejects requests before a probe is let through.
+     *
+     * @return the open duration in seconds
+     */
+    public int getOpenSeconds() {
+        return openSeconds;
+    }
+
+    /**
+     * Sets how long an open circuit rejects requests before a probe is let through.
+     *
+     * @param openSeconds the open duration in seconds
+     */
+    public void setOpenSeconds(int openSeconds) {
+        this.openSeconds = openSeconds;
+    }
+}
@@ -10,6 +10,8 @@ public class Config {
     private ProxmoxConfig proxmox;
     private AuthConfig auth;
     private McpConfig mcp = new McpConfig();
+    private ToolsConfig tools = new ToolsConfig();
+    private CacheConfig cache = new CacheConfig();
 
     /**
      * Returns the Proxmox connection configuration.
@@ -64,4 +66,40 @@ public class Config {
     public void setMcp(McpConfig mcp) {
         this.mcp = mcp;
     }
+
+    /**
+     * Returns the tool execution configuration.
+     *
+     * @return the tools configuration
+     */
+    public ToolsConfig getTools() {
+        return tools;
+    }
+
+    /**
+     * Sets the tool execution configuration.
+     *
+     * @param tools the tools configuration
+     */
+    public void setTools(ToolsConfig tools) {
+        this.tools = tools;
+    }
+
+    /**
+     * Returns the inventory cache configuration.
+     *
+     * @return the cache configuration
+     */
+    public CacheConfig getCache() {
+        return cache;
+    }
+
+    /**
+     * Sets the inventory cache configuration.
+     *
+     * @param cache the cache configuration
+     */
+    public void setCache(CacheConfig cache) {
+        this.cache = cache;
+    }
 }
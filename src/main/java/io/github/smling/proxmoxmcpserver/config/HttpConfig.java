@@ -0,0 +1,248 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * HTTP transport settings for the Proxmox API client.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class HttpConfig {
+    private boolean pooled = false;
+    @JsonProperty("max_connections")
+    private int maxConnections = 16;
+    @JsonProperty("idle_timeout_seconds")
+    private int idleTimeoutSeconds = 30;
+    @JsonProperty("connect_timeout_seconds")
+    private int connectTimeoutSeconds = 5;
+    @JsonProperty("request_timeout_seconds")
+    private int requestTimeoutSeconds = 10;
+    @JsonProperty("tls_session_timeout_seconds")
+    private int tlsSessionTimeoutSeconds = 3600;
+    @JsonProperty("coalesce_gets")
+    private boolean coalesceGets = true;
+    private LoadBalancing loadBalancing = LoadBalancing.LEAST_OUTSTANDING;
+    @JsonProperty("health_check_interval_seconds")
+    private int healthCheckIntervalSeconds = 15;
+    private RetryConfig retry = new RetryConfig();
+    private ThrottleConfig throttle = new ThrottleConfig();
+    @JsonProperty("circuit_breaker")
+    private CircuitBreakerConfig circuitBreaker = new CircuitBreakerConfig();
+
+    /**
+     * Returns whether the pooled keep-alive transport is used instead of the default client.
+     *
+     * @return {@code true} when the pooled transport is enabled
+     */
+    public boolean isPooled() {
+        return pooled;
+    }
+
+    /**
+     * Sets whether the pooled keep-alive transport is used instead of the default client.
+     *
+     * @param pooled whether to enable the pooled transport
+     */
+    public void setPooled(boolean pooled) {
+        this.pooled = pooled;
+    }
+
+    /**
+     * Returns the maximum number of concurrent connections to the Proxmox API.
+     *
+     * @return the connection limit
+     */
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    /**
+     * Sets the maximum number of concurrent connections to the Proxmox API.
+     *
+     * @param maxConnections the connection limit
+     */
+    public void setMaxConnections(int maxConnections) {
+        this.maxConnections = maxConnections;
+    }
+
+    /**
+     * Returns how long an idle pooled connection is kept before eviction.
+     *
+     * @return the idle timeout in seconds
+     */
+    public int getIdleTimeoutSeconds() {
+        return idleTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long an idle pooled connection is kept before eviction.
+     *
+     * @param idleTimeoutSeconds the idle timeout in seconds
+     */
+    public void setIdleTimeoutSeconds(int idleTimeoutSeconds) {
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+    }
+
+    /**
+     * Returns the TCP connect timeout.
+     *
+     * @return the connect timeout in seconds
+     */
+    public int getConnectTimeoutSeconds() {
+        return connectTimeoutSeconds;
+    }
+
+    /**
+     * Sets the TCP connect timeout.
+     *
+     * @param connectTimeoutSeconds the connect timeout in seconds
+     */
+    public void setConnectTimeoutSeconds(int connectTimeoutSeconds) {
+        this.connectTimeoutSeconds = connectTimeoutSeconds;
+    }
+
+    /**
+     * Returns the per-request timeout.
+     *
+     * @return the request timeout in seconds
+     */
+    public int getRequestTimeoutSeconds() {
+        return requestTimeoutSeconds;
+    }
+
+    /**
+     * Sets the per-request timeout.
+     *
+     * @param requestTimeoutSeconds the request timeout in seconds
+     */
+    public void setRequestTimeoutSeconds(int requestTimeoutSeconds) {
+        this.requestTimeoutSeconds = requestTimeoutSeconds;
+    }
+
+    /**
+     * Returns how long cached TLS sessions may be resumed.
+     *
+     * @return the TLS session timeout in seconds
+     */
+    public int getTlsSessionTimeoutSeconds() {
+        return tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long cached TLS sessions may be resumed.
+     *
+     * @param tlsSessionTimeoutSeconds the TLS session timeout in seconds
+     */
+    public void setTlsSessionTimeoutSeconds(int tlsSessionTimeoutSeconds) {
+        this.tlsSessionTimeoutSeconds = tlsSessionTimeoutSeconds;
+    }
+
+    /**
+     * Returns whether identical concurrent GET requests share one upstream request.
+     *
+     * @return {@code true} when GET coalescing is enabled
+     */
+    public boolean isCoalesceGets() {
+        return coalesceGets;
+    }
+
+    /**
+     * Sets whether identical concurrent GET requests share one upstream request.
+     *
+     * @param coalesceGets whether to coalesce GET requests
+     */
+    public void setCoalesceGets(boolean coalesceGets) {
+        this.coalesceGets = coalesceGets;
+    }
+
+    /**
+     * Returns how GET requests are spread across API endpoints.
+     *
+     * @return the load balancing strategy
+     */
+    public LoadBalancing getLoadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * Sets how GET requests are spread across API endpoints from a string identifier.
+     *
+     * @param loadBalancing the strategy name
+     */
+    @JsonProperty("load_balancing")
+    public void setLoadBalancing(String loadBalancing) {
+        this.loadBalancing = LoadBalancing.fromString(loadBalancing);
+    }
+
+    /**
+     * Returns how often endpoints are probed when several are configured.
+     *
+     * @return the health check interval in seconds
+     */
+    public int getHealthCheckIntervalSeconds() {
+        return healthCheckIntervalSeconds;
+    }
+
+    /**
+     * Sets how often endpoints are probed when several are configured.
+     *
+     * @param healthCheckIntervalSeconds the health check interval in seconds, {@code 0} disables probing
+     */
+    public void setHealthCheckIntervalSeconds(int healthCheckIntervalSeconds) {
+        this.healthCheckIntervalSeconds = healthCheckIntervalSeconds;
+    }
+
+    /**
+     * Returns the retry settings for GET requests.
+     *
+     * @return the retry configuration
+     */
+    public RetryConfig getRetry() {
+        return retry;
+    }
+
+    /**
+     * Sets the retry settings for GET requests.
+     *
+     * @param retry the retry configuration
+     */
+    public void setRetry(RetryConfig retry) {
+        this.retry = retry;
+    }
+
+    /**
+     * Returns the per-node circuit breaker settings.
+     *
+     * @return the circuit breaker configuration
+     */
+    public CircuitBreakerConfig getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Sets the per-node circuit breaker settings.
+     *
+     * @param circuitBreaker the circuit breaker configuration
+     */
+    public void setCircuitBreaker(CircuitBreakerConfig circuitBreaker) {
+        this.circuitBreaker = circuitBreaker;
+    }
+
+    /**
+     * Returns the client-side rate and concurrency limits.
+     *
+     * @return the throttle configuration
+     */
+    public ThrottleConfig getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Sets the client-side rate and concurrency limits.
+     *
+     * @param throttle the throttle configuration
+     */
+    public void setThrottle(ThrottleConfig throttle) {
+        this.throttle = throttle;
+    }
+}
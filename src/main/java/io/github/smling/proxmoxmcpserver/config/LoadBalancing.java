@@ -0,0 +1,22 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+/**
+ * Strategies for spreading API requests across Proxmox endpoints.
+ */
+public enum LoadBalancing {
+    LEAST_OUTSTANDING,
+    ROUND_ROBIN;
+
+    /**
+     * Parses a strategy identifier into a {@link LoadBalancing} value.
+     *
+     * @param value the strategy name
+     * @return the matching strategy, defaulting to {@link #LEAST_OUTSTANDING}
+     */
+    public static LoadBalancing fromString(String value) {
+        if (value == null || value.isBlank()) {
+            return LEAST_OUTSTANDING;
+        }
+        return LoadBalancing.valueOf(value.trim().toUpperCase().replace('-', '_'));
+    }
+}
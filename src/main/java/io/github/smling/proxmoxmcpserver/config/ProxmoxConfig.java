@@ -3,16 +3,20 @@ package io.github.smling.proxmoxmcpserver.config;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.util.List;
+
 /**
  * Connection settings for the Proxmox API.
  */
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class ProxmoxConfig {
     private String host;
+    private List<String> endpoints = List.of();
     private int port = 8006;
     @JsonProperty("verify_ssl")
     private boolean verifySsl = true;
     private String service = "PVE";
+    private HttpConfig http = new HttpConfig();
 
     /**
      * Returns the Proxmox host address.
@@ -32,6 +36,24 @@ public class ProxmoxConfig {
         this.host = host;
     }
 
+    /**
+     * Returns additional API endpoints, as {@code host} or {@code host:port}, used next to {@link #getHost()}.
+     *
+     * @return the additional endpoints
+     */
+    public List<String> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Sets additional API endpoints, as {@code host} or {@code host:port}, used next to {@link #getHost()}.
+     *
+     * @param endpoints the additional endpoints
+     */
+    public void setEndpoints(List<String> endpoints) {
+        this.endpoints = endpoints;
+    }
+
     /**
      * Returns the Proxmox API port.
      *
@@ -85,4 +107,22 @@ public class ProxmoxConfig {
     public void setService(String service) {
         this.service = service;
     }
+
+    /**
+     * Returns the HTTP transport settings.
+     *
+     * @return the HTTP configuration
+     */
+    public HttpConfig getHttp() {
+        return http;
+    }
+
+    /**
+     * Sets the HTTP transport settings.
+     *
+     * @param http the HTTP configuration
+     */
+    public void setHttp(HttpConfig http) {
+        this.http = http;
+    }
 }
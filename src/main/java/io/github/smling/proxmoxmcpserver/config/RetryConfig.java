@@ -0,0 +1,93 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * Retry settings for idempotent Proxmox API requests.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class RetryConfig {
+    @JsonProperty("max_attempts")
+    private int maxAttempts = 3;
+    @JsonProperty("initial_backoff_millis")
+    private long initialBackoffMillis = 100;
+    @JsonProperty("max_backoff_millis")
+    private long maxBackoffMillis = 2000;
+    @JsonProperty("retry_statuses")
+    private List<Integer> retryStatuses = List.of(500, 502, 503, 504, 596);
+
+    /**
+     * Returns the total number of attempts per GET request, including the first one.
+     *
+     * @return the maximum attempts
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * Sets the total number of attempts per GET request, including the first one.
+     *
+     * @param maxAttempts the maximum attempts, {@code 1} disables retries
+     */
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    /**
+     * Returns the backoff ceiling before the first retry.
+     *
+     * @return the initial backoff in milliseconds
+     */
+    public long getInitialBackoffMillis() {
+        return initialBackoffMillis;
+    }
+
+    /**
+     * Sets the backoff ceiling before the first retry.
+     *
+     * @param initialBackoffMillis the initial backoff in milliseconds
+     */
+    public void setInitialBackoffMillis(long initialBackoffMillis) {
+        this.initialBackoffMillis = initialBackoffMillis;
+    }
+
+    /**
+     * Returns the upper bound for the exponential backoff.
+     *
+     * @return the maximum backoff in milliseconds
+     */
+    public long getMaxBackoffMillis() {
+        return maxBackoffMillis;
+    }
+
+    /**
+     * Sets the upper bound for the exponential backoff.
+     *
+     * @param maxBackoffMillis the maximum backoff in milliseconds
+     */
+    public void setMaxBackoffMillis(long maxBackoffMillis) {
+        this.maxBackoffMillis = maxBackoffMillis;
+    }
+
+    /**
+     * Returns the HTTP status codes that are retried.
+     *
+     * @return the retryable status codes
+     */
+    public List<Integer> getRetryStatuses() {
+        return retryStatuses;
+    }
+
+    /**
+     * Sets the HTTP status codes that are retried.
+     *
+     * @param retryStatuses the retryable status codes
+     */
+    public void setRetryStatuses(List<Integer> retryStatuses) {
+        this.retryStatuses = retryStatuses;
+    }
+}
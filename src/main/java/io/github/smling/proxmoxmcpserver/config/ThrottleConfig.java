@@ -0,0 +1,171 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Client-side rate and concurrency limits toward the Proxmox API.
+ *
+ * <p>Rates of {@code 0} disable the token bucket; in-flight limits of {@code 0} disable the bulkhead.</p>
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ThrottleConfig {
+    private boolean enabled = true;
+    @JsonProperty("requests_per_second")
+    private double requestsPerSecond = 0;
+    private int burst = 20;
+    @JsonProperty("max_in_flight")
+    private int maxInFlight = 16;
+    @JsonProperty("per_node_requests_per_second")
+    private double perNodeRequestsPerSecond = 0;
+    @JsonProperty("per_node_burst")
+    private int perNodeBurst = 10;
+    @JsonProperty("per_node_max_in_flight")
+    private int perNodeMaxInFlight = 4;
+    @JsonProperty("prioritize_mutations")
+    private boolean prioritizeMutations = true;
+
+    /**
+     * Returns whether API requests are throttled.
+     *
+     * @return {@code true} when throttling is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Sets whether API requests are throttled.
+     *
+     * @param enabled whether to enable throttling
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the sustained request rate across all nodes.
+     *
+     * @return requests per second, {@code 0} for unlimited
+     */
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    /**
+     * Sets the sustained request rate across all nodes.
+     *
+     * @param requestsPerSecond requests per second, {@code 0} for unlimited
+     */
+    public void setRequestsPerSecond(double requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Returns how many requests may be sent at once before the global rate applies.
+     *
+     * @return the global burst size
+     */
+    public int getBurst() {
+        return burst;
+    }
+
+    /**
+     * Sets how many requests may be sent at once before the global rate applies.
+     *
+     * @param burst the global burst size
+     */
+    public void setBurst(int burst) {
+        this.burst = burst;
+    }
+
+    /**
+     * Returns the maximum number of concurrent requests across all nodes.
+     *
+     * @return the global in-flight limit, {@code 0} for unlimited
+     */
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests across all nodes.
+     *
+     * @param maxInFlight the global in-flight limit, {@code 0} for unlimited
+     */
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Returns the sustained request rate per node.
+     *
+     * @return requests per second per node, {@code 0} for unlimited
+     */
+    public double getPerNodeRequestsPerSecond() {
+        return perNodeRequestsPerSecond;
+    }
+
+    /**
+     * Sets the sustained request rate per node.
+     *
+     * @param perNodeRequestsPerSecond requests per second per node, {@code 0} for unlimited
+     */
+    public void setPerNodeRequestsPerSecond(double perNodeRequestsPerSecond) {
+        this.perNodeRequestsPerSecond = perNodeRequestsPerSecond;
+    }
+
+    /**
+     * Returns how many requests per node may be sent at once before the node rate applies.
+     *
+     * @return the per-node burst size
+     */
+    public int getPerNodeBurst() {
+        return perNodeBurst;
+    }
+
+    /**
+     * Sets how many requests per node may be sent at once before the node rate applies.
+     *
+     * @param perNodeBurst the per-node burst size
+     */
+    public void setPerNodeBurst(int perNodeBurst) {
+        this.perNodeBurst = perNodeBurst;
+    }
+
+    /**
+     * Returns the maximum number of concurrent requests per node.
+     *
+     * @return the per-node in-flight limit, {@code 0} for unlimited
+     */
+    public int getPerNodeMaxInFlight() {
+        return perNodeMaxInFlight;
+    }
+
+    /**
+     * Sets the maximum number of concurrent requests per node.
+     *
+     * @param perNodeMaxInFlight the per-node in-flight limit, {@code 0} for unlimited
+     */
+    public void setPerNodeMaxInFlight(int perNodeMaxInFlight) {
+        this.perNodeMaxInFlight = perNodeMaxInFlight;
+    }
+
+    /**
+     * Returns whether mutating requests skip ahead of queued reads.
+     *
+     * @return {@code true} when mutations are prioritized
+     */
+    public boolean isPrioritizeMutations() {
+        return prioritizeMutations;
+    }
+
+    /**
+     * Sets whether mutating requests skip ahead of queued reads.
+     *
+     * @param prioritizeMutations whether to prioritize mutations
+     */
+    public void setPrioritizeMutations(boolean prioritizeMutations) {
+        this.prioritizeMutations = prioritizeMutations;
+    }
+}
@@ -0,0 +1,271 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Execution settings shared by the Proxmox tool implementations.
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class ToolsConfig {
+    @JsonProperty("max_concurrency")
+    private int maxConcurrency = 8;
+    @JsonProperty("command_timeout_seconds")
+    private int commandTimeoutSeconds = 30;
+    @JsonProperty("command_poll_initial_millis")
+    private long commandPollInitialMillis = 20;
+    @JsonProperty("command_poll_max_millis")
+    private long commandPollMaxMillis = 1000;
+    @JsonProperty("command_output_max_bytes")
+    private int commandOutputMaxBytes = 65536;
+    @JsonProperty("task_wait_seconds")
+    private int taskWaitSeconds;
+    @JsonProperty("task_poll_initial_millis")
+    private long taskPollInitialMillis = 250;
+    @JsonProperty("task_poll_max_millis")
+    private long taskPollMaxMillis = 2000;
+    @JsonProperty("stats_concurrency")
+    private int statsConcurrency = 16;
+    @JsonProperty("stats_timeout_seconds")
+    private int statsTimeoutSeconds = 10;
+    @JsonProperty("bulk_concurrency")
+    private int bulkConcurrency = 16;
+    @JsonProperty("bulk_per_node_concurrency")
+    private int bulkPerNodeConcurrency = 4;
+    @JsonProperty("rolling_wave_timeout_seconds")
+    private int rollingWaveTimeoutSeconds = 300;
+
+    /**
+     * Returns the maximum number of API calls a single tool issues concurrently.
+     *
+     * @return the concurrency limit
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Sets the maximum number of API calls a single tool issues concurrently.
+     *
+     * @param maxConcurrency the concurrency limit, {@code 1} for sequential calls
+     */
+    public void setMaxConcurrency(int maxConcurrency) {
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Returns how long a guest command may run before its result is returned as still running.
+     *
+     * @return the default command timeout in seconds
+     */
+    public int getCommandTimeoutSeconds() {
+        return commandTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long a guest command may run before its result is returned as still running.
+     *
+     * @param commandTimeoutSeconds the default command timeout in seconds
+     */
+    public void setCommandTimeoutSeconds(int commandTimeoutSeconds) {
+        this.commandTimeoutSeconds = commandTimeoutSeconds;
+    }
+
+    /**
+     * Returns the delay before the first guest command status poll.
+     *
+     * @return the initial poll delay in milliseconds
+     */
+    public long getCommandPollInitialMillis() {
+        return commandPollInitialMillis;
+    }
+
+    /**
+     * Sets the delay before the first guest command status poll; it doubles after each poll.
+     *
+     * @param commandPollInitialMillis the initial poll delay in milliseconds
+     */
+    public void setCommandPollInitialMillis(long commandPollInitialMillis) {
+        this.commandPollInitialMillis = commandPollInitialMillis;
+    }
+
+    /**
+     * Returns the upper bound for the delay between guest command status polls.
+     *
+     * @return the maximum poll delay in milliseconds
+     */
+    public long getCommandPollMaxMillis() {
+        return commandPollMaxMillis;
+    }
+
+    /**
+     * Sets the upper bound for the delay between guest command status polls.
+     *
+     * @param commandPollMaxMillis the maximum poll delay in milliseconds
+     */
+    public void setCommandPollMaxMillis(long commandPollMaxMillis) {
+        this.commandPollMaxMillis = commandPollMaxMillis;
+    }
+
+    /**
+     * Returns how many bytes of each guest command output stream a streamed command result keeps.
+     *
+     * @return the output cap in bytes
+     */
+    public int getCommandOutputMaxBytes() {
+        return commandOutputMaxBytes;
+    }
+
+    /**
+     * Sets how many bytes of each guest command output stream a streamed command result keeps.
+     *
+     * @param commandOutputMaxBytes the output cap in bytes
+     */
+    public void setCommandOutputMaxBytes(int commandOutputMaxBytes) {
+        this.commandOutputMaxBytes = commandOutputMaxBytes;
+    }
+
+    /**
+     * Returns how long mutating tools wait for the Proxmox task they started.
+     *
+     * @return the wait in seconds, {@code 0} to return the task ID immediately
+     */
+    public int getTaskWaitSeconds() {
+        return taskWaitSeconds;
+    }
+
+    /**
+     * Sets how long mutating tools wait for the Proxmox task they started.
+     *
+     * @param taskWaitSeconds the wait in seconds, {@code 0} to return the task ID immediately
+     */
+    public void setTaskWaitSeconds(int taskWaitSeconds) {
+        this.taskWaitSeconds = taskWaitSeconds;
+    }
+
+    /**
+     * Returns the delay before the first task status poll.
+     *
+     * @return the initial poll delay in milliseconds
+     */
+    public long getTaskPollInitialMillis() {
+        return taskPollInitialMillis;
+    }
+
+    /**
+     * Sets the delay before the first task status poll; later polls back off exponentially.
+     *
+     * @param taskPollInitialMillis the initial poll delay in milliseconds
+     */
+    public void setTaskPollInitialMillis(long taskPollInitialMillis) {
+        this.taskPollInitialMillis = taskPollInitialMillis;
+    }
+
+    /**
+     * Returns the upper bound for the delay between task status polls.
+     *
+     * @return the maximum poll delay in milliseconds
+     */
+    public long getTaskPollMaxMillis() {
+        return taskPollMaxMillis;
+    }
+
+    /**
+     * Sets the upper bound for the delay between task status polls.
+     *
+     * @param taskPollMaxMillis the maximum poll delay in milliseconds
+     */
+    public void setTaskPollMaxMillis(long taskPollMaxMillis) {
+        this.taskPollMaxMillis = taskPollMaxMillis;
+    }
+
+    /**
+     * Returns how many guests a listing collects live stats for concurrently.
+     *
+     * @return the stats concurrency cap
+     */
+    public int getStatsConcurrency() {
+        return statsConcurrency;
+    }
+
+    /**
+     * Sets how many guests a listing collects live stats for concurrently.
+     *
+     * @param statsConcurrency the stats concurrency cap
+     */
+    public void setStatsConcurrency(int statsConcurrency) {
+        this.statsConcurrency = statsConcurrency;
+    }
+
+    /**
+     * Returns how long stats collection for one guest may take before it is reported as unavailable.
+     *
+     * @return the per-guest timeout in seconds, {@code 0} for no timeout
+     */
+    public int getStatsTimeoutSeconds() {
+        return statsTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long stats collection for one guest may take before it is reported as unavailable.
+     *
+     * @param statsTimeoutSeconds the per-guest timeout in seconds, {@code 0} for no timeout
+     */
+    public void setStatsTimeoutSeconds(int statsTimeoutSeconds) {
+        this.statsTimeoutSeconds = statsTimeoutSeconds;
+    }
+
+    /**
+     * Returns how many guests a bulk lifecycle action dispatches concurrently across the cluster.
+     *
+     * @return the bulk concurrency cap
+     */
+    public int getBulkConcurrency() {
+        return bulkConcurrency;
+    }
+
+    /**
+     * Sets how many guests a bulk lifecycle action dispatches concurrently across the cluster.
+     *
+     * @param bulkConcurrency the bulk concurrency cap, {@code 1} for sequential calls
+     */
+    public void setBulkConcurrency(int bulkConcurrency) {
+        this.bulkConcurrency = bulkConcurrency;
+    }
+
+    /**
+     * Returns how many guests on one node a bulk lifecycle action dispatches concurrently.
+     *
+     * @return the per-node concurrency cap
+     */
+    public int getBulkPerNodeConcurrency() {
+        return bulkPerNodeConcurrency;
+    }
+
+    /**
+     * Sets how many guests on one node a bulk lifecycle action dispatches concurrently.
+     *
+     * @param bulkPerNodeConcurrency the per-node concurrency cap
+     */
+    public void setBulkPerNodeConcurrency(int bulkPerNodeConcurrency) {
+        this.bulkPerNodeConcurrency = bulkPerNodeConcurrency;
+    }
+
+    /**
+     * Returns how long a rolling action waits for one wave to finish and become healthy.
+     *
+     * @return the default wave timeout in seconds
+     */
+    public int getRollingWaveTimeoutSeconds() {
+        return rollingWaveTimeoutSeconds;
+    }
+
+    /**
+     * Sets how long a rolling action waits for one wave to finish and become healthy.
+     *
+     * @param rollingWaveTimeoutSeconds the default wave timeout in seconds
+     */
+    public void setRollingWaveTimeoutSeconds(int rollingWaveTimeoutSeconds) {
+        this.rollingWaveTimeoutSeconds = rollingWaveTimeoutSeconds;
+    }
+}
@@ -0,0 +1,182 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import it.corsinvest.proxmoxve.api.Result;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Micrometer instrumentation for upstream Proxmox API calls.
+ *
+ * <p>Each call is timed as {@code proxmox.api.requests}, tagged by method, normalized path template, status,
+ * outcome and exception. {@code proxmox.api.in.flight} tracks calls waiting for a response, and
+ * {@code proxmox.api.received} counts response bytes reported by transports that can see them.</p>
+ */
+public class ApiMetrics implements MeterBinder {
+    private static final String VOLUME = "{volume}";
+    private static final Map<String, String> PATH_VARIABLES = Map.ofEntries(
+        Map.entry("nodes", "{node}"),
+        Map.entry("qemu", "{vmid}"),
+        Map.entry("lxc", "{vmid}"),
+        Map.entry("storage", "{storage}"),
+        Map.entry("content", VOLUME),
+        Map.entry("tasks", "{upid}"),
+        Map.entry("snapshot", "{snapname}"),
+        Map.entry("pools", "{poolid}"),
+        Map.entry("users", "{userid}"),
+        Map.entry("groups", "{groupid}"),
+        Map.entry("roles", "{roleid}"),
+        Map.entry("network", "{iface}")
+    );
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder bytesReceived = new LongAdder();
+    private volatile MeterRegistry registry;
+
+    /**
+     * Sends a request through the transport and records its timing.
+     *
+     * @param transport the transport
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result
+     * @throws Exception when the transport fails
+     */
+    public Result send(ProxmoxTransport transport, HttpMethod method, String path, Map<String, Object> params)
+        throws Exception {
+        inFlight.incrementAndGet();
+        UpstreamCalls.record();
+        long start = System.nanoTime();
+        Result result = null;
+        Exception error = null;
+        try {
+            result = transport.send(method, path, params);
+            return result;
+        } catch (Exception e) {
+            error = e;
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            record(method, path, result, error, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adds response bytes read by a transport.
+     *
+     * @param bytes the number of bytes received
+     */
+    public void recordBytesReceived(long bytes) {
+        bytesReceived.add(bytes);
+    }
+
+    /**
+     * Registers the in-flight gauge and received-bytes counter, and enables request timers.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("proxmox.api.in.flight", inFlight, AtomicInteger::get)
+            .description("Proxmox API requests waiting for a response")
+            .register(registry);
+        FunctionCounter.builder("proxmox.api.received", bytesReceived, LongAdder::sum)
+            .description("Response bytes received from the Proxmox API")
+            .baseUnit(BaseUnits.BYTES)
+            .register(registry);
+        this.registry = registry;
+    }
+
+    /**
+     * Replaces identifiers in an API path with named placeholders to keep metric cardinality bounded.
+     *
+     * <p>For example {@code /nodes/pve1/qemu/100/config} becomes {@code /nodes/{node}/qemu/{vmid}/config}.
+     * Numeric segments without a known collection become {@code {id}}. Volume IDs may contain slashes, so
+     * everything after {@code content/} collapses into {@code {volume}}.</p>
+     *
+     * @param path the API path
+     * @return the path template
+     */
+    public static String pathTemplate(String path) {
+        if (path == null || path.isEmpty()) {
+            return "none";
+        }
+        String[] segments = path.split("/", -1);
+        StringBuilder template = new StringBuilder(segments[0]);
+        boolean previousReplaced = false;
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i];
+            String variable = previousReplaced ? null : PATH_VARIABLES.get(segments[i - 1]);
+            template.append('/');
+            if (!segment.isEmpty() && variable != null) {
+                template.append(variable);
+                if (VOLUME.equals(variable)) {
+                    break;
+                }
+                previousReplaced = true;
+            } else if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+                template.append("{id}");
+                previousReplaced = true;
+            } else {
+                template.append(segment);
+                previousReplaced = false;
+            }
+        }
+        return template.toString();
+    }
+
+    /**
+     * Returns the outcome class for an HTTP status.
+     *
+     * @param status the HTTP status code
+     * @return the outcome name
+     */
+    static String outcome(int status) {
+        return switch (status / 100) {
+            case 1 -> "INFORMATIONAL";
+            case 2 -> "SUCCESS";
+            case 3 -> "REDIRECTION";
+            case 4 -> "CLIENT_ERROR";
+            case 5 -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+
+    /**
+     * Records one call on the request timer.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param result the API result, or {@code null} when none was received
+     * @param error the transport failure, or {@code null}
+     * @param nanos the elapsed time in nanoseconds
+     */
+    private void record(HttpMethod method, String path, Result result, Exception error, long nanos) {
+        MeterRegistry meters = registry;
+        if (meters == null) {
+            return;
+        }
+        String status = result != null ? String.valueOf(result.getStatusCode()) : error != null ? "IO_ERROR" : "NONE";
+        Timer.builder("proxmox.api.requests")
+            .description("Upstream Proxmox API calls")
+            .tag("method", method.name())
+            .tag("uri", pathTemplate(path))
+            .tag("status", status)
+            .tag("outcome", result != null ? outcome(result.getStatusCode()) : "UNKNOWN")
+            .tag("exception", error == null ? "none" : error.getClass().getSimpleName())
+            .publishPercentileHistogram()
+            .register(meters)
+            .record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,419 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import it.corsinvest.proxmoxve.api.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the cluster inventory from {@code /cluster/resources}.
+ *
+ * <p>One call per resource type covers every node, guest or storage with live cpu/mem/disk
+ * figures, so list tools only need per-resource calls for fields it does not carry, such as guest
+ * config. When caching is enabled each type has its own TTL, recently read entries are refreshed
+ * ahead of expiry on a background scheduler, and expired node and storage entries are served for
+ * up to {@code max_stale_seconds} while a refresh runs. Guest entries carry live status, cpu and
+ * memory figures, so they are never served past their TTL.</p>
+ */
+public class ClusterInventory implements AutoCloseable {
+    static final String RESOURCES_PATH = "/cluster/resources";
+    private static final Logger logger = LoggerFactory.getLogger(ClusterInventory.class);
+    private static final long MIN_REFRESH_CHECK_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final Comparator<JsonNode> BY_NODE_AND_VMID = Comparator
+        .comparing((JsonNode resource) -> resource.path("node").asText(""))
+        .thenComparingLong(resource -> resource.path("vmid").asLong(0));
+    private static final Comparator<JsonNode> BY_NODE_AND_STORAGE = Comparator
+        .comparing((JsonNode resource) -> resource.path("node").asText(""))
+        .thenComparing(resource -> resource.path("storage").asText(""));
+
+    private final ProxmoxClient proxmox;
+    private final CacheConfig config;
+    private final LongSupplier clock;
+    private final Supplier<ScheduledExecutorService> schedulerFactory;
+    private final Map<ResourceType, Entry> entries = new EnumMap<>(ResourceType.class);
+    private final RrdCache rrd;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Creates an uncached inventory reader for a Proxmox client.
+     *
+     * @param proxmox the Proxmox client
+     */
+    public ClusterInventory(ProxmoxClient proxmox) {
+        this(proxmox, uncached());
+    }
+
+    /**
+     * Creates an inventory reader with the given cache settings.
+     *
+     * @param proxmox the Proxmox client
+     * @param config the cache settings
+     */
+    public ClusterInventory(ProxmoxClient proxmox, CacheConfig config) {
+        this(proxmox, config, System::nanoTime, ClusterInventory::newScheduler);
+    }
+
+    /**
+     * Creates an inventory reader with an explicit clock and refresh scheduler.
+     *
+     * @param proxmox the Proxmox client
+     * @param config the cache settings
+     * @param clock monotonic time source in nanoseconds
+     * @param schedulerFactory creates the background refresh scheduler on first use
+     */
+    ClusterInventory(ProxmoxClient proxmox, CacheConfig config, LongSupplier clock,
+                     Supplier<ScheduledExecutorService> schedulerFactory) {
+        this.proxmox = proxmox;
+        this.config = config == null ? uncached() : config;
+        this.clock = clock;
+        this.schedulerFactory = schedulerFactory;
+        this.rrd = new RrdCache(proxmox, this.config, clock);
+        entries.put(ResourceType.NODES, new Entry(ResourceType.NODES, this.config.getNodesTtlSeconds(), true));
+        entries.put(ResourceType.GUESTS, new Entry(ResourceType.GUESTS, this.config.getGuestsTtlSeconds(), false));
+        entries.put(ResourceType.STORAGE, new Entry(ResourceType.STORAGE, this.config.getStorageTtlSeconds(), true));
+    }
+
+    /**
+     * Returns cluster nodes.
+     *
+     * @return node entries
+     * @throws Exception when the resource list is unavailable
+     */
+    public List<JsonNode> nodes() throws Exception {
+        return entries.get(ResourceType.NODES).get().nodes();
+    }
+
+    /**
+     * Returns QEMU guests ordered by node and VM ID.
+     *
+     * @return VM entries
+     * @throws Exception when the resource list is unavailable
+     */
+    public List<JsonNode> vms() throws Exception {
+        return entries.get(ResourceType.GUESTS).get().vms();
+    }
+
+    /**
+     * Returns LXC guests ordered by node and VM ID.
+     *
+     * @return container entries
+     * @throws Exception when the resource list is unavailable
+     */
+    public List<JsonNode> containers() throws Exception {
+        return entries.get(ResourceType.GUESTS).get().containers();
+    }
+
+    /**
+     * Returns per-node storage entries ordered by node and storage ID.
+     *
+     * @return storage entries
+     * @throws Exception when the resource list is unavailable
+     */
+    public List<JsonNode> storage() throws Exception {
+        return entries.get(ResourceType.STORAGE).get().storage();
+    }
+
+    /**
+     * Returns the guest RRD cache that shares this inventory's cache settings.
+     *
+     * @return the RRD cache
+     */
+    public RrdCache rrd() {
+        return rrd;
+    }
+
+    /**
+     * Drops every cached entry so the next read fetches fresh data.
+     */
+    public void invalidate() {
+        entries.values().forEach(Entry::invalidate);
+    }
+
+    /**
+     * Stops the background refresh scheduler.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Fetches and groups one resource type.
+     *
+     * @param type the resource type
+     * @return the grouped resources
+     * @throws Exception when the resource list is unavailable
+     */
+    private Resources fetch(ResourceType type) throws Exception {
+        Result result = proxmox.get(RESOURCES_PATH, Map.of("type", type.apiType));
+        JsonNode response = result == null ? null : result.getResponse();
+        JsonNode data = response == null ? null : response.path("data");
+        if (data == null || !data.isArray()) {
+            throw new IllegalStateException("Proxmox API error: no cluster resources returned");
+        }
+        return Resources.of(data);
+    }
+
+    /**
+     * Returns the refresh scheduler, creating it on first use.
+     *
+     * @return the scheduler
+     */
+    private synchronized ScheduledExecutorService scheduler() {
+        if (scheduler == null) {
+            scheduler = schedulerFactory.get();
+        }
+        return scheduler;
+    }
+
+    /**
+     * Creates the daemon scheduler used for background refreshes.
+     *
+     * @return the scheduler
+     */
+    private static ScheduledExecutorService newScheduler() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1,
+            Thread.ofPlatform().name("proxmox-inventory-refresh").daemon().inheritInheritableThreadLocals(false)
+                .factory());
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    /**
+     * Returns settings that disable caching.
+     *
+     * @return the cache settings
+     */
+    private static CacheConfig uncached() {
+        CacheConfig config = new CacheConfig();
+        config.setEnabled(false);
+        return config;
+    }
+
+    /**
+     * Resource types that are fetched and cached independently.
+     */
+    private enum ResourceType {
+        NODES("node"),
+        GUESTS("vm"),
+        STORAGE("storage");
+
+        private final String apiType;
+
+        ResourceType(String apiType) {
+            this.apiType = apiType;
+        }
+    }
+
+    /**
+     * A cached resource list with its load time.
+     *
+     * @param resources the grouped resources
+     * @param loadedAt load time in clock nanoseconds
+     */
+    private record Loaded(Resources resources, long loadedAt) {
+    }
+
+    /**
+     * Cache slot for one resource type.
+     */
+    private final class Entry {
+        private final ResourceType type;
+        private final long ttlNanos;
+        private final long refreshAheadNanos;
+        private final long maxStaleNanos;
+        private final ReentrantLock loadLock = new ReentrantLock();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final AtomicBoolean readSinceLoad = new AtomicBoolean();
+        private final AtomicLong generation = new AtomicLong();
+        private volatile Loaded loaded;
+
+        /**
+         * Creates a cache slot.
+         *
+         * @param type the resource type
+         * @param ttlSeconds how long loaded data stays fresh
+         * @param servesStale whether expired data may be served for {@code max_stale_seconds} while revalidating
+         */
+        Entry(ResourceType type, int ttlSeconds, boolean servesStale) {
+            this.type = type;
+            this.ttlNanos = config.isEnabled() ? TimeUnit.SECONDS.toNanos(Math.max(0, ttlSeconds)) : 0L;
+            double ratio = config.getRefreshAheadRatio();
+            this.refreshAheadNanos = ratio > 0 && ratio < 1 ? (long) (ttlNanos * ratio) : 0L;
+            this.maxStaleNanos = config.isEnabled() && servesStale
+                ? TimeUnit.SECONDS.toNanos(Math.max(0, config.getMaxStaleSeconds()))
+                : 0L;
+        }
+
+        /**
+         * Returns fresh data, stale data while revalidating, or loads synchronously.
+         *
+         * @return the grouped resources
+         * @throws Exception when loading fails
+         */
+        Resources get() throws Exception {
+            if (ttlNanos == 0) {
+                return fetch(type);
+            }
+            Loaded current = loaded;
+            if (current != null) {
+                long age = clock.getAsLong() - current.loadedAt();
+                if (age < ttlNanos) {
+                    readSinceLoad.set(true);
+                    return current.resources();
+                }
+                if (age < ttlNanos + maxStaleNanos) {
+                    readSinceLoad.set(true);
+                    refreshAsync();
+                    return current.resources();
+                }
+            }
+            loadLock.lock();
+            try {
+                current = loaded;
+                if (current != null && clock.getAsLong() - current.loadedAt() < ttlNanos) {
+                    return current.resources();
+                }
+                return load();
+            } finally {
+                loadLock.unlock();
+            }
+        }
+
+        /**
+         * Fetches and stores fresh data. A result whose fetch overlapped an {@link #invalidate()} may
+         * predate the mutation that caused it, so it is returned to the caller but not cached.
+         *
+         * @return the grouped resources
+         * @throws Exception when loading fails
+         */
+        private Resources load() throws Exception {
+            long started = generation.get();
+            Resources resources = fetch(type);
+            if (generation.get() != started) {
+                return resources;
+            }
+            readSinceLoad.set(false);
+            loaded = new Loaded(resources, clock.getAsLong());
+            scheduleRefreshAhead();
+            return resources;
+        }
+
+        /**
+         * Reloads on the scheduler unless a refresh is already running.
+         */
+        private void refreshAsync() {
+            if (!refreshing.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                scheduler().execute(() -> {
+                    try {
+                        loadLock.lock();
+                        try {
+                            load();
+                        } finally {
+                            loadLock.unlock();
+                        }
+                    } catch (Exception e) {
+                        logger.warn("Background refresh of cluster {} resources failed", type.apiType, e);
+                    } finally {
+                        refreshing.set(false);
+                    }
+                });
+            } catch (RuntimeException e) {
+                refreshing.set(false);
+                logger.debug("Background refresh of cluster {} resources rejected", type.apiType, e);
+            }
+        }
+
+        /**
+         * Starts the periodic refresh-ahead check after the first load.
+         */
+        private void scheduleRefreshAhead() {
+            if (refreshAheadNanos == 0 || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            long period = Math.max(MIN_REFRESH_CHECK_NANOS, ttlNanos - refreshAheadNanos);
+            scheduler().scheduleWithFixedDelay(this::refreshAhead, period, period, TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Refreshes data nearing expiry when it was read since the last load; idle entries simply expire.
+         */
+        void refreshAhead() {
+            Loaded current = loaded;
+            if (current == null || !readSinceLoad.get()) {
+                return;
+            }
+            if (clock.getAsLong() - current.loadedAt() >= refreshAheadNanos) {
+                refreshAsync();
+            }
+        }
+
+        /**
+         * Drops the cached data and discards loads that are still in flight.
+         */
+        void invalidate() {
+            generation.incrementAndGet();
+            loaded = null;
+        }
+    }
+
+    /**
+     * Cluster resources grouped by type.
+     *
+     * @param nodes node entries
+     * @param vms QEMU guests ordered by node and VM ID
+     * @param containers LXC guests ordered by node and VM ID
+     * @param storage per-node storage entries ordered by node and storage ID
+     */
+    record Resources(List<JsonNode> nodes, List<JsonNode> vms, List<JsonNode> containers, List<JsonNode> storage) {
+        /**
+         * Groups a raw {@code /cluster/resources} array by resource type.
+         *
+         * @param resources the resource array
+         * @return the grouped resources
+         */
+        static Resources of(JsonNode resources) {
+            List<JsonNode> nodes = new ArrayList<>();
+            List<JsonNode> vms = new ArrayList<>();
+            List<JsonNode> containers = new ArrayList<>();
+            List<JsonNode> storage = new ArrayList<>();
+            for (JsonNode resource : resources) {
+                switch (resource.path("type").asText("").toLowerCase(Locale.ROOT)) {
+                    case "node" -> nodes.add(resource);
+                    case "qemu" -> vms.add(resource);
+                    case "lxc" -> containers.add(resource);
+                    case "storage" -> storage.add(resource);
+                    default -> {
+                    }
+                }
+            }
+            vms.sort(BY_NODE_AND_VMID);
+            containers.sort(BY_NODE_AND_VMID);
+            storage.sort(BY_NODE_AND_STORAGE);
+            return new Resources(List.copyOf(nodes), List.copyOf(vms), List.copyOf(containers), List.copyOf(storage));
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import io.github.smling.proxmoxmcpserver.config.LoadBalancing;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import it.corsinvest.proxmoxve.api.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Spreads requests across several Proxmox API endpoints and fails over when one is unreachable.
+ *
+ * <p>GET requests go to a healthy endpoint picked by the configured {@link LoadBalancing} strategy. Mutations
+ * go to the first healthy endpoint in configuration order. When a request fails to connect, the endpoint is
+ * marked down and the next one is tried. GETs also fail over on any other I/O error, since they are idempotent.
+ * A background probe reuses the {@code /version} check of {@link ProxmoxClient#testConnection()} to mark
+ * endpoints up or down again.</p>
+ */
+public class FailoverTransport implements ProxmoxTransport {
+    private static final Logger logger = LoggerFactory.getLogger(FailoverTransport.class);
+
+    private final List<Endpoint> endpoints;
+    private final LoadBalancing strategy;
+    private final AtomicInteger cursor = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    /**
+     * Creates a failover transport over the given endpoints.
+     *
+     * @param endpoints the endpoints in priority order
+     * @param strategy how GET requests are spread
+     * @param healthCheckIntervalSeconds how often endpoints are probed, {@code 0} disables probing
+     */
+    public FailoverTransport(List<Endpoint> endpoints, LoadBalancing strategy, int healthCheckIntervalSeconds) {
+        if (endpoints == null || endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one Proxmox endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.strategy = strategy == null ? LoadBalancing.LEAST_OUTSTANDING : strategy;
+        if (healthCheckIntervalSeconds > 0) {
+            this.healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("proxmox-endpoint-health").daemon().inheritInheritableThreadLocals(false).factory());
+            healthChecker.scheduleWithFixedDelay(this::checkHealth, healthCheckIntervalSeconds,
+                healthCheckIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            this.healthChecker = null;
+        }
+    }
+
+    /**
+     * Sends the request to a selected endpoint, failing over to the others on connection errors.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result
+     * @throws Exception when every eligible endpoint fails
+     */
+    @Override
+    public Result send(HttpMethod method, String path, Map<String, Object> params) throws Exception {
+        IOException lastError = null;
+        for (Endpoint endpoint : candidates(method)) {
+            endpoint.outstanding.incrementAndGet();
+            try {
+                Result result = endpoint.transport.send(method, path, params);
+                endpoint.markUp();
+                return result;
+            } catch (IOException e) {
+                if (!canFailOver(method, e)) {
+                    throw e;
+                }
+                endpoint.markDown(e);
+                lastError = e;
+            } finally {
+                endpoint.outstanding.decrementAndGet();
+            }
+        }
+        throw lastError;
+    }
+
+    /**
+     * Probes every endpoint and updates its health.
+     */
+    public void checkHealth() {
+        for (Endpoint endpoint : endpoints) {
+            try {
+                ProxmoxClient.checkVersion(endpoint.transport.send(HttpMethod.GET, "/version", null));
+                endpoint.markUp();
+            } catch (Exception e) {
+                endpoint.markDown(e);
+            }
+        }
+    }
+
+    /**
+     * Returns the names of endpoints currently considered healthy.
+     *
+     * @return the healthy endpoint names in configuration order
+     */
+    public List<String> healthyEndpoints() {
+        return endpoints.stream().filter(endpoint -> endpoint.healthy).map(endpoint -> endpoint.name).toList();
+    }
+
+    /**
+     * Stops health checks and closes every endpoint transport.
+     */
+    @Override
+    public void close() {
+        if (healthChecker != null) {
+            healthChecker.shutdownNow();
+        }
+        endpoints.forEach(endpoint -> endpoint.transport.close());
+    }
+
+    /**
+     * Orders endpoints for a request: the selected healthy endpoint first, then the remaining healthy ones,
+     * then unhealthy ones as a last resort.
+     *
+     * @param method the HTTP method
+     * @return the endpoints to try in order
+     */
+    private List<Endpoint> candidates(HttpMethod method) {
+        List<Endpoint> healthy = new ArrayList<>();
+        List<Endpoint> unhealthy = new ArrayList<>();
+        for (Endpoint endpoint : endpoints) {
+            (endpoint.healthy ? healthy : unhealthy).add(endpoint);
+        }
+        if (HttpMethod.GET.equals(method) && healthy.size() > 1) {
+            int start = Math.floorMod(cursor.getAndIncrement(), healthy.size());
+            List<Endpoint> rotated = new ArrayList<>(healthy.subList(start, healthy.size()));
+            rotated.addAll(healthy.subList(0, start));
+            if (strategy == LoadBalancing.LEAST_OUTSTANDING) {
+                rotated.sort(Comparator.comparingInt(endpoint -> endpoint.outstanding.get()));
+            }
+            healthy = rotated;
+        }
+        healthy.addAll(unhealthy);
+        return healthy;
+    }
+
+    /**
+     * Returns true when retrying the request on another endpoint cannot duplicate its effect.
+     *
+     * @param method the HTTP method
+     * @param error the I/O failure
+     * @return true when failing over is safe
+     */
+    private static boolean canFailOver(HttpMethod method, IOException error) {
+        return HttpMethod.GET.equals(method)
+            || error instanceof ConnectException
+            || error instanceof HttpConnectTimeoutException
+            || error instanceof NoRouteToHostException
+            || error instanceof UnknownHostException;
+    }
+
+    /**
+     * A single API endpoint and its live state.
+     */
+    public static final class Endpoint {
+        private final String name;
+        private final ProxmoxTransport transport;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile boolean healthy = true;
+
+        /**
+         * Creates an endpoint.
+         *
+         * @param name the endpoint name used in logs, e.g. {@code pve2:8006}
+         * @param transport the transport sending requests to this endpoint
+         */
+        public Endpoint(String name, ProxmoxTransport transport) {
+            this.name = name;
+            this.transport = transport;
+        }
+
+        /**
+         * Marks the endpoint healthy, logging the transition.
+         */
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                logger.info("Proxmox endpoint {} is back up", name);
+            }
+        }
+
+        /**
+         * Marks the endpoint unhealthy, logging the transition.
+         *
+         * @param error the failure that caused it
+         */
+        private void markDown(Exception error) {
+            if (healthy) {
+                healthy = false;
+                logger.warn("Proxmox endpoint {} is down: {}", name, error.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Runs independent Proxmox API calls concurrently on virtual threads.
+ *
+ * <p>At most {@code maxConcurrency} calls are in flight at once and results are returned in input
+ * order, so callers produce the same output as a sequential loop.</p>
+ */
+public final class FanOut {
+    private final int maxConcurrency;
+
+    /**
+     * Creates a fan-out helper with a concurrency cap.
+     *
+     * @param maxConcurrency the maximum number of concurrent calls, values below one mean sequential
+     */
+    public FanOut(int maxConcurrency) {
+        this.maxConcurrency = Math.max(1, maxConcurrency);
+    }
+
+    /**
+     * Returns the maximum number of concurrent calls.
+     *
+     * @return the concurrency cap
+     */
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    /**
+     * Applies a task to every item, concurrently up to the cap.
+     *
+     * @param items the inputs
+     * @param task the call to perform per item
+     * @param fallback produces the result for an item whose task failed
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return results in the same order as {@code items}
+     */
+    public <T, R> List<R> map(List<T> items, Task<T, R> task, BiFunction<T, Exception, R> fallback) {
+        return map(items, task, fallback, null);
+    }
+
+    /**
+     * Applies a task to every item, concurrently up to the cap, giving each item a time limit.
+     *
+     * <p>The limit starts when the item's call starts, not while it waits for a free slot. An item
+     * that exceeds it is interrupted and gets the fallback result with a {@link TimeoutException},
+     * so one slow guest cannot hold up the whole listing.</p>
+     *
+     * @param items the inputs
+     * @param task the call to perform per item
+     * @param fallback produces the result for an item whose task failed or timed out
+     * @param timeout the time limit per item, {@code null} or zero for none
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return results in the same order as {@code items}
+     */
+    public <T, R> List<R> map(List<T> items, Task<T, R> task, BiFunction<T, Exception, R> fallback,
+                              Duration timeout) {
+        Task<T, R> call = timeout == null || timeout.isZero() || timeout.isNegative()
+            ? task
+            : item -> callWithTimeout(task, item, timeout);
+        return run(items, call, fallback, null);
+    }
+
+    /**
+     * Applies a task to every item, concurrently up to the cap and up to {@code perGroup} items of
+     * the same group at once.
+     *
+     * <p>An item first waits for a slot of its group and only then for a global slot, so items of a
+     * busy group never hold global slots that items of other groups could use.</p>
+     *
+     * @param items the inputs
+     * @param group the group of an item, e.g. its node
+     * @param perGroup the maximum number of concurrent calls per group, values below one mean one
+     * @param task the call to perform per item
+     * @param fallback produces the result for an item whose task failed
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return results in the same order as {@code items}
+     */
+    public <T, R> List<R> mapGrouped(List<T> items, Function<T, String> group, int perGroup, Task<T, R> task,
+                                     BiFunction<T, Exception, R> fallback) {
+        int groupLimit = Math.max(1, perGroup);
+        Map<String, Semaphore> gates = new HashMap<>();
+        for (T item : items) {
+            gates.computeIfAbsent(group.apply(item), key -> new Semaphore(groupLimit));
+        }
+        return run(items, task, fallback, item -> gates.get(group.apply(item)));
+    }
+
+    /**
+     * Runs the tasks, sequentially when the cap or the input allows no parallelism.
+     *
+     * @param items the inputs
+     * @param call the call to perform per item
+     * @param fallback the fallback for failed items
+     * @param gate optional per-item semaphore taken before a global slot
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return results in the same order as {@code items}
+     */
+    private <T, R> List<R> run(List<T> items, Task<T, R> call, BiFunction<T, Exception, R> fallback,
+                               Function<T, Semaphore> gate) {
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        List<R> results = new ArrayList<>(items.size());
+        if (maxConcurrency == 1 || items.size() == 1) {
+            for (T item : items) {
+                results.add(apply(call, fallback, item));
+            }
+            return results;
+        }
+
+        Semaphore permits = new Semaphore(maxConcurrency);
+        List<Future<R>> futures = new ArrayList<>(items.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T item : items) {
+                Semaphore itemGate = gate == null ? null : gate.apply(item);
+                futures.add(executor.submit(() -> {
+                    if (itemGate != null) {
+                        itemGate.acquire();
+                    }
+                    try {
+                        permits.acquire();
+                        try {
+                            return apply(call, fallback, item);
+                        } finally {
+                            permits.release();
+                        }
+                    } finally {
+                        if (itemGate != null) {
+                            itemGate.release();
+                        }
+                    }
+                }));
+            }
+            for (int i = 0; i < futures.size(); i++) {
+                results.add(await(futures.get(i), items.get(i), fallback));
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Runs a task and substitutes the fallback on failure.
+     *
+     * @param task the task
+     * @param fallback the fallback
+     * @param item the input
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the task or fallback result
+     */
+    private static <T, R> R apply(Task<T, R> task, BiFunction<T, Exception, R> fallback, T item) {
+        try {
+            return task.apply(item);
+        } catch (Exception e) {
+            return fallback.apply(item, e);
+        }
+    }
+
+    /**
+     * Runs a task on its own virtual thread and interrupts it when it exceeds the time limit.
+     *
+     * @param task the task
+     * @param item the input
+     * @param timeout the time limit
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the task result
+     * @throws Exception the task failure, or a {@link TimeoutException} when the limit passed
+     */
+    private static <T, R> R callWithTimeout(Task<T, R> task, T item, Duration timeout) throws Exception {
+        FutureTask<R> call = new FutureTask<>(() -> task.apply(item));
+        Thread.ofVirtual().name("fan-out-call").start(call);
+        try {
+            return call.get(timeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            call.cancel(true);
+            throw new TimeoutException("timed out after " + timeout.toMillis() + " ms");
+        } catch (InterruptedException e) {
+            call.cancel(true);
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a submitted task.
+     *
+     * @param future the task future
+     * @param item the task input
+     * @param fallback the fallback for tasks that could not run
+     * @param <T> the input type
+     * @param <R> the result type
+     * @return the task result
+     */
+    private static <T, R> R await(Future<R> future, T item, BiFunction<T, Exception, R> fallback) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for Proxmox API calls", e);
+        } catch (ExecutionException e) {
+            Exception cause = e.getCause() instanceof Exception ex ? ex : e;
+            return fallback.apply(item, cause);
+        }
+    }
+
+    /**
+     * A single call that may throw checked exceptions.
+     *
+     * @param <T> the input type
+     * @param <R> the result type
+     */
+    @FunctionalInterface
+    public interface Task<T, R> {
+        /**
+         * Performs the call for one item.
+         *
+         * @param item the input
+         * @return the result
+         * @throws Exception when the call fails
+         */
+        R apply(T item) throws Exception;
+    }
+}
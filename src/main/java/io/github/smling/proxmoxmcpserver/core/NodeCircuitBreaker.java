@@ -0,0 +1,237 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import io.github.smling.proxmoxmcpserver.config.CircuitBreakerConfig;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Tracks node health per {@code /nodes/{node}/...} path prefix and rejects requests to nodes that keep failing.
+ *
+ * <p>A circuit opens after the configured number of consecutive failures and rejects requests until the open
+ * period elapses. A single probe request is then let through: success closes the circuit, failure reopens it.
+ * Requests outside {@code /nodes/{node}} are never rejected.</p>
+ */
+public class NodeCircuitBreaker {
+    private static final Logger logger = LoggerFactory.getLogger(NodeCircuitBreaker.class);
+    private static final String NODES_PREFIX = "/nodes/";
+    private static final Set<Integer> NODE_FAILURE_STATUSES = Set.of(502, 503, 504, 595, 596);
+
+    private final boolean enabled;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+    private final Map<String, Circuit> circuits = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a circuit breaker driven by the system clock.
+     *
+     * @param config the circuit breaker settings
+     */
+    public NodeCircuitBreaker(CircuitBreakerConfig config) {
+        this(config, System::nanoTime);
+    }
+
+    /**
+     * Creates a circuit breaker with an explicit clock (primarily for tests).
+     *
+     * @param config the circuit breaker settings
+     * @param clock a monotonic nanosecond clock
+     */
+    NodeCircuitBreaker(CircuitBreakerConfig config, LongSupplier clock) {
+        CircuitBreakerConfig settings = config == null ? new CircuitBreakerConfig() : config;
+        this.enabled = settings.isEnabled();
+        this.failureThreshold = Math.max(1, settings.getFailureThreshold());
+        this.openNanos = TimeUnit.SECONDS.toNanos(Math.max(0, settings.getOpenSeconds()));
+        this.clock = clock;
+    }
+
+    /**
+     * Extracts the node name from a node-scoped API path.
+     *
+     * @param path the API path
+     * @return the node name, or {@code null} when the path is not node-scoped
+     */
+    public static String nodeOf(String path) {
+        if (path == null || !path.startsWith(NODES_PREFIX)) {
+            return null;
+        }
+        int end = path.indexOf('/', NODES_PREFIX.length());
+        String node = end < 0 ? path.substring(NODES_PREFIX.length()) : path.substring(NODES_PREFIX.length(), end);
+        return node.isEmpty() ? null : node;
+    }
+
+    /**
+     * Returns true when a response status means the node itself could not serve the request.
+     *
+     * <p>Application errors such as 4xx or a plain 500 leave the circuit untouched.</p>
+     *
+     * @param status the HTTP status code
+     * @return true when the status counts as a node failure
+     */
+    public static boolean isNodeFailure(int status) {
+        return NODE_FAILURE_STATUSES.contains(status);
+    }
+
+    /**
+     * Admits a request to the node or rejects it when its circuit is open.
+     *
+     * <p>Every admitted request must be followed by {@link #recordSuccess}, {@link #recordFailure} or
+     * {@link #abandon}.</p>
+     *
+     * @param node the node name, may be {@code null}
+     * @throws IllegalStateException when the node's circuit is open
+     */
+    public void acquire(String node) {
+        if (!enabled || node == null) {
+            return;
+        }
+        if (!circuits.computeIfAbsent(node, key -> new Circuit()).tryAcquire()) {
+            throw new IllegalStateException("Proxmox API error: node " + node + " is unavailable (circuit open)");
+        }
+    }
+
+    /**
+     * Records a request the node served.
+     *
+     * @param node the node name, may be {@code null}
+     */
+    public void recordSuccess(String node) {
+        Circuit circuit = circuit(node);
+        if (circuit != null) {
+            circuit.onSuccess();
+        }
+    }
+
+    /**
+     * Records a request the node failed to serve.
+     *
+     * @param node the node name, may be {@code null}
+     */
+    public void recordFailure(String node) {
+        Circuit circuit = circuit(node);
+        if (circuit != null) {
+            circuit.onFailure(node);
+        }
+    }
+
+    /**
+     * Releases an admitted request without judging the node, e.g. when the caller was interrupted.
+     *
+     * @param node the node name, may be {@code null}
+     */
+    public void abandon(String node) {
+        Circuit circuit = circuit(node);
+        if (circuit != null) {
+            circuit.onAbandon();
+        }
+    }
+
+    /**
+     * Returns the current circuit state for a node.
+     *
+     * @param node the node name
+     * @return the circuit state
+     */
+    public State state(String node) {
+        Circuit circuit = circuit(node);
+        return circuit == null ? State.CLOSED : circuit.state();
+    }
+
+    /**
+     * Looks up the circuit for a node.
+     *
+     * @param node the node name, may be {@code null}
+     * @return the circuit, or {@code null} when none is tracked
+     */
+    private Circuit circuit(String node) {
+        return !enabled || node == null ? null : circuits.get(node);
+    }
+
+    /**
+     * Circuit breaker states.
+     */
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    /**
+     * Mutable breaker state for one node.
+     */
+    private final class Circuit {
+        private State state = State.CLOSED;
+        private int failures;
+        private long openedAt;
+        private boolean probing;
+
+        /**
+         * Admits a request unless the circuit is open or a probe is already in flight.
+         *
+         * @return true when the request may proceed
+         */
+        synchronized boolean tryAcquire() {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && !probing) {
+                probing = true;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Closes the circuit after a served request.
+         */
+        synchronized void onSuccess() {
+            state = State.CLOSED;
+            failures = 0;
+            probing = false;
+        }
+
+        /**
+         * Counts a failure and opens the circuit when the threshold is reached or a probe failed.
+         *
+         * @param node the node name, for logging
+         */
+        synchronized void onFailure(String node) {
+            probing = false;
+            failures++;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && failures >= failureThreshold)) {
+                state = State.OPEN;
+                openedAt = clock.getAsLong();
+                logger.warn("Opening circuit for node {} after {} consecutive failures", node, failures);
+            }
+        }
+
+        /**
+         * Frees the probe slot without changing state.
+         */
+        synchronized void onAbandon() {
+            probing = false;
+        }
+
+        /**
+         * Returns the current state, reporting an expired open period as half-open.
+         *
+         * @return the circuit state
+         */
+        synchronized State state() {
+            if (state == State.OPEN && clock.getAsLong() - openedAt >= openNanos) {
+                return State.HALF_OPEN;
+            }
+            return state;
+        }
+    }
+}
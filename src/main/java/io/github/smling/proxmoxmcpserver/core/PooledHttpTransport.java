@@ -0,0 +1,305 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.NullNode;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
+
+import java.net.Socket;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.Semaphore;
+import java.util.function.LongConsumer;
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLEngine;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509ExtendedTrustManager;
+
+import it.corsinvest.proxmoxve.api.MethodType;
+import it.corsinvest.proxmoxve.api.ResponseType;
+import it.corsinvest.proxmoxve.api.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Keep-alive transport backed by a single shared {@link HttpClient}.
+ *
+ * <p>Connections and TLS sessions are reused across calls, so sequential tool requests avoid
+ * repeated TCP and TLS handshakes. Concurrent requests are capped at the configured connection
+ * limit.</p>
+ */
+public class PooledHttpTransport implements ProxmoxTransport {
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpTransport.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    private final HttpClient httpClient;
+    private final URI baseUri;
+    private final String authorization;
+    private final Duration requestTimeout;
+    private final Semaphore connections;
+    private final LongConsumer bytesReceived;
+
+    /**
+     * Creates a pooled transport for the given API base URI.
+     *
+     * @param baseUri the API base URI, e.g. {@code https://pve:8006/api2/json}
+     * @param apiToken the API token in {@code user!name=value} form
+     * @param verifySsl whether to validate TLS certificates
+     * @param config the HTTP settings
+     */
+    public PooledHttpTransport(URI baseUri, String apiToken, boolean verifySsl, HttpConfig config) {
+        this(baseUri, apiToken, verifySsl, config, bytes -> {
+        });
+    }
+
+    /**
+     * Creates a pooled transport that reports the size of every response body.
+     *
+     * @param baseUri the API base URI, e.g. {@code https://pve:8006/api2/json}
+     * @param apiToken the API token in {@code user!name=value} form
+     * @param verifySsl whether to validate TLS certificates
+     * @param config the HTTP settings
+     * @param bytesReceived receives the body size of each response
+     */
+    public PooledHttpTransport(URI baseUri, String apiToken, boolean verifySsl, HttpConfig config,
+                               LongConsumer bytesReceived) {
+        this.baseUri = baseUri;
+        this.bytesReceived = bytesReceived;
+        this.authorization = "PVEAPIToken=" + apiToken;
+        this.requestTimeout = Duration.ofSeconds(Math.max(1, config.getRequestTimeoutSeconds()));
+        this.connections = new Semaphore(Math.max(1, config.getMaxConnections()), true);
+        this.httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(Math.max(1, config.getConnectTimeoutSeconds())))
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .sslContext(sslContext(verifySsl, config.getTlsSessionTimeoutSeconds()))
+            .build();
+        logger.debug(
+            "Initialized pooled Proxmox transport for {} (maxConnections={}, idleTimeout={}s)",
+            baseUri.getHost(),
+            config.getMaxConnections(),
+            config.getIdleTimeoutSeconds()
+        );
+    }
+
+    /**
+     * Sends a request over a pooled connection.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result
+     * @throws Exception when the request fails
+     */
+    @Override
+    public Result send(HttpMethod method, String path, Map<String, Object> params) throws Exception {
+        HttpRequest request = buildRequest(method, path, params);
+        connections.acquire();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            bytesReceived.accept(response.body() == null ? 0 : response.body().length);
+            return toResult(method, path, params, response.statusCode(), response.body());
+        } finally {
+            connections.release();
+        }
+    }
+
+    /**
+     * Shuts down the underlying HTTP client and its connection pool.
+     */
+    @Override
+    public void close() {
+        httpClient.close();
+    }
+
+    /**
+     * Builds the HTTP request for the supplied method and parameters.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the HTTP request
+     */
+    private HttpRequest buildRequest(HttpMethod method, String path, Map<String, Object> params) {
+        String encoded = encode(params);
+        boolean hasBody = HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method);
+        String uri = baseUri + path + (!hasBody && !encoded.isEmpty() ? "?" + encoded : "");
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(uri))
+            .timeout(requestTimeout)
+            .header("Authorization", authorization)
+            .header("Accept", "application/json");
+
+        if (HttpMethod.GET.equals(method)) {
+            return builder.GET().build();
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return builder.DELETE().build();
+        }
+        if (hasBody) {
+            return builder
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .method(method.name(), HttpRequest.BodyPublishers.ofString(encoded))
+                .build();
+        }
+        throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+    }
+
+    /**
+     * Converts a raw HTTP response into an API result.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters
+     * @param status the HTTP status code
+     * @param body the response body
+     * @return the API result
+     * @throws Exception when the body of a successful response cannot be parsed
+     */
+    static Result toResult(HttpMethod method, String path, Map<String, Object> params, int status, byte[] body)
+        throws Exception {
+        boolean success = status >= 200 && status < 300;
+        JsonNode response = NullNode.getInstance();
+        if (body != null && body.length > 0) {
+            try {
+                response = OBJECT_MAPPER.readTree(body);
+            } catch (JsonProcessingException e) {
+                if (success) {
+                    throw e;
+                }
+                // Reverse proxies and pveproxy itself answer some errors with HTML or plain text; the
+                // status must still reach retry, circuit breaker and failover handling.
+                logger.debug("Ignoring non-JSON body of HTTP {} response for {}", status, path);
+            }
+        }
+        String reason = response.path("message").asText("").trim();
+        if (reason.isEmpty()) {
+            HttpStatus resolved = HttpStatus.resolve(status);
+            reason = resolved == null ? "" : resolved.getReasonPhrase();
+        }
+        return new Result(response, status, reason, success, path, params, methodType(method), ResponseType.JSON);
+    }
+
+    /**
+     * Maps an HTTP method to the Proxmox client method type.
+     *
+     * @param method the HTTP method
+     * @return the method type
+     */
+    private static MethodType methodType(HttpMethod method) {
+        if (HttpMethod.POST.equals(method)) {
+            return MethodType.CREATE;
+        }
+        if (HttpMethod.PUT.equals(method)) {
+            return MethodType.SET;
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return MethodType.DELETE;
+        }
+        return MethodType.GET;
+    }
+
+    /**
+     * URL-encodes request parameters.
+     *
+     * @param params request parameters, may be {@code null}
+     * @return the encoded parameter string, empty when there are none
+     */
+    private static String encode(Map<String, Object> params) {
+        if (params == null || params.isEmpty()) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner("&");
+        params.forEach((key, value) -> joiner.add(
+            URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(String.valueOf(value), StandardCharsets.UTF_8)
+        ));
+        return joiner.toString();
+    }
+
+    /**
+     * Applies pool sizing and idle eviction to the JDK HTTP client of this JVM.
+     *
+     * <p>This is startup-only configuration: the JDK reads both properties once, in a static
+     * initializer, when the first {@link HttpClient} connection pool is created. It is therefore called
+     * once from the Spring configuration before any transport is built, rather than per transport; later
+     * calls, and calls after any HTTP client has been used, have no effect. Explicit {@code -D} system
+     * properties always win. Whatever the JDK pool does, each transport caps its own concurrent requests
+     * at {@code max_connections}.</p>
+     *
+     * @param config the HTTP settings
+     */
+    public static void configureConnectionPool(HttpConfig config) {
+        if (System.getProperty(POOL_SIZE_PROPERTY) == null) {
+            System.setProperty(POOL_SIZE_PROPERTY, String.valueOf(Math.max(1, config.getMaxConnections())));
+        }
+        if (System.getProperty(KEEP_ALIVE_PROPERTY) == null) {
+            System.setProperty(KEEP_ALIVE_PROPERTY, String.valueOf(Math.max(1, config.getIdleTimeoutSeconds())));
+        }
+    }
+
+    /**
+     * Builds a dedicated TLS context so its session cache is shared by every pooled connection.
+     *
+     * @param verifySsl whether to validate certificates
+     * @param sessionTimeoutSeconds how long sessions may be resumed
+     * @return the TLS context
+     */
+    private static SSLContext sslContext(boolean verifySsl, int sessionTimeoutSeconds) {
+        try {
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(null, verifySsl ? null : new TrustManager[] {new TrustAllManager()}, null);
+            context.getClientSessionContext().setSessionTimeout(Math.max(0, sessionTimeoutSeconds));
+            return context;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Failed to initialize TLS context: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Accepts every certificate and skips hostname checks when SSL verification is disabled.
+     */
+    private static final class TrustAllManager extends X509ExtendedTrustManager {
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, Socket socket) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType, SSLEngine engine) {
+        }
+
+        @Override
+        public void checkClientTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public void checkServerTrusted(X509Certificate[] chain, String authType) {
+        }
+
+        @Override
+        public X509Certificate[] getAcceptedIssuers() {
+            return new X509Certificate[0];
+        }
+    }
+}
@@ -1,8 +1,21 @@
 package io.github.smling.proxmoxmcpserver.core;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
+import io.github.smling.proxmoxmcpserver.config.RetryConfig;
+
 import java.net.URI;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
 
 import it.corsinvest.proxmoxve.api.PveClient;
 import it.corsinvest.proxmoxve.api.Result;
@@ -13,11 +26,19 @@ import org.springframework.http.HttpMethod;
 /**
  * Wraps the Proxmox API client with convenience helpers and validation.
  */
-public class ProxmoxClient {
+public class ProxmoxClient implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(ProxmoxClient.class);
     private final PveClient client;
     private final URI baseUri;
     private final String apiToken;
+    private final ProxmoxTransport transport;
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ApiMetrics metrics = new ApiMetrics();
+    private final boolean coalesceGets;
+    private final NodeCircuitBreaker circuitBreaker;
+    private final RetryConfig retry;
+    private final RequestThrottle throttle;
+    private final ExecutorService asyncExecutor = Executors.newVirtualThreadPerTaskExecutor();
 
     /**
      * Creates a Proxmox API client configured for token authentication.
@@ -30,14 +51,66 @@ public class ProxmoxClient {
      * @param tokenValue the token value
      */
     public ProxmoxClient(String host, int port, boolean verifySsl, String user, String tokenName, String tokenValue) {
-        this.baseUri = URI.create("https://" + host + ":" + port + "/api2/json");
+        this(host, port, verifySsl, user, tokenName, tokenValue, new HttpConfig());
+    }
+
+    /**
+     * Creates a Proxmox API client with explicit HTTP transport settings.
+     *
+     * @param host the Proxmox host
+     * @param port the Proxmox API port
+     * @param verifySsl whether to validate TLS certificates
+     * @param user the API user
+     * @param tokenName the token name
+     * @param tokenValue the token value
+     * @param httpConfig the HTTP transport settings
+     */
+    public ProxmoxClient(String host, int port, boolean verifySsl, String user, String tokenName, String tokenValue,
+                         HttpConfig httpConfig) {
+        this(List.of(host), port, verifySsl, user, tokenName, tokenValue, httpConfig);
+    }
+
+    /**
+     * Creates a Proxmox API client that spreads requests across several API endpoints.
+     *
+     * <p>The first endpoint is the primary one used for {@link #testConnection()} and {@link #getBaseUri()}.
+     * With a single endpoint, requests go straight to it.</p>
+     *
+     * @param endpoints the API endpoints as {@code host} or {@code host:port}
+     * @param port the default Proxmox API port
+     * @param verifySsl whether to validate TLS certificates
+     * @param user the API user
+     * @param tokenName the token name
+     * @param tokenValue the token value
+     * @param httpConfig the HTTP transport settings
+     */
+    public ProxmoxClient(List<String> endpoints, int port, boolean verifySsl, String user, String tokenName,
+                         String tokenValue, HttpConfig httpConfig) {
+        HttpConfig http = httpConfig == null ? new HttpConfig() : httpConfig;
+        String primary = endpoints.get(0);
+        this.baseUri = baseUri(primary, port);
         this.apiToken = user + "!" + tokenName + "=" + tokenValue;
 //        this.apiToken = tokenValue;
-        this.client = new PveClient(host, port);
-        this.client.setValidateCertificate(verifySsl);
-        this.client.setApiToken(this.apiToken);
-        this.client.setTimeout(10_000);
-        logger.debug("Initialized Proxmox client for {} (verifySsl={})", baseUri.getHost(), verifySsl);
+        this.client = pveClient(hostOf(primary), portOf(primary, port), verifySsl, apiToken, http);
+        this.coalesceGets = http.isCoalesceGets();
+        this.circuitBreaker = new NodeCircuitBreaker(http.getCircuitBreaker());
+        this.retry = http.getRetry() == null ? new RetryConfig() : http.getRetry();
+        this.throttle = new RequestThrottle(http.getThrottle());
+        ProxmoxTransport primaryTransport = http.isPooled()
+            ? new PooledHttpTransport(baseUri, apiToken, verifySsl, http, metrics::recordBytesReceived)
+            : this::sendWithPveClient;
+        if (endpoints.size() == 1) {
+            this.transport = primaryTransport;
+        } else {
+            List<FailoverTransport.Endpoint> pool = new ArrayList<>();
+            pool.add(new FailoverTransport.Endpoint(primary, primaryTransport));
+            for (String endpoint : endpoints.subList(1, endpoints.size())) {
+                pool.add(new FailoverTransport.Endpoint(endpoint, endpointTransport(endpoint, port, verifySsl, http)));
+            }
+            this.transport = new FailoverTransport(pool, http.getLoadBalancing(), http.getHealthCheckIntervalSeconds());
+        }
+        logger.debug("Initialized Proxmox client for {} (verifySsl={}, pooled={}, endpoints={})",
+            baseUri.getHost(), verifySsl, http.isPooled(), endpoints.size());
     }
 
     /**
@@ -46,7 +119,16 @@ public class ProxmoxClient {
      * @throws Exception when the API is unreachable or returns errors
      */
     public void testConnection() throws Exception {
-        Result result = client.getVersion().version();
+        checkVersion(client.getVersion().version());
+    }
+
+    /**
+     * Validates the result of a {@code /version} probe.
+     *
+     * @param result the probe result
+     * @throws IllegalStateException when the probe failed
+     */
+    static void checkVersion(Result result) {
         if (result == null || !result.isSuccessStatusCode()) {
             String reason = result == null ? "No response" : result.getReasonPhrase();
             throw new IllegalStateException("Proxmox API error: " + reason);
@@ -111,6 +193,59 @@ public class ProxmoxClient {
         return exchange(path, HttpMethod.DELETE, Map.of(), null);
     }
 
+    /**
+     * Issues a GET request without blocking the caller.
+     *
+     * @param path the API path
+     * @return a future completing with the response {@code data} node
+     */
+    public CompletableFuture<JsonNode> getAsync(String path) {
+        return getAsync(path, Map.of());
+    }
+
+    /**
+     * Issues a GET request with query parameters without blocking the caller.
+     *
+     * @param path the API path
+     * @param query query parameters
+     * @return a future completing with the response {@code data} node
+     */
+    public CompletableFuture<JsonNode> getAsync(String path, Map<String, String> query) {
+        return async(() -> get(path, query));
+    }
+
+    /**
+     * Issues a POST request with form parameters without blocking the caller.
+     *
+     * @param path the API path
+     * @param form form parameters
+     * @return a future completing with the response {@code data} node
+     */
+    public CompletableFuture<JsonNode> postFormAsync(String path, Map<String, String> form) {
+        return async(() -> postForm(path, form));
+    }
+
+    /**
+     * Issues a PUT request with form parameters without blocking the caller.
+     *
+     * @param path the API path
+     * @param form form parameters
+     * @return a future completing with the response {@code data} node
+     */
+    public CompletableFuture<JsonNode> putFormAsync(String path, Map<String, String> form) {
+        return async(() -> putForm(path, form));
+    }
+
+    /**
+     * Issues a DELETE request without blocking the caller.
+     *
+     * @param path the API path
+     * @return a future completing with the response {@code data} node
+     */
+    public CompletableFuture<JsonNode> deleteAsync(String path) {
+        return async(() -> delete(path));
+    }
+
     /**
      * Returns the base URI for the Proxmox API.
      *
@@ -129,6 +264,84 @@ public class ProxmoxClient {
         return "PVEAPIToken " + apiToken;
     }
 
+    /**
+     * Returns the single-flight coalescer used for GET requests.
+     *
+     * @return the request coalescer
+     */
+    public RequestCoalescer getCoalescer() {
+        return coalescer;
+    }
+
+    /**
+     * Returns the per-node circuit breaker.
+     *
+     * @return the circuit breaker
+     */
+    public NodeCircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Returns the client-side rate limiter and bulkhead.
+     *
+     * @return the request throttle
+     */
+    public RequestThrottle getThrottle() {
+        return throttle;
+    }
+
+    /**
+     * Returns the per-call API metrics.
+     *
+     * @return the API metrics
+     */
+    public ApiMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Releases pooled connections held by the transport.
+     */
+    @Override
+    public void close() {
+        asyncExecutor.shutdown();
+        transport.close();
+    }
+
+    /**
+     * Runs a validated request on a virtual thread.
+     *
+     * <p>Failures complete the future exceptionally with a {@link CompletionException} wrapping the same
+     * exception the blocking variant would throw.</p>
+     *
+     * @param call the blocking request
+     * @return a future completing with the response {@code data} node
+     */
+    private CompletableFuture<JsonNode> async(Callable<Result> call) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return data(call.call());
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+        }, asyncExecutor);
+    }
+
+    /**
+     * Extracts the {@code data} node from an API result.
+     *
+     * @param result the API result
+     * @return the data node, or a missing node when the response is empty
+     */
+    private static JsonNode data(Result result) {
+        JsonNode response = result.getResponse();
+        if (response == null || response.isNull()) {
+            return MissingNode.getInstance();
+        }
+        return response.path("data");
+    }
+
     /**
      * Executes an HTTP request and validates the response.
      *
@@ -144,16 +357,12 @@ public class ProxmoxClient {
         logger.debug("Proxmox API request: {} {}", method, path);
         Result result;
         try {
-            if (HttpMethod.GET.equals(method)) {
-                result = client.get(path, toObjectMap(query));
-            } else if (HttpMethod.POST.equals(method)) {
-                result = client.create(path, toObjectMap(form));
-            } else if (HttpMethod.PUT.equals(method)) {
-                result = client.set(path, toObjectMap(form));
-            } else if (HttpMethod.DELETE.equals(method)) {
-                result = client.delete(path, null);
+            boolean hasBody = HttpMethod.POST.equals(method) || HttpMethod.PUT.equals(method);
+            Map<String, Object> params = toObjectMap(hasBody ? form : query);
+            if (coalesceGets && HttpMethod.GET.equals(method)) {
+                result = coalescer.execute(RequestCoalescer.key(path, params), () -> send(method, path, params));
             } else {
-                throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+                result = send(method, path, params);
             }
         } catch (Exception e) {
             logger.error("Proxmox API request failed: {} {}", method, path, e);
@@ -187,6 +396,218 @@ public class ProxmoxClient {
         return result;
     }
 
+    /**
+     * Sends a request through the circuit breaker and throttle, retrying GETs on transient failures.
+     *
+     * <p>Only GET requests are retried, since they are idempotent. Both transport exceptions and
+     * configured retry statuses trigger a retry, after a full-jitter exponential backoff.</p>
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result of the last attempt
+     * @throws Exception when the last attempt fails or the node's circuit is open
+     */
+    private Result send(HttpMethod method, String path, Map<String, Object> params) throws Exception {
+        int attempts = HttpMethod.GET.equals(method) ? Math.max(1, retry.getMaxAttempts()) : 1;
+        String node = NodeCircuitBreaker.nodeOf(path);
+        for (int attempt = 1; ; attempt++) {
+            circuitBreaker.acquire(node);
+            Result result;
+            try (RequestThrottle.Permit permit = throttle.acquire(node, isStateChanging(method))) {
+                result = metrics.send(transport, method, path, params);
+            } catch (InterruptedException e) {
+                circuitBreaker.abandon(node);
+                throw e;
+            } catch (Exception e) {
+                circuitBreaker.recordFailure(node);
+                if (!canRetry(attempt, attempts, node)) {
+                    throw e;
+                }
+                logger.warn("Retrying {} {} after {} (attempt {}/{})", method, path, e.getMessage(), attempt, attempts);
+                backoff(attempt);
+                continue;
+            }
+            if (result != null && NodeCircuitBreaker.isNodeFailure(result.getStatusCode())) {
+                circuitBreaker.recordFailure(node);
+            } else {
+                circuitBreaker.recordSuccess(node);
+            }
+            if (!canRetry(attempt, attempts, node) || !isRetryable(result)) {
+                return result;
+            }
+            logger.warn("Retrying {} {} after status {} (attempt {}/{})",
+                method, path, result.getStatusCode(), attempt, attempts);
+            backoff(attempt);
+        }
+    }
+
+    /**
+     * Returns true when attempts remain and the node's circuit has not opened meanwhile.
+     *
+     * @param attempt the attempt that just finished, starting at 1
+     * @param attempts the maximum attempts
+     * @param node the node name, may be {@code null}
+     * @return true when another attempt may be made
+     */
+    private boolean canRetry(int attempt, int attempts, String node) {
+        return attempt < attempts && circuitBreaker.state(node) != NodeCircuitBreaker.State.OPEN;
+    }
+
+    /**
+     * Returns true when the result carries a status configured for retries.
+     *
+     * @param result the API result, may be {@code null}
+     * @return true when the request should be retried
+     */
+    private boolean isRetryable(Result result) {
+        return result != null && !result.isSuccessStatusCode() && retry.getRetryStatuses() != null
+            && retry.getRetryStatuses().contains(result.getStatusCode());
+    }
+
+    /**
+     * Sleeps for a random delay up to the exponential backoff ceiling of the given attempt.
+     *
+     * @param attempt the attempt that just failed, starting at 1
+     * @throws InterruptedException when interrupted while waiting
+     */
+    private void backoff(int attempt) throws InterruptedException {
+        long initial = Math.max(0, retry.getInitialBackoffMillis());
+        long ceiling = Math.min(Math.max(initial, retry.getMaxBackoffMillis()), initial << Math.min(attempt - 1, 20));
+        if (ceiling > 0) {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        }
+    }
+
+    /**
+     * Sends a request through the cv4pve client.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result
+     * @throws Exception when the request fails
+     */
+    private Result sendWithPveClient(HttpMethod method, String path, Map<String, Object> params) throws Exception {
+        return sendWithPveClient(client, method, path, params);
+    }
+
+    /**
+     * Sends a request through the given cv4pve client.
+     *
+     * @param client the cv4pve client
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params request parameters, may be {@code null}
+     * @return the API result
+     * @throws Exception when the request fails
+     */
+    private static Result sendWithPveClient(PveClient client, HttpMethod method, String path,
+                                            Map<String, Object> params) throws Exception {
+        if (HttpMethod.GET.equals(method)) {
+            return client.get(path, params);
+        }
+        if (HttpMethod.POST.equals(method)) {
+            return client.create(path, params);
+        }
+        if (HttpMethod.PUT.equals(method)) {
+            return client.set(path, params);
+        }
+        if (HttpMethod.DELETE.equals(method)) {
+            return client.delete(path, params);
+        }
+        throw new IllegalArgumentException("Unsupported HTTP method: " + method);
+    }
+
+    /**
+     * Builds the API base URI for an endpoint.
+     *
+     * @param endpoint the endpoint as {@code host} or {@code host:port}
+     * @param defaultPort the port used when the endpoint has none
+     * @return the API base URI
+     */
+    private static URI baseUri(String endpoint, int defaultPort) {
+        return URI.create("https://" + hostOf(endpoint) + ":" + portOf(endpoint, defaultPort) + "/api2/json");
+    }
+
+    /**
+     * Returns the host part of an endpoint.
+     *
+     * @param endpoint the endpoint as {@code host} or {@code host:port}
+     * @return the host
+     */
+    private static String hostOf(String endpoint) {
+        String value = endpoint.trim();
+        int colon = portSeparator(value);
+        return colon < 0 ? value : value.substring(0, colon);
+    }
+
+    /**
+     * Returns the port part of an endpoint.
+     *
+     * @param endpoint the endpoint as {@code host} or {@code host:port}
+     * @param defaultPort the port used when the endpoint has none
+     * @return the port
+     */
+    private static int portOf(String endpoint, int defaultPort) {
+        String value = endpoint.trim();
+        int colon = portSeparator(value);
+        return colon < 0 ? defaultPort : Integer.parseInt(value.substring(colon + 1));
+    }
+
+    /**
+     * Finds the colon separating host and port, ignoring colons inside IPv6 addresses.
+     *
+     * @param endpoint the trimmed endpoint
+     * @return the separator index, or {@code -1} when there is no port
+     */
+    private static int portSeparator(String endpoint) {
+        int colon = endpoint.lastIndexOf(':');
+        if (colon < 0) {
+            return -1;
+        }
+        if (endpoint.startsWith("[")) {
+            return colon > endpoint.indexOf(']') ? colon : -1;
+        }
+        return endpoint.indexOf(':') == colon ? colon : -1;
+    }
+
+    /**
+     * Creates a cv4pve client for an endpoint.
+     *
+     * @param host the endpoint host
+     * @param port the endpoint port
+     * @param verifySsl whether to validate TLS certificates
+     * @param apiToken the API token
+     * @param http the HTTP transport settings
+     * @return the configured cv4pve client
+     */
+    private static PveClient pveClient(String host, int port, boolean verifySsl, String apiToken, HttpConfig http) {
+        PveClient pve = new PveClient(host, port);
+        pve.setValidateCertificate(verifySsl);
+        pve.setApiToken(apiToken);
+        pve.setTimeout(http.getRequestTimeoutSeconds() * 1000);
+        return pve;
+    }
+
+    /**
+     * Creates the transport for a secondary endpoint.
+     *
+     * @param endpoint the endpoint as {@code host} or {@code host:port}
+     * @param defaultPort the port used when the endpoint has none
+     * @param verifySsl whether to validate TLS certificates
+     * @param http the HTTP transport settings
+     * @return the endpoint transport
+     */
+    private ProxmoxTransport endpointTransport(String endpoint, int defaultPort, boolean verifySsl, HttpConfig http) {
+        if (http.isPooled()) {
+            return new PooledHttpTransport(baseUri(endpoint, defaultPort), apiToken, verifySsl, http,
+                metrics::recordBytesReceived);
+        }
+        PveClient pve = pveClient(hostOf(endpoint), portOf(endpoint, defaultPort), verifySsl, apiToken, http);
+        return (method, path, params) -> sendWithPveClient(pve, method, path, params);
+    }
+
     /**
      * Returns true when the HTTP method is expected to mutate state.
      *
@@ -3,13 +3,17 @@ package io.github.smling.proxmoxmcpserver.core;
 import io.github.smling.proxmoxmcpserver.config.AuthConfig;
 import io.github.smling.proxmoxmcpserver.config.ProxmoxConfig;
 
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Creates and validates a Proxmox API client for tool usage.
  */
-public class ProxmoxManager {
+public class ProxmoxManager implements AutoCloseable {
     private static final Logger logger = LoggerFactory.getLogger(ProxmoxManager.class);
     private final ProxmoxClient apiClient;
 
@@ -21,12 +25,13 @@ public class ProxmoxManager {
      */
     public ProxmoxManager(ProxmoxConfig proxmoxConfig, AuthConfig authConfig) {
         ProxmoxClient client = new ProxmoxClient(
-            proxmoxConfig.getHost(),
+            endpoints(proxmoxConfig),
             proxmoxConfig.getPort(),
             proxmoxConfig.isVerifySsl(),
             authConfig.getUser(),
             authConfig.getTokenName(),
-            authConfig.getTokenValue()
+            authConfig.getTokenValue(),
+            proxmoxConfig.getHttp()
         );
         this.apiClient = testConnection(client);
     }
@@ -41,6 +46,24 @@ public class ProxmoxManager {
         this.apiClient = validateConnection ? testConnection(client) : client;
     }
 
+    /**
+     * Lists the configured API endpoints, starting with the primary host.
+     *
+     * @param proxmoxConfig the Proxmox connection config
+     * @return the distinct endpoints
+     */
+    private static List<String> endpoints(ProxmoxConfig proxmoxConfig) {
+        Set<String> endpoints = new LinkedHashSet<>();
+        endpoints.add(proxmoxConfig.getHost());
+        if (proxmoxConfig.getEndpoints() != null) {
+            proxmoxConfig.getEndpoints().stream()
+                .filter(endpoint -> endpoint != null && !endpoint.isBlank())
+                .map(String::trim)
+                .forEach(endpoints::add);
+        }
+        return List.copyOf(endpoints);
+    }
+
     /**
      * Tests the API connection and returns the usable client.
      *
@@ -67,4 +90,12 @@ public class ProxmoxManager {
     public ProxmoxClient getApi() {
         return apiClient;
     }
+
+    /**
+     * Releases resources held by the API client.
+     */
+    @Override
+    public void close() {
+        apiClient.close();
+    }
 }
@@ -0,0 +1,32 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import java.util.Map;
+
+import it.corsinvest.proxmoxve.api.Result;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Sends a single raw request to the Proxmox API.
+ *
+ * <p>Implementations only perform I/O; response validation stays in {@link ProxmoxClient}.</p>
+ */
+@FunctionalInterface
+public interface ProxmoxTransport extends AutoCloseable {
+    /**
+     * Sends a request and returns the unvalidated API result.
+     *
+     * @param method the HTTP method
+     * @param path the API path
+     * @param params query parameters for GET/DELETE or form parameters for POST/PUT, may be {@code null}
+     * @return the API result
+     * @throws Exception when the request cannot be completed
+     */
+    Result send(HttpMethod method, String path, Map<String, Object> params) throws Exception;
+
+    /**
+     * Releases pooled resources held by the transport.
+     */
+    @Override
+    default void close() {
+    }
+}
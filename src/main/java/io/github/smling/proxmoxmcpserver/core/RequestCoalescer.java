@@ -0,0 +1,154 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+import it.corsinvest.proxmoxve.api.Result;
+
+/**
+ * Single-flight deduplication for identical concurrent GET requests.
+ *
+ * <p>The first caller for a key performs the request; callers arriving while it is in flight wait
+ * for and share the same {@link Result}. Nothing is cached once the request completes.</p>
+ */
+public class RequestCoalescer implements MeterBinder {
+    private final Map<String, CompletableFuture<Result>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * Runs the request unless an identical one is already in flight.
+     *
+     * @param key the request key, see {@link #key(String, Map)}
+     * @param request performs the upstream request
+     * @return the shared result
+     * @throws Exception when the shared request fails
+     */
+    public Result execute(String key, Request request) throws Exception {
+        requests.increment();
+        CompletableFuture<Result> own = new CompletableFuture<>();
+        CompletableFuture<Result> existing = inFlight.putIfAbsent(key, own);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing);
+        }
+        try {
+            Result result = request.send();
+            own.complete(result);
+            return result;
+        } catch (Exception | Error e) {
+            own.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, own);
+        }
+    }
+
+    /**
+     * Builds a coalescing key from a path and its query parameters, independent of parameter order.
+     *
+     * @param path the API path
+     * @param query query parameters, may be {@code null}
+     * @return the key
+     */
+    public static String key(String path, Map<String, ?> query) {
+        if (query == null || query.isEmpty()) {
+            return path;
+        }
+        return path + "?" + new TreeMap<>(query);
+    }
+
+    /**
+     * Returns how many requests went through the coalescer.
+     *
+     * @return the request count
+     */
+    public long getRequestCount() {
+        return requests.sum();
+    }
+
+    /**
+     * Returns how many requests shared an in-flight upstream request.
+     *
+     * @return the coalesced request count
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    /**
+     * Returns the fraction of requests served by an in-flight upstream request.
+     *
+     * @return the hit ratio between 0 and 1
+     */
+    public double getHitRatio() {
+        long total = requests.sum();
+        return total == 0 ? 0.0 : (double) coalesced.sum() / total;
+    }
+
+    /**
+     * Registers request, hit and hit-ratio meters.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("proxmox.api.coalesce.requests", this, RequestCoalescer::getRequestCount)
+            .description("GET requests eligible for single-flight coalescing")
+            .register(registry);
+        FunctionCounter.builder("proxmox.api.coalesce.hits", this, RequestCoalescer::getCoalescedCount)
+            .description("GET requests that shared an in-flight upstream request")
+            .register(registry);
+        Gauge.builder("proxmox.api.coalesce.hit.ratio", this, RequestCoalescer::getHitRatio)
+            .description("Fraction of GET requests served by an in-flight upstream request")
+            .register(registry);
+    }
+
+    /**
+     * Waits for an in-flight request and unwraps its failure.
+     *
+     * @param future the in-flight request
+     * @return the shared result
+     * @throws Exception the failure of the shared request
+     */
+    private static Result await(CompletableFuture<Result> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * An upstream request that may throw checked exceptions.
+     */
+    @FunctionalInterface
+    public interface Request {
+        /**
+         * Sends the request.
+         *
+         * @return the API result
+         * @throws Exception when the request fails
+         */
+        Result send() throws Exception;
+    }
+}
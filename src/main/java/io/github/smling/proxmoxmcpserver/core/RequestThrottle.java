@@ -0,0 +1,307 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import io.github.smling.proxmoxmcpserver.config.ThrottleConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Client-side token-bucket rate limiter and in-flight bulkhead toward the Proxmox API.
+ *
+ * <p>Limits apply globally and per node, keyed on the {@code /nodes/{node}} path prefix. With mutation
+ * priority enabled, mutating requests take rate tokens without waiting and are admitted to a bulkhead ahead
+ * of queued reads, so large read fan-outs cannot hold them back. Time spent waiting is recorded as the
+ * {@code proxmox.api.queue.wait} timer.</p>
+ */
+public class RequestThrottle implements MeterBinder {
+    private static final Permit NO_PERMIT = () -> {
+    };
+
+    private final boolean enabled;
+    private final boolean prioritizeMutations;
+    private final ThrottleConfig config;
+    private final Limits global;
+    private final Map<String, Limits> perNode = new ConcurrentHashMap<>();
+    private volatile Timer readWait;
+    private volatile Timer mutationWait;
+
+    /**
+     * Creates a throttle from configuration.
+     *
+     * @param config the throttle settings
+     */
+    public RequestThrottle(ThrottleConfig config) {
+        this.config = config == null ? new ThrottleConfig() : config;
+        this.enabled = this.config.isEnabled();
+        this.prioritizeMutations = this.config.isPrioritizeMutations();
+        this.global = new Limits(this.config.getRequestsPerSecond(), this.config.getBurst(),
+            this.config.getMaxInFlight());
+    }
+
+    /**
+     * Waits for rate tokens and in-flight slots for one request.
+     *
+     * @param node the node the request targets, may be {@code null}
+     * @param mutation whether the request changes state
+     * @return the permit to close once the response is received
+     * @throws InterruptedException when interrupted while waiting
+     */
+    public Permit acquire(String node, boolean mutation) throws InterruptedException {
+        if (!enabled) {
+            return NO_PERMIT;
+        }
+        boolean priority = mutation && prioritizeMutations;
+        long start = System.nanoTime();
+        Limits nodeLimits = node == null ? null : perNode.computeIfAbsent(node, key -> new Limits(
+            config.getPerNodeRequestsPerSecond(), config.getPerNodeBurst(), config.getPerNodeMaxInFlight()));
+        if (nodeLimits != null) {
+            nodeLimits.pace(priority);
+        }
+        global.pace(priority);
+        if (nodeLimits != null) {
+            nodeLimits.enter(priority);
+        }
+        try {
+            global.enter(priority);
+        } catch (InterruptedException e) {
+            if (nodeLimits != null) {
+                nodeLimits.exit();
+            }
+            throw e;
+        }
+        Timer timer = mutation ? mutationWait : readWait;
+        if (timer != null) {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        return () -> {
+            global.exit();
+            if (nodeLimits != null) {
+                nodeLimits.exit();
+            }
+        };
+    }
+
+    /**
+     * Registers queue-wait timers for reads and mutations.
+     *
+     * @param registry the meter registry
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        readWait = queueWaitTimer(registry, "read");
+        mutationWait = queueWaitTimer(registry, "mutation");
+    }
+
+    /**
+     * Builds a queue-wait timer for one request kind.
+     *
+     * @param registry the meter registry
+     * @param kind the request kind tag
+     * @return the timer
+     */
+    private static Timer queueWaitTimer(MeterRegistry registry, String kind) {
+        return Timer.builder("proxmox.api.queue.wait")
+            .description("Time Proxmox API requests spend waiting for rate tokens and in-flight slots")
+            .tag("kind", kind)
+            .register(registry);
+    }
+
+    /**
+     * A held in-flight slot.
+     */
+    @FunctionalInterface
+    public interface Permit extends AutoCloseable {
+        /**
+         * Releases the slot.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Rate and concurrency limits for one scope.
+     */
+    private static final class Limits {
+        private final TokenBucket bucket;
+        private final Bulkhead bulkhead;
+
+        /**
+         * Creates limits, leaving out the parts configured as unlimited.
+         *
+         * @param requestsPerSecond the sustained rate, {@code 0} for unlimited
+         * @param burst the bucket capacity
+         * @param maxInFlight the in-flight limit, {@code 0} for unlimited
+         */
+        Limits(double requestsPerSecond, int burst, int maxInFlight) {
+            this.bucket = requestsPerSecond > 0 ? new TokenBucket(requestsPerSecond, burst, System.nanoTime()) : null;
+            this.bulkhead = maxInFlight > 0 ? new Bulkhead(maxInFlight) : null;
+        }
+
+        /**
+         * Waits until the rate limit admits another request.
+         *
+         * @param priority whether the request may take a token without waiting
+         * @throws InterruptedException when interrupted while waiting
+         */
+        void pace(boolean priority) throws InterruptedException {
+            if (bucket != null) {
+                long waitNanos = bucket.reserve(System.nanoTime(), priority);
+                if (waitNanos > 0) {
+                    TimeUnit.NANOSECONDS.sleep(waitNanos);
+                }
+            }
+        }
+
+        /**
+         * Takes an in-flight slot.
+         *
+         * @param priority whether the request is admitted ahead of queued reads
+         * @throws InterruptedException when interrupted while waiting
+         */
+        void enter(boolean priority) throws InterruptedException {
+            if (bulkhead != null) {
+                bulkhead.acquire(priority);
+            }
+        }
+
+        /**
+         * Returns an in-flight slot.
+         */
+        void exit() {
+            if (bulkhead != null) {
+                bulkhead.release();
+            }
+        }
+    }
+
+    /**
+     * Token bucket that hands out reservations, so waiting callers are spaced at the configured rate.
+     */
+    static final class TokenBucket {
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long updatedAt;
+
+        /**
+         * Creates a full bucket.
+         *
+         * @param requestsPerSecond the refill rate
+         * @param burst the capacity
+         * @param now the current time in nanoseconds
+         */
+        TokenBucket(double requestsPerSecond, int burst, long now) {
+            this.tokensPerNano = requestsPerSecond / TimeUnit.SECONDS.toNanos(1);
+            this.capacity = Math.max(1, burst);
+            this.tokens = capacity;
+            this.updatedAt = now;
+        }
+
+        /**
+         * Takes one token and returns how long the caller must wait before using it.
+         *
+         * @param now the current time in nanoseconds
+         * @param priority whether to use the token immediately, delaying later reservations instead
+         * @return the wait in nanoseconds
+         */
+        synchronized long reserve(long now, boolean priority) {
+            tokens = Math.min(capacity, tokens + (now - updatedAt) * tokensPerNano);
+            updatedAt = now;
+            tokens -= 1;
+            if (tokens >= 0 || priority) {
+                return 0;
+            }
+            return (long) Math.ceil(-tokens / tokensPerNano);
+        }
+    }
+
+    /**
+     * In-flight limit with a FIFO queue for reads and a preferred queue for mutations.
+     */
+    static final class Bulkhead {
+        private final int limit;
+        private final ReentrantLock lock = new ReentrantLock(true);
+        private final Condition priorityTurn = lock.newCondition();
+        private final Condition normalTurn = lock.newCondition();
+        private int inFlight;
+        private int priorityWaiting;
+
+        /**
+         * Creates a bulkhead.
+         *
+         * @param limit the maximum concurrent requests
+         */
+        Bulkhead(int limit) {
+            this.limit = limit;
+        }
+
+        /**
+         * Waits for a slot; normal requests also wait while priority requests are queued.
+         *
+         * @param priority whether to queue ahead of normal requests
+         * @throws InterruptedException when interrupted while waiting
+         */
+        void acquire(boolean priority) throws InterruptedException {
+            lock.lock();
+            try {
+                if (priority) {
+                    priorityWaiting++;
+                    try {
+                        while (inFlight >= limit) {
+                            priorityTurn.await();
+                        }
+                    } finally {
+                        priorityWaiting--;
+                        if (priorityWaiting == 0) {
+                            normalTurn.signal();
+                        }
+                    }
+                } else {
+                    while (inFlight >= limit || priorityWaiting > 0) {
+                        normalTurn.await();
+                    }
+                }
+                inFlight++;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Frees a slot, handing it to a queued priority request first.
+         */
+        void release() {
+            lock.lock();
+            try {
+                inFlight--;
+                if (priorityWaiting > 0) {
+                    priorityTurn.signal();
+                } else {
+                    normalTurn.signal();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Returns the number of held slots.
+         *
+         * @return the in-flight count
+         */
+        int inFlight() {
+            lock.lock();
+            try {
+                return inFlight;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
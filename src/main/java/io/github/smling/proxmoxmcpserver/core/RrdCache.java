@@ -0,0 +1,308 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+import it.corsinvest.proxmoxve.api.Result;
+
+/**
+ * Caches guest RRD series from {@code /nodes/{node}/{type}/{vmid}/rrddata}.
+ *
+ * <p>Proxmox adds one sample per resolution step of a timeframe (60 seconds for {@code hour}), so
+ * a fetched series is served from memory until the next step is due. Samples are stored in
+ * primitive arrays rather than JSON trees, and the least recently used series are evicted beyond
+ * {@code rrd_max_series}. Concurrent lookups of the same series share one request.</p>
+ */
+public class RrdCache {
+    private final ProxmoxClient proxmox;
+    private final boolean enabled;
+    private final LongSupplier clock;
+    private final Map<Key, Slot> slots;
+
+    /**
+     * Creates an RRD cache with the given cache settings.
+     *
+     * @param proxmox the Proxmox client
+     * @param config the cache settings; caching is off when they are disabled
+     */
+    public RrdCache(ProxmoxClient proxmox, CacheConfig config) {
+        this(proxmox, config, System::nanoTime);
+    }
+
+    /**
+     * Creates an RRD cache with an explicit clock.
+     *
+     * @param proxmox the Proxmox client
+     * @param config the cache settings; caching is off when they are disabled
+     * @param clock monotonic time source in nanoseconds
+     */
+    RrdCache(ProxmoxClient proxmox, CacheConfig config, LongSupplier clock) {
+        CacheConfig settings = config == null ? new CacheConfig() : config;
+        int maxSeries = Math.max(1, settings.getRrdMaxSeries());
+        this.proxmox = proxmox;
+        this.enabled = settings.isEnabled() && settings.getRrdMaxSeries() > 0;
+        this.clock = clock;
+        this.slots = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Slot> eldest) {
+                return size() > maxSeries;
+            }
+        };
+    }
+
+    /**
+     * Returns the RRD series of a guest.
+     *
+     * @param node the node name
+     * @param type the guest type, {@code qemu} or {@code lxc}
+     * @param vmid the guest ID
+     * @param timeframe the RRD timeframe
+     * @return the series, oldest sample first
+     * @throws Exception when the series cannot be fetched
+     */
+    public Series series(String node, String type, int vmid, Timeframe timeframe) throws Exception {
+        Key key = new Key(node, type, vmid, timeframe);
+        if (!enabled) {
+            return fetch(key);
+        }
+        Slot slot;
+        synchronized (slots) {
+            slot = slots.computeIfAbsent(key, ignored -> new Slot());
+        }
+        Series cached = slot.fresh();
+        if (cached != null) {
+            return cached;
+        }
+        slot.lock.lock();
+        try {
+            cached = slot.fresh();
+            if (cached != null) {
+                return cached;
+            }
+            Series series = fetch(key);
+            slot.series = series;
+            slot.expiresAt = clock.getAsLong() + TimeUnit.SECONDS.toNanos(timeframe.stepSeconds());
+            return series;
+        } finally {
+            slot.lock.unlock();
+        }
+    }
+
+    /**
+     * Drops every cached series.
+     */
+    public void invalidate() {
+        synchronized (slots) {
+            slots.clear();
+        }
+    }
+
+    /**
+     * Returns how many series are cached.
+     *
+     * @return the number of cached series
+     */
+    int size() {
+        synchronized (slots) {
+            return slots.size();
+        }
+    }
+
+    /**
+     * Fetches a series from the API.
+     *
+     * @param key the series key
+     * @return the parsed series
+     * @throws Exception when the request fails
+     */
+    private Series fetch(Key key) throws Exception {
+        Result result = proxmox.get("/nodes/" + key.node() + "/" + key.type() + "/" + key.vmid() + "/rrddata",
+            Map.of("timeframe", key.timeframe().apiName(), "cf", "AVERAGE"));
+        JsonNode response = result == null ? null : result.getResponse();
+        JsonNode data = response == null ? null : response.path("data");
+        return Series.of(data);
+    }
+
+    /**
+     * RRD timeframes and their sample resolution.
+     */
+    public enum Timeframe {
+        HOUR(60),
+        DAY(1800),
+        WEEK(10800),
+        MONTH(43200),
+        YEAR(604800);
+
+        private final long stepSeconds;
+
+        Timeframe(long stepSeconds) {
+            this.stepSeconds = stepSeconds;
+        }
+
+        /**
+         * Returns the seconds between two samples.
+         *
+         * @return the resolution in seconds
+         */
+        public long stepSeconds() {
+            return stepSeconds;
+        }
+
+        /**
+         * Returns the name the API expects.
+         *
+         * @return the lower-case timeframe name
+         */
+        public String apiName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * One guest RRD series stored column-wise; missing values are {@link Double#NaN}.
+     */
+    public static final class Series {
+        private static final Series EMPTY = new Series(new double[0], new double[0], new double[0]);
+
+        private final double[] cpu;
+        private final double[] mem;
+        private final double[] maxmem;
+
+        /**
+         * Creates a series from its columns.
+         *
+         * @param cpu CPU usage as a fraction of the allotted CPUs
+         * @param mem used memory in bytes
+         * @param maxmem memory limit in bytes
+         */
+        private Series(double[] cpu, double[] mem, double[] maxmem) {
+            this.cpu = cpu;
+            this.mem = mem;
+            this.maxmem = maxmem;
+        }
+
+        /**
+         * Parses an {@code rrddata} payload.
+         *
+         * @param data the data array, may be {@code null}
+         * @return the series, empty when the payload is not an array
+         */
+        static Series of(JsonNode data) {
+            if (data == null || !data.isArray() || data.isEmpty()) {
+                return EMPTY;
+            }
+            int size = data.size();
+            double[] cpu = new double[size];
+            double[] mem = new double[size];
+            double[] maxmem = new double[size];
+            for (int i = 0; i < size; i++) {
+                JsonNode sample = data.get(i);
+                cpu[i] = value(sample, "cpu");
+                mem[i] = value(sample, "mem");
+                maxmem[i] = value(sample, "maxmem");
+            }
+            return new Series(cpu, mem, maxmem);
+        }
+
+        /**
+         * Returns the number of samples.
+         *
+         * @return the sample count
+         */
+        public int size() {
+            return cpu.length;
+        }
+
+        /**
+         * Returns the newest CPU value.
+         *
+         * @return CPU usage as a fraction, or {@code NaN} when no sample carries it
+         */
+        public double lastCpu() {
+            return last(cpu);
+        }
+
+        /**
+         * Returns the newest used-memory value.
+         *
+         * @return used memory in bytes, or {@code NaN} when no sample carries it
+         */
+        public double lastMem() {
+            return last(mem);
+        }
+
+        /**
+         * Returns the newest memory-limit value.
+         *
+         * @return the memory limit in bytes, or {@code NaN} when no sample carries it
+         */
+        public double lastMaxmem() {
+            return last(maxmem);
+        }
+
+        /**
+         * Reads a numeric sample field.
+         *
+         * @param sample the sample
+         * @param field the field name
+         * @return the value, or {@code NaN} when absent
+         */
+        private static double value(JsonNode sample, String field) {
+            JsonNode value = sample.get(field);
+            return value == null || !value.isNumber() ? Double.NaN : value.asDouble();
+        }
+
+        /**
+         * Returns the newest value of a column. The newest RRD row is often still being filled and
+         * has no values, so older rows are used in that case.
+         *
+         * @param column the column
+         * @return the newest value, or {@code NaN}
+         */
+        private static double last(double[] column) {
+            for (int i = column.length - 1; i >= 0; i--) {
+                if (!Double.isNaN(column[i])) {
+                    return column[i];
+                }
+            }
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Identifies one series.
+     *
+     * @param node the node name
+     * @param type the guest type
+     * @param vmid the guest ID
+     * @param timeframe the timeframe
+     */
+    private record Key(String node, String type, int vmid, Timeframe timeframe) {
+    }
+
+    /**
+     * Cache slot for one series.
+     */
+    private final class Slot {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Series series;
+        private volatile long expiresAt;
+
+        /**
+         * Returns the cached series while it is fresh.
+         *
+         * @return the series, or {@code null} when missing or expired
+         */
+        private Series fresh() {
+            Series current = series;
+            return current != null && clock.getAsLong() - expiresAt < 0 ? current : null;
+        }
+    }
+}
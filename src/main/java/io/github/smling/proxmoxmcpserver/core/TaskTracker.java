@@ -0,0 +1,478 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import it.corsinvest.proxmoxve.api.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads and waits for Proxmox tasks identified by their UPID.
+ *
+ * <p>Waiting is batched per node: one virtual thread per node with waiters lists the node's
+ * running tasks ({@code /nodes/{node}/tasks?source=active}) each round, and only reads
+ * {@code /tasks/{upid}/status} for watched tasks that dropped out of that list. A round therefore
+ * costs one request plus one per finished task, however many tasks are being waited for. The delay
+ * between rounds starts at {@code task_poll_initial_millis}, doubles up to
+ * {@code task_poll_max_millis}, and resets when a new task is watched. A watch fails as soon as its
+ * status read fails permanently, for example with a 403 or an unknown task or node; transient failures
+ * are retried until the timeout.</p>
+ */
+public class TaskTracker {
+    private static final Logger logger = LoggerFactory.getLogger(TaskTracker.class);
+    private static final Pattern API_STATUS = Pattern.compile("^proxmox api error: (\\d{3})\\b");
+    private static final Set<Integer> RETRYABLE_CLIENT_ERRORS = Set.of(408, 425, 429);
+
+    private final ProxmoxClient proxmox;
+    private final long initialDelayMillis;
+    private final long maxDelayMillis;
+    private final Map<String, NodePoller> pollers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a tracker with default polling settings.
+     *
+     * @param proxmox the Proxmox client
+     */
+    public TaskTracker(ProxmoxClient proxmox) {
+        this(proxmox, new ToolsConfig());
+    }
+
+    /**
+     * Creates a tracker with the given polling settings.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool settings with task poll intervals
+     */
+    public TaskTracker(ProxmoxClient proxmox, ToolsConfig tools) {
+        ToolsConfig settings = tools == null ? new ToolsConfig() : tools;
+        this.proxmox = proxmox;
+        this.maxDelayMillis = Math.max(1, settings.getTaskPollMaxMillis());
+        this.initialDelayMillis = Math.min(Math.max(1, settings.getTaskPollInitialMillis()), maxDelayMillis);
+    }
+
+    /**
+     * Reads the current status of a task.
+     *
+     * @param upid the task UPID
+     * @return the task status
+     * @throws Exception when the UPID is invalid or the status cannot be read
+     */
+    public TaskStatus status(String upid) throws Exception {
+        Upid parsed = Upid.parse(upid);
+        return TaskStatus.from(parsed, data(proxmox.get(statusPath(parsed))));
+    }
+
+    /**
+     * Reads the last lines of a task log.
+     *
+     * @param upid the task UPID
+     * @param lines how many lines to return
+     * @return the log lines, oldest first
+     * @throws Exception when the UPID is invalid or the log cannot be read
+     */
+    public List<String> log(String upid, int lines) throws Exception {
+        Upid parsed = Upid.parse(upid);
+        if (lines <= 0) {
+            return List.of();
+        }
+        String path = "/nodes/" + parsed.node() + "/tasks/" + parsed.value() + "/log";
+        Result head = proxmox.get(path, Map.of("start", "0", "limit", String.valueOf(lines)));
+        JsonNode response = head.getResponse();
+        long total = response == null ? 0 : response.path("total").asLong(0);
+        JsonNode entries = data(head);
+        if (total > lines) {
+            entries = data(proxmox.get(path, Map.of("start", String.valueOf(total - lines),
+                "limit", String.valueOf(lines))));
+        }
+        List<String> out = new ArrayList<>();
+        for (JsonNode entry : entries) {
+            out.add(entry.path("t").asText(""));
+        }
+        return out;
+    }
+
+    /**
+     * Waits until a task has stopped or the timeout elapses.
+     *
+     * @param upid the task UPID
+     * @param timeout how long to wait
+     * @return the final status, or the current status when the task is still running
+     * @throws Exception when the UPID is invalid, the status cannot be read or the thread is interrupted
+     */
+    public TaskStatus await(String upid, Duration timeout) throws Exception {
+        Upid parsed = Upid.parse(upid);
+        NodePoller poller = pollers.computeIfAbsent(parsed.node(), NodePoller::new);
+        Watch watch = poller.watch(parsed);
+        try {
+            return watch.done.get(Math.max(0, timeout.toNanos()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            return status(upid);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw e;
+        } finally {
+            poller.unwatch(watch);
+        }
+    }
+
+    /**
+     * Builds the status path of a task.
+     *
+     * @param upid the parsed UPID
+     * @return the API path
+     */
+    private static String statusPath(Upid upid) {
+        return "/nodes/" + upid.node() + "/tasks/" + upid.value() + "/status";
+    }
+
+    /**
+     * Extracts the data section from a Proxmox API response.
+     *
+     * @param result the Proxmox API result
+     * @return the data node or a missing node
+     */
+    private static JsonNode data(Result result) {
+        JsonNode response = result == null ? null : result.getResponse();
+        if (response == null || response.isNull()) {
+            return MissingNode.getInstance();
+        }
+        return response.path("data");
+    }
+
+    /**
+     * Checks whether a status read failed in a way another round cannot fix.
+     *
+     * <p>That is an unknown task or node, or a client error other than a timeout or rate limit; any
+     * other failure is retried on the next round.</p>
+     *
+     * @param error the failure
+     * @return true when the watch should fail now rather than at its timeout
+     */
+    static boolean isPermanent(Exception error) {
+        String message = error.getMessage() == null ? "" : error.getMessage().toLowerCase(Locale.ROOT);
+        if (message.contains("no such task") || message.contains("hostname lookup")) {
+            return true;
+        }
+        Matcher status = API_STATUS.matcher(message);
+        if (!status.find()) {
+            return false;
+        }
+        int code = Integer.parseInt(status.group(1));
+        return code >= 400 && code < 500 && !RETRYABLE_CLIENT_ERRORS.contains(code);
+    }
+
+    /**
+     * Polls the tasks watched on one node.
+     */
+    private final class NodePoller {
+        private final String node;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final Map<String, Watch> watches = new HashMap<>();
+        private boolean running;
+        private boolean reset;
+
+        /**
+         * Creates an idle poller.
+         *
+         * @param node the node name
+         */
+        private NodePoller(String node) {
+            this.node = node;
+        }
+
+        /**
+         * Registers interest in a task and starts polling when needed.
+         *
+         * @param upid the parsed UPID
+         * @return the watch, whose future completes with the final task status
+         */
+        private Watch watch(Upid upid) {
+            lock.lock();
+            try {
+                Watch watch = watches.computeIfAbsent(upid.value(), key -> new Watch(upid));
+                watch.waiters++;
+                reset = true;
+                changed.signalAll();
+                if (!running) {
+                    running = true;
+                    // The poller outlives this call and serves every waiter, so it must not count its
+                    // requests against the upstream-call scope of whichever caller happened to start it.
+                    Thread.ofVirtual().name("proxmox-tasks-" + node).inheritInheritableThreadLocals(false)
+                        .start(this::run);
+                }
+                return watch;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Drops interest in a task; the task is no longer polled once nobody waits for it.
+         *
+         * @param watch the watch returned by {@link #watch(Upid)}
+         */
+        private void unwatch(Watch watch) {
+            lock.lock();
+            try {
+                if (--watch.waiters <= 0) {
+                    watches.remove(watch.upid.value(), watch);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * Polls until no task is watched.
+         */
+        private void run() {
+            long delayMillis = initialDelayMillis;
+            while (true) {
+                List<Watch> pending;
+                lock.lock();
+                try {
+                    long remaining = TimeUnit.MILLISECONDS.toNanos(delayMillis);
+                    while (!watches.isEmpty()) {
+                        if (reset) {
+                            reset = false;
+                            delayMillis = initialDelayMillis;
+                            remaining = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(initialDelayMillis));
+                        }
+                        if (remaining <= 0) {
+                            break;
+                        }
+                        remaining = changed.awaitNanos(remaining);
+                    }
+                    if (watches.isEmpty()) {
+                        running = false;
+                        return;
+                    }
+                    pending = new ArrayList<>(watches.values());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    running = false;
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                boolean finished = poll(pending);
+                delayMillis = finished ? initialDelayMillis : Math.min(delayMillis * 2, maxDelayMillis);
+            }
+        }
+
+        /**
+         * Runs one polling round.
+         *
+         * @param pending the watched tasks
+         * @return true when at least one task finished
+         */
+        private boolean poll(List<Watch> pending) {
+            Set<String> active = activeTasks();
+            boolean finished = false;
+            for (Watch watch : pending) {
+                if (active != null && active.contains(watch.upid.value())) {
+                    continue;
+                }
+                try {
+                    TaskStatus status = TaskStatus.from(watch.upid, data(proxmox.get(statusPath(watch.upid))));
+                    if (!status.running()) {
+                        finished = true;
+                        complete(watch, status, null);
+                    }
+                } catch (Exception e) {
+                    if (isPermanent(e)) {
+                        logger.warn("Giving up on task {}: {}", watch.upid.value(), e.getMessage());
+                        complete(watch, null, e);
+                    } else {
+                        logger.warn("Failed to read status of task {}: {}", watch.upid.value(), e.getMessage());
+                    }
+                }
+            }
+            return finished;
+        }
+
+        /**
+         * Lists the UPIDs of tasks running on the node.
+         *
+         * @return running UPIDs, or {@code null} when the list cannot be read
+         */
+        private Set<String> activeTasks() {
+            try {
+                Set<String> active = new HashSet<>();
+                for (JsonNode task : data(proxmox.get("/nodes/" + node + "/tasks", Map.of("source", "active")))) {
+                    active.add(task.path("upid").asText());
+                }
+                return active;
+            } catch (Exception e) {
+                logger.debug("Failed to list active tasks on node {}, reading each status", node, e);
+                return null;
+            }
+        }
+
+        /**
+         * Completes a watch and stops polling its task.
+         *
+         * @param watch the watch
+         * @param status the final status, or {@code null} on failure
+         * @param error the failure, or {@code null}
+         */
+        private void complete(Watch watch, TaskStatus status, Exception error) {
+            lock.lock();
+            try {
+                watches.remove(watch.upid.value(), watch);
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) {
+                watch.done.completeExceptionally(error);
+            } else {
+                watch.done.complete(status);
+            }
+        }
+    }
+
+    /**
+     * A watched task and the number of callers waiting for it.
+     */
+    private static final class Watch {
+        private final Upid upid;
+        private final CompletableFuture<TaskStatus> done = new CompletableFuture<>();
+        private int waiters;
+
+        /**
+         * Creates a watch without waiters.
+         *
+         * @param upid the parsed UPID
+         */
+        private Watch(Upid upid) {
+            this.upid = upid;
+        }
+    }
+
+    /**
+     * A parsed Proxmox task ID: {@code UPID:node:pid:pstart:starttime:type:id:user:}.
+     *
+     * @param value the full UPID
+     * @param node the node that runs the task
+     * @param startTime the task start as epoch seconds
+     * @param type the task type, such as {@code qmstart} or {@code vzdump}
+     * @param id the task object ID, usually a VM ID, or empty
+     * @param user the user that started the task
+     */
+    public record Upid(String value, String node, long startTime, String type, String id, String user) {
+
+        /**
+         * Parses a UPID.
+         *
+         * @param value the UPID text
+         * @return the parsed UPID
+         * @throws IllegalArgumentException when the text is not a UPID
+         */
+        public static Upid parse(String value) {
+            String trimmed = value == null ? "" : value.trim();
+            if (trimmed.startsWith("\"") && trimmed.endsWith("\"") && trimmed.length() > 1) {
+                trimmed = trimmed.substring(1, trimmed.length() - 1);
+            }
+            String[] parts = trimmed.split(":", -1);
+            if (parts.length < 8 || !"UPID".equals(parts[0]) || parts[1].isBlank()) {
+                throw new IllegalArgumentException("Invalid UPID: " + value);
+            }
+            long startTime;
+            try {
+                startTime = Long.parseLong(parts[4], 16);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid UPID: " + value, e);
+            }
+            return new Upid(trimmed, parts[1], startTime, parts[5], parts[6], parts[7]);
+        }
+
+        /**
+         * Checks whether a text looks like a UPID.
+         *
+         * @param value the text
+         * @return true when it can be parsed
+         */
+        public static boolean isUpid(String value) {
+            try {
+                parse(value);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Status of a Proxmox task.
+     *
+     * @param upid the parsed UPID
+     * @param status {@code running} or {@code stopped}
+     * @param exitStatus {@code OK}, {@code WARNINGS: n} or an error message once stopped, otherwise {@code null}
+     */
+    public record TaskStatus(Upid upid, String status, String exitStatus) {
+
+        /**
+         * Builds a status from a {@code /tasks/{upid}/status} payload.
+         *
+         * @param upid the parsed UPID
+         * @param payload the status payload
+         * @return the status
+         */
+        static TaskStatus from(Upid upid, JsonNode payload) {
+            String status = payload.path("status").asText("running");
+            String exitStatus = payload.hasNonNull("exitstatus") ? payload.path("exitstatus").asText() : null;
+            return new TaskStatus(upid, status, exitStatus);
+        }
+
+        /**
+         * Returns whether the task is still running.
+         *
+         * @return true while running
+         */
+        public boolean running() {
+            return !"stopped".equalsIgnoreCase(status);
+        }
+
+        /**
+         * Returns whether the task stopped without errors; warnings count as success.
+         *
+         * @return true for {@code OK} and {@code WARNINGS: n}
+         */
+        public boolean ok() {
+            return !running() && exitStatus != null
+                && ("OK".equals(exitStatus) || exitStatus.startsWith("WARNINGS"));
+        }
+
+        /**
+         * Describes the status in one line.
+         *
+         * @return {@code running}, or {@code stopped (exit status)}
+         */
+        public String describe() {
+            return running() ? "running" : "stopped (" + (exitStatus == null ? "unknown" : exitStatus) + ")";
+        }
+    }
+}
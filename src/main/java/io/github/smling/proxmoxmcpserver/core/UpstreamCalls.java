@@ -0,0 +1,51 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Attributes upstream Proxmox API calls to the operation that caused them.
+ *
+ * <p>The counter is inherited by threads started inside the scope, so calls made from fan-out and async
+ * virtual threads count toward the caller. Long-lived background threads, such as the task pollers and
+ * the inventory refresher, are started with {@code inheritInheritableThreadLocals(false)} because they
+ * outlive the call that happened to start them.</p>
+ */
+public final class UpstreamCalls {
+    private static final InheritableThreadLocal<LongAdder> CURRENT = new InheritableThreadLocal<>();
+
+    private UpstreamCalls() {
+    }
+
+    /**
+     * Runs an action while counting the upstream calls it makes.
+     *
+     * @param counter the counter to increment per upstream call
+     * @param action the action to run
+     * @param <T> the result type
+     * @return the action result
+     */
+    public static <T> T count(LongAdder counter, Supplier<T> action) {
+        LongAdder previous = CURRENT.get();
+        CURRENT.set(counter);
+        try {
+            return action.get();
+        } finally {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Counts one upstream call against the current scope, if any.
+     */
+    static void record() {
+        LongAdder counter = CURRENT.get();
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.server.McpServerFeatures.SyncToolSpecification;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.model.ModelOptionsUtils;
+import org.springframework.ai.tool.ToolCallback;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Adapts tool callbacks to async MCP tool specifications that run on virtual threads.
+ *
+ * <p>Each call is returned as a {@link Mono} and runs on its own virtual thread, so a call waiting
+ * on the Proxmox API parks instead of holding a platform thread. Spring AI's default adapter uses
+ * the bounded elastic scheduler, which caps in-flight calls at ten threads per CPU core. The client's
+ * progress token is added to the tool context under {@link CommandProgressNotifier#PROGRESS_TOKEN_KEY}.</p>
+ */
+public class AsyncToolExecutor implements AutoCloseable {
+    private final Scheduler scheduler;
+
+    /**
+     * Creates an executor backed by one virtual thread per tool call.
+     */
+    public AsyncToolExecutor() {
+        this(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    /**
+     * Creates an executor backed by the given executor service.
+     *
+     * @param executor the executor that runs tool calls
+     */
+    AsyncToolExecutor(ExecutorService executor) {
+        this.scheduler = Schedulers.fromExecutorService(executor, "proxmox-tools");
+    }
+
+    /**
+     * Converts tool callbacks to async tool specifications.
+     *
+     * @param callbacks the tool callbacks
+     * @return the async tool specifications, in the same order
+     */
+    public List<AsyncToolSpecification> specifications(List<ToolCallback> callbacks) {
+        return callbacks.stream().map(this::specification).toList();
+    }
+
+    /**
+     * Converts a tool callback to an async tool specification.
+     *
+     * @param callback the tool callback
+     * @return the async tool specification
+     */
+    public AsyncToolSpecification specification(ToolCallback callback) {
+        SyncToolSpecification sync = McpToolUtils.toSyncToolSpecification(callback);
+        return AsyncToolSpecification.builder()
+            .tool(sync.tool())
+            .callHandler((exchange, request) -> Mono
+                .fromCallable(() -> call(callback, new McpSyncServerExchange(exchange), request))
+                .subscribeOn(scheduler))
+            .build();
+    }
+
+    /**
+     * Invokes a tool callback the way Spring AI's adapter does, adding the client's progress token
+     * to the tool context so tools can report progress.
+     *
+     * @param callback the tool callback
+     * @param exchange the MCP exchange
+     * @param request the tool call request
+     * @return the tool result, or an error result when the tool fails
+     */
+    private static CallToolResult call(ToolCallback callback, McpSyncServerExchange exchange,
+        CallToolRequest request) {
+        Map<String, Object> context = new HashMap<>();
+        context.put(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange);
+        if (request.progressToken() != null) {
+            context.put(CommandProgressNotifier.PROGRESS_TOKEN_KEY, request.progressToken());
+        }
+        try {
+            String result = callback.call(ModelOptionsUtils.toJsonString(request.arguments()), new ToolContext(context));
+            return CallToolResult.builder().addTextContent(result).isError(false).build();
+        } catch (RuntimeException e) {
+            return CallToolResult.builder().addTextContent(e.getMessage()).isError(true).build();
+        }
+    }
+
+    /**
+     * Stops accepting tool calls and interrupts calls still running.
+     */
+    @Override
+    public void close() {
+        scheduler.dispose();
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import io.github.smling.proxmoxmcpserver.tools.console.CommandOutputListener;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+
+/**
+ * Sends guest command output to the MCP client while a tool call runs.
+ *
+ * <p>When the client passed a progress token, output chunks and periodic "still running" messages
+ * are sent as progress notifications. Otherwise output chunks are sent as logging notifications.
+ * Notification failures are logged and ignored, so a slow or disconnected client never fails the
+ * command.</p>
+ */
+public class CommandProgressNotifier implements CommandOutputListener {
+    /**
+     * Tool context key holding the progress token of the current tool call.
+     */
+    public static final String PROGRESS_TOKEN_KEY = "progressToken";
+
+    private static final Logger logger = LoggerFactory.getLogger(CommandProgressNotifier.class);
+    private static final long RUNNING_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final McpSyncServerExchange exchange;
+    private final Object progressToken;
+    private final String loggerName;
+    private long sequence;
+    private long lastSentNanos = System.nanoTime();
+
+    /**
+     * Creates a notifier for one tool call.
+     *
+     * @param exchange the MCP exchange of the tool call
+     * @param progressToken the client's progress token, or {@code null} for logging notifications
+     * @param loggerName the logger name reported in logging notifications
+     */
+    CommandProgressNotifier(McpSyncServerExchange exchange, Object progressToken, String loggerName) {
+        this.exchange = exchange;
+        this.progressToken = progressToken;
+        this.loggerName = loggerName;
+    }
+
+    /**
+     * Creates a listener for the tool call described by a tool context.
+     *
+     * @param toolContext the tool context, may be {@code null}
+     * @param loggerName the logger name reported in logging notifications
+     * @return a notifier, or {@link CommandOutputListener#NONE} outside an MCP exchange
+     */
+    public static CommandOutputListener from(ToolContext toolContext, String loggerName) {
+        if (toolContext == null) {
+            return CommandOutputListener.NONE;
+        }
+        Map<String, Object> context = toolContext.getContext();
+        return McpToolUtils.getMcpExchange(toolContext)
+            .<CommandOutputListener>map(exchange -> new CommandProgressNotifier(exchange,
+                context.get(PROGRESS_TOKEN_KEY), loggerName))
+            .orElse(CommandOutputListener.NONE);
+    }
+
+    /**
+     * Sends an output chunk.
+     *
+     * @param stream {@code stdout} or {@code stderr}
+     * @param chunk the new output
+     */
+    @Override
+    public synchronized void output(String stream, String chunk) {
+        if (progressToken != null) {
+            progress("[" + stream + "] " + chunk);
+            return;
+        }
+        try {
+            exchange.loggingNotification(LoggingMessageNotification.builder()
+                .level("stderr".equals(stream) ? LoggingLevel.WARNING : LoggingLevel.INFO)
+                .logger(loggerName)
+                .data(chunk)
+                .build());
+        } catch (RuntimeException e) {
+            logger.debug("Failed to send command output to MCP client: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Sends a "still running" progress message at most once per second.
+     *
+     * @param pid the guest process ID
+     * @param elapsedMillis milliseconds since the command was started
+     */
+    @Override
+    public synchronized void running(String pid, long elapsedMillis) {
+        if (progressToken == null || System.nanoTime() - lastSentNanos < RUNNING_INTERVAL_NANOS) {
+            return;
+        }
+        progress("Command still running (pid " + pid + ", " + elapsedMillis + " ms)");
+    }
+
+    /**
+     * Sends a progress notification with the next sequence number.
+     *
+     * @param message the progress message
+     */
+    private void progress(String message) {
+        lastSentNanos = System.nanoTime();
+        try {
+            exchange.progressNotification(new ProgressNotification(progressToken, (double) ++sequence, null, message));
+        } catch (RuntimeException e) {
+            logger.debug("Failed to send command progress to MCP client: {}", e.getMessage());
+        }
+    }
+}
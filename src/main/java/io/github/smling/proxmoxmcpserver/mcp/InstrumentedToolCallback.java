@@ -0,0 +1,68 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+/**
+ * Tool callback decorator that records {@link ToolMetrics} for every invocation.
+ */
+public class InstrumentedToolCallback implements ToolCallback {
+    private final ToolCallback delegate;
+    private final ToolMetrics metrics;
+
+    /**
+     * Wraps a tool callback.
+     *
+     * @param delegate the tool callback to instrument
+     * @param metrics the tool metrics recorder
+     */
+    public InstrumentedToolCallback(ToolCallback delegate, ToolMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Returns the wrapped tool definition.
+     *
+     * @return the tool definition
+     */
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    /**
+     * Returns the wrapped tool metadata.
+     *
+     * @return the tool metadata
+     */
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return delegate.getToolMetadata();
+    }
+
+    /**
+     * Invokes the tool and records its metrics.
+     *
+     * @param toolInput the JSON tool input
+     * @return the tool response
+     */
+    @Override
+    public String call(String toolInput) {
+        return metrics.record(getToolDefinition().name(), () -> delegate.call(toolInput));
+    }
+
+    /**
+     * Invokes the tool with context and records its metrics.
+     *
+     * @param toolInput the JSON tool input
+     * @param toolContext the tool context
+     * @return the tool response
+     */
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        return metrics.record(getToolDefinition().name(), () -> delegate.call(toolInput, toolContext));
+    }
+}
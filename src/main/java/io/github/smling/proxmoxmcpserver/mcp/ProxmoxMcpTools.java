@@ -7,7 +7,10 @@ import io.github.smling.proxmoxmcpserver.tools.IsoTools;
 import io.github.smling.proxmoxmcpserver.tools.NodeTools;
 import io.github.smling.proxmoxmcpserver.tools.SnapshotTools;
 import io.github.smling.proxmoxmcpserver.tools.StorageTools;
+import io.github.smling.proxmoxmcpserver.tools.TaskTools;
 import io.github.smling.proxmoxmcpserver.tools.VmTools;
+import java.time.Duration;
+import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
 import org.springframework.stereotype.Service;
@@ -25,6 +28,7 @@ public class ProxmoxMcpTools {
     private final SnapshotTools snapshotTools;
     private final IsoTools isoTools;
     private final BackupTools backupTools;
+    private final TaskTools taskTools;
 
     /**
      * Creates the MCP tool facade with injected tool handlers.
@@ -37,6 +41,7 @@ public class ProxmoxMcpTools {
      * @param snapshotTools snapshot-related tools
      * @param isoTools ISO/template tools
      * @param backupTools backup tools
+     * @param taskTools task tracking tools
      */
     public ProxmoxMcpTools(
         NodeTools nodeTools,
@@ -46,7 +51,8 @@ public class ProxmoxMcpTools {
         ContainerTools containerTools,
         SnapshotTools snapshotTools,
         IsoTools isoTools,
-        BackupTools backupTools
+        BackupTools backupTools,
+        TaskTools taskTools
     ) {
         this.nodeTools = nodeTools;
         this.vmTools = vmTools;
@@ -56,6 +62,7 @@ public class ProxmoxMcpTools {
         this.snapshotTools = snapshotTools;
         this.isoTools = isoTools;
         this.backupTools = backupTools;
+        this.taskTools = taskTools;
     }
 
     /**
@@ -134,18 +141,98 @@ public class ProxmoxMcpTools {
      * @param node host node name
      * @param vmid VM ID
      * @param command command to execute
+     * @param timeoutSeconds how long to wait for the command to exit
      * @return formatted command output
      */
     @Tool(name = "execute_vm_command", description = ToolDescriptions.EXECUTE_VM_COMMAND_DESC)
     public String executeVmCommand(
         @ToolParam(description = "Host node name") String node,
         @ToolParam(description = "VM ID") String vmid,
-        @ToolParam(description = "Shell command to execute") String command
+        @ToolParam(description = "Shell command to execute") String command,
+        @ToolParam(description = "Seconds to wait for the command to exit (default: 30)") Integer timeoutSeconds
     ) {
+        if (timeoutSeconds == null) {
+            return vmTools.executeCommand(
+                required(node, "node"),
+                required(vmid, "vmid"),
+                required(command, "command")
+            );
+        }
         return vmTools.executeCommand(
             required(node, "node"),
             required(vmid, "vmid"),
-            required(command, "command")
+            required(command, "command"),
+            Duration.ofSeconds(Math.max(0, timeoutSeconds))
+        );
+    }
+
+    /**
+     * Executes a shell command inside a VM, streaming its output to the MCP client.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @param timeoutSeconds how long to wait for the command to exit
+     * @param maxOutputBytes bytes of each output stream to keep
+     * @param tail whether to keep the end of the output
+     * @param toolContext the tool context with the MCP exchange
+     * @return formatted command summary
+     */
+    @Tool(name = "stream_vm_command", description = ToolDescriptions.STREAM_VM_COMMAND_DESC)
+    public String streamVmCommand(
+        @ToolParam(description = "Host node name") String node,
+        @ToolParam(description = "VM ID") String vmid,
+        @ToolParam(description = "Shell command to execute") String command,
+        @ToolParam(description = "Seconds to wait for the command to exit (default: 30)") Integer timeoutSeconds,
+        @ToolParam(description = "Bytes of stdout and stderr to keep (default: 65536)") Integer maxOutputBytes,
+        @ToolParam(description = "Keep the last bytes instead of the first (default: false)") Boolean tail,
+        ToolContext toolContext
+    ) {
+        return vmTools.streamCommand(
+            required(node, "node"),
+            required(vmid, "vmid"),
+            required(command, "command"),
+            timeoutSeconds == null ? null : Duration.ofSeconds(Math.max(0, timeoutSeconds)),
+            maxOutputBytes,
+            Boolean.TRUE.equals(tail),
+            CommandProgressNotifier.from(toolContext, "stream_vm_command")
+        );
+    }
+
+    /**
+     * Executes one command on every VM matching the selection.
+     *
+     * @param command command to execute
+     * @param vmids VM selector list
+     * @param node node filter
+     * @param tag tag filter
+     * @param namePattern VM name glob
+     * @param maxParallel concurrent agent calls
+     * @param timeoutSeconds how long to wait for all commands to exit
+     * @param formatStyle output format style
+     * @return per-VM command results
+     */
+    @Tool(name = "execute_vm_command_batch", description = ToolDescriptions.EXECUTE_VM_COMMAND_BATCH_DESC)
+    public String executeVmCommandBatch(
+        @ToolParam(description = "Shell command to execute") String command,
+        @ToolParam(description = "VM selector: '100' | 'pve1:100' | 'pve1/name' | 'name' | 'web-*' | 're:^web-[0-9]+$' "
+            + "| 'tag:prod' | comma list") String vmids,
+        @ToolParam(description = "Optional node filter") String node,
+        @ToolParam(description = "Optional Proxmox tag filter") String tag,
+        @ToolParam(description = "Optional VM name glob, e.g. 'web-*'") String namePattern,
+        @ToolParam(description = "Concurrent agent calls (default: tools.max_concurrency)") Integer maxParallel,
+        @ToolParam(description = "Seconds to wait for all commands to exit (default: 30)") Integer timeoutSeconds,
+        @ToolParam(description = "Output format: pretty|json (default: pretty)") String formatStyle
+    ) {
+        return vmTools.executeCommandOnVms(
+            vmids,
+            node,
+            tag,
+            namePattern,
+            required(command, "command"),
+            maxParallel,
+            timeoutSeconds == null ? null : Duration.ofSeconds(Math.max(0, timeoutSeconds)),
+            defaultFormatStyle(formatStyle)
         );
     }
 
@@ -273,15 +360,18 @@ public class ProxmoxMcpTools {
      * Starts one or more containers based on a selector.
      *
      * @param selector container selector
+     * @param waitSeconds seconds to wait for the start tasks
      * @param formatStyle output format style
      * @return formatted action result
      */
     @Tool(name = "start_container", description = ToolDescriptions.START_CONTAINER_DESC)
     public String startContainer(
         @ToolParam(description = "Container selector") String selector,
+        @ToolParam(description = "Seconds to wait for the tasks (default: task_wait_seconds)") Integer waitSeconds,
         @ToolParam(description = "Output format: pretty|json (default: pretty)") String formatStyle
     ) {
-        return containerTools.startContainer(required(selector, "selector"), defaultFormatStyle(formatStyle));
+        return containerTools.startContainer(required(selector, "selector"), waitSeconds,
+            defaultFormatStyle(formatStyle));
     }
 
     /**
@@ -290,6 +380,9 @@ public class ProxmoxMcpTools {
      * @param selector container selector
      * @param graceful whether to request shutdown
      * @param timeoutSeconds shutdown timeout
+     * @param waitSeconds seconds to wait for the stop tasks, per wave in rolling mode
+     * @param waveSize containers per rolling wave
+     * @param maxFailures failures tolerated before a rolling stop aborts
      * @param formatStyle output format style
      * @return formatted action result
      */
@@ -298,6 +391,9 @@ public class ProxmoxMcpTools {
         @ToolParam(description = "Container selector") String selector,
         @ToolParam(description = "Use graceful shutdown (default: true)") Boolean graceful,
         @ToolParam(description = "Shutdown timeout seconds (default: 10)") Integer timeoutSeconds,
+        @ToolParam(description = "Seconds to wait for the tasks (default: task_wait_seconds)") Integer waitSeconds,
+        @ToolParam(description = "Containers per rolling wave (default: all at once)") Integer waveSize,
+        @ToolParam(description = "Failures tolerated before a rolling action aborts (default: 0)") Integer maxFailures,
         @ToolParam(description = "Output format: pretty|json (default: pretty)") String formatStyle
     ) {
         boolean gracefulValue = graceful == null || graceful;
@@ -306,6 +402,9 @@ public class ProxmoxMcpTools {
             required(selector, "selector"),
             gracefulValue,
             timeoutValue,
+            waitSeconds,
+            waveSize,
+            maxFailures,
             defaultFormatStyle(formatStyle)
         );
     }
@@ -315,6 +414,9 @@ public class ProxmoxMcpTools {
      *
      * @param selector container selector
      * @param timeoutSeconds restart timeout
+     * @param waitSeconds seconds to wait for the reboot tasks, per wave in rolling mode
+     * @param waveSize containers per rolling wave
+     * @param maxFailures failures tolerated before a rolling restart aborts
      * @param formatStyle output format style
      * @return formatted action result
      */
@@ -322,12 +424,18 @@ public class ProxmoxMcpTools {
     public String restartContainer(
         @ToolParam(description = "Container selector") String selector,
         @ToolParam(description = "Restart timeout seconds (default: 10)") Integer timeoutSeconds,
+        @ToolParam(description = "Seconds to wait for the tasks (default: task_wait_seconds)") Integer waitSeconds,
+        @ToolParam(description = "Containers per rolling wave (default: all at once)") Integer waveSize,
+        @ToolParam(description = "Failures tolerated before a rolling action aborts (default: 0)") Integer maxFailures,
         @ToolParam(description = "Output format: pretty|json (default: pretty)") String formatStyle
     ) {
         int timeoutValue = timeoutSeconds == null ? 10 : timeoutSeconds;
         return containerTools.restartContainer(
             required(selector, "selector"),
             timeoutValue,
+            waitSeconds,
+            waveSize,
+            maxFailures,
             defaultFormatStyle(formatStyle)
         );
     }
@@ -433,6 +541,7 @@ public class ProxmoxMcpTools {
      *
      * @param selector container selector
      * @param force force deletion even if running
+     * @param waitSeconds seconds to wait for the delete tasks
      * @param formatStyle output format style
      * @return formatted action result
      */
@@ -440,12 +549,14 @@ public class ProxmoxMcpTools {
     public String deleteContainer(
         @ToolParam(description = "Container selector") String selector,
         @ToolParam(description = "Force delete even if running") Boolean force,
+        @ToolParam(description = "Seconds to wait for the tasks (default: task_wait_seconds)") Integer waitSeconds,
         @ToolParam(description = "Output format: pretty|json (default: pretty)") String formatStyle
     ) {
         boolean forceDelete = force != null && force;
         return containerTools.deleteContainer(
             required(selector, "selector"),
             forceDelete,
+            waitSeconds,
             defaultFormatStyle(formatStyle)
         );
     }
@@ -728,6 +839,42 @@ public class ProxmoxMcpTools {
         );
     }
 
+    /**
+     * Reads the status and log tail of a Proxmox task.
+     *
+     * @param upid task UPID
+     * @param logLines number of log lines to include
+     * @return formatted task status
+     */
+    @Tool(name = "get_task", description = ToolDescriptions.GET_TASK_DESC)
+    public String getTask(
+        @ToolParam(description = "Task UPID") String upid,
+        @ToolParam(description = "Log lines to include (default: 10)") Integer logLines
+    ) {
+        return taskTools.getTask(required(upid, "upid"), logLines);
+    }
+
+    /**
+     * Waits for a Proxmox task to finish.
+     *
+     * @param upid task UPID
+     * @param timeoutSeconds maximum seconds to wait
+     * @param logLines number of log lines to include
+     * @return formatted final task status
+     */
+    @Tool(name = "wait_task", description = ToolDescriptions.WAIT_TASK_DESC)
+    public String waitTask(
+        @ToolParam(description = "Task UPID") String upid,
+        @ToolParam(description = "Seconds to wait for the task to finish (default: 60)") Integer timeoutSeconds,
+        @ToolParam(description = "Log lines to include (default: 10)") Integer logLines
+    ) {
+        return taskTools.waitTask(
+            required(upid, "upid"),
+            timeoutSeconds == null ? null : Duration.ofSeconds(timeoutSeconds),
+            logLines
+        );
+    }
+
     /**
      * Applies the default format style when none is provided.
      *
@@ -56,10 +56,42 @@ Parameters:
 node* - Host node name (e.g. 'pve1')
 vmid* - VM ID number (e.g. '100')
 command* - Shell command to run (e.g. 'uname -a')
+timeout_seconds - Seconds to wait for the command to exit (default: 30); a command still running then is reported as FAILED with its PID
 
 Example:
 {"success": true, "output": "Linux vm1 5.4.0", "exit_code": 0}""";
 
+    public static final String STREAM_VM_COMMAND_DESC = """
+Run a long-running or chatty command in a VM via QEMU guest agent, streaming output while it runs.
+
+Parameters:
+node* - Host node name (e.g. 'pve1')
+vmid* - VM ID number (e.g. '100')
+command* - Shell command to run (e.g. 'journalctl -n 5000')
+timeout_seconds - Seconds to wait for the command to exit (default: 30)
+max_output_bytes - Bytes of stdout and of stderr to keep in the result (default: 65536)
+tail - Keep the last bytes instead of the first (default: false)
+
+Output chunks are sent as progress notifications when the call has a progress token, otherwise as logging notifications.
+The result summarizes status, exit code and total stdout/stderr bytes, followed by the kept output.""";
+
+    public static final String EXECUTE_VM_COMMAND_BATCH_DESC = """
+Execute one command on many VMs via QEMU guest agent, concurrently.
+
+Parameters:
+command* - Shell command to run (e.g. 'rpm -q openssl')
+vmids - '100' | 'pve1:100' | 'pve1/name' | 'name' | comma list
+  also 'web-*' / 'pve1/web-?' (name glob), 're:^web-[0-9]+$' (name regex), 'tag:prod' (Proxmox tag)
+node - Only VMs on this node
+tag - Only VMs with this Proxmox tag
+name_pattern - Only VMs whose name matches this glob (e.g. 'web-*')
+max_parallel - Concurrent agent calls (default: tools.max_concurrency)
+timeout_seconds - Seconds to wait for all commands to exit (default: 30)
+format_style - pretty|json (default: pretty)
+
+At least one of vmids, node, tag or name_pattern is required; all given filters must match.
+Results are listed in completion order, one row per VM.""";
+
     public static final String START_VM_DESC = """
 Start a virtual machine.
 
@@ -133,23 +165,35 @@ Notes:
 - If maxmem is 0 (unlimited), memory limit falls back to /config.memory (MiB).
 - If live returns zeros, the most recent RRD sample is used as a fallback.
 - Fields provided: cores (CPU cores/cpulimit), memory (MiB limit), cpu_pct, mem_bytes, maxmem_bytes, mem_pct, unlimited_memory.
+- Stats are collected for several containers at once; a container whose stats fail or time out is listed with stats_error instead.
 """;
 
     public static final String START_CONTAINER_DESC = """
 Start one or more LXC containers.
 selector: '123' | 'pve1:123' | 'pve1/name' | 'name' | comma list
-Example: start_container selector='pve1:101,pve2/web'
+  also 'web-*' / 'pve1/web-?' (name glob), 're:^web-[0-9]+$' (name regex), 'tag:prod' (Proxmox tag)
+wait_seconds: wait for the start tasks and report their exit status (default: tools.task_wait_seconds)
+Matched containers are handled in parallel, a few at a time per node.
+Example: start_container selector='pve1:101,pve2/web,tag:canary'
 """;
 
     public static final String STOP_CONTAINER_DESC = """
 Stop LXC containers. graceful=True uses shutdown; otherwise force stop.
 selector: same grammar as start_container
 timeout_seconds: 10 (default)
+wait_seconds: same as start_container
+wave_size: stop this many at a time; each wave waits until its containers are stopped (default: all at once)
+max_failures: failures tolerated before the remaining waves are skipped (default: 0)
 """;
 
     public static final String RESTART_CONTAINER_DESC = """
 Restart LXC containers (reboot).
 selector: same grammar as start_container
+wait_seconds: same as start_container; with wave_size it is the time limit per wave
+wave_size: rolling restart, this many at a time; the next wave starts once the reboot tasks finished
+  and the containers are running again (default: all at once)
+max_failures: failures tolerated before the remaining waves are skipped (default: 0)
+Example: restart_container selector='tag:web' wave_size=2 max_failures=1
 """;
 
     public static final String UPDATE_CONTAINER_RESOURCES_DESC = """
@@ -193,8 +237,9 @@ Delete/remove an LXC container completely.
 WARNING: This operation permanently deletes the container and all its data!
 
 Parameters:
-selector* - Container selector: '123' | 'pve1:123' | 'pve1/name' | 'name' | comma list
-force - Force deletion even if container is running (optional, default: false)
+selector* - Container selector: '123' | 'pve1:123' | 'pve1/name' | 'name' | 'web-*' | 're:regex' | 'tag:name' | comma list
+force - Force deletion even if container is running; stops it and waits for the stop first (optional, default: false)
+wait_seconds - Seconds to wait for the delete tasks (optional, default: tools.task_wait_seconds)
 
 This will permanently remove:
 - Container configuration
@@ -377,5 +422,32 @@ volid* - Backup volume ID to delete
 
 Example:
 delete_backup node='pve' storage='backup-storage' volid='backup:backup/vzdump-qemu-100-2024_01_15.vma.zst'
+""";
+
+    public static final String GET_TASK_DESC = """
+Get the status and recent log lines of a Proxmox task.
+
+Parameters:
+upid* - Task UPID returned by a mutating tool (e.g. start_vm, create_backup)
+log_lines - Number of log lines to include (default: 10)
+
+Example:
+get_task upid='UPID:pve:0000A1B2:0012C3D4:65A1B2C3:qmstart:100:root@pam:'
+""";
+
+    public static final String WAIT_TASK_DESC = """
+Wait until a Proxmox task finishes and return its final status and log tail.
+
+Tasks on the same node are polled together with an adaptive interval. If the task is
+still running when the timeout expires, the current status is returned; call wait_task again
+to keep waiting.
+
+Parameters:
+upid* - Task UPID returned by a mutating tool
+timeout_seconds - Maximum seconds to wait (default: 60)
+log_lines - Number of log lines to include (default: 10)
+
+Example:
+wait_task upid='UPID:pve:0000A1B2:0012C3D4:65A1B2C3:vzdump:100:root@pam:' timeout_seconds=300
 """;
 }
@@ -0,0 +1,174 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import io.github.smling.proxmoxmcpserver.core.UpstreamCalls;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Records latency, upstream call count, response size and failures for each MCP tool invocation.
+ *
+ * <p>Meters are {@code mcp.tool.duration} (with p50/p95/p99), {@code mcp.tool.upstream.calls},
+ * {@code mcp.tool.response.size} and {@code mcp.tool.errors}, all tagged by tool name; errors are also tagged
+ * by exception class.</p>
+ */
+public class ToolMetrics {
+    private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+    private final MeterRegistry registry;
+    private final Map<String, ToolMeters> tools = new ConcurrentHashMap<>();
+
+    /**
+     * Creates tool metrics on the given registry.
+     *
+     * @param registry the meter registry
+     */
+    public ToolMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /**
+     * Runs a tool invocation and records its metrics.
+     *
+     * @param tool the tool name
+     * @param invocation the tool invocation
+     * @return the tool response
+     */
+    public String record(String tool, Supplier<String> invocation) {
+        ToolMeters meters = tools.computeIfAbsent(tool, this::register);
+        LongAdder upstreamCalls = new LongAdder();
+        long start = System.nanoTime();
+        try {
+            String response = UpstreamCalls.count(upstreamCalls, invocation);
+            meters.responseSize.record(response == null ? 0 : response.length());
+            return response;
+        } catch (RuntimeException | Error e) {
+            meters.errors.increment();
+            Counter.builder("mcp.tool.errors")
+                .description("MCP tool invocations that failed")
+                .tag("tool", tool)
+                .tag("exception", e.getClass().getSimpleName())
+                .register(registry)
+                .increment();
+            throw e;
+        } finally {
+            meters.duration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            meters.upstreamCalls.record(upstreamCalls.sum());
+        }
+    }
+
+    /**
+     * Returns a latency and payload summary per tool, sorted by tool name.
+     *
+     * @return the summaries keyed by tool name
+     */
+    public Map<String, ToolSummary> summaries() {
+        Map<String, ToolSummary> summaries = new TreeMap<>();
+        tools.forEach((tool, meters) -> summaries.put(tool, meters.summary()));
+        return summaries;
+    }
+
+    /**
+     * Registers the meters for one tool.
+     *
+     * @param tool the tool name
+     * @return the tool meters
+     */
+    private ToolMeters register(String tool) {
+        Timer duration = Timer.builder("mcp.tool.duration")
+            .description("Wall time of MCP tool invocations")
+            .tag("tool", tool)
+            .publishPercentiles(PERCENTILES)
+            .publishPercentileHistogram()
+            .register(registry);
+        DistributionSummary upstreamCalls = DistributionSummary.builder("mcp.tool.upstream.calls")
+            .description("Proxmox API calls made per MCP tool invocation")
+            .tag("tool", tool)
+            .register(registry);
+        DistributionSummary responseSize = DistributionSummary.builder("mcp.tool.response.size")
+            .description("Characters returned per MCP tool invocation")
+            .baseUnit("characters")
+            .tag("tool", tool)
+            .register(registry);
+        return new ToolMeters(duration, upstreamCalls, responseSize);
+    }
+
+    /**
+     * Latency and payload summary for one tool.
+     *
+     * @param count completed invocations
+     * @param errors failed invocations
+     * @param meanMillis mean wall time in milliseconds
+     * @param maxMillis maximum wall time in milliseconds
+     * @param p50Millis median wall time in milliseconds
+     * @param p95Millis 95th percentile wall time in milliseconds
+     * @param p99Millis 99th percentile wall time in milliseconds
+     * @param meanUpstreamCalls mean Proxmox API calls per invocation
+     * @param meanResponseChars mean response length in characters
+     */
+    public record ToolSummary(long count, long errors, double meanMillis, double maxMillis, double p50Millis,
+                              double p95Millis, double p99Millis, double meanUpstreamCalls,
+                              double meanResponseChars) {
+    }
+
+    /**
+     * Meters registered for one tool.
+     */
+    private static final class ToolMeters {
+        private final Timer duration;
+        private final DistributionSummary upstreamCalls;
+        private final DistributionSummary responseSize;
+        private final LongAdder errors = new LongAdder();
+
+        /**
+         * Groups a tool's meters.
+         *
+         * @param duration the wall time timer
+         * @param upstreamCalls the upstream call count summary
+         * @param responseSize the response size summary
+         */
+        ToolMeters(Timer duration, DistributionSummary upstreamCalls, DistributionSummary responseSize) {
+            this.duration = duration;
+            this.upstreamCalls = upstreamCalls;
+            this.responseSize = responseSize;
+        }
+
+        /**
+         * Builds the current summary.
+         *
+         * @return the tool summary
+         */
+        ToolSummary summary() {
+            HistogramSnapshot snapshot = duration.takeSnapshot();
+            double[] percentiles = new double[PERCENTILES.length];
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                for (int i = 0; i < PERCENTILES.length; i++) {
+                    if (value.percentile() == PERCENTILES[i]) {
+                        percentiles[i] = value.value(TimeUnit.MILLISECONDS);
+                    }
+                }
+            }
+            return new ToolSummary(
+                snapshot.count(),
+                errors.sum(),
+                snapshot.mean(TimeUnit.MILLISECONDS),
+                snapshot.max(TimeUnit.MILLISECONDS),
+                percentiles[0],
+                percentiles[1],
+                percentiles[2],
+                upstreamCalls.mean(),
+                responseSize.mean()
+            );
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import java.util.Map;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+
+/**
+ * Actuator endpoint listing per-tool latency percentiles, upstream call counts and response sizes.
+ */
+@Endpoint(id = "mcptools")
+public class ToolMetricsEndpoint {
+    private final ToolMetrics metrics;
+
+    /**
+     * Creates the endpoint.
+     *
+     * @param metrics the tool metrics
+     */
+    public ToolMetricsEndpoint(ToolMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Lists summaries for every tool invoked so far.
+     *
+     * @return the summaries keyed by tool name
+     */
+    @ReadOperation
+    public Map<String, ToolMetrics.ToolSummary> tools() {
+        return metrics.summaries();
+    }
+
+    /**
+     * Returns the summary for a single tool.
+     *
+     * @param tool the tool name
+     * @return the summary, or {@code null} when the tool has not been invoked
+     */
+    @ReadOperation
+    public ToolMetrics.ToolSummary tool(@Selector String tool) {
+        return metrics.summaries().get(tool);
+    }
+}
@@ -2,8 +2,16 @@ package io.github.smling.proxmoxmcpserver.spring;
 
 import io.github.smling.proxmoxmcpserver.config.Config;
 import io.github.smling.proxmoxmcpserver.config.ConfigLoader;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.PooledHttpTransport;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxManager;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
+import io.github.smling.proxmoxmcpserver.mcp.AsyncToolExecutor;
+import io.github.smling.proxmoxmcpserver.mcp.InstrumentedToolCallback;
 import io.github.smling.proxmoxmcpserver.mcp.ProxmoxMcpTools;
+import io.github.smling.proxmoxmcpserver.mcp.ToolMetrics;
+import io.github.smling.proxmoxmcpserver.mcp.ToolMetricsEndpoint;
 import io.github.smling.proxmoxmcpserver.tools.BackupTools;
 import io.github.smling.proxmoxmcpserver.tools.ClusterTools;
 import io.github.smling.proxmoxmcpserver.tools.ContainerTools;
@@ -11,10 +19,20 @@ import io.github.smling.proxmoxmcpserver.tools.IsoTools;
 import io.github.smling.proxmoxmcpserver.tools.NodeTools;
 import io.github.smling.proxmoxmcpserver.tools.SnapshotTools;
 import io.github.smling.proxmoxmcpserver.tools.StorageTools;
+import io.github.smling.proxmoxmcpserver.tools.TaskTools;
 import io.github.smling.proxmoxmcpserver.tools.VmTools;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import java.util.Arrays;
+import java.util.List;
 import java.util.function.Function;
+import org.springframework.ai.tool.ToolCallback;
 import org.springframework.ai.tool.ToolCallbackProvider;
 import org.springframework.ai.tool.method.MethodToolCallbackProvider;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -36,6 +54,9 @@ public class ProxmoxConfiguration {
     /**
      * Loads the Proxmox MCP configuration from the environment-configured file.
      *
+     * <p>The JVM-wide HTTP connection pool settings are applied here, once, before any Proxmox client
+     * is built.</p>
+     *
      * @return the application configuration
      */
     @Bean
@@ -44,7 +65,12 @@ public class ProxmoxConfiguration {
         if (configPath == null || configPath.isBlank()) {
             configPath = System.getProperty("proxmox.mcp.config");
         }
-        return ConfigLoader.loadConfig(configPath);
+        Config config = ConfigLoader.loadConfig(configPath);
+        HttpConfig http = config.getProxmox().getHttp();
+        if (http != null && http.isPooled()) {
+            PooledHttpTransport.configureConnectionPool(http);
+        }
+        return config;
     }
 
     /**
@@ -58,6 +84,63 @@ public class ProxmoxConfiguration {
         return new ProxmoxManager(config.getProxmox(), config.getAuth());
     }
 
+    /**
+     * Exposes per-call API timers, in-flight gauge and received bytes as metrics.
+     *
+     * @param manager the Proxmox manager
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder proxmoxApiMetrics(ProxmoxManager manager) {
+        return manager.getApi().getMetrics();
+    }
+
+    /**
+     * Exposes GET coalescing counters and hit ratio as metrics.
+     *
+     * @param manager the Proxmox manager
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder proxmoxCoalescingMetrics(ProxmoxManager manager) {
+        return manager.getApi().getCoalescer();
+    }
+
+    /**
+     * Exposes API queue-wait timers from the client-side throttle.
+     *
+     * @param manager the Proxmox manager
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder proxmoxThrottleMetrics(ProxmoxManager manager) {
+        return manager.getApi().getThrottle();
+    }
+
+    /**
+     * Creates the shared, cached cluster inventory reader.
+     *
+     * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @return the cluster inventory
+     */
+    @Bean
+    public ClusterInventory clusterInventory(ProxmoxManager manager, Config config) {
+        return new ClusterInventory(manager.getApi(), config.getCache());
+    }
+
+    /**
+     * Creates the shared task tracker that polls Proxmox tasks per node.
+     *
+     * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @return the task tracker
+     */
+    @Bean
+    public TaskTracker taskTracker(ProxmoxManager manager, Config config) {
+        return new TaskTracker(manager.getApi(), config.getTools());
+    }
+
     /**
      * Creates the node tools bean.
      *
@@ -73,22 +156,27 @@ public class ProxmoxConfiguration {
      * Creates the VM tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
      * @return VM tools
      */
     @Bean
-    public VmTools vmTools(ProxmoxManager manager) {
-        return new VmTools(manager.getApi());
+    public VmTools vmTools(ProxmoxManager manager, Config config, ClusterInventory inventory, TaskTracker tasks) {
+        return new VmTools(manager.getApi(), config.getTools(), inventory, tasks);
     }
 
     /**
      * Creates the storage tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
      * @return storage tools
      */
     @Bean
-    public StorageTools storageTools(ProxmoxManager manager) {
-        return new StorageTools(manager.getApi());
+    public StorageTools storageTools(ProxmoxManager manager, Config config, ClusterInventory inventory) {
+        return new StorageTools(manager.getApi(), config.getTools(), inventory);
     }
 
     /**
@@ -106,54 +194,148 @@ public class ProxmoxConfiguration {
      * Creates the container tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
      * @return container tools
      */
     @Bean
-    public ContainerTools containerTools(ProxmoxManager manager) {
-        return new ContainerTools(manager.getApi());
+    public ContainerTools containerTools(ProxmoxManager manager, Config config, ClusterInventory inventory,
+                                         TaskTracker tasks) {
+        return new ContainerTools(manager.getApi(), config.getTools(), inventory, tasks);
     }
 
     /**
      * Creates the snapshot tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
      * @return snapshot tools
      */
     @Bean
-    public SnapshotTools snapshotTools(ProxmoxManager manager) {
-        return new SnapshotTools(manager.getApi());
+    public SnapshotTools snapshotTools(ProxmoxManager manager, Config config, ClusterInventory inventory,
+                                       TaskTracker tasks) {
+        return new SnapshotTools(manager.getApi(), config.getTools(), inventory, tasks);
     }
 
     /**
      * Creates the ISO/template tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
      * @return ISO tools
      */
     @Bean
-    public IsoTools isoTools(ProxmoxManager manager) {
-        return new IsoTools(manager.getApi());
+    public IsoTools isoTools(ProxmoxManager manager, Config config, ClusterInventory inventory, TaskTracker tasks) {
+        return new IsoTools(manager.getApi(), config.getTools(), inventory, tasks);
     }
 
     /**
      * Creates the backup tools bean.
      *
      * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
      * @return backup tools
      */
     @Bean
-    public BackupTools backupTools(ProxmoxManager manager) {
-        return new BackupTools(manager.getApi());
+    public BackupTools backupTools(ProxmoxManager manager, Config config, ClusterInventory inventory,
+                                   TaskTracker tasks) {
+        return new BackupTools(manager.getApi(), config.getTools(), inventory, tasks);
+    }
+
+    /**
+     * Creates the task tools bean.
+     *
+     * @param manager the Proxmox manager
+     * @param config the parsed configuration
+     * @param inventory the cluster inventory
+     * @param tasks the task tracker
+     * @return task tools
+     */
+    @Bean
+    public TaskTools taskTools(ProxmoxManager manager, Config config, ClusterInventory inventory, TaskTracker tasks) {
+        return new TaskTools(manager.getApi(), config.getTools(), inventory, tasks);
     }
 
     /**
-     * Registers tool callbacks for MCP.
+     * Registers instrumented tool callbacks for the {@code SYNC} MCP server.
      *
      * @param proxmoxMcpTools the tool facade
+     * @param toolMetrics the per-tool metrics recorder
      * @return the callback provider
      */
     @Bean
-    public ToolCallbackProvider proxmoxToolCallbacks(ProxmoxMcpTools proxmoxMcpTools) {
-        return MethodToolCallbackProvider.builder().toolObjects(proxmoxMcpTools).build();
+    @ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "SYNC", matchIfMissing = true)
+    public ToolCallbackProvider proxmoxToolCallbacks(ProxmoxMcpTools proxmoxMcpTools, ToolMetrics toolMetrics) {
+        return ToolCallbackProvider.from(instrumentedCallbacks(proxmoxMcpTools, toolMetrics));
+    }
+
+    /**
+     * Creates the virtual-thread executor for the {@code ASYNC} MCP server.
+     *
+     * @return the async tool executor
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+    public AsyncToolExecutor asyncToolExecutor() {
+        return new AsyncToolExecutor();
+    }
+
+    /**
+     * Registers instrumented async tool specifications for the {@code ASYNC} MCP server.
+     *
+     * @param proxmoxMcpTools the tool facade
+     * @param toolMetrics the per-tool metrics recorder
+     * @param executor the async tool executor
+     * @return the async tool specifications
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "spring.ai.mcp.server", name = "type", havingValue = "ASYNC")
+    public List<AsyncToolSpecification> proxmoxAsyncTools(ProxmoxMcpTools proxmoxMcpTools, ToolMetrics toolMetrics,
+        AsyncToolExecutor executor) {
+        return executor.specifications(instrumentedCallbacks(proxmoxMcpTools, toolMetrics));
+    }
+
+    /**
+     * Creates the per-tool metrics recorder.
+     *
+     * @param registry the meter registry, when metrics are enabled
+     * @return the tool metrics
+     */
+    @Bean
+    public ToolMetrics toolMetrics(ObjectProvider<MeterRegistry> registry) {
+        return new ToolMetrics(registry.getIfAvailable(SimpleMeterRegistry::new));
+    }
+
+    /**
+     * Exposes per-tool latency percentiles through the {@code mcptools} actuator endpoint.
+     *
+     * @param toolMetrics the tool metrics
+     * @return the actuator endpoint
+     */
+    @Bean
+    public ToolMetricsEndpoint toolMetricsEndpoint(ToolMetrics toolMetrics) {
+        return new ToolMetricsEndpoint(toolMetrics);
+    }
+
+    /**
+     * Builds tool callbacks for the facade's {@code @Tool} methods, wrapped with metrics.
+     *
+     * @param proxmoxMcpTools the tool facade
+     * @param toolMetrics the per-tool metrics recorder
+     * @return the instrumented callbacks
+     */
+    private static List<ToolCallback> instrumentedCallbacks(ProxmoxMcpTools proxmoxMcpTools, ToolMetrics toolMetrics) {
+        ToolCallback[] callbacks = MethodToolCallbackProvider.builder().toolObjects(proxmoxMcpTools).build()
+            .getToolCallbacks();
+        return Arrays.stream(callbacks)
+            .map(callback -> (ToolCallback) new InstrumentedToolCallback(callback, toolMetrics))
+            .toList();
     }
 }
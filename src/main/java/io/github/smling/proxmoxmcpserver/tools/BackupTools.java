@@ -2,7 +2,10 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 
 import java.time.Instant;
 import java.time.ZoneId;
@@ -30,6 +33,29 @@ public class BackupTools extends ProxmoxTool {
         super(proxmox);
     }
 
+    /**
+     * Creates backup tools with a Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public BackupTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        this(proxmox, tools, inventory, null);
+    }
+
+    /**
+     * Creates backup tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public BackupTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+    }
+
     /**
      * Lists backups across matching nodes and storage pools.
      *
@@ -41,54 +67,37 @@ public class BackupTools extends ProxmoxTool {
     public String listBackups(String node, String storage, String vmid) {
         try {
             List<JsonNode> results = new ArrayList<>();
-            JsonNode nodes = responseData(proxmox.get("/nodes"));
-            for (JsonNode n : nodes) {
-                String nodeName = n.path("node").asText(null);
-                if (nodeName == null) {
+            for (NodeStorage pool : listNodeStorage(node)) {
+                String nodeName = pool.node();
+                JsonNode store = pool.storage();
+                String storageName = store.path("storage").asText(null);
+                if (storageName == null) {
                     continue;
                 }
-                if (node != null && !node.isBlank() && !nodeName.equals(node)) {
+                if (storage != null && !storage.isBlank() && !storageName.equals(storage)) {
                     continue;
                 }
-
-                JsonNode storages;
-                try {
-                    storages = responseData(proxmox.get("/nodes/" + nodeName + "/storage"));
-                } catch (Exception e) {
-                    logger.warn("Skipping node {} while listing backups", nodeName, e);
+                String contentTypes = store.path("content").asText("");
+                if (!contentTypes.contains("backup")) {
                     continue;
                 }
 
-                for (JsonNode store : storages) {
-                    String storageName = store.path("storage").asText(null);
-                    if (storageName == null) {
-                        continue;
-                    }
-                    if (storage != null && !storage.isBlank() && !storageName.equals(storage)) {
-                        continue;
-                    }
-                    String contentTypes = store.path("content").asText("");
-                    if (!contentTypes.contains("backup")) {
-                        continue;
+                try {
+                    Map<String, String> params = new java.util.HashMap<>();
+                    params.put("content", "backup");
+                    if (vmid != null && !vmid.isBlank()) {
+                        params.put("vmid", vmid);
                     }
-
-                    try {
-                        Map<String, String> params = new java.util.HashMap<>();
-                        params.put("content", "backup");
-                        if (vmid != null && !vmid.isBlank()) {
-                            params.put("vmid", vmid);
-                        }
-                        JsonNode content = responseData(proxmox.get(
-                            "/nodes/" + nodeName + "/storage/" + storageName + "/content",
-                            params
-                        ));
-                        for (JsonNode item : content) {
-                            ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_node", nodeName);
-                            ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_storage", storageName);
-                            results.add(item);
-                        }
-                    } catch (Exception ignored) {
+                    JsonNode content = responseData(proxmox.get(
+                        "/nodes/" + nodeName + "/storage/" + storageName + "/content",
+                        params
+                    ));
+                    for (JsonNode item : content.deepCopy()) {
+                        ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_node", nodeName);
+                        ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_storage", storageName);
+                        results.add(item);
                     }
+                } catch (Exception ignored) {
                 }
             }
 
@@ -181,7 +190,7 @@ public class BackupTools extends ProxmoxTool {
             if (notes != null && !notes.isBlank()) {
                 builder.append("  Notes: ").append(notes).append("\n");
             }
-            builder.append("\nTask ID: ").append(taskId(result)).append("\n\n");
+            builder.append("\nTask ID: ").append(taskId(result)).append(awaitTask(result)).append("\n\n");
             builder.append("The backup is running in the background.\nUse listBackups to verify when complete.");
             return builder.toString();
         } catch (Exception e) {
@@ -232,7 +241,9 @@ public class BackupTools extends ProxmoxTool {
                 builder.append("  Target Storage: ").append(storage).append("\n");
             }
             builder.append("  Unique MACs: ").append(unique ? "Yes" : "No").append("\n");
-            builder.append("\nTask ID: ").append(taskId(result)).append("\n\n");
+            String waited = awaitTask(result);
+            inventory.invalidate();
+            builder.append("\nTask ID: ").append(taskId(result)).append(waited).append("\n\n");
             builder.append("The restore is running in the background.\nThe ")
                 .append(vmType.toLowerCase(Locale.ROOT))
                 .append(" will be available once the task completes.");
@@ -278,7 +289,7 @@ public class BackupTools extends ProxmoxTool {
             builder.append("  Storage: ").append(storage).append("\n");
             builder.append("  Node: ").append(node).append("\n");
             if (result != null) {
-                builder.append("\nTask ID: ").append(taskId(result));
+                builder.append("\nTask ID: ").append(taskId(result)).append(awaitTask(result));
             }
             return builder.toString();
         } catch (Exception e) {
@@ -2,19 +2,36 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.FanOut;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.RrdCache;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Container-related Proxmox operations.
  */
 public class ContainerTools extends ProxmoxTool {
     private static ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final Duration FORCE_STOP_WAIT = Duration.ofSeconds(60);
+
+    private final FanOut statsFanOut;
+    private final Duration statsTimeout;
+    private final FanOut bulkFanOut;
+    private final int bulkPerNode;
+    private final Duration rollingWaveTimeout;
+    private final long healthPollInitialMillis;
+    private final long healthPollMaxMillis;
+    private volatile GuestSelector<NodeContainerPair> index;
 
     /**
      * Creates container tools with a Proxmox client.
@@ -22,7 +39,38 @@ public class ContainerTools extends ProxmoxTool {
      * @param proxmox the Proxmox client
      */
     public ContainerTools(ProxmoxClient proxmox) {
-        super(proxmox);
+        this(proxmox, new ToolsConfig(), new ClusterInventory(proxmox));
+    }
+
+    /**
+     * Creates container tools with a Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public ContainerTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        this(proxmox, tools, inventory, null);
+    }
+
+    /**
+     * Creates container tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public ContainerTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+        ToolsConfig settings = tools == null ? new ToolsConfig() : tools;
+        this.statsFanOut = new FanOut(settings.getStatsConcurrency());
+        this.statsTimeout = Duration.ofSeconds(Math.max(0, settings.getStatsTimeoutSeconds()));
+        this.bulkFanOut = new FanOut(settings.getBulkConcurrency());
+        this.bulkPerNode = settings.getBulkPerNodeConcurrency();
+        this.rollingWaveTimeout = Duration.ofSeconds(Math.max(1, settings.getRollingWaveTimeoutSeconds()));
+        this.healthPollInitialMillis = Math.max(1, settings.getTaskPollInitialMillis());
+        this.healthPollMaxMillis = Math.max(healthPollInitialMillis, settings.getTaskPollMaxMillis());
     }
 
     /**
@@ -37,89 +85,29 @@ public class ContainerTools extends ProxmoxTool {
     public String getContainers(String node, boolean includeStats, boolean includeRaw, String formatStyle) {
         try {
             List<NodeContainerPair> pairs = listCtPairs(node);
-            List<Map<String, Object>> rows = new ArrayList<>();
+            List<Map<String, Object>> rows = new ArrayList<>(pairs.size());
 
             for (NodeContainerPair pair : pairs) {
                 JsonNode ct = pair.container();
                 String vmidValue = ct.path("vmid").asText(null);
-                Integer vmidInt = null;
-                try {
-                    if (vmidValue != null) {
-                        vmidInt = Integer.parseInt(vmidValue);
-                    }
-                } catch (NumberFormatException ignored) {
-                    vmidInt = null;
-                }
-
                 Map<String, Object> rec = new HashMap<>();
                 rec.put("vmid", vmidValue);
                 rec.put("name", firstText(ct, "name", "hostname",
                     vmidValue == null ? "ct-?" : "ct-" + vmidValue));
                 rec.put("node", pair.node());
                 rec.put("status", ct.path("status").asText(null));
+                rows.add(rec);
+            }
 
-                if (includeStats && vmidInt != null) {
-                    JsonNode status = getOrEmpty("/nodes/" + pair.node() + "/lxc/" + vmidInt + "/status/current");
-                    JsonNode config = getOrEmpty("/nodes/" + pair.node() + "/lxc/" + vmidInt + "/config");
-
-                    double cpuFrac = status.path("cpu").asDouble(0.0);
-                    double cpuPct = roundTwo(cpuFrac * 100.0);
-                    long memBytes = status.path("mem").asLong(0L);
-                    long maxmemBytes = status.path("maxmem").asLong(0L);
-
-                    int memoryMib = intFromAny(config, "memory", "ram", "maxmem", "memoryMiB");
-                    boolean unlimitedMemory = config.path("swap").asInt(0) == 0 && memoryMib == 0;
-
-                    Double cores = null;
-                    if (config.has("cores")) {
-                        cores = config.path("cores").asDouble();
-                    } else if (config.has("cpulimit")) {
-                        double cpulimit = config.path("cpulimit").asDouble();
-                        if (cpulimit > 0) {
-                            cores = cpulimit;
-                        }
-                    }
-
-                    String statusStr = status.path("status").asText(ct.path("status").asText("")).toLowerCase(Locale.ROOT);
-                    if ("stopped".equals(statusStr)) {
-                        memBytes = 0L;
-                    }
-
-                    if (maxmemBytes == 0 && memoryMib > 0) {
-                        maxmemBytes = memoryMib * 1024L * 1024L;
-                    }
-
-                    if (memBytes == 0 || maxmemBytes == 0 || cpuPct == 0.0) {
-                        RrdSample rrd = rrdLast(pair.node(), vmidInt);
-                        if (cpuPct == 0.0 && rrd.cpuPct() != null) {
-                            cpuPct = rrd.cpuPct();
-                        }
-                        if (memBytes == 0 && rrd.memBytes() != null) {
-                            memBytes = rrd.memBytes();
-                        }
-                        if (maxmemBytes == 0 && rrd.maxmemBytes() != null) {
-                            maxmemBytes = rrd.maxmemBytes();
-                            if (memoryMib == 0) {
-                                memoryMib = (int) Math.round(maxmemBytes / (1024.0 * 1024.0));
-                            }
-                        }
-                    }
-
-                    rec.put("cores", cores);
-                    rec.put("memory", memoryMib);
-                    rec.put("cpu_pct", cpuPct);
-                    rec.put("mem_bytes", memBytes);
-                    rec.put("maxmem_bytes", maxmemBytes);
-                    rec.put("mem_pct", maxmemBytes > 0 ? roundTwo((double) memBytes / maxmemBytes * 100.0) : null);
-                    rec.put("unlimited_memory", unlimitedMemory);
-
-                    if (includeRaw && !"json".equalsIgnoreCase(formatStyle)) {
-                        rec.put("raw_status", status);
-                        rec.put("raw_config", config);
-                    }
+            if (includeStats) {
+                boolean keepRaw = includeRaw && !"json".equalsIgnoreCase(formatStyle);
+                List<Map<String, Object>> stats = statsFanOut.map(pairs,
+                    pair -> containerStats(pair, keepRaw),
+                    (pair, e) -> statsFailure(pair, e),
+                    statsTimeout);
+                for (int i = 0; i < rows.size(); i++) {
+                    rows.get(i).putAll(stats.get(i));
                 }
-
-                rows.add(rec);
             }
 
             if ("json".equalsIgnoreCase(formatStyle)) {
@@ -131,6 +119,98 @@ public class ContainerTools extends ProxmoxTool {
         }
     }
 
+    /**
+     * Collects live stats for one container from its status, config and, when needed, RRD data.
+     *
+     * @param pair the container and its node
+     * @param includeRaw whether to include the raw status and config payloads
+     * @return stats fields to merge into the container row, empty when the container has no numeric ID
+     * @throws Exception when the container status cannot be read
+     */
+    private Map<String, Object> containerStats(NodeContainerPair pair, boolean includeRaw) throws Exception {
+        JsonNode ct = pair.container();
+        int vmid = parseInt(ct.path("vmid").asText(""));
+        if (vmid < 0) {
+            return Map.of();
+        }
+        JsonNode status = pair.live()
+            ? ct
+            : responseData(proxmox.get("/nodes/" + pair.node() + "/lxc/" + vmid + "/status/current"));
+        JsonNode config = getOrEmpty("/nodes/" + pair.node() + "/lxc/" + vmid + "/config");
+
+        double cpuFrac = status.path("cpu").asDouble(0.0);
+        double cpuPct = roundTwo(cpuFrac * 100.0);
+        long memBytes = status.path("mem").asLong(0L);
+        long maxmemBytes = status.path("maxmem").asLong(0L);
+
+        int memoryMib = intFromAny(config, "memory", "ram", "maxmem", "memoryMiB");
+        boolean unlimitedMemory = config.path("swap").asInt(0) == 0 && memoryMib == 0;
+
+        Double cores = null;
+        if (config.has("cores")) {
+            cores = config.path("cores").asDouble();
+        } else if (config.has("cpulimit")) {
+            double cpulimit = config.path("cpulimit").asDouble();
+            if (cpulimit > 0) {
+                cores = cpulimit;
+            }
+        }
+
+        String statusStr = status.path("status").asText(ct.path("status").asText("")).toLowerCase(Locale.ROOT);
+        if ("stopped".equals(statusStr)) {
+            memBytes = 0L;
+        }
+
+        if (maxmemBytes == 0 && memoryMib > 0) {
+            maxmemBytes = memoryMib * 1024L * 1024L;
+        }
+
+        if (memBytes == 0 || maxmemBytes == 0 || cpuPct == 0.0) {
+            RrdSample rrd = rrdLast(pair.node(), vmid);
+            if (cpuPct == 0.0 && rrd.cpuPct() != null) {
+                cpuPct = rrd.cpuPct();
+            }
+            if (memBytes == 0 && rrd.memBytes() != null) {
+                memBytes = rrd.memBytes();
+            }
+            if (maxmemBytes == 0 && rrd.maxmemBytes() != null) {
+                maxmemBytes = rrd.maxmemBytes();
+                if (memoryMib == 0) {
+                    memoryMib = (int) Math.round(maxmemBytes / (1024.0 * 1024.0));
+                }
+            }
+        }
+
+        Map<String, Object> rec = new HashMap<>();
+        rec.put("cores", cores);
+        rec.put("memory", memoryMib);
+        rec.put("cpu_pct", cpuPct);
+        rec.put("mem_bytes", memBytes);
+        rec.put("maxmem_bytes", maxmemBytes);
+        rec.put("mem_pct", maxmemBytes > 0 ? roundTwo((double) memBytes / maxmemBytes * 100.0) : null);
+        rec.put("unlimited_memory", unlimitedMemory);
+
+        if (includeRaw) {
+            rec.put("raw_status", status);
+            rec.put("raw_config", config);
+        }
+        return rec;
+    }
+
+    /**
+     * Builds the stats fields for a container whose stats could not be collected.
+     *
+     * @param pair the container and its node
+     * @param error the failure or timeout
+     * @return a map with the {@code stats_error} field
+     */
+    private Map<String, Object> statsFailure(NodeContainerPair pair, Exception error) {
+        logger.warn("Stats unavailable for container {} on node {}: {}",
+            pair.container().path("vmid").asText("?"), pair.node(), error.getMessage());
+        String message = error.getMessage() == null ? error.getClass().getSimpleName() : error.getMessage();
+        return Map.of("stats_error", message);
+    }
+
     /**
      * Starts containers that match the selector.
      *
@@ -139,7 +219,19 @@ public class ContainerTools extends ProxmoxTool {
      * @return action result
      */
     public String startContainer(String selector, String formatStyle) {
-        return containerAction("Start Containers", selector, formatStyle, (node, vmid) ->
+        return startContainer(selector, null, formatStyle);
+    }
+
+    /**
+     * Starts containers that match the selector and optionally waits for their tasks.
+     *
+     * @param selector container selector
+     * @param waitSeconds seconds to wait for the start tasks, {@code null} for {@code task_wait_seconds}
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String startContainer(String selector, Integer waitSeconds, String formatStyle) {
+        return containerAction("Start Containers", selector, waitSeconds, null, formatStyle, (node, vmid) ->
             responseData(proxmox.postForm("/nodes/" + node + "/lxc/" + vmid + "/status/start", Map.of()))
         );
     }
@@ -154,7 +246,40 @@ public class ContainerTools extends ProxmoxTool {
      * @return action result
      */
     public String stopContainer(String selector, boolean graceful, int timeoutSeconds, String formatStyle) {
-        return containerAction("Stop Containers", selector, formatStyle, (node, vmid) -> {
+        return stopContainer(selector, graceful, timeoutSeconds, null, formatStyle);
+    }
+
+    /**
+     * Stops containers that match the selector and optionally waits for their tasks.
+     *
+     * @param selector container selector
+     * @param graceful whether to request graceful shutdown
+     * @param timeoutSeconds shutdown timeout
+     * @param waitSeconds seconds to wait for the stop tasks, {@code null} for {@code task_wait_seconds}
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String stopContainer(String selector, boolean graceful, int timeoutSeconds, Integer waitSeconds,
+                                String formatStyle) {
+        return stopContainer(selector, graceful, timeoutSeconds, waitSeconds, null, null, formatStyle);
+    }
+
+    /**
+     * Stops containers that match the selector, optionally in rolling waves.
+     *
+     * @param selector container selector
+     * @param graceful whether to request graceful shutdown
+     * @param timeoutSeconds shutdown timeout
+     * @param waitSeconds seconds to wait for the stop tasks; in rolling mode the time limit per wave
+     * @param waveSize containers per wave, {@code null} or below one to stop all at once
+     * @param maxFailures failures tolerated before a rolling stop is aborted, {@code null} for none
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String stopContainer(String selector, boolean graceful, int timeoutSeconds, Integer waitSeconds,
+                                Integer waveSize, Integer maxFailures, String formatStyle) {
+        Rollout rollout = Rollout.of(waveSize, maxFailures, "stopped");
+        return containerAction("Stop Containers", selector, waitSeconds, rollout, formatStyle, (node, vmid) -> {
             if (graceful) {
                 return responseData(proxmox.postForm(
                     "/nodes/" + node + "/lxc/" + vmid + "/status/shutdown",
@@ -176,7 +301,42 @@ public class ContainerTools extends ProxmoxTool {
      * @return action result
      */
     public String restartContainer(String selector, int timeoutSeconds, String formatStyle) {
-        return containerAction("Restart Containers", selector, formatStyle, (node, vmid) ->
+        return restartContainer(selector, timeoutSeconds, null, formatStyle);
+    }
+
+    /**
+     * Restarts containers that match the selector and optionally waits for their tasks.
+     *
+     * @param selector container selector
+     * @param timeoutSeconds restart timeout
+     * @param waitSeconds seconds to wait for the reboot tasks, {@code null} for {@code task_wait_seconds}
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String restartContainer(String selector, int timeoutSeconds, Integer waitSeconds, String formatStyle) {
+        return restartContainer(selector, timeoutSeconds, waitSeconds, null, null, formatStyle);
+    }
+
+    /**
+     * Restarts containers that match the selector, optionally in rolling waves.
+     *
+     * <p>In rolling mode each wave is rebooted together. The next wave starts only after the
+     * reboot tasks of the current wave have finished and its containers report {@code running}
+     * again. A failed container counts against {@code maxFailures}. Once the budget is exceeded, the
+     * remaining containers are skipped.</p>
+     *
+     * @param selector container selector
+     * @param timeoutSeconds restart timeout
+     * @param waitSeconds seconds to wait for the reboot tasks; in rolling mode the time limit per wave
+     * @param waveSize containers per wave, {@code null} or below one to restart all at once
+     * @param maxFailures failures tolerated before a rolling restart is aborted, {@code null} for none
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String restartContainer(String selector, int timeoutSeconds, Integer waitSeconds, Integer waveSize,
+                                   Integer maxFailures, String formatStyle) {
+        Rollout rollout = Rollout.of(waveSize, maxFailures, "running");
+        return containerAction("Restart Containers", selector, waitSeconds, rollout, formatStyle, (node, vmid) ->
             responseData(proxmox.postForm("/nodes/" + node + "/lxc/" + vmid + "/status/reboot", Map.of()))
         );
     }
@@ -224,11 +384,7 @@ public class ContainerTools extends ProxmoxTool {
                 }
             }
 
-            List<String> nodeNames = new ArrayList<>();
-            JsonNode nodes = responseData(proxmox.get("/nodes"));
-            for (JsonNode entry : nodes) {
-                nodeNames.add(entry.path("node").asText());
-            }
+            List<String> nodeNames = listNodeNames();
             if (!nodeNames.contains(node)) {
                 return errorPayload("Node '" + node + "' not found",
                     new IllegalArgumentException("Available nodes: " + String.join(", ", nodeNames)));
@@ -278,6 +434,7 @@ public class ContainerTools extends ProxmoxTool {
             }
 
             JsonNode result = responseData(proxmox.postForm("/nodes/" + node + "/lxc", config));
+            inventory.invalidate();
             StringBuilder builder = new StringBuilder();
             builder.append("Container Created Successfully\n\n");
             builder.append("  VMID: ").append(vmid).append("\n");
@@ -291,7 +448,7 @@ public class ContainerTools extends ProxmoxTool {
             builder.append("  Network: ").append(networkBridge).append(" (DHCP)\n");
             builder.append("  Unprivileged: ").append(unprivileged ? "Yes" : "No").append("\n");
             builder.append("  Auto-start: ").append(startAfterCreate ? "Yes" : "No").append("\n\n");
-            builder.append("Task ID: ").append(taskId(result)).append("\n\n");
+            builder.append("Task ID: ").append(taskId(result)).append(awaitTask(result)).append("\n\n");
             builder.append("Next steps:\n");
             builder.append("  - Start container: startContainer selector='").append(vmid).append("'\n");
             builder.append("  - Check status: getContainers");
@@ -310,56 +467,88 @@ public class ContainerTools extends ProxmoxTool {
      * @return action result
      */
     public String deleteContainer(String selector, boolean force, String formatStyle) {
+        return deleteContainer(selector, force, null, formatStyle);
+    }
+
+    /**
+     * Deletes containers that match the selector and optionally waits for the delete tasks.
+     *
+     * @param selector container selector
+     * @param force whether to stop running containers; the delete is sent once the stop task finished
+     * @param waitSeconds seconds to wait for the delete tasks, {@code null} for {@code task_wait_seconds};
+     *     also the limit for a forced stop, which waits 60 seconds when this is zero
+     * @param formatStyle output format style
+     * @return action result
+     */
+    public String deleteContainer(String selector, boolean force, Integer waitSeconds, String formatStyle) {
         try {
             List<ContainerTarget> targets = resolveTargets(selector);
             if (targets.isEmpty()) {
                 return errorPayload("No containers matched the selector", new IllegalArgumentException(selector));
             }
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            for (ContainerTarget target : targets) {
-                Map<String, Object> rec = new HashMap<>();
-                rec.put("ok", true);
-                rec.put("node", target.node());
-                rec.put("vmid", target.vmid());
-                rec.put("name", target.label());
-                try {
-                    JsonNode status = responseData(proxmox.get("/nodes/" + target.node() + "/lxc/" + target.vmid()
-                        + "/status/current"));
-                    String currentStatus = status.path("status").asText("").toLowerCase(Locale.ROOT);
-                    if ("running".equals(currentStatus)) {
-                        if (!force) {
-                            rec.put("ok", false);
-                            rec.put("error", "Container is running. Use force=true to stop and delete.");
-                            results.add(rec);
-                            continue;
-                        }
-                        proxmox.postForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/status/stop", Map.of());
-                        rec.put("message", "Stopped and deleted");
-                    } else {
-                        rec.put("message", "Deleted");
+            long started = System.nanoTime();
+            Duration wait = waitFor(waitSeconds);
+            Duration stopWait = wait.isZero() ? FORCE_STOP_WAIT : wait;
+            List<Map<String, Object>> results = runBulk(targets, wait, false, (target, rec) -> {
+                JsonNode status = responseData(proxmox.get("/nodes/" + target.node() + "/lxc/" + target.vmid()
+                    + "/status/current"));
+                String currentStatus = status.path("status").asText("").toLowerCase(Locale.ROOT);
+                if ("running".equals(currentStatus)) {
+                    if (!force) {
+                        rec.put("ok", false);
+                        rec.put("error", "Container is running. Use force=true to stop and delete.");
+                        return null;
                     }
-
-                    JsonNode task = responseData(
-                        proxmox.delete("/nodes/" + target.node() + "/lxc/" + target.vmid())
+                    JsonNode stop = responseData(
+                        proxmox.postForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/status/stop", Map.of())
                     );
-                    rec.put("task_id", taskId(task));
-                } catch (Exception e) {
-                    rec.put("ok", false);
-                    rec.put("error", e.getMessage());
+                    String stopError = awaitStop(stop, stopWait);
+                    if (stopError != null) {
+                        rec.put("ok", false);
+                        rec.put("error", stopError + "; container not deleted");
+                        return null;
+                    }
+                    rec.put("message", "Stopped and deleted");
+                } else {
+                    rec.put("message", "Deleted");
                 }
-                results.add(rec);
-            }
+
+                JsonNode task = responseData(
+                    proxmox.delete("/nodes/" + target.node() + "/lxc/" + target.vmid())
+                );
+                rec.put("task_id", taskId(task));
+                return task;
+            });
 
             if ("json".equalsIgnoreCase(formatStyle)) {
                 return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(results);
             }
-            return renderActionResult("Delete Containers", results);
+            return renderActionResult("Delete Containers", results, started);
         } catch (Exception e) {
             return errorPayload("Failed to delete container(s)", e);
         }
     }
 
+    /**
+     * Waits for the stop task of a forced delete, since Proxmox rejects deleting a running container.
+     *
+     * @param stop the stop task payload
+     * @param wait how long to wait for the stop to finish
+     * @return {@code null} once the container stopped, otherwise why it did not
+     * @throws Exception when the task cannot be polled or the wait is interrupted
+     */
+    private String awaitStop(JsonNode stop, Duration wait) throws Exception {
+        if (!stop.isTextual() || !TaskTracker.Upid.isUpid(stop.asText())) {
+            return null;
+        }
+        TaskTracker.TaskStatus status = tasks.await(stop.asText(), wait);
+        if (status.running()) {
+            return "Stop task still running after " + wait.toSeconds() + "s";
+        }
+        return status.ok() ? null : "Stop task failed: " + status.exitStatus();
+    }
+
     /**
      * Updates resources for containers that match the selector.
      *
@@ -387,53 +576,41 @@ public class ContainerTools extends ProxmoxTool {
                 return errorPayload("No containers matched the selector", new IllegalArgumentException(selector));
             }
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            for (ContainerTarget target : targets) {
-                Map<String, Object> rec = new HashMap<>();
-                rec.put("ok", true);
-                rec.put("node", target.node());
-                rec.put("vmid", target.vmid());
-                rec.put("name", target.label());
+            long started = System.nanoTime();
+            List<Map<String, Object>> results = runBulk(targets, Duration.ZERO, false, (target, rec) -> {
                 List<String> changes = new ArrayList<>();
+                Map<String, String> update = new HashMap<>();
+                if (cores != null) {
+                    update.put("cores", String.valueOf(cores));
+                    changes.add("cores=" + cores);
+                }
+                if (memory != null) {
+                    update.put("memory", String.valueOf(memory));
+                    changes.add("memory=" + memory + "MiB");
+                }
+                if (swap != null) {
+                    update.put("swap", String.valueOf(swap));
+                    changes.add("swap=" + swap + "MiB");
+                }
+                if (!update.isEmpty()) {
+                    proxmox.putForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/config", update);
+                }
 
-                try {
-                    Map<String, String> update = new HashMap<>();
-                    if (cores != null) {
-                        update.put("cores", String.valueOf(cores));
-                        changes.add("cores=" + cores);
-                    }
-                    if (memory != null) {
-                        update.put("memory", String.valueOf(memory));
-                        changes.add("memory=" + memory + "MiB");
-                    }
-                    if (swap != null) {
-                        update.put("swap", String.valueOf(swap));
-                        changes.add("swap=" + swap + "MiB");
-                    }
-                    if (!update.isEmpty()) {
-                        proxmox.putForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/config", update);
-                    }
-
-                    if (diskGb != null) {
-                        String size = "+" + diskGb + "G";
-                        proxmox.putForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/resize",
-                            Map.of("disk", disk == null ? "rootfs" : disk, "size", size));
-                        changes.add((disk == null ? "rootfs" : disk) + "+=" + diskGb + "G");
-                    }
-
-                    rec.put("message", changes.isEmpty() ? "no changes" : String.join(", ", changes));
-                } catch (Exception e) {
-                    rec.put("ok", false);
-                    rec.put("error", e.getMessage());
+                if (diskGb != null) {
+                    String size = "+" + diskGb + "G";
+                    proxmox.putForm("/nodes/" + target.node() + "/lxc/" + target.vmid() + "/resize",
+                        Map.of("disk", disk == null ? "rootfs" : disk, "size", size));
+                    changes.add((disk == null ? "rootfs" : disk) + "+=" + diskGb + "G");
                 }
 
-                results.add(rec);
-            }
+                rec.put("message", changes.isEmpty() ? "no changes" : String.join(", ", changes));
+                return null;
+            });
 
             if ("json".equalsIgnoreCase(formatStyle)) {
                 return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(results);
             }
-            return renderActionResult("Update Container Resources", results);
+            return renderActionResult("Update Container Resources", results, started);
         } catch (Exception e) {
             return errorPayload("Failed to update container(s)", e);
         }
@@ -444,43 +621,253 @@ public class ContainerTools extends ProxmoxTool {
      *
      * @param title action title
      * @param selector container selector
+     * @param waitSeconds seconds to wait for the action tasks, {@code null} for {@code task_wait_seconds}
+     * @param rollout rolling settings, or {@code null} to act on all targets at once
      * @param formatStyle output format style
-     * @param action action callback
+     * @param action action callback returning the task payload
      * @return action result
      */
-    private String containerAction(String title, String selector, String formatStyle, Action action) {
+    private String containerAction(String title, String selector, Integer waitSeconds, Rollout rollout,
+                                   String formatStyle, Action action) {
         try {
             List<ContainerTarget> targets = resolveTargets(selector);
             if (targets.isEmpty()) {
                 return errorPayload("No containers matched the selector", new IllegalArgumentException(selector));
             }
 
-            List<Map<String, Object>> results = new ArrayList<>();
-            for (ContainerTarget target : targets) {
-                Map<String, Object> rec = new HashMap<>();
-                rec.put("ok", true);
-                rec.put("node", target.node());
-                rec.put("vmid", target.vmid());
-                rec.put("name", target.label());
+            long started = System.nanoTime();
+            BulkStep step = (target, rec) -> {
+                JsonNode task = action.apply(target.node(), target.vmid());
+                rec.put("message", task);
+                return task;
+            };
+            List<Map<String, Object>> results = rollout == null
+                ? runBulk(targets, waitFor(waitSeconds), false, step)
+                : runRolling(targets, rollout, waitSeconds, step);
+
+            if ("json".equalsIgnoreCase(formatStyle)) {
+                return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(results);
+            }
+            String heading = rollout == null ? title : title + " (rolling, waves of " + rollout.waveSize() + ")";
+            return renderActionResult(heading, results, started);
+        } catch (Exception e) {
+            return errorPayload("Failed to " + title.toLowerCase(Locale.ROOT), e);
+        }
+    }
+
+    /**
+     * Runs one step per target concurrently and then waits for the tasks the steps started.
+     *
+     * <p>At most {@code bulk_concurrency} targets are dispatched at once, and at most
+     * {@code bulk_per_node_concurrency} of them on the same node. Waiting happens after every target
+     * was dispatched, so slow tasks never hold dispatch slots. All waits run together and share the
+     * task tracker's per-node polling. When any target succeeded, the cluster inventory is
+     * invalidated after the waits, so later reads see the changed containers.</p>
+     *
+     * @param targets the resolved targets
+     * @param wait how long to wait for the started tasks, zero to return right after dispatch
+     * @param requireFinished whether a task still running after the wait counts as a failure
+     * @param step the per-target step; fills the result record and returns its task payload or {@code null}
+     * @return one result record per target, in target order
+     */
+    private List<Map<String, Object>> runBulk(List<ContainerTarget> targets, Duration wait, boolean requireFinished,
+                                              BulkStep step) {
+        List<Dispatched> dispatched = bulkFanOut.mapGrouped(targets, ContainerTarget::node, bulkPerNode,
+            target -> {
+                Map<String, Object> rec = actionRecord(target);
                 try {
-                    Object resp = action.apply(target.node(), target.vmid());
-                    rec.put("message", resp);
+                    return new Dispatched(rec, step.apply(target, rec));
                 } catch (Exception e) {
                     rec.put("ok", false);
                     rec.put("error", e.getMessage());
+                    return new Dispatched(rec, null);
                 }
-                results.add(rec);
+            },
+            (target, e) -> {
+                Map<String, Object> rec = actionRecord(target);
+                rec.put("ok", false);
+                rec.put("error", e.getMessage());
+                return new Dispatched(rec, null);
+            });
+
+        List<Dispatched> pending = dispatched.stream()
+            .filter(item -> Boolean.TRUE.equals(item.record().get("ok")) && item.task() != null)
+            .toList();
+        if (!wait.isZero() && !pending.isEmpty()) {
+            new FanOut(pending.size()).map(pending, item -> {
+                TaskTracker.TaskStatus status = awaitTaskStatus(item.task(), wait);
+                if (status != null) {
+                    recordTaskStatus(item.record(), status, wait, requireFinished);
+                }
+                return item;
+            }, (item, e) -> item);
+        }
+
+        List<Map<String, Object>> results = new ArrayList<>(dispatched.size());
+        for (Dispatched item : dispatched) {
+            results.add(item.record());
+        }
+        if (results.stream().anyMatch(rec -> Boolean.TRUE.equals(rec.get("ok")))) {
+            inventory.invalidate();
+        }
+        return results;
+    }
+
+    /**
+     * Runs a bulk step in consecutive waves of the targets.
+     *
+     * <p>Each wave is dispatched like a normal bulk action. The engine then waits for the wave's
+     * tasks and for its containers to reach the healthy status, within one time limit per wave.
+     * Failed containers count against the failure budget. Once the budget is exceeded, the
+     * remaining targets are skipped and reported as such.</p>
+     *
+     * @param targets the resolved targets, in rollout order
+     * @param rollout the rolling settings
+     * @param waitSeconds the time limit per wave, {@code null} or below one for {@code rolling_wave_timeout_seconds}
+     * @param step the per-target step
+     * @return one result record per target, in target order
+     */
+    private List<Map<String, Object>> runRolling(List<ContainerTarget> targets, Rollout rollout, Integer waitSeconds,
+                                                 BulkStep step) {
+        Duration waveTimeout = waitSeconds == null || waitSeconds < 1
+            ? rollingWaveTimeout
+            : Duration.ofSeconds(waitSeconds);
+        List<Map<String, Object>> results = new ArrayList<>(targets.size());
+        int failures = 0;
+        int waves = (targets.size() + rollout.waveSize() - 1) / rollout.waveSize();
+        for (int wave = 0; wave < waves; wave++) {
+            List<ContainerTarget> batch = targets.subList(wave * rollout.waveSize(),
+                Math.min(targets.size(), (wave + 1) * rollout.waveSize()));
+            if (failures > rollout.maxFailures()) {
+                for (ContainerTarget target : batch) {
+                    Map<String, Object> rec = actionRecord(target);
+                    rec.put("ok", false);
+                    rec.put("skipped", true);
+                    rec.put("wave", wave + 1);
+                    rec.put("error", "Skipped: rollout aborted after " + failures + " failure(s), max_failures "
+                        + rollout.maxFailures());
+                    results.add(rec);
+                }
+                continue;
             }
+            long deadline = System.nanoTime() + waveTimeout.toNanos();
+            List<Map<String, Object>> waveResults = runBulk(batch, waveTimeout, true, step);
+            awaitHealthy(waveResults, rollout.healthyStatus(), deadline);
+            for (Map<String, Object> rec : waveResults) {
+                rec.put("wave", wave + 1);
+                if (!Boolean.TRUE.equals(rec.get("ok"))) {
+                    failures++;
+                }
+            }
+            logger.info("Rolling action wave {}/{} finished with {} failure(s) so far", wave + 1, waves, failures);
+            results.addAll(waveResults);
+        }
+        return results;
+    }
 
-            if ("json".equalsIgnoreCase(formatStyle)) {
-                return OBJECT_MAPPER.writerWithDefaultPrettyPrinter().writeValueAsString(results);
+    /**
+     * Waits until the successful containers of a wave report the healthy status.
+     *
+     * @param wave the result records of the wave
+     * @param healthyStatus the container status to wait for
+     * @param deadline the wave deadline from {@link System#nanoTime()}
+     */
+    private void awaitHealthy(List<Map<String, Object>> wave, String healthyStatus, long deadline) {
+        List<Map<String, Object>> pending = wave.stream()
+            .filter(rec -> Boolean.TRUE.equals(rec.get("ok")))
+            .toList();
+        if (pending.isEmpty()) {
+            return;
+        }
+        new FanOut(pending.size()).map(pending, rec -> {
+            String status = pollStatus(stringValue(rec.get("node")), stringValue(rec.get("vmid")), healthyStatus,
+                deadline);
+            if (!healthyStatus.equals(status)) {
+                rec.put("ok", false);
+                rec.put("error", "Health check failed: status is " + status + ", expected " + healthyStatus);
             }
-            return renderActionResult(title, results);
-        } catch (Exception e) {
-            return errorPayload("Failed to " + title.toLowerCase(Locale.ROOT), e);
+            return rec;
+        }, (rec, e) -> {
+            rec.put("ok", false);
+            rec.put("error", "Health check failed: " + e.getMessage());
+            return rec;
+        });
+    }
+
+    /**
+     * Polls a container's status until it matches or the deadline passes.
+     *
+     * @param node the node name
+     * @param vmid the container ID
+     * @param wanted the status to wait for
+     * @param deadline the deadline from {@link System#nanoTime()}
+     * @return the last status read
+     * @throws Exception when the status cannot be read or the wait is interrupted
+     */
+    private String pollStatus(String node, String vmid, String wanted, long deadline) throws Exception {
+        long delay = healthPollInitialMillis;
+        while (true) {
+            String status = responseData(proxmox.get("/nodes/" + node + "/lxc/" + vmid + "/status/current"))
+                .path("status").asText("unknown").toLowerCase(Locale.ROOT);
+            long remaining = deadline - System.nanoTime();
+            if (wanted.equals(status) || remaining <= 0) {
+                return status;
+            }
+            Thread.sleep(Math.min(delay, TimeUnit.NANOSECONDS.toMillis(remaining) + 1));
+            delay = Math.min(delay * 2, healthPollMaxMillis);
+        }
+    }
+
+    /**
+     * Creates the result record of one target.
+     *
+     * @param target the target
+     * @return a record marked as successful
+     */
+    private static Map<String, Object> actionRecord(ContainerTarget target) {
+        Map<String, Object> rec = new HashMap<>();
+        rec.put("ok", true);
+        rec.put("node", target.node());
+        rec.put("vmid", target.vmid());
+        rec.put("name", target.label());
+        return rec;
+    }
+
+    /**
+     * Adds the outcome of a waited task to its result record.
+     *
+     * @param rec the result record
+     * @param status the task status
+     * @param wait how long the task was waited for
+     * @param requireFinished whether a task that is still running marks the target as failed
+     */
+    private static void recordTaskStatus(Map<String, Object> rec, TaskTracker.TaskStatus status, Duration wait,
+                                         boolean requireFinished) {
+        if (status.running()) {
+            rec.put("task_status", "still running after " + wait.toSeconds() + "s");
+            if (requireFinished) {
+                rec.put("ok", false);
+                rec.put("error", "Task still running after " + wait.toSeconds() + "s");
+            }
+            return;
+        }
+        rec.put("task_status", status.describe());
+        if (!status.ok()) {
+            rec.put("ok", false);
+            rec.put("error", "Task failed: " + status.exitStatus());
         }
     }
 
+    /**
+     * Resolves the wait time of a bulk action.
+     *
+     * @param waitSeconds the requested seconds, {@code null} for {@code task_wait_seconds}
+     * @return the wait time, zero for no waiting
+     */
+    private Duration waitFor(Integer waitSeconds) {
+        return waitSeconds == null ? taskWait() : Duration.ofSeconds(Math.max(0, waitSeconds));
+    }
+
     /**
      * Lists container records for a node or all nodes.
      *
@@ -489,15 +876,27 @@ public class ContainerTools extends ProxmoxTool {
      */
     private List<NodeContainerPair> listCtPairs(String node) {
         List<NodeContainerPair> out = new ArrayList<>();
+        try {
+            for (JsonNode ct : inventory.containers()) {
+                String ctNode = ct.path("node").asText();
+                if (node == null || node.isBlank() || node.equals(ctNode)) {
+                    out.add(new NodeContainerPair(ctNode, ct, true));
+                }
+            }
+            return out;
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, listing containers per node", inventoryError);
+        }
+
         if (node != null && !node.isBlank()) {
             try {
                 JsonNode raw = responseData(proxmox.get("/nodes/" + node + "/lxc"));
                 for (JsonNode item : raw) {
                     if (item.isObject()) {
-                        out.add(new NodeContainerPair(node, item));
+                        out.add(new NodeContainerPair(node, item, false));
                     } else if (item.isNumber()) {
                         out.add(new NodeContainerPair(node, OBJECT_MAPPER.createObjectNode()
-                            .put("vmid", item.asInt())));
+                            .put("vmid", item.asInt()), false));
                     }
                 }
             } catch (Exception e) {
@@ -523,10 +922,10 @@ public class ContainerTools extends ProxmoxTool {
                 JsonNode raw = responseData(proxmox.get("/nodes/" + nodeName + "/lxc"));
                 for (JsonNode item : raw) {
                     if (item.isObject()) {
-                        out.add(new NodeContainerPair(nodeName, item));
+                        out.add(new NodeContainerPair(nodeName, item, false));
                     } else if (item.isNumber()) {
                         out.add(new NodeContainerPair(nodeName, OBJECT_MAPPER.createObjectNode()
-                            .put("vmid", item.asInt())));
+                            .put("vmid", item.asInt()), false));
                     }
                 }
             } catch (Exception e) {
@@ -536,85 +935,72 @@ public class ContainerTools extends ProxmoxTool {
         return out;
     }
 
+    /**
+     * Lists cluster node names from the inventory, falling back to {@code /nodes}.
+     *
+     * @return node names
+     * @throws Exception when neither source is available
+     */
+    private List<String> listNodeNames() throws Exception {
+        List<String> nodeNames = new ArrayList<>();
+        try {
+            for (JsonNode entry : inventory.nodes()) {
+                nodeNames.add(entry.path("node").asText());
+            }
+            return nodeNames;
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, listing nodes directly", inventoryError);
+        }
+        for (JsonNode entry : responseData(proxmox.get("/nodes"))) {
+            nodeNames.add(entry.path("node").asText());
+        }
+        return nodeNames;
+    }
+
     /**
      * Resolves a selector into unique container targets.
      *
-     * @param selector selector string
-     * @return resolved container targets
+     * @param selector selector string, see {@link GuestSelector} for the grammar
+     * @return resolved container targets in selector order
      */
-    private List<ContainerTarget> resolveTargets(String selector) {
-        List<ContainerTarget> resolved = new ArrayList<>();
+    List<ContainerTarget> resolveTargets(String selector) {
+        List<ContainerTarget> targets = new ArrayList<>();
         if (selector == null || selector.isBlank()) {
-            return resolved;
+            return targets;
         }
-        String[] tokens = selector.split(",");
-        List<NodeContainerPair> inventory = listCtPairs(null);
-
-        for (String rawToken : tokens) {
-            String token = rawToken.trim();
-            if (token.isEmpty()) {
-                continue;
-            }
-            if (token.contains(":") && !token.contains("/")) {
-                String[] parts = token.split(":", 2);
-                String node = parts[0];
-                int vmid = parseInt(parts[1]);
-                if (vmid < 0) {
-                    continue;
-                }
-                for (NodeContainerPair pair : inventory) {
-                    if (pair.node().equals(node) && parseInt(pair.container().path("vmid").asText()) == vmid) {
-                        String label = firstText(pair.container(), "name", "hostname", "ct-" + vmid);
-                        resolved.add(new ContainerTarget(node, vmid, label));
-                        break;
-                    }
-                }
-                continue;
-            }
-            if (token.contains("/") && !token.contains(":")) {
-                String[] parts = token.split("/", 2);
-                String node = parts[0];
-                String name = parts[1].trim();
-                for (NodeContainerPair pair : inventory) {
-                    String ctName = firstText(pair.container(), "name", "hostname", null);
-                    if (pair.node().equals(node) && name.equals(ctName)) {
-                        int vmid = parseInt(pair.container().path("vmid").asText());
-                        if (vmid >= 0) {
-                            resolved.add(new ContainerTarget(node, vmid, name));
-                        }
-                    }
-                }
-                continue;
-            }
-            if (token.chars().allMatch(Character::isDigit)) {
-                int vmid = parseInt(token);
-                for (NodeContainerPair pair : inventory) {
-                    if (parseInt(pair.container().path("vmid").asText()) == vmid) {
-                        String label = firstText(pair.container(), "name", "hostname", "ct-" + vmid);
-                        resolved.add(new ContainerTarget(pair.node(), vmid, label));
-                    }
-                }
-                continue;
-            }
-
-            String name = token;
-            for (NodeContainerPair pair : inventory) {
-                String ctName = firstText(pair.container(), "name", "hostname", null);
-                if (name.equals(ctName)) {
-                    int vmid = parseInt(pair.container().path("vmid").asText());
-                    if (vmid >= 0) {
-                        resolved.add(new ContainerTarget(pair.node(), vmid, name));
-                    }
-                }
-            }
+        for (NodeContainerPair pair : containerIndex().resolve(selector)) {
+            int vmid = GuestSelector.vmid(pair.container().path("vmid"));
+            String name = GuestSelector.name(pair.container());
+            targets.add(new ContainerTarget(pair.node(), vmid, name == null ? "ct-" + vmid : name));
         }
+        return targets;
+    }
 
-        Map<String, ContainerTarget> uniq = new HashMap<>();
-        for (ContainerTarget target : resolved) {
-            String key = target.node() + ":" + target.vmid();
-            uniq.put(key, target);
+    /**
+     * Returns the selector index for the current inventory. The index is rebuilt only when the
+     * inventory hands out a new snapshot, so repeated bulk actions within the cache TTL reuse it.
+     *
+     * @return the container selector index
+     */
+    GuestSelector<NodeContainerPair> containerIndex() {
+        List<JsonNode> containers;
+        try {
+            containers = inventory.containers();
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, indexing containers per node", inventoryError);
+            return new GuestSelector<>(null, listCtPairs(null), NodeContainerPair::node, NodeContainerPair::container);
         }
-        return new ArrayList<>(uniq.values());
+        GuestSelector<NodeContainerPair> current = index;
+        if (current != null && current.isFor(containers)) {
+            return current;
+        }
+        List<NodeContainerPair> pairs = new ArrayList<>(containers.size());
+        for (JsonNode ct : containers) {
+            pairs.add(new NodeContainerPair(ct.path("node").asText(), ct, true));
+        }
+        current = new GuestSelector<>(containers, pairs, NodeContainerPair::node, NodeContainerPair::container);
+        index = current;
+        return current;
     }
 
     /**
@@ -630,6 +1016,10 @@ public class ContainerTools extends ProxmoxTool {
             builder.append("\n").append(name).append(" (ID: ").append(row.get("vmid")).append(")\n");
             builder.append("  Status: ").append(stringValue(row.get("status")).toUpperCase(Locale.ROOT)).append("\n");
             builder.append("  Node: ").append(stringValue(row.get("node"))).append("\n");
+            if (row.get("stats_error") != null) {
+                builder.append("  Stats: unavailable (").append(row.get("stats_error")).append(")\n");
+                continue;
+            }
             builder.append("  CPU: ").append(String.format(Locale.US, "%.1f%%", doubleValue(row.get("cpu_pct"))))
                 .append("\n");
             builder.append("  CPU Cores: ").append(row.get("cores") == null ? "N/A" : row.get("cores")).append("\n");
@@ -659,19 +1049,31 @@ public class ContainerTools extends ProxmoxTool {
      * @param results action result records
      * @return formatted output
      */
-    private String renderActionResult(String title, List<Map<String, Object>> results) {
+    private String renderActionResult(String title, List<Map<String, Object>> results, long started) {
+        long succeeded = results.stream().filter(result -> Boolean.TRUE.equals(result.get("ok"))).count();
+        long skipped = results.stream().filter(result -> Boolean.TRUE.equals(result.get("skipped"))).count();
         StringBuilder builder = new StringBuilder(title).append("\n");
+        builder.append("Containers: ").append(results.size())
+            .append(" | OK: ").append(succeeded)
+            .append(" | Failed: ").append(results.size() - succeeded - skipped);
+        if (skipped > 0) {
+            builder.append(" | Skipped: ").append(skipped);
+        }
+        builder
+            .append(" | Elapsed: ").append(Duration.ofNanos(System.nanoTime() - started).toMillis()).append(" ms\n");
         for (Map<String, Object> result : results) {
             boolean ok = Boolean.TRUE.equals(result.get("ok"));
-            String status = ok ? "OK" : "FAIL";
+            String status = ok ? "OK" : Boolean.TRUE.equals(result.get("skipped")) ? "SKIP" : "FAIL";
             String node = stringValue(result.get("node"));
             String vmid = stringValue(result.get("vmid"));
             String name = result.get("name") == null ? "ct-" + vmid : result.get("name").toString();
             String message = result.get("message") == null ? "" : " - " + result.get("message");
             String error = result.get("error") == null ? "" : " - " + result.get("error");
+            String task = result.get("task_status") == null ? "" : " [" + result.get("task_status") + "]";
             builder.append(status).append(" ").append(name)
                 .append(" (ID: ").append(vmid).append(", node: ").append(node).append(")")
                 .append(ok ? message : error)
+                .append(task)
                 .append("\n");
         }
         return builder.toString().trim();
@@ -831,16 +1233,14 @@ public class ContainerTools extends ProxmoxTool {
      */
     private RrdSample rrdLast(String node, int vmid) {
         try {
-            JsonNode rrd = responseData(proxmox.get("/nodes/" + node + "/lxc/" + vmid + "/rrddata",
-                Map.of("timeframe", "hour", "ds", "cpu,mem,maxmem")));
-            if (!rrd.isArray() || rrd.isEmpty()) {
-                return new RrdSample(null, null, null);
-            }
-            JsonNode last = rrd.get(rrd.size() - 1);
-            Double cpuPct = last.has("cpu") ? last.path("cpu").asDouble(0.0) * 100.0 : null;
-            Long memBytes = last.has("mem") ? last.path("mem").asLong(0L) : null;
-            Long maxmemBytes = last.has("maxmem") ? last.path("maxmem").asLong(0L) : null;
-            return new RrdSample(cpuPct, memBytes, maxmemBytes);
+            RrdCache.Series rrd = inventory.rrd().series(node, "lxc", vmid, RrdCache.Timeframe.HOUR);
+            double cpu = rrd.lastCpu();
+            double mem = rrd.lastMem();
+            double maxmem = rrd.lastMaxmem();
+            return new RrdSample(
+                Double.isNaN(cpu) ? null : cpu * 100.0,
+                Double.isNaN(mem) ? null : (long) mem,
+                Double.isNaN(maxmem) ? null : (long) maxmem);
         } catch (Exception e) {
             return new RrdSample(null, null, null);
         }
@@ -851,8 +1251,9 @@ public class ContainerTools extends ProxmoxTool {
      *
      * @param node the node name
      * @param container the container payload
+     * @param live whether the payload already carries current cpu/mem figures
      */
-    private record NodeContainerPair(String node, JsonNode container) {
+    record NodeContainerPair(String node, JsonNode container, boolean live) {
     }
 
     /**
@@ -862,7 +1263,7 @@ public class ContainerTools extends ProxmoxTool {
      * @param vmid the container ID
      * @param label the display label
      */
-    private record ContainerTarget(String node, int vmid, String label) {
+    record ContainerTarget(String node, int vmid, String label) {
     }
 
     /**
@@ -879,7 +1280,56 @@ public class ContainerTools extends ProxmoxTool {
      * Action callback for container operations.
      */
     private interface Action {
-        Object apply(String node, int vmid) throws Exception;
+        JsonNode apply(String node, int vmid) throws Exception;
+    }
+
+    /**
+     * One step of a bulk action for a single target.
+     */
+    @FunctionalInterface
+    private interface BulkStep {
+        /**
+         * Performs the step.
+         *
+         * @param target the target
+         * @param rec the target's result record to fill in
+         * @return the task payload to wait for, or {@code null}
+         * @throws Exception when the step fails
+         */
+        JsonNode apply(ContainerTarget target, Map<String, Object> rec) throws Exception;
+    }
+
+    /**
+     * Settings of a rolling action.
+     *
+     * @param waveSize containers per wave
+     * @param maxFailures failures tolerated before the remaining waves are skipped
+     * @param healthyStatus the container status a wave must reach
+     */
+    private record Rollout(int waveSize, int maxFailures, String healthyStatus) {
+        /**
+         * Creates rolling settings from optional tool arguments.
+         *
+         * @param waveSize containers per wave, {@code null} or below one for no rolling
+         * @param maxFailures tolerated failures, {@code null} for none
+         * @param healthyStatus the container status a wave must reach
+         * @return the settings, or {@code null} when rolling is off
+         */
+        static Rollout of(Integer waveSize, Integer maxFailures, String healthyStatus) {
+            if (waveSize == null || waveSize < 1) {
+                return null;
+            }
+            return new Rollout(waveSize, maxFailures == null ? 0 : Math.max(0, maxFailures), healthyStatus);
+        }
+    }
+
+    /**
+     * A dispatched bulk step.
+     *
+     * @param record the result record
+     * @param task the started task payload, or {@code null}
+     */
+    private record Dispatched(Map<String, Object> record, JsonNode task) {
     }
 
     static ObjectMapper swapObjectMapper(ObjectMapper replacement) {
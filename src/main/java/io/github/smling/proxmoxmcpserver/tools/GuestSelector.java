@@ -0,0 +1,363 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Resolves guest selectors against an indexed VM or container inventory.
+ *
+ * <p>Selector tokens are separated by commas:</p>
+ * <ul>
+ *   <li>{@code 101} - guest ID, on any node</li>
+ *   <li>{@code pve1:101} - guest ID on one node</li>
+ *   <li>{@code web} or {@code pve1/web} - guest name, optionally on one node, ignoring case</li>
+ *   <li>{@code web-*} or {@code pve1/web-?} - name glob with {@code *} and {@code ?}, ignoring case</li>
+ *   <li>{@code re:^web-\d+$} - regular expression searched in the name</li>
+ *   <li>{@code tag:prod} - Proxmox tag, ignoring case</li>
+ * </ul>
+ *
+ * <p>Inside a {@code re:} token a comma does not end the token while it sits in a {@code {...}}
+ * quantifier or a {@code [...]} class, so {@code re:^web-\d{2,3}$} stays whole; any other comma in a
+ * regex must be written as {@code \,}.</p>
+ *
+ * <p>ID, name and tag tokens are single map lookups; only glob and regex tokens scan the
+ * inventory. The index is immutable and built once per inventory snapshot.</p>
+ *
+ * @param <T> the inventory entry type handed back by {@link #resolve(String)}
+ */
+final class GuestSelector<T> {
+    private static final String TAG_SEPARATORS = "[;,\\s]+";
+
+    private final Object source;
+    private final List<T> all = new ArrayList<>();
+    private final List<String> names = new ArrayList<>();
+    private final List<String> nodes = new ArrayList<>();
+    private final Map<Integer, List<T>> byVmid = new HashMap<>();
+    private final Map<String, T> byNodeVmid = new HashMap<>();
+    private final Map<String, List<T>> byName = new HashMap<>();
+    private final Map<String, List<T>> byNodeName = new HashMap<>();
+    private final Map<String, List<T>> byTag = new HashMap<>();
+
+    /**
+     * Indexes a guest inventory.
+     *
+     * @param source the inventory snapshot the entries came from, used to detect reuse
+     * @param guests the inventory entries
+     * @param nodeOf reads the hosting node of an entry
+     * @param guestOf reads the VM or container payload of an entry
+     */
+    GuestSelector(Object source, List<T> guests, Function<T, String> nodeOf, Function<T, JsonNode> guestOf) {
+        this.source = source;
+        for (T entry : guests) {
+            JsonNode guest = guestOf.apply(entry);
+            int vmid = vmid(guest.path("vmid"));
+            if (vmid < 0) {
+                continue;
+            }
+            String node = nodeOf.apply(entry);
+            String name = name(guest);
+            all.add(entry);
+            names.add(name);
+            nodes.add(node);
+            byVmid.computeIfAbsent(vmid, key -> new ArrayList<>()).add(entry);
+            byNodeVmid.putIfAbsent(node + ":" + vmid, entry);
+            if (name != null) {
+                String key = name.toLowerCase(Locale.ROOT);
+                byName.computeIfAbsent(key, ignored -> new ArrayList<>()).add(entry);
+                byNodeName.computeIfAbsent(node + "/" + key, ignored -> new ArrayList<>()).add(entry);
+            }
+            for (String tag : guest.path("tags").asText("").split(TAG_SEPARATORS)) {
+                if (!tag.isEmpty()) {
+                    byTag.computeIfAbsent(tag.toLowerCase(Locale.ROOT), key -> new ArrayList<>()).add(entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether this index was built from an inventory snapshot.
+     *
+     * @param candidate the snapshot
+     * @return true when the index can be reused for it
+     */
+    boolean isFor(Object candidate) {
+        return source != null && source == candidate;
+    }
+
+    /**
+     * Returns the number of indexed guests.
+     *
+     * @return the guest count
+     */
+    int size() {
+        return all.size();
+    }
+
+    /**
+     * Returns every indexed guest.
+     *
+     * @return the entries with a usable ID, in inventory order
+     */
+    List<T> all() {
+        return new ArrayList<>(all);
+    }
+
+    /**
+     * Resolves a selector into unique entries in selector order.
+     *
+     * @param selector comma-separated selector tokens
+     * @return the matching entries; tokens that match nothing or cannot be parsed are skipped
+     * @throws IllegalArgumentException when a {@code re:} token is not a valid regular expression
+     */
+    List<T> resolve(String selector) {
+        List<T> resolved = new ArrayList<>();
+        Set<T> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (String token : tokens(selector)) {
+            for (T entry : match(token)) {
+                if (seen.add(entry)) {
+                    resolved.add(entry);
+                }
+            }
+        }
+        return resolved;
+    }
+
+    /**
+     * Resolves one selector token.
+     *
+     * @param token the trimmed token
+     * @return the matching entries
+     */
+    private List<T> match(String token) {
+        String lower = token.toLowerCase(Locale.ROOT);
+        if (lower.startsWith("tag:")) {
+            return byTag.getOrDefault(lower.substring(4).trim(), List.of());
+        }
+        if (lower.startsWith("re:")) {
+            return scan(null, regex(token), false);
+        }
+        if (token.contains(":") && !token.contains("/")) {
+            String[] parts = token.split(":", 2);
+            int vmid = parseVmid(parts[1].trim());
+            T entry = vmid < 0 ? null : byNodeVmid.get(parts[0].trim() + ":" + vmid);
+            return entry == null ? List.of() : List.of(entry);
+        }
+        if (token.contains("/") && !token.contains(":")) {
+            String[] parts = token.split("/", 2);
+            String name = parts[1].trim();
+            if (isGlob(name)) {
+                return scan(parts[0].trim(), glob(name), true);
+            }
+            return byNodeName.getOrDefault(parts[0].trim() + "/" + name.toLowerCase(Locale.ROOT), List.of());
+        }
+        if (token.chars().allMatch(Character::isDigit)) {
+            int vmid = parseVmid(token);
+            return vmid < 0 ? List.of() : byVmid.getOrDefault(vmid, List.of());
+        }
+        if (isGlob(token)) {
+            return scan(null, glob(token), true);
+        }
+        return byName.getOrDefault(lower, List.of());
+    }
+
+    /**
+     * Scans guest names for a pattern.
+     *
+     * @param node optional node the guest must be on
+     * @param pattern the name pattern
+     * @param whole whether the whole name must match rather than a part of it
+     * @return the matching entries
+     */
+    private List<T> scan(String node, Pattern pattern, boolean whole) {
+        List<T> matches = new ArrayList<>();
+        for (int i = 0; i < all.size(); i++) {
+            String name = names.get(i);
+            if (name == null || (node != null && !node.equals(nodes.get(i)))) {
+                continue;
+            }
+            if (whole ? pattern.matcher(name).matches() : pattern.matcher(name).find()) {
+                matches.add(all.get(i));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Splits a selector into trimmed, non-empty tokens.
+     *
+     * @param selector the comma-separated selector, may be {@code null}
+     * @return the tokens in selector order
+     */
+    static List<String> tokens(String selector) {
+        List<String> tokens = new ArrayList<>();
+        if (selector == null) {
+            return tokens;
+        }
+        int start = 0;
+        while (start <= selector.length()) {
+            int end = tokenEnd(selector, start);
+            String token = selector.substring(start, end).trim();
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+            start = end + 1;
+        }
+        return tokens;
+    }
+
+    /**
+     * Finds the comma that ends the token starting at an offset.
+     *
+     * @param selector the selector
+     * @param start the token start
+     * @return the index of the ending comma, or the selector length for the last token
+     */
+    private static int tokenEnd(String selector, int start) {
+        int i = start;
+        while (i < selector.length() && Character.isWhitespace(selector.charAt(i))) {
+            i++;
+        }
+        boolean regex = selector.regionMatches(true, i, "re:", 0, 3);
+        int depth = 0;
+        for (; i < selector.length(); i++) {
+            char c = selector.charAt(i);
+            if (c == ',' && depth == 0) {
+                return i;
+            }
+            if (!regex) {
+                continue;
+            }
+            if (c == '\\') {
+                i++;
+            } else if (c == '{' || c == '[') {
+                depth++;
+            } else if ((c == '}' || c == ']') && depth > 0) {
+                depth--;
+            }
+        }
+        return selector.length();
+    }
+
+    /**
+     * Compiles the expression of a {@code re:} token.
+     *
+     * @param token the whole token, including its {@code re:} prefix
+     * @return the compiled pattern
+     * @throws IllegalArgumentException when the expression does not compile
+     */
+    static Pattern regex(String token) {
+        try {
+            return Pattern.compile(token.substring(3).trim());
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException(
+                "Invalid regular expression in selector token '" + token + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Compiles a glob with {@code *} and {@code ?} wildcards into a case-insensitive pattern.
+     *
+     * @param glob the glob
+     * @return the compiled pattern
+     */
+    static Pattern glob(String glob) {
+        StringBuilder regex = new StringBuilder();
+        StringBuilder literal = new StringBuilder();
+        for (char c : glob.toCharArray()) {
+            if (c == '*' || c == '?') {
+                if (!literal.isEmpty()) {
+                    regex.append(Pattern.quote(literal.toString()));
+                    literal.setLength(0);
+                }
+                regex.append(c == '*' ? ".*" : ".");
+            } else {
+                literal.append(c);
+            }
+        }
+        if (!literal.isEmpty()) {
+            regex.append(Pattern.quote(literal.toString()));
+        }
+        return Pattern.compile(regex.toString(), Pattern.CASE_INSENSITIVE);
+    }
+
+    /**
+     * Checks whether a name token contains glob wildcards.
+     *
+     * @param token the token
+     * @return true for {@code *} or {@code ?}
+     */
+    static boolean isGlob(String token) {
+        return token.indexOf('*') >= 0 || token.indexOf('?') >= 0;
+    }
+
+    /**
+     * Checks whether a guest carries a Proxmox tag, ignoring case.
+     *
+     * @param guest the VM or container payload
+     * @param tag the wanted tag
+     * @return true when the tag is present
+     */
+    static boolean hasTag(JsonNode guest, String tag) {
+        for (String candidate : guest.path("tags").asText("").split(TAG_SEPARATORS)) {
+            if (candidate.equalsIgnoreCase(tag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads a guest ID from a numeric or textual JSON value.
+     *
+     * @param value the {@code vmid} field
+     * @return the ID, or -1 when it is missing or not a number
+     */
+    static int vmid(JsonNode value) {
+        if (value.canConvertToInt()) {
+            return value.asInt();
+        }
+        return parseVmid(value.asText(""));
+    }
+
+    /**
+     * Reads a guest name, falling back to the container hostname.
+     *
+     * @param guest the VM or container payload
+     * @return the name, or {@code null}
+     */
+    static String name(JsonNode guest) {
+        if (guest.hasNonNull("name")) {
+            return guest.path("name").asText();
+        }
+        if (guest.hasNonNull("hostname")) {
+            return guest.path("hostname").asText();
+        }
+        return null;
+    }
+
+    /**
+     * Parses a guest ID.
+     *
+     * @param value the text
+     * @return the ID, or -1 when it is not a non-negative integer
+     */
+    private static int parseVmid(String value) {
+        try {
+            int vmid = Integer.parseInt(value);
+            return vmid < 0 ? -1 : vmid;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
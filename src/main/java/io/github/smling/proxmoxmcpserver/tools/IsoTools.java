@@ -2,7 +2,10 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 
 import java.util.ArrayList;
 import java.util.Comparator;
@@ -25,6 +28,29 @@ public class IsoTools extends ProxmoxTool {
         super(proxmox);
     }
 
+    /**
+     * Creates ISO tools with a Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public IsoTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        this(proxmox, tools, inventory, null);
+    }
+
+    /**
+     * Creates ISO tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public IsoTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+    }
+
     /**
      * Lists ISO images from storage.
      *
@@ -128,7 +154,7 @@ public class IsoTools extends ProxmoxTool {
                 builder.append("  Checksum: ").append((checksumAlgorithm == null ? "sha256" : checksumAlgorithm)
                     .toUpperCase(Locale.ROOT)).append("\n");
             }
-            builder.append("\nTask ID: ").append(taskId(result)).append("\n\n");
+            builder.append("\nTask ID: ").append(taskId(result)).append(awaitTask(result)).append("\n\n");
             builder.append("The download is running in the background.\nUse listIsos to verify when complete.");
             return builder.toString();
         } catch (Exception e) {
@@ -172,7 +198,7 @@ public class IsoTools extends ProxmoxTool {
             builder.append("  Storage: ").append(storage).append("\n");
             builder.append("  Node: ").append(node).append("\n");
             if (result != null) {
-                builder.append("\nTask ID: ").append(taskId(result));
+                builder.append("\nTask ID: ").append(taskId(result)).append(awaitTask(result));
             }
             return builder.toString();
         } catch (Exception e) {
@@ -190,53 +216,39 @@ public class IsoTools extends ProxmoxTool {
      */
     private List<JsonNode> getStorageContent(String contentType, String node, String storage) {
         List<JsonNode> results = new ArrayList<>();
-        JsonNode nodes;
+        List<NodeStorage> pools;
         try {
-            nodes = responseData(proxmox.get("/nodes"));
+            pools = listNodeStorage(node);
         } catch (Exception e) {
             handleError("list nodes", e);
             return results;
         }
 
-        for (JsonNode n : nodes) {
-            String nodeName = n.path("node").asText(null);
-            if (nodeName == null) {
+        for (NodeStorage pool : pools) {
+            String nodeName = pool.node();
+            JsonNode store = pool.storage();
+            String storageName = store.path("storage").asText(null);
+            if (storageName == null) {
                 continue;
             }
-            if (node != null && !node.isBlank() && !nodeName.equals(node)) {
+            if (storage != null && !storage.isBlank() && !storageName.equals(storage)) {
                 continue;
             }
-            JsonNode storages;
-            try {
-                storages = responseData(proxmox.get("/nodes/" + nodeName + "/storage"));
-            } catch (Exception e) {
-                logger.warn("Skipping node {} while listing storage content", nodeName, e);
+            String contentTypes = store.path("content").asText("");
+            if (!contentTypes.contains(contentType)) {
                 continue;
             }
-            for (JsonNode store : storages) {
-                String storageName = store.path("storage").asText(null);
-                if (storageName == null) {
-                    continue;
-                }
-                if (storage != null && !storage.isBlank() && !storageName.equals(storage)) {
-                    continue;
-                }
-                String contentTypes = store.path("content").asText("");
-                if (!contentTypes.contains(contentType)) {
-                    continue;
-                }
-                try {
-                    JsonNode content = responseData(proxmox.get(
-                        "/nodes/" + nodeName + "/storage/" + storageName + "/content",
-                        Map.of("content", contentType)
-                    ));
-                    for (JsonNode item : content) {
-                        ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_node", nodeName);
-                        ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_storage", storageName);
-                        results.add(item);
-                    }
-                } catch (Exception ignored) {
+            try {
+                JsonNode content = responseData(proxmox.get(
+                    "/nodes/" + nodeName + "/storage/" + storageName + "/content",
+                    Map.of("content", contentType)
+                ));
+                for (JsonNode item : content.deepCopy()) {
+                    ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_node", nodeName);
+                    ((com.fasterxml.jackson.databind.node.ObjectNode) item).put("_storage", storageName);
+                    results.add(item);
                 }
+            } catch (Exception ignored) {
             }
         }
         return results;
@@ -4,10 +4,16 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.MissingNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.FanOut;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 import io.github.smling.proxmoxmcpserver.formatting.ProxmoxTemplates;
 import it.corsinvest.proxmoxve.api.Result;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.slf4j.Logger;
@@ -20,6 +26,10 @@ public class ProxmoxTool {
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
     protected final ProxmoxClient proxmox;
     protected final Logger logger;
+    protected final FanOut fanOut;
+    protected final ClusterInventory inventory;
+    protected final TaskTracker tasks;
+    private final Duration taskWait;
 
     /**
      * Creates a tool with a configured Proxmox client.
@@ -27,8 +37,36 @@ public class ProxmoxTool {
      * @param proxmox the Proxmox client
      */
     public ProxmoxTool(ProxmoxClient proxmox) {
+        this(proxmox, new ToolsConfig(), new ClusterInventory(proxmox));
+    }
+
+    /**
+     * Creates a tool with a configured Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public ProxmoxTool(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        this(proxmox, tools, inventory, null);
+    }
+
+    /**
+     * Creates a tool with a configured Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public ProxmoxTool(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        ToolsConfig settings = tools == null ? new ToolsConfig() : tools;
         this.proxmox = proxmox;
         this.logger = LoggerFactory.getLogger(getClass());
+        this.fanOut = new FanOut(settings.getMaxConcurrency());
+        this.inventory = inventory == null ? new ClusterInventory(proxmox) : inventory;
+        this.tasks = tasks == null ? new TaskTracker(proxmox, settings) : tasks;
+        this.taskWait = Duration.ofSeconds(Math.max(0, settings.getTaskWaitSeconds()));
     }
 
     /**
@@ -121,6 +159,103 @@ public class ProxmoxTool {
         return task.toString();
     }
 
+    /**
+     * Waits for a task started by a mutating call when {@code task_wait_seconds} is set.
+     *
+     * @param task the task payload returned by the call
+     * @return the final or current task status, or {@code null} when waiting is disabled or the payload is no UPID
+     */
+    protected TaskTracker.TaskStatus awaitTaskStatus(JsonNode task) {
+        return awaitTaskStatus(task, taskWait);
+    }
+
+    /**
+     * Waits up to an explicit time for a task started by a mutating call.
+     *
+     * @param task the task payload returned by the call
+     * @param wait how long to wait, zero to skip waiting
+     * @return the final or current task status, or {@code null} when not waiting or the payload is no UPID
+     */
+    protected TaskTracker.TaskStatus awaitTaskStatus(JsonNode task, Duration wait) {
+        if (wait == null || wait.isZero() || wait.isNegative() || task == null || !task.isTextual()
+            || !TaskTracker.Upid.isUpid(task.asText())) {
+            return null;
+        }
+        try {
+            return tasks.await(task.asText(), wait);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            logger.warn("Failed to wait for task {}: {}", task.asText(), e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Returns how long mutating tools wait for their task by default.
+     *
+     * @return the configured {@code task_wait_seconds}, zero when waiting is disabled
+     */
+    protected Duration taskWait() {
+        return taskWait;
+    }
+
+    /**
+     * Waits for a task started by a mutating call and describes the outcome.
+     *
+     * @param task the task payload returned by the call
+     * @return a {@code Task Status} line starting with a newline, or an empty string when not waiting
+     */
+    protected String awaitTask(JsonNode task) {
+        TaskTracker.TaskStatus status = awaitTaskStatus(task);
+        if (status == null) {
+            return "";
+        }
+        if (status.running()) {
+            return "\nTask Status: still running after " + taskWait.toSeconds() + "s";
+        }
+        return "\nTask Status: " + status.describe();
+    }
+
+    /**
+     * Lists storage pools per node from the inventory, falling back to per-node storage listings.
+     *
+     * @param node optional node filter
+     * @return node/storage pairs
+     * @throws Exception when the node list cannot be read
+     */
+    protected List<NodeStorage> listNodeStorage(String node) throws Exception {
+        boolean filtered = node != null && !node.isBlank();
+        List<NodeStorage> out = new ArrayList<>();
+        try {
+            for (JsonNode store : inventory.storage()) {
+                String nodeName = store.path("node").asText();
+                if (!filtered || nodeName.equals(node)) {
+                    out.add(new NodeStorage(nodeName, store));
+                }
+            }
+            return out;
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, listing storage per node", inventoryError);
+        }
+
+        for (JsonNode n : responseData(proxmox.get("/nodes"))) {
+            String nodeName = n.path("node").asText(null);
+            if (nodeName == null || (filtered && !nodeName.equals(node))) {
+                continue;
+            }
+            try {
+                for (JsonNode store : responseData(proxmox.get("/nodes/" + nodeName + "/storage"))) {
+                    out.add(new NodeStorage(nodeName, store));
+                }
+            } catch (Exception e) {
+                logger.warn("Skipping node {} while listing storage", nodeName, e);
+            }
+        }
+        return out;
+    }
+
     /**
      * Casts an object to a list of maps.
      *
@@ -151,4 +286,13 @@ public class ProxmoxTool {
      */
     protected record NodeStatusPayload(String node, Map<String, Object> status) {
     }
+
+    /**
+     * Associates a node name with one of its storage pools.
+     *
+     * @param node the node name
+     * @param storage the storage payload
+     */
+    protected record NodeStorage(String node, JsonNode storage) {
+    }
 }
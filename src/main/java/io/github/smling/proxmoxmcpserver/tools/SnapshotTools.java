@@ -2,7 +2,10 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 
 import java.time.Instant;
 import java.time.ZoneId;
@@ -29,6 +32,18 @@ public class SnapshotTools extends ProxmoxTool {
         super(proxmox);
     }
 
+    /**
+     * Creates snapshot tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public SnapshotTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+    }
+
     /**
      * Lists snapshots for a VM or container.
      *
@@ -123,7 +138,7 @@ public class SnapshotTools extends ProxmoxTool {
             if (vmstate && !"lxc".equalsIgnoreCase(vmType)) {
                 builder.append("  RAM State: Included\n");
             }
-            builder.append("\nTask ID: ").append(taskId(result)).append("\n\n")
+            builder.append("\nTask ID: ").append(taskId(result)).append(awaitTask(result)).append("\n\n")
                 .append("Next steps:\n")
                 .append("  - List snapshots: listSnapshots node='").append(node)
                 .append("' vmid='").append(vmid).append("' vmType='").append(vmType).append("'\n")
@@ -156,7 +171,7 @@ public class SnapshotTools extends ProxmoxTool {
             builder.append("  Name: ").append(snapname).append("\n");
             builder.append("  ").append(vmType.toUpperCase()).append(" ID: ").append(vmid).append("\n");
             builder.append("  Node: ").append(node).append("\n\n");
-            builder.append("Task ID: ").append(taskId(result));
+            builder.append("Task ID: ").append(taskId(result)).append(awaitTask(result));
             return builder.toString();
         } catch (Exception e) {
             return errorPayload("delete snapshot '" + snapname + "' for " + vmType + " " + vmid, e);
@@ -211,7 +226,9 @@ public class SnapshotTools extends ProxmoxTool {
                 builder.append("  Deleted newer snapshots: ").append(String.join(", ", deleted)).append("\n");
             }
             builder.append("\nWARNING: VM/container will be stopped during rollback!\n\n");
-            builder.append("Task ID: ").append(taskId(result)).append("\n\n");
+            String waited = awaitTask(result);
+            inventory.invalidate();
+            builder.append("Task ID: ").append(taskId(result)).append(waited).append("\n\n");
             builder.append("The VM/container will be restored to its state at the time of the snapshot.");
             return builder.toString();
         } catch (Exception e) {
@@ -1,10 +1,13 @@
 package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -21,6 +24,17 @@ public class StorageTools extends ProxmoxTool {
         super(proxmox);
     }
 
+    /**
+     * Creates storage tools with a Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public StorageTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        super(proxmox, tools, inventory);
+    }
+
     /**
      * Lists storage pools with usage metrics.
      *
@@ -28,6 +42,10 @@ public class StorageTools extends ProxmoxTool {
      */
     public String getStorage() {
         try {
+            List<Map<String, Object>> fromInventory = inventoryStorage();
+            if (fromInventory != null) {
+                return formatResponse(fromInventory, "storage");
+            }
             JsonNode result = responseData(proxmox.get("/storage"));
             List<Map<String, Object>> storage = new ArrayList<>();
 
@@ -67,4 +85,41 @@ public class StorageTools extends ProxmoxTool {
             return "";
         }
     }
+
+    /**
+     * Lists storage usage from the cluster inventory, one entry per storage ID.
+     *
+     * <p>Shared storage is reported by every node; the first node's figures are used, matching the
+     * single entry per storage definition of {@code /storage}.</p>
+     *
+     * @return storage entries, or {@code null} when the inventory is unavailable
+     */
+    private List<Map<String, Object>> inventoryStorage() {
+        List<JsonNode> resources;
+        try {
+            resources = inventory.storage();
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, listing storage per pool", inventoryError);
+            return null;
+        }
+        Map<String, Map<String, Object>> byName = new LinkedHashMap<>();
+        for (JsonNode store : resources) {
+            String storageName = store.path("storage").asText();
+            if (byName.containsKey(storageName)) {
+                continue;
+            }
+            long used = store.path("disk").asLong(0);
+            long total = store.path("maxdisk").asLong(0);
+            Map<String, Object> entry = new HashMap<>();
+            entry.put("storage", storageName);
+            entry.put("type", store.path("plugintype").asText());
+            entry.put("content", store.path("content").asText());
+            entry.put("status", "available".equals(store.path("status").asText("available")) ? "online" : "offline");
+            entry.put("used", used);
+            entry.put("total", total);
+            entry.put("available", Math.max(0L, total - used));
+            byName.put(storageName, entry);
+        }
+        return new ArrayList<>(byName.values());
+    }
 }
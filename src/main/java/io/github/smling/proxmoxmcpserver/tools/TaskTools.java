@@ -0,0 +1,132 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Proxmox task (UPID) inspection and waiting.
+ */
+public class TaskTools extends ProxmoxTool {
+    private static final DateTimeFormatter TIME_FORMAT =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
+    private static final Duration DEFAULT_WAIT = Duration.ofSeconds(60);
+    private static final int DEFAULT_LOG_LINES = 10;
+
+    /**
+     * Creates task tools with a Proxmox client.
+     *
+     * @param proxmox the Proxmox client
+     */
+    public TaskTools(ProxmoxClient proxmox) {
+        super(proxmox);
+    }
+
+    /**
+     * Creates task tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public TaskTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+    }
+
+    /**
+     * Reads the status and log tail of a task.
+     *
+     * @param upid the task UPID
+     * @param logLines how many log lines to include, {@code null} for the default
+     * @return formatted task status
+     */
+    public String getTask(String upid, Integer logLines) {
+        try {
+            TaskTracker.TaskStatus status = tasks.status(upid);
+            return formatTask(status, log(upid, logLines), null);
+        } catch (Exception e) {
+            handleError("get task " + upid, e);
+            return "";
+        }
+    }
+
+    /**
+     * Waits for a task to stop and returns its final status and log tail.
+     *
+     * @param upid the task UPID
+     * @param timeout how long to wait, {@code null} for 60 seconds
+     * @param logLines how many log lines to include, {@code null} for the default
+     * @return formatted task status; a task still running at the timeout is reported as running
+     */
+    public String waitTask(String upid, Duration timeout, Integer logLines) {
+        try {
+            long started = System.nanoTime();
+            TaskTracker.TaskStatus status = tasks.await(upid, timeout == null ? DEFAULT_WAIT : timeout);
+            Duration waited = Duration.ofNanos(System.nanoTime() - started);
+            logger.info("Task {} is {} after waiting {} ms", upid, status.describe(), waited.toMillis());
+            return formatTask(status, log(upid, logLines), waited);
+        } catch (Exception e) {
+            handleError("wait for task " + upid, e);
+            return "";
+        }
+    }
+
+    /**
+     * Reads the log tail, tolerating log read failures.
+     *
+     * @param upid the task UPID
+     * @param logLines how many lines to read, {@code null} for the default
+     * @return the log lines
+     */
+    private List<String> log(String upid, Integer logLines) {
+        try {
+            return tasks.log(upid, logLines == null ? DEFAULT_LOG_LINES : logLines);
+        } catch (Exception e) {
+            logger.warn("Failed to read log of task {}: {}", upid, e.getMessage());
+            return List.of();
+        }
+    }
+
+    /**
+     * Formats a task status with its log tail.
+     *
+     * @param status the task status
+     * @param log the log tail
+     * @param waited how long the caller waited, or {@code null}
+     * @return formatted output
+     */
+    private static String formatTask(TaskTracker.TaskStatus status, List<String> log, Duration waited) {
+        TaskTracker.Upid upid = status.upid();
+        StringBuilder builder = new StringBuilder("Task: ").append(upid.value());
+        builder.append("\n  Node: ").append(upid.node());
+        builder.append("\n  Type: ").append(upid.type());
+        if (!upid.id().isBlank()) {
+            builder.append("\n  ID: ").append(upid.id());
+        }
+        builder.append("\n  User: ").append(upid.user());
+        builder.append("\n  Started: ").append(TIME_FORMAT.format(Instant.ofEpochSecond(upid.startTime())));
+        builder.append("\n  Status: ").append(status.running() ? "RUNNING" : status.ok() ? "OK" : "FAILED")
+            .append(" - ").append(status.describe());
+        if (waited != null) {
+            builder.append("\n  Waited: ").append(waited.toMillis()).append(" ms");
+            if (status.running()) {
+                builder.append("\n  Note: task still running; call wait_task again to keep waiting");
+            }
+        }
+        if (!log.isEmpty()) {
+            builder.append("\n\nLog (last ").append(log.size()).append(" lines):");
+            for (String line : log) {
+                builder.append("\n  ").append(line);
+            }
+        }
+        return builder.toString();
+    }
+}
@@ -1,20 +1,34 @@
 package io.github.smling.proxmoxmcpserver.tools;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 import io.github.smling.proxmoxmcpserver.formatting.ProxmoxFormatters;
+import io.github.smling.proxmoxmcpserver.tools.console.CommandOutputListener;
 import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager;
 
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Virtual machine operations for Proxmox.
  */
 public class VmTools extends ProxmoxTool {
+    private static final ObjectMapper JSON = new ObjectMapper();
     private final VmConsoleManager consoleManager;
+    private final Duration commandTimeout;
+    private final int commandOutputMaxBytes;
+    private volatile GuestSelector<VmPayload> vmIndex;
 
     /**
      * Creates VM tools with a Proxmox client.
@@ -22,8 +36,34 @@ public class VmTools extends ProxmoxTool {
      * @param proxmox the Proxmox client
      */
     public VmTools(ProxmoxClient proxmox) {
-        super(proxmox);
-        this.consoleManager = new VmConsoleManager(proxmox);
+        this(proxmox, new ToolsConfig(), new ClusterInventory(proxmox));
+    }
+
+    /**
+     * Creates VM tools with a Proxmox client, execution settings and shared inventory.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     */
+    public VmTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory) {
+        this(proxmox, tools, inventory, null);
+    }
+
+    /**
+     * Creates VM tools with a Proxmox client, execution settings, shared inventory and task tracker.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool execution settings
+     * @param inventory the cluster inventory reader
+     * @param tasks the shared task tracker, or {@code null} for a tracker of this tool's own
+     */
+    public VmTools(ProxmoxClient proxmox, ToolsConfig tools, ClusterInventory inventory, TaskTracker tasks) {
+        super(proxmox, tools, inventory, tasks);
+        this.consoleManager = new VmConsoleManager(proxmox, tools);
+        ToolsConfig settings = tools == null ? new ToolsConfig() : tools;
+        this.commandTimeout = Duration.ofSeconds(settings.getCommandTimeoutSeconds());
+        this.commandOutputMaxBytes = settings.getCommandOutputMaxBytes();
     }
 
     /**
@@ -34,43 +74,16 @@ public class VmTools extends ProxmoxTool {
     public String getVms() {
         List<Map<String, Object>> result = new ArrayList<>();
         try {
-            JsonNode nodes = responseData(proxmox.get("/nodes"));
-            for (JsonNode node : nodes) {
-                String nodeName = node.path("node").asText(null);
-                if (nodeName == null) {
-                    logger.warn("Skipping unexpected node entry while gathering VM list: {}", node);
-                    continue;
-                }
-                JsonNode vms;
-                try {
-                    vms = responseData(proxmox.get("/nodes/" + nodeName + "/qemu"));
-                } catch (Exception nodeError) {
-                    logger.warn("Skipping node {} while gathering VM list", nodeName, nodeError);
-                    continue;
-                }
-
-                for (JsonNode vm : vms) {
-                    String vmid = vm.path("vmid").asText();
-                    Map<String, Object> entry = new HashMap<>();
-                    entry.put("vmid", vmid);
-                    entry.put("name", vm.path("name").asText());
-                    entry.put("status", vm.path("status").asText());
-                    entry.put("node", nodeName);
-                    entry.put("memory", Map.of(
-                        "used", vm.path("mem").asLong(0),
-                        "total", vm.path("maxmem").asLong(0)
-                    ));
-
-                    try {
-                        JsonNode config = responseData(
-                            proxmox.get("/nodes/" + nodeName + "/qemu/" + vmid + "/config")
-                        );
-                        entry.put("cpus", config.path("cores").asText("N/A"));
-                    } catch (Exception ignored) {
-                        entry.put("cpus", "N/A");
-                    }
-                    result.add(entry);
-                }
+            result = listVmEntries();
+            List<String> cpus = fanOut.map(
+                result,
+                entry -> responseData(
+                    proxmox.get("/nodes/" + entry.get("node") + "/qemu/" + entry.get("vmid") + "/config")
+                ).path("cores").asText("N/A"),
+                (entry, ignored) -> "N/A"
+            );
+            for (int i = 0; i < result.size(); i++) {
+                result.get(i).put("cpus", cpus.get(i));
             }
         } catch (Exception e) {
             handleError("get VMs", e);
@@ -79,6 +92,87 @@ public class VmTools extends ProxmoxTool {
         return formatResponse(result, "vms");
     }
 
+    /**
+     * Lists VM entries from the cluster inventory, walking nodes when it is unavailable.
+     *
+     * @return VM entries without CPU details
+     * @throws Exception when the node list cannot be read
+     */
+    private List<Map<String, Object>> listVmEntries() throws Exception {
+        List<Map<String, Object>> result = new ArrayList<>();
+        for (VmPayload payload : listVmPayloads()) {
+            result.add(vmEntry(payload.vm(), payload.node()));
+        }
+        return result;
+    }
+
+    /**
+     * Lists raw VM payloads from the cluster inventory, walking nodes when it is unavailable.
+     *
+     * @return VM payloads with their hosting node
+     * @throws Exception when the node list cannot be read
+     */
+    private List<VmPayload> listVmPayloads() throws Exception {
+        List<VmPayload> result = new ArrayList<>();
+        try {
+            for (JsonNode vm : inventory.vms()) {
+                result.add(new VmPayload(vm.path("node").asText(), vm));
+            }
+            return result;
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, listing VMs per node", inventoryError);
+        }
+
+        JsonNode nodes = responseData(proxmox.get("/nodes"));
+        List<String> nodeNames = new ArrayList<>();
+        for (JsonNode node : nodes) {
+            String nodeName = node.path("node").asText(null);
+            if (nodeName == null) {
+                logger.warn("Skipping unexpected node entry while gathering VM list: {}", node);
+                continue;
+            }
+            nodeNames.add(nodeName);
+        }
+
+        List<JsonNode> vmLists = fanOut.map(
+            nodeNames,
+            nodeName -> responseData(proxmox.get("/nodes/" + nodeName + "/qemu")),
+            (nodeName, nodeError) -> {
+                logger.warn("Skipping node {} while gathering VM list", nodeName, nodeError);
+                return null;
+            }
+        );
+        for (int i = 0; i < nodeNames.size(); i++) {
+            if (vmLists.get(i) == null) {
+                continue;
+            }
+            for (JsonNode vm : vmLists.get(i)) {
+                result.add(new VmPayload(nodeNames.get(i), vm));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds a VM list entry from a VM listing or cluster resource payload.
+     *
+     * @param vm the VM payload
+     * @param nodeName the hosting node
+     * @return the VM entry
+     */
+    private Map<String, Object> vmEntry(JsonNode vm, String nodeName) {
+        Map<String, Object> entry = new HashMap<>();
+        entry.put("vmid", vm.path("vmid").asText());
+        entry.put("name", vm.path("name").asText());
+        entry.put("status", vm.path("status").asText());
+        entry.put("node", nodeName);
+        entry.put("memory", Map.of(
+            "used", vm.path("mem").asLong(0),
+            "total", vm.path("maxmem").asLong(0)
+        ));
+        return entry;
+    }
+
     /**
      * Creates a new VM with the supplied configuration.
      *
@@ -182,6 +276,7 @@ public class VmTools extends ProxmoxTool {
             vmConfig.putAll(vmStorage);
 
             JsonNode taskResult = responseData(proxmox.postForm("/nodes/" + node + "/qemu", vmConfig));
+            inventory.invalidate();
             String cloudinitNote = "";
             if ("lvm".equals(storageType) || "lvmthin".equals(storageType)) {
                 cloudinitNote = "\n  Note: LVM storage does not support cloud-init image";
@@ -199,7 +294,7 @@ public class VmTools extends ProxmoxTool {
                 + "  OS Type: " + ostype + "\n"
                 + "  Network: virtio (bridge=" + networkBridge + ")\n"
                 + "  QEMU Agent: Enabled" + cloudinitNote + "\n\n"
-                + "Task ID: " + taskId(taskResult) + "\n\n"
+                + "Task ID: " + taskId(taskResult) + awaitTask(taskResult) + "\n\n"
                 + "Next steps:\n"
                 + "  1. Upload an ISO to install the operating system\n"
                 + "  2. Start the VM using startVm\n"
@@ -230,7 +325,9 @@ public class VmTools extends ProxmoxTool {
             JsonNode task = responseData(
                 proxmox.postForm("/nodes/" + node + "/qemu/" + vmid + "/status/start", Map.of())
             );
-            return "VM " + vmid + " start initiated successfully\nTask ID: " + taskId(task);
+            String waited = awaitTask(task);
+            inventory.invalidate();
+            return "VM " + vmid + " start initiated successfully\nTask ID: " + taskId(task) + waited;
         } catch (Exception e) {
             if (messageHasNotFound(e)) {
                 throw new IllegalArgumentException("VM " + vmid + " not found on node " + node);
@@ -256,7 +353,9 @@ public class VmTools extends ProxmoxTool {
             JsonNode task = responseData(
                 proxmox.postForm("/nodes/" + node + "/qemu/" + vmid + "/status/stop", Map.of())
             );
-            return "VM " + vmid + " stop initiated successfully\nTask ID: " + taskId(task);
+            String waited = awaitTask(task);
+            inventory.invalidate();
+            return "VM " + vmid + " stop initiated successfully\nTask ID: " + taskId(task) + waited;
         } catch (Exception e) {
             if (messageHasNotFound(e)) {
                 throw new IllegalArgumentException("VM " + vmid + " not found on node " + node);
@@ -282,7 +381,9 @@ public class VmTools extends ProxmoxTool {
             JsonNode task = responseData(
                 proxmox.postForm("/nodes/" + node + "/qemu/" + vmid + "/status/shutdown", Map.of())
             );
-            return "VM " + vmid + " graceful shutdown initiated\nTask ID: " + taskId(task);
+            String waited = awaitTask(task);
+            inventory.invalidate();
+            return "VM " + vmid + " graceful shutdown initiated\nTask ID: " + taskId(task) + waited;
         } catch (Exception e) {
             if (messageHasNotFound(e)) {
                 throw new IllegalArgumentException("VM " + vmid + " not found on node " + node);
@@ -308,7 +409,9 @@ public class VmTools extends ProxmoxTool {
             JsonNode task = responseData(
                 proxmox.postForm("/nodes/" + node + "/qemu/" + vmid + "/status/reset", Map.of())
             );
-            return "VM " + vmid + " reset initiated successfully\nTask ID: " + taskId(task);
+            String waited = awaitTask(task);
+            inventory.invalidate();
+            return "VM " + vmid + " reset initiated successfully\nTask ID: " + taskId(task) + waited;
         } catch (Exception e) {
             if (messageHasNotFound(e)) {
                 throw new IllegalArgumentException("VM " + vmid + " not found on node " + node);
@@ -328,17 +431,341 @@ public class VmTools extends ProxmoxTool {
      */
     public String executeCommand(String node, String vmid, String command) {
         try {
-            Map<String, Object> result = consoleManager.executeCommand(node, vmid, command);
-            boolean success = Boolean.TRUE.equals(result.get("success"));
-            String output = result.get("output") == null ? "" : result.get("output").toString();
-            String error = result.get("error") == null ? "" : result.get("error").toString();
-            return ProxmoxFormatters.formatCommandOutput(success, command, output, error);
+            return formatCommandResult(command, consoleManager.executeCommand(node, vmid, command));
+        } catch (Exception e) {
+            handleError("execute command on VM " + vmid, e);
+            return "";
+        }
+    }
+
+    /**
+     * Executes a command inside a VM via the guest agent, waiting at most {@code timeout} for it to exit.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @param timeout how long to wait for the command to exit
+     * @return formatted command output
+     */
+    public String executeCommand(String node, String vmid, String command, Duration timeout) {
+        try {
+            return formatCommandResult(command, consoleManager.executeCommand(node, vmid, command, timeout));
+        } catch (Exception e) {
+            handleError("execute command on VM " + vmid, e);
+            return "";
+        }
+    }
+
+    /**
+     * Formats a guest command result payload.
+     *
+     * @param command the executed command
+     * @param result the console manager result
+     * @return formatted command output
+     */
+    private static String formatCommandResult(String command, Map<String, Object> result) {
+        boolean success = Boolean.TRUE.equals(result.get("success"));
+        String output = result.get("output") == null ? "" : result.get("output").toString();
+        String error = result.get("error") == null ? "" : result.get("error").toString();
+        return ProxmoxFormatters.formatCommandOutput(success, command, output, error);
+    }
+
+    /**
+     * Executes a command inside a VM, passing output to a listener while it runs.
+     *
+     * <p>The result is a summary with exit code and byte counts. Only {@code maxOutputBytes} of each
+     * output stream are included: the beginning, or the end when {@code tail} is set.</p>
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @param timeout how long to wait for the command to exit, {@code null} for {@code command_timeout_seconds}
+     * @param maxOutputBytes output cap per stream, {@code null} for {@code command_output_max_bytes}
+     * @param tail whether to keep the end of the output instead of the beginning
+     * @param listener receives output chunks while the command runs
+     * @return formatted command summary
+     */
+    public String streamCommand(String node, String vmid, String command, Duration timeout, Integer maxOutputBytes,
+        boolean tail, CommandOutputListener listener) {
+        try {
+            int limit = maxOutputBytes == null ? commandOutputMaxBytes : Math.max(0, maxOutputBytes);
+            VmConsoleManager.CommandSummary summary = consoleManager.streamCommand(node, vmid, command,
+                timeout == null ? commandTimeout : timeout, limit, tail, listener);
+            return formatCommandSummary(command, summary, limit, tail);
         } catch (Exception e) {
             handleError("execute command on VM " + vmid, e);
             return "";
         }
     }
 
+    /**
+     * Formats a streamed command summary.
+     *
+     * @param command the executed command
+     * @param summary the command summary
+     * @param limit the output cap per stream in bytes
+     * @param tail whether the end of the output was kept
+     * @return formatted command summary
+     */
+    private static String formatCommandSummary(String command, VmConsoleManager.CommandSummary summary, int limit,
+        boolean tail) {
+        StringBuilder builder = new StringBuilder("Console Command Result");
+        builder.append("\n  Status: ").append(summary.ok() ? "SUCCESS" : summary.exited() ? "FAILED" : "RUNNING");
+        builder.append("\n  Command: ").append(command);
+        builder.append("\n  PID: ").append(summary.pid());
+        builder.append("\n  Exit Code: ").append(summary.exitCode() == null ? "-" : summary.exitCode());
+        builder.append("\n  Output: ").append(summary.outputBytes()).append(" bytes stdout, ")
+            .append(summary.errorBytes()).append(" bytes stderr");
+        if (summary.truncated()) {
+            builder.append(" (showing ").append(tail ? "last " : "first ").append(limit).append(" bytes per stream)");
+        }
+        builder.append("\n  Elapsed: ").append(summary.elapsedMillis()).append(" ms");
+        if (!summary.exited()) {
+            builder.append("\n  Note: command still running after ").append(summary.elapsedMillis())
+                .append(" ms (pid ").append(summary.pid()).append(")");
+        }
+        builder.append("\n\nOutput:\n").append(summary.output().trim());
+        if (!summary.error().isBlank()) {
+            builder.append("\n\nError:\n").append(summary.error().trim());
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Executes one command on every VM matching the selection, concurrently.
+     *
+     * <p>All given filters must match. {@code vmids} accepts the same selector grammar as the
+     * container tools, see {@link GuestSelector}; {@code tag}
+     * matches one Proxmox tag and {@code namePattern} is a glob such as {@code web-*}. The live status
+     * of every selected VM is read first; VMs that are not running are reported without contacting
+     * the guest agent.</p>
+     *
+     * @param vmids optional VM selector list
+     * @param node optional node filter
+     * @param tag optional tag filter
+     * @param namePattern optional VM name glob
+     * @param command command to execute
+     * @param maxParallel maximum number of concurrent API calls, {@code null} for {@code max_concurrency}
+     * @param timeout how long to wait for all commands to exit, {@code null} for {@code command_timeout_seconds}
+     * @param formatStyle output format style, {@code pretty} or {@code json}
+     * @return per-VM results in completion order
+     */
+    public String executeCommandOnVms(String vmids, String node, String tag, String namePattern, String command,
+        Integer maxParallel, Duration timeout, String formatStyle) {
+        try {
+            if (isBlank(vmids) && isBlank(node) && isBlank(tag) && isBlank(namePattern)) {
+                throw new IllegalArgumentException("Select VMs with at least one of vmids, node, tag or name_pattern");
+            }
+            List<VmConsoleManager.CommandTarget> selected = new ArrayList<>();
+            for (VmPayload payload : selectVms(vmids, node, tag, namePattern)) {
+                selected.add(new VmConsoleManager.CommandTarget(
+                    payload.node(), payload.vm().path("vmid").asInt(), payload.vm().path("name").asText("")));
+            }
+            if (selected.isEmpty()) {
+                throw new IllegalArgumentException("No VMs matched the selection");
+            }
+            List<VmConsoleManager.CommandResult> rejected = fanOut.map(selected, this::rejectUnlessRunning,
+                (target, statusError) -> VmConsoleManager.CommandResult.failed(target, null,
+                    "Status check failed: " + statusError.getMessage(), 0));
+            List<VmConsoleManager.CommandResult> results = new ArrayList<>();
+            List<VmConsoleManager.CommandTarget> targets = new ArrayList<>();
+            for (int i = 0; i < selected.size(); i++) {
+                if (rejected.get(i) == null) {
+                    targets.add(selected.get(i));
+                } else {
+                    results.add(rejected.get(i));
+                }
+            }
+            int parallelism = maxParallel == null ? fanOut.getMaxConcurrency() : maxParallel;
+            long started = System.nanoTime();
+            results.addAll(consoleManager.executeCommands(targets, command,
+                timeout == null ? commandTimeout : timeout, parallelism,
+                result -> logger.info("Command on VM {} ({}) finished: {} exit={} after {} ms",
+                    result.target().vmid(), result.target().node(), result.outcome(), result.exitCode(),
+                    result.elapsedMillis())));
+            long elapsedMillis = Duration.ofNanos(System.nanoTime() - started).toMillis();
+            if ("json".equalsIgnoreCase(formatStyle)) {
+                return commandResultsJson(command, results, elapsedMillis);
+            }
+            return commandResultsTable(command, results, elapsedMillis);
+        } catch (Exception e) {
+            handleError("execute command on VMs", e);
+            return "";
+        }
+    }
+
+    /**
+     * Reads a VM's live status, since the inventory may be older than the last power action.
+     *
+     * @param target the selected VM
+     * @return {@code null} when the VM is running, otherwise its failed command result
+     * @throws Exception when the status cannot be read
+     */
+    private VmConsoleManager.CommandResult rejectUnlessRunning(VmConsoleManager.CommandTarget target)
+        throws Exception {
+        String status = responseData(proxmox.get("/nodes/" + target.node() + "/qemu/" + target.vmid()
+            + "/status/current")).path("status").asText("unknown");
+        if ("running".equalsIgnoreCase(status)) {
+            return null;
+        }
+        return VmConsoleManager.CommandResult.failed(target, null, "VM is not running (status: " + status + ")", 0);
+    }
+
+    /**
+     * Selects VM payloads that match every given filter.
+     *
+     * @param vmids optional VM selector list, see {@link GuestSelector} for the grammar
+     * @param node optional node filter
+     * @param tag optional tag filter
+     * @param namePattern optional VM name glob
+     * @return matching VMs, ordered by VM ID
+     * @throws Exception when the VM list cannot be read
+     */
+    private List<VmPayload> selectVms(String vmids, String node, String tag, String namePattern) throws Exception {
+        Pattern nameGlob = isBlank(namePattern) ? null : GuestSelector.glob(namePattern.trim());
+        GuestSelector<VmPayload> index = vmIndex();
+        List<VmPayload> selected = new ArrayList<>();
+        for (VmPayload payload : isBlank(vmids) ? index.all() : index.resolve(vmids)) {
+            JsonNode vm = payload.vm();
+            if (!isBlank(node) && !node.trim().equals(payload.node())) {
+                continue;
+            }
+            if (!isBlank(tag) && !GuestSelector.hasTag(vm, tag.trim())) {
+                continue;
+            }
+            if (nameGlob != null && !nameGlob.matcher(vm.path("name").asText("")).matches()) {
+                continue;
+            }
+            selected.add(payload);
+        }
+        selected.sort(Comparator.comparingInt(payload -> payload.vm().path("vmid").asInt()));
+        return selected;
+    }
+
+    /**
+     * Returns the selector index for the current VM inventory. The index is rebuilt only when the
+     * inventory hands out a new snapshot.
+     *
+     * @return the VM selector index
+     * @throws Exception when the VM list cannot be read
+     */
+    private GuestSelector<VmPayload> vmIndex() throws Exception {
+        List<JsonNode> vms;
+        try {
+            vms = inventory.vms();
+        } catch (Exception inventoryError) {
+            logger.debug("Cluster resources unavailable, indexing VMs per node", inventoryError);
+            return new GuestSelector<>(null, listVmPayloads(), VmPayload::node, VmPayload::vm);
+        }
+        GuestSelector<VmPayload> current = vmIndex;
+        if (current != null && current.isFor(vms)) {
+            return current;
+        }
+        List<VmPayload> payloads = new ArrayList<>(vms.size());
+        for (JsonNode vm : vms) {
+            payloads.add(new VmPayload(vm.path("node").asText(), vm));
+        }
+        current = new GuestSelector<>(vms, payloads, VmPayload::node, VmPayload::vm);
+        vmIndex = current;
+        return current;
+    }
+
+    /**
+     * Renders batch command results as a table.
+     *
+     * @param command the executed command
+     * @param results results in completion order
+     * @param elapsedMillis total elapsed milliseconds
+     * @return formatted table
+     */
+    private static String commandResultsTable(String command, List<VmConsoleManager.CommandResult> results,
+        long elapsedMillis) {
+        long ok = results.stream().filter(VmConsoleManager.CommandResult::ok).count();
+        long running = results.stream()
+            .filter(result -> result.outcome() == VmConsoleManager.Outcome.RUNNING).count();
+        StringBuilder builder = new StringBuilder("Command Results: ").append(command);
+        builder.append("\n  VMs: ").append(results.size())
+            .append(" | OK: ").append(ok)
+            .append(" | Failed: ").append(results.size() - ok - running)
+            .append(" | Still running: ").append(running)
+            .append(" | Elapsed: ").append(elapsedMillis).append(" ms\n");
+        builder.append(String.format(Locale.ROOT, "%n%-8s %-12s %-20s %-8s %-5s %-9s %s",
+            "VMID", "NODE", "NAME", "STATUS", "EXIT", "ELAPSED", "OUTPUT"));
+        for (VmConsoleManager.CommandResult result : results) {
+            String status = switch (result.outcome()) {
+                case EXITED -> result.ok() ? "OK" : "FAILED";
+                case RUNNING -> "RUNNING";
+                case FAILED -> "ERROR";
+            };
+            String detail = result.ok() || result.error().isBlank() ? result.output() : result.error();
+            builder.append(String.format(Locale.ROOT, "%n%-8d %-12s %-20s %-8s %-5s %-9s %s",
+                result.target().vmid(),
+                result.target().node(),
+                result.target().name(),
+                status,
+                result.exitCode() == null ? "-" : result.exitCode(),
+                result.elapsedMillis() + "ms",
+                firstLine(detail)));
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Renders batch command results as JSON with full output.
+     *
+     * @param command the executed command
+     * @param results results in completion order
+     * @param elapsedMillis total elapsed milliseconds
+     * @return JSON payload
+     * @throws Exception when serialization fails
+     */
+    private static String commandResultsJson(String command, List<VmConsoleManager.CommandResult> results,
+        long elapsedMillis) throws Exception {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        for (VmConsoleManager.CommandResult result : results) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("vmid", result.target().vmid());
+            row.put("node", result.target().node());
+            row.put("name", result.target().name());
+            row.put("ok", result.ok());
+            row.put("outcome", result.outcome().name().toLowerCase(Locale.ROOT));
+            row.put("exit_code", result.exitCode());
+            row.put("pid", result.pid());
+            row.put("output", result.output());
+            row.put("error", result.error());
+            row.put("elapsed_ms", result.elapsedMillis());
+            rows.add(row);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("command", command);
+        payload.put("elapsed_ms", elapsedMillis);
+        payload.put("results", rows);
+        return JSON.writerWithDefaultPrettyPrinter().writeValueAsString(payload);
+    }
+
+    /**
+     * Returns the first line of a text, shortened for table output.
+     *
+     * @param text the text
+     * @return the first line, at most 80 characters
+     */
+    private static String firstLine(String text) {
+        String trimmed = text == null ? "" : text.strip();
+        int newline = trimmed.indexOf('\n');
+        String line = newline < 0 ? trimmed : trimmed.substring(0, newline) + " ...";
+        return line.length() > 80 ? line.substring(0, 77) + "..." : line;
+    }
+
+    /**
+     * Checks whether an optional argument is missing.
+     *
+     * @param value the argument
+     * @return true for {@code null} or blank values
+     */
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
     /**
      * Deletes a VM, optionally stopping it first.
      *
@@ -366,13 +793,14 @@ public class VmTools extends ProxmoxTool {
             }
 
             JsonNode task = responseData(proxmox.delete("/nodes/" + node + "/qemu/" + vmid));
+            inventory.invalidate();
             result.append("VM ").append(vmid).append(" (").append(vmName).append(") deletion initiated successfully.\n\n")
                 .append("WARNING: This operation will permanently remove:\n")
                 .append("  VM configuration\n")
                 .append("  All virtual disks\n")
                 .append("  All snapshots\n")
                 .append("  Cannot be undone!\n\n")
-                .append("Task ID: ").append(taskId(task)).append("\n\n")
+                .append("Task ID: ").append(taskId(task)).append(awaitTask(task)).append("\n\n")
                 .append("VM ").append(vmid).append(" (").append(vmName).append(") is being deleted from node ").append(node);
 
             return result.toString();
@@ -417,4 +845,13 @@ public class VmTools extends ProxmoxTool {
         String lower = message.toLowerCase();
         return lower.contains("does not exist") || lower.contains("not found");
     }
+
+    /**
+     * A VM payload with its hosting node.
+     *
+     * @param node the hosting node
+     * @param vm the VM payload from the inventory or node listing
+     */
+    private record VmPayload(String node, JsonNode vm) {
+    }
 }
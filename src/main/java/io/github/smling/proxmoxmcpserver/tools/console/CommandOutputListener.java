@@ -0,0 +1,30 @@
+package io.github.smling.proxmoxmcpserver.tools.console;
+
+/**
+ * Receives guest command output and progress while the command runs.
+ */
+public interface CommandOutputListener {
+
+    /**
+     * Listener that ignores all events.
+     */
+    CommandOutputListener NONE = (stream, chunk) -> {
+    };
+
+    /**
+     * Receives output that was not seen in an earlier status poll.
+     *
+     * @param stream {@code stdout} or {@code stderr}
+     * @param chunk the new output
+     */
+    void output(String stream, String chunk);
+
+    /**
+     * Called after each status poll that found the command still running.
+     *
+     * @param pid the guest process ID
+     * @param elapsedMillis milliseconds since the command was started
+     */
+    default void running(String pid, long elapsedMillis) {
+    }
+}
@@ -2,32 +2,59 @@ package io.github.smling.proxmoxmcpserver.tools.console;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.MissingNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.FanOut;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
 import it.corsinvest.proxmoxve.api.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 
 /**
  * Executes commands inside VMs via the Proxmox guest agent.
+ *
+ * <p>After starting a command, {@code exec-status} is polled with exponential backoff until the
+ * command has exited or the deadline passes, so fast commands return quickly and slow commands are
+ * not reported before they finish.</p>
  */
 public class VmConsoleManager {
+    private static final int CHUNK_CHARS = 4096;
     private final ProxmoxClient proxmox;
+    private final ToolsConfig tools;
     private static final Logger logger = LoggerFactory.getLogger(VmConsoleManager.class);
 
     /**
-     * Creates a console manager with a Proxmox client.
+     * Creates a console manager with a Proxmox client and default polling settings.
      *
      * @param proxmox the Proxmox client
      */
     public VmConsoleManager(ProxmoxClient proxmox) {
+        this(proxmox, new ToolsConfig());
+    }
+
+    /**
+     * Creates a console manager with a Proxmox client and polling settings.
+     *
+     * @param proxmox the Proxmox client
+     * @param tools the tool settings with command timeout and poll intervals
+     */
+    public VmConsoleManager(ProxmoxClient proxmox, ToolsConfig tools) {
         this.proxmox = proxmox;
+        this.tools = tools == null ? new ToolsConfig() : tools;
     }
 
     /**
-     * Executes a command inside a VM using the QEMU guest agent.
+     * Executes a command inside a VM using the QEMU guest agent, waiting up to the configured timeout.
      *
      * @param node host node name
      * @param vmid VM ID
@@ -35,34 +62,39 @@ public class VmConsoleManager {
      * @return result payload with output and exit code
      */
     public Map<String, Object> executeCommand(String node, String vmid, String command) {
-        try {
-            JsonNode status = responseData(proxmox.get("/nodes/" + node + "/qemu/" + vmid + "/status/current"));
-            if (!"running".equalsIgnoreCase(status.path("status").asText())) {
-                logger.error("Failed to execute command on VM {}: VM is not running", vmid);
-                throw new IllegalArgumentException("VM " + vmid + " on node " + node + " is not running");
-            }
-
-            logger.info("Executing command on VM {} (node: {}): {}", vmid, node, command);
-            JsonNode execResult = responseData(proxmox.postForm(
-                "/nodes/" + node + "/qemu/" + vmid + "/agent/exec",
-                Map.of("command", command)
-            ));
-
-            JsonNode pidNode = execResult.get("pid");
-            if (pidNode == null || pidNode.isNull()) {
-                throw new IllegalStateException("No PID returned from command execution");
-            }
-
-            Thread.sleep(1000);
+        return executeCommand(node, vmid, command, Duration.ofSeconds(tools.getCommandTimeoutSeconds()));
+    }
 
-            JsonNode console = responseData(proxmox.get(
-                "/nodes/" + node + "/qemu/" + vmid + "/agent/exec-status",
-                Map.of("pid", pidNode.asText())
-            ));
+    /**
+     * Executes a command inside a VM using the QEMU guest agent.
+     *
+     * <p>If the command has not exited when {@code timeout} elapses, the result has
+     * {@code success=false}, {@code exited=false}, the output captured so far and the guest PID.</p>
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @param timeout how long to wait for the command to exit
+     * @return result payload with output and exit code
+     */
+    public Map<String, Object> executeCommand(String node, String vmid, String command, Duration timeout) {
+        try {
+            String pid = startCommand(node, vmid, command);
+            JsonNode console = awaitExit(node, vmid, pid, timeout);
 
             Map<String, Object> response = new HashMap<>();
+            if (console != null && console.isObject() && !hasExited(console)) {
+                logger.warn("Command on VM {} (pid {}) still running after {}", vmid, pid, timeout);
+                response.put("success", false);
+                response.put("exited", false);
+                response.put("pid", pid);
+                response.put("output", console.path("out-data").asText(""));
+                response.put("error", "Command still running after " + timeout.toMillis() + " ms (pid " + pid + ")");
+                return response;
+            }
             if (console != null && console.isObject()) {
                 response.put("success", true);
+                response.put("exited", true);
                 response.put("output", console.path("out-data").asText(""));
                 response.put("error", console.path("err-data").asText(""));
                 response.put("exit_code", console.path("exitcode").asInt(0));
@@ -85,6 +117,304 @@ public class VmConsoleManager {
         }
     }
 
+    /**
+     * Executes a command inside a VM and streams its output while polling.
+     *
+     * <p>Each {@code exec-status} poll passes output not seen before to {@code listener}, in chunks
+     * of at most {@value #CHUNK_CHARS} characters, and reports the command as still running. Only
+     * {@code maxOutputBytes} of each stream are kept for the summary: the first bytes, or the last
+     * bytes when {@code tail} is set. The QEMU guest agent usually returns output only once the
+     * command has exited, so most output arrives with the final poll.</p>
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @param timeout how long to wait for the command to exit
+     * @param maxOutputBytes how many UTF-8 bytes of each stream to keep
+     * @param tail whether to keep the end of the output instead of the beginning
+     * @param listener receives output chunks and running notifications
+     * @return the command summary with exit code, byte counts and the kept output
+     */
+    public CommandSummary streamCommand(String node, String vmid, String command, Duration timeout,
+        int maxOutputBytes, boolean tail, CommandOutputListener listener) {
+        try {
+            long started = System.nanoTime();
+            String pid = startCommand(node, vmid, command);
+            OutputBuffer out = new OutputBuffer(maxOutputBytes, tail);
+            OutputBuffer err = new OutputBuffer(maxOutputBytes, tail);
+            long deadline = started + Math.max(0, timeout.toNanos());
+            Consumer<JsonNode> capture = console -> {
+                if (console.isObject()) {
+                    out.update(console.path("out-data").asText(""), "stdout", listener);
+                    err.update(console.path("err-data").asText(""), "stderr", listener);
+                } else if (!console.isMissingNode()) {
+                    out.update(console.toString(), "stdout", listener);
+                }
+            };
+            JsonNode console = pollUntilExit(node, vmid, pid, deadline, running -> {
+                capture.accept(running);
+                listener.running(pid, elapsedMillis(started));
+            });
+            capture.accept(console);
+            long elapsedMillis = elapsedMillis(started);
+            if (hasExited(console)) {
+                Integer exitCode = console.isObject() ? console.path("exitcode").asInt(0) : 0;
+                logger.info("Command on VM {} (pid {}) exited with {} after {} ms", vmid, pid, exitCode,
+                    elapsedMillis);
+                return new CommandSummary(pid, true, exitCode, out.kept(), err.kept(), out.totalBytes(),
+                    err.totalBytes(), out.truncated() || err.truncated(), elapsedMillis);
+            }
+            logger.warn("Command on VM {} (pid {}) still running after {}", vmid, pid, timeout);
+            return new CommandSummary(pid, false, null, out.kept(), err.kept(), out.totalBytes(),
+                err.totalBytes(), out.truncated() || err.truncated(), elapsedMillis);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Exception e) {
+            logger.error("Failed to execute command on VM {}", vmid, e);
+            if (e.getMessage() != null && e.getMessage().toLowerCase().contains("not found")) {
+                throw new IllegalArgumentException("VM " + vmid + " not found on node " + node);
+            }
+            throw new RuntimeException("Failed to execute command: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Checks that a VM is running and starts a command through the guest agent.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param command command to execute
+     * @return the guest process ID
+     * @throws Exception when the VM is not running or the command cannot be started
+     */
+    private String startCommand(String node, String vmid, String command) throws Exception {
+        JsonNode status = responseData(proxmox.get("/nodes/" + node + "/qemu/" + vmid + "/status/current"));
+        if (!"running".equalsIgnoreCase(status.path("status").asText())) {
+            logger.error("Failed to execute command on VM {}: VM is not running", vmid);
+            throw new IllegalArgumentException("VM " + vmid + " on node " + node + " is not running");
+        }
+
+        logger.info("Executing command on VM {} (node: {}): {}", vmid, node, command);
+        JsonNode execResult = responseData(proxmox.postForm(
+            "/nodes/" + node + "/qemu/" + vmid + "/agent/exec",
+            Map.of("command", command)
+        ));
+
+        JsonNode pidNode = execResult.get("pid");
+        if (pidNode == null || pidNode.isNull()) {
+            throw new IllegalStateException("No PID returned from command execution");
+        }
+        return pidNode.asText();
+    }
+
+    /**
+     * Executes one command on many VMs.
+     *
+     * <p>{@code agent/exec} is posted to every target concurrently, at most {@code parallelism} at a
+     * time. All started PIDs are then polled together in rounds with the same backoff as
+     * {@link #executeCommand(String, String, String, Duration)}, until every command has exited or
+     * the shared deadline passes. Each result is passed to {@code listener} as soon as it is known.</p>
+     *
+     * @param targets the VMs to run the command on
+     * @param command command to execute
+     * @param timeout how long to wait for all commands to exit
+     * @param parallelism maximum number of concurrent API calls
+     * @param listener receives each result as it arrives, from any thread
+     * @return results in completion order
+     */
+    public List<CommandResult> executeCommands(List<CommandTarget> targets, String command, Duration timeout,
+        int parallelism, Consumer<CommandResult> listener) {
+        long started = System.nanoTime();
+        long deadline = started + Math.max(0, timeout.toNanos());
+        List<CommandResult> results = Collections.synchronizedList(new ArrayList<>(targets.size()));
+        Set<CommandTarget> done = ConcurrentHashMap.newKeySet();
+        Consumer<CommandResult> emit = result -> {
+            if (done.add(result.target())) {
+                results.add(result);
+                listener.accept(result);
+            }
+        };
+        FanOut fanOut = new FanOut(parallelism);
+        logger.info("Executing command on {} VMs: {}", targets.size(), command);
+
+        List<RunningCommand> pending = new ArrayList<>();
+        try {
+            List<RunningCommand> running = fanOut.map(
+                targets,
+                target -> {
+                    JsonNode exec = responseData(proxmox.postForm(
+                        "/nodes/" + target.node() + "/qemu/" + target.vmid() + "/agent/exec",
+                        Map.of("command", command)
+                    ));
+                    JsonNode pid = exec.get("pid");
+                    if (pid == null || pid.isNull()) {
+                        throw new IllegalStateException("No PID returned from command execution");
+                    }
+                    return new RunningCommand(target, pid.asText());
+                },
+                (target, e) -> {
+                    emit.accept(CommandResult.failed(target, null, e.getMessage(), elapsedMillis(started)));
+                    return null;
+                }
+            );
+            for (RunningCommand run : running) {
+                if (run != null) {
+                    pending.add(run);
+                }
+            }
+
+            PollSchedule schedule = new PollSchedule(deadline);
+            while (!pending.isEmpty()) {
+                schedule.awaitNextPoll();
+                boolean last = schedule.expired();
+                List<RunningCommand> polled = fanOut.map(
+                    pending,
+                    run -> {
+                        JsonNode console = execStatus(run.target().node(), String.valueOf(run.target().vmid()),
+                            run.pid());
+                        if (hasExited(console)) {
+                            emit.accept(CommandResult.exited(run.target(), run.pid(), console, elapsedMillis(started)));
+                            return null;
+                        }
+                        if (last) {
+                            emit.accept(CommandResult.stillRunning(run.target(), run.pid(),
+                                console.path("out-data").asText(""), timeout, elapsedMillis(started)));
+                            return null;
+                        }
+                        return run;
+                    },
+                    (run, e) -> {
+                        emit.accept(CommandResult.failed(run.target(), run.pid(), e.getMessage(),
+                            elapsedMillis(started)));
+                        return null;
+                    }
+                );
+                pending = new ArrayList<>();
+                for (RunningCommand run : polled) {
+                    if (run != null) {
+                        pending.add(run);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failInterrupted(targets, pending, emit, started);
+        } catch (IllegalStateException e) {
+            // FanOut reports an interrupt of the waiting thread this way and keeps the interrupt flag set.
+            if (!Thread.currentThread().isInterrupted()) {
+                throw e;
+            }
+            failInterrupted(targets, pending, emit, started);
+        }
+        synchronized (results) {
+            return List.copyOf(results);
+        }
+    }
+
+    /**
+     * Reports every target without a result as interrupted.
+     *
+     * @param targets all targets of the batch
+     * @param pending commands started and not yet finished, to report their PIDs
+     * @param emit the result sink, which ignores targets that already have a result
+     * @param started the batch start time from {@link System#nanoTime()}
+     */
+    private static void failInterrupted(List<CommandTarget> targets, List<RunningCommand> pending,
+        Consumer<CommandResult> emit, long started) {
+        Map<CommandTarget, String> pids = new HashMap<>();
+        for (RunningCommand run : pending) {
+            pids.put(run.target(), run.pid());
+        }
+        for (CommandTarget target : targets) {
+            emit.accept(CommandResult.failed(target, pids.get(target), "Interrupted while waiting",
+                elapsedMillis(started)));
+        }
+    }
+
+    /**
+     * Returns the milliseconds elapsed since a start time.
+     *
+     * @param startedNanos the start time from {@link System#nanoTime()}
+     * @return elapsed milliseconds
+     */
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+    }
+
+    /**
+     * Polls {@code exec-status} until the command exits or the timeout elapses.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param pid guest process ID
+     * @param timeout how long to wait for the command to exit
+     * @return the last exec-status payload
+     * @throws Exception when a status request fails or the thread is interrupted
+     */
+    private JsonNode awaitExit(String node, String vmid, String pid, Duration timeout) throws Exception {
+        return pollUntilExit(node, vmid, pid, System.nanoTime() + Math.max(0, timeout.toNanos()), console -> {
+        });
+    }
+
+    /**
+     * Polls {@code exec-status} of one command on the shared backoff schedule.
+     *
+     * <p>The first poll happens after the initial delay, which then doubles up to the configured
+     * maximum. Sleeps are shortened so the last poll happens at the deadline.</p>
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param pid guest process ID
+     * @param deadline the deadline from {@link System#nanoTime()}
+     * @param onRunning receives each payload of a command that is still running before the deadline
+     * @return the payload of the exited command, or the last payload polled at the deadline
+     * @throws Exception when a status request fails or the thread is interrupted
+     */
+    private JsonNode pollUntilExit(String node, String vmid, String pid, long deadline,
+        Consumer<JsonNode> onRunning) throws Exception {
+        PollSchedule schedule = new PollSchedule(deadline);
+        while (true) {
+            schedule.awaitNextPoll();
+            JsonNode console = execStatus(node, vmid, pid);
+            if (hasExited(console) || schedule.expired()) {
+                return console;
+            }
+            onRunning.accept(console);
+        }
+    }
+
+    /**
+     * Reads the guest agent status of one command.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param pid guest process ID
+     * @return the exec-status payload
+     * @throws Exception when the status request fails
+     */
+    private JsonNode execStatus(String node, String vmid, String pid) throws Exception {
+        return responseData(proxmox.get(
+            "/nodes/" + node + "/qemu/" + vmid + "/agent/exec-status",
+            Map.of("pid", pid)
+        ));
+    }
+
+    /**
+     * Returns whether an exec-status payload describes a finished command.
+     *
+     * <p>The guest agent reports {@code exited} as {@code 0}/{@code 1} and only includes
+     * {@code exitcode} once the command has finished. Payloads of any other shape are final.</p>
+     *
+     * @param console the exec-status payload
+     * @return true when no further polling is useful
+     */
+    private static boolean hasExited(JsonNode console) {
+        if (console == null || !console.isObject()) {
+            return true;
+        }
+        return console.path("exited").asBoolean(false) || console.has("exitcode");
+    }
+
     /**
      * Extracts the data section from a Proxmox API response.
      *
@@ -98,4 +428,291 @@ public class VmConsoleManager {
         }
         return response.path("data");
     }
+
+    /**
+     * A VM to run a batch command on.
+     *
+     * @param node host node name
+     * @param vmid VM ID
+     * @param name VM name for display
+     */
+    public record CommandTarget(String node, int vmid, String name) {
+    }
+
+    /**
+     * How a batch command ended on one VM.
+     */
+    public enum Outcome {
+        /** The command exited; see the exit code. */
+        EXITED,
+        /** The command was still running at the deadline. */
+        RUNNING,
+        /** The command could not be started or its status could not be read. */
+        FAILED
+    }
+
+    /**
+     * Result of a batch command on one VM.
+     *
+     * @param target the VM
+     * @param outcome how the command ended
+     * @param exitCode the exit code, or {@code null} unless the command exited
+     * @param pid the guest PID, or {@code null} when the command did not start
+     * @param output captured standard output
+     * @param error captured standard error or the failure message
+     * @param elapsedMillis milliseconds from dispatch until this result was known
+     */
+    public record CommandResult(CommandTarget target, Outcome outcome, Integer exitCode, String pid, String output,
+                                String error, long elapsedMillis) {
+
+        /**
+         * Returns whether the command exited with status zero.
+         *
+         * @return true for a successful command
+         */
+        public boolean ok() {
+            return outcome == Outcome.EXITED && exitCode != null && exitCode == 0;
+        }
+
+        /**
+         * Builds the result of a command that exited.
+         *
+         * @param target the VM
+         * @param pid the guest PID
+         * @param console the exec-status payload
+         * @param elapsedMillis elapsed milliseconds
+         * @return the result
+         */
+        public static CommandResult exited(CommandTarget target, String pid, JsonNode console, long elapsedMillis) {
+            if (console == null || !console.isObject()) {
+                return new CommandResult(target, Outcome.EXITED, 0, pid, console == null ? "" : console.toString(),
+                    "", elapsedMillis);
+            }
+            return new CommandResult(target, Outcome.EXITED, console.path("exitcode").asInt(0), pid,
+                console.path("out-data").asText(""), console.path("err-data").asText(""), elapsedMillis);
+        }
+
+        /**
+         * Builds the result of a command still running at the deadline.
+         *
+         * @param target the VM
+         * @param pid the guest PID
+         * @param output output captured so far
+         * @param timeout the timeout that elapsed
+         * @param elapsedMillis elapsed milliseconds
+         * @return the result
+         */
+        public static CommandResult stillRunning(CommandTarget target, String pid, String output, Duration timeout,
+            long elapsedMillis) {
+            return new CommandResult(target, Outcome.RUNNING, null, pid, output,
+                "Command still running after " + timeout.toMillis() + " ms (pid " + pid + ")", elapsedMillis);
+        }
+
+        /**
+         * Builds the result of a command that could not be started or polled.
+         *
+         * @param target the VM
+         * @param pid the guest PID, or {@code null} when the command did not start
+         * @param error the failure message
+         * @param elapsedMillis elapsed milliseconds
+         * @return the result
+         */
+        public static CommandResult failed(CommandTarget target, String pid, String error, long elapsedMillis) {
+            return new CommandResult(target, Outcome.FAILED, null, pid, "", error == null ? "unknown error" : error,
+                elapsedMillis);
+        }
+    }
+
+    /**
+     * Final state of a streamed guest command.
+     *
+     * @param pid the guest process ID
+     * @param exited whether the command exited before the deadline
+     * @param exitCode the exit code, or {@code null} while the command is running
+     * @param output the kept standard output
+     * @param error the kept standard error
+     * @param outputBytes total UTF-8 bytes of standard output seen
+     * @param errorBytes total UTF-8 bytes of standard error seen
+     * @param truncated whether output was dropped because of the cap
+     * @param elapsedMillis milliseconds from start until the last poll
+     */
+    public record CommandSummary(String pid, boolean exited, Integer exitCode, String output, String error,
+                                 long outputBytes, long errorBytes, boolean truncated, long elapsedMillis) {
+
+        /**
+         * Returns whether the command exited with status zero.
+         *
+         * @return true for a successful command
+         */
+        public boolean ok() {
+            return exited && exitCode != null && exitCode == 0;
+        }
+    }
+
+    /**
+     * Keeps at most a fixed number of UTF-8 bytes of one output stream.
+     */
+    private static final class OutputBuffer {
+        private final int limitBytes;
+        private final boolean tail;
+        private final StringBuilder kept = new StringBuilder();
+        private int keptBytes;
+        private long totalBytes;
+        private int seenChars;
+        private boolean truncated;
+
+        /**
+         * Creates an empty buffer.
+         *
+         * @param limitBytes how many bytes to keep
+         * @param tail whether to keep the last bytes instead of the first
+         */
+        private OutputBuffer(int limitBytes, boolean tail) {
+            this.limitBytes = Math.max(0, limitBytes);
+            this.tail = tail;
+        }
+
+        /**
+         * Consumes the full stream content reported by a poll and passes the unseen part on.
+         *
+         * @param content the stream content reported so far
+         * @param stream the stream name for the listener
+         * @param listener receives the unseen output in chunks
+         */
+        private void update(String content, String stream, CommandOutputListener listener) {
+            if (content.length() <= seenChars) {
+                return;
+            }
+            for (int start = seenChars; start < content.length(); start += CHUNK_CHARS) {
+                String chunk = content.substring(start, Math.min(content.length(), start + CHUNK_CHARS));
+                append(chunk);
+                listener.output(stream, chunk);
+            }
+            seenChars = content.length();
+        }
+
+        /**
+         * Adds output, dropping what exceeds the byte limit.
+         *
+         * @param chunk the output
+         */
+        private void append(String chunk) {
+            int chunkBytes = utf8Length(chunk, 0, chunk.length());
+            totalBytes += chunkBytes;
+            if (!tail) {
+                int end = 0;
+                while (end < chunk.length() && keptBytes + utf8Length(chunk, end, end + 1) <= limitBytes) {
+                    keptBytes += utf8Length(chunk, end, end + 1);
+                    end++;
+                }
+                kept.append(chunk, 0, end);
+                truncated |= end < chunk.length();
+                return;
+            }
+            kept.append(chunk);
+            keptBytes += chunkBytes;
+            int drop = 0;
+            while (keptBytes > limitBytes) {
+                keptBytes -= utf8Length(kept, drop, drop + 1);
+                drop++;
+            }
+            if (drop > 0) {
+                kept.delete(0, drop);
+                truncated = true;
+            }
+        }
+
+        /**
+         * Returns the kept output.
+         *
+         * @return the kept output
+         */
+        private String kept() {
+            return kept.toString();
+        }
+
+        /**
+         * Returns the total bytes seen, including dropped output.
+         *
+         * @return the total UTF-8 bytes
+         */
+        private long totalBytes() {
+            return totalBytes;
+        }
+
+        /**
+         * Returns whether output was dropped.
+         *
+         * @return true when the limit was exceeded
+         */
+        private boolean truncated() {
+            return truncated;
+        }
+
+        /**
+         * Counts the UTF-8 bytes of a character range; each half of a surrogate pair counts two bytes.
+         *
+         * @param text the text
+         * @param from the first index, inclusive
+         * @param to the last index, exclusive
+         * @return the UTF-8 length
+         */
+        private static int utf8Length(CharSequence text, int from, int to) {
+            int bytes = 0;
+            for (int i = from; i < to; i++) {
+                char c = text.charAt(i);
+                bytes += c < 0x80 ? 1 : c < 0x800 || Character.isSurrogate(c) ? 2 : 3;
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * The exponential backoff between {@code exec-status} polls, bounded by a deadline.
+     */
+    private final class PollSchedule {
+        private final long deadline;
+        private final long maxDelayMillis = Math.max(1, tools.getCommandPollMaxMillis());
+        private long delayMillis = Math.min(Math.max(1, tools.getCommandPollInitialMillis()), maxDelayMillis);
+
+        /**
+         * Creates a schedule.
+         *
+         * @param deadline the deadline from {@link System#nanoTime()}
+         */
+        PollSchedule(long deadline) {
+            this.deadline = deadline;
+        }
+
+        /**
+         * Sleeps until the next poll, never past the deadline, and backs off the following delay.
+         *
+         * @throws InterruptedException when the thread is interrupted while sleeping
+         */
+        void awaitNextPoll() throws InterruptedException {
+            long remainingNanos = deadline - System.nanoTime();
+            if (remainingNanos > 0) {
+                TimeUnit.NANOSECONDS.sleep(Math.min(TimeUnit.MILLISECONDS.toNanos(delayMillis), remainingNanos));
+            }
+            delayMillis = Math.min(delayMillis * 2, maxDelayMillis);
+        }
+
+        /**
+         * Checks whether the deadline has passed.
+         *
+         * @return true when no further poll should be scheduled
+         */
+        boolean expired() {
+            return System.nanoTime() - deadline >= 0;
+        }
+    }
+
+    /**
+     * A started batch command awaiting its exit status.
+     *
+     * @param target the VM
+     * @param pid the guest PID
+     */
+    private record RunningCommand(CommandTarget target, String pid) {
+    }
 }
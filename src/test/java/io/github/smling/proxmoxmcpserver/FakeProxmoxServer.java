@@ -0,0 +1,855 @@
+package io.github.smling.proxmoxmcpserver;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpsConfigurator;
+import com.sun.net.httpserver.HttpsServer;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
+import io.github.smling.proxmoxmcpserver.core.ApiMetrics;
+import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.KeyStore;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import javax.net.ssl.KeyManagerFactory;
+import javax.net.ssl.SSLContext;
+
+/**
+ * Embeddable fake Proxmox VE API for end-to-end, load and latency tests.
+ *
+ * <p>Serves a synthetic cluster of {@code nodes x guestsPerNode} guests over HTTPS with a throwaway
+ * self-signed certificate, so it is reached through the regular {@link ProxmoxClient} with SSL verification
+ * disabled. Even-numbered guests are VMs and odd-numbered guests are containers. Latency and errors can be
+ * injected per endpoint, keyed by the {@link ApiMetrics#pathTemplate(String)} template such as
+ * {@code /nodes/{node}/qemu/{vmid}/config} or {@code *} for every endpoint, and per node. Guest actions
+ * return a UPID whose task runs for the configured task duration.</p>
+ */
+public final class FakeProxmoxServer implements AutoCloseable {
+    /** Matches every endpoint when used as a latency or error template. */
+    public static final String ANY = "*";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String PREFIX = "/api2/json";
+    private static final String STORE_PASSWORD = "fake-pve";
+    private static final long GIB = 1024L * 1024L * 1024L;
+    private static final long BASE_CTIME = 1_700_000_000L;
+
+    private final int storagesPerNode;
+    private final List<String> nodeNames = new ArrayList<>();
+    private final Map<Integer, Guest> guests = new LinkedHashMap<>();
+    private final Map<String, Duration> latencies = new ConcurrentHashMap<>();
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+    private final Map<String, Duration> slowNodes = new ConcurrentHashMap<>();
+    private final Map<String, Task> tasks = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> requests = new ConcurrentHashMap<>();
+    private final AtomicInteger taskCounter = new AtomicInteger();
+    private final LongAdder totalRequests = new LongAdder();
+    private volatile Random random = new Random(42);
+    private volatile Duration taskDuration = Duration.ZERO;
+    private HttpsServer server;
+    private ExecutorService executor;
+
+    /**
+     * Creates a fake cluster; call {@link #start()} before sending requests.
+     *
+     * @param nodes the number of nodes
+     * @param guestsPerNode the number of guests on each node
+     * @param storagesPerNode the number of storage pools on each node
+     */
+    public FakeProxmoxServer(int nodes, int guestsPerNode, int storagesPerNode) {
+        this.storagesPerNode = storagesPerNode;
+        int vmid = 100;
+        for (int n = 1; n <= nodes; n++) {
+            String node = "pve" + n;
+            nodeNames.add(node);
+            for (int g = 0; g < guestsPerNode; g++, vmid++) {
+                guests.put(vmid, new Guest(node, vmid, g % 2 == 0 ? "qemu" : "lxc"));
+            }
+        }
+    }
+
+    /**
+     * Delays every request that matches an endpoint template.
+     *
+     * @param template the path template, or {@link #ANY}
+     * @param latency the added latency
+     * @return this server
+     */
+    public FakeProxmoxServer withLatency(String template, Duration latency) {
+        latencies.put(template, latency);
+        return this;
+    }
+
+    /**
+     * Fails a fraction of the requests that match an endpoint template.
+     *
+     * @param template the path template, or {@link #ANY}
+     * @param rate the failure probability between 0 and 1
+     * @param status the HTTP status returned for failed requests
+     * @return this server
+     */
+    public FakeProxmoxServer withErrorRate(String template, double rate, int status) {
+        failures.put(template, new Failure(rate, status));
+        return this;
+    }
+
+    /**
+     * Delays every request addressed to a node, on top of any endpoint latency.
+     *
+     * @param node the node name
+     * @param latency the added latency
+     * @return this server
+     */
+    public FakeProxmoxServer withSlowNode(String node, Duration latency) {
+        slowNodes.put(node, latency);
+        return this;
+    }
+
+    /**
+     * Sets how long tasks started by guest actions keep running.
+     *
+     * @param duration the task duration
+     * @return this server
+     */
+    public FakeProxmoxServer withTaskDuration(Duration duration) {
+        this.taskDuration = duration;
+        return this;
+    }
+
+    /**
+     * Seeds the random source used for error injection.
+     *
+     * @param seed the seed
+     * @return this server
+     */
+    public FakeProxmoxServer withSeed(long seed) {
+        this.random = new Random(seed);
+        return this;
+    }
+
+    /**
+     * Removes every injected latency and error.
+     */
+    public void reset() {
+        latencies.clear();
+        failures.clear();
+        slowNodes.clear();
+    }
+
+    /**
+     * Binds to an ephemeral loopback port and starts serving.
+     *
+     * @return this server
+     * @throws Exception when the TLS context or socket cannot be created
+     */
+    public FakeProxmoxServer start() throws Exception {
+        server = HttpsServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setHttpsConfigurator(new HttpsConfigurator(selfSignedContext()));
+        executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext(PREFIX, this::handle);
+        server.start();
+        return this;
+    }
+
+    /**
+     * Stops the server and its request threads.
+     */
+    @Override
+    public void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the bound port.
+     *
+     * @return the port
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Returns the endpoint in {@code host:port} form.
+     *
+     * @return the endpoint
+     */
+    public String endpoint() {
+        return "127.0.0.1:" + port();
+    }
+
+    /**
+     * Creates a pooled client for this server with retries disabled.
+     *
+     * @return the client
+     */
+    public ProxmoxClient client() {
+        HttpConfig http = new HttpConfig();
+        http.setPooled(true);
+        http.getRetry().setMaxAttempts(1);
+        return client(http);
+    }
+
+    /**
+     * Creates a client for this server with the given HTTP settings.
+     *
+     * @param http the HTTP settings
+     * @return the client
+     */
+    public ProxmoxClient client(HttpConfig http) {
+        return new ProxmoxClient(List.of(endpoint()), port(), false, "root@pam", "fake", "secret", http);
+    }
+
+    /**
+     * Returns the node names.
+     *
+     * @return the node names
+     */
+    public List<String> nodes() {
+        return List.copyOf(nodeNames);
+    }
+
+    /**
+     * Returns the number of guests in the cluster.
+     *
+     * @return the guest count
+     */
+    public int guestCount() {
+        return guests.size();
+    }
+
+    /**
+     * Returns how many requests matched an endpoint template.
+     *
+     * @param template the path template
+     * @return the request count
+     */
+    public long requests(String template) {
+        LongAdder counter = requests.get(template);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Returns how many requests were served in total.
+     *
+     * @return the request count
+     */
+    public long totalRequests() {
+        return totalRequests.sum();
+    }
+
+    /**
+     * Returns the status of a guest.
+     *
+     * @param vmid the guest ID
+     * @return {@code running} or {@code stopped}
+     */
+    public String guestStatus(int vmid) {
+        return guests.get(vmid).status;
+    }
+
+    /**
+     * Serves a request, mapping missing resources to Proxmox-style errors.
+     *
+     * @param exchange the HTTP exchange
+     * @throws IOException when the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath().substring(PREFIX.length());
+            try {
+                dispatch(exchange, exchange.getRequestMethod(), path);
+            } catch (NotFound e) {
+                respond(exchange, 500, NullNode.getInstance(), e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Records the request, applies injected latency and errors, then serves the endpoint.
+     *
+     * @param exchange the HTTP exchange
+     * @param method the HTTP method
+     * @param path the API path below {@code /api2/json}
+     * @throws IOException when the response cannot be written
+     * @throws InterruptedException when interrupted during injected latency
+     */
+    private void dispatch(HttpExchange exchange, String method, String path) throws IOException, InterruptedException {
+        String template = ApiMetrics.pathTemplate(path);
+        totalRequests.increment();
+        requests.computeIfAbsent(template, key -> new LongAdder()).increment();
+
+        String[] segments = path.split("/");
+        sleep(latencies.getOrDefault(template, latencies.get(ANY)));
+        if (segments.length > 2 && "nodes".equals(segments[1])) {
+            sleep(slowNodes.get(segments[2]));
+        }
+        Failure failure = failures.getOrDefault(template, failures.get(ANY));
+        if (failure != null && random.nextDouble() < failure.rate()) {
+            respond(exchange, failure.status(), NullNode.getInstance(), "injected failure for " + template);
+            return;
+        }
+
+        Map<String, String> params = new HashMap<>(decode(exchange.getRequestURI().getRawQuery()));
+        if ("POST".equals(method) || "PUT".equals(method)) {
+            try (InputStream body = exchange.getRequestBody()) {
+                params.putAll(decode(new String(body.readAllBytes(), StandardCharsets.UTF_8)));
+            }
+        }
+        JsonNode data = route(method, segments, params);
+        if (data == null) {
+            respond(exchange, 501, NullNode.getInstance(), "Method '" + method + " " + path + "' not implemented");
+        } else {
+            respond(exchange, 200, data, null);
+        }
+    }
+
+    /**
+     * Resolves a request to its response data.
+     *
+     * @param method the HTTP method
+     * @param segments the path segments, starting with an empty segment
+     * @param params query and form parameters
+     * @return the response data, or {@code null} when the endpoint is not implemented
+     */
+    private JsonNode route(String method, String[] segments, Map<String, String> params) {
+        boolean get = "GET".equals(method);
+        String path = String.join("/", segments);
+        if (get && "/version".equals(path)) {
+            return MAPPER.createObjectNode().put("version", "8.2.4").put("release", "8.2").put("repoid", "fake");
+        }
+        if (get && "/nodes".equals(path)) {
+            ArrayNode nodes = MAPPER.createArrayNode();
+            nodeNames.forEach(node -> nodes.add(nodeResource(node)));
+            return nodes;
+        }
+        if (get && "/cluster/resources".equals(path)) {
+            return clusterResources(params.get("type"));
+        }
+        if (get && "/cluster/status".equals(path)) {
+            return clusterStatus();
+        }
+        if (get && "/cluster/tasks".equals(path)) {
+            ArrayNode list = MAPPER.createArrayNode();
+            tasks.values().forEach(task -> list.add(task.toJson()));
+            return list;
+        }
+        if (segments.length < 3 || !"nodes".equals(segments[1])) {
+            return null;
+        }
+        String node = segments[2];
+        if (!nodeNames.contains(node)) {
+            throw new NotFound("hostname lookup '" + node + "' failed - failed to get address info for: " + node);
+        }
+        if (segments.length == 4 && get && "status".equals(segments[3])) {
+            return nodeStatus(node);
+        }
+        if (segments.length == 4 && get && ("qemu".equals(segments[3]) || "lxc".equals(segments[3]))) {
+            ArrayNode list = MAPPER.createArrayNode();
+            guestsOn(node, segments[3]).forEach(guest -> list.add(guest.toJson(false)));
+            return list;
+        }
+        if (segments.length >= 5 && ("qemu".equals(segments[3]) || "lxc".equals(segments[3]))) {
+            return guestEndpoint(method, node, segments, params);
+        }
+        if (segments.length == 4 && get && "storage".equals(segments[3])) {
+            ArrayNode list = MAPPER.createArrayNode();
+            for (int s = 1; s <= storagesPerNode; s++) {
+                list.add(storage(node, s, false));
+            }
+            return list;
+        }
+        if (segments.length == 6 && get && "storage".equals(segments[3]) && "content".equals(segments[5])) {
+            return storageContent(node, segments[4], params);
+        }
+        if (segments.length == 6 && get && "tasks".equals(segments[3]) && "status".equals(segments[5])) {
+            Task task = tasks.get(segments[4]);
+            if (task == null) {
+                throw new NotFound("no such task");
+            }
+            return task.toJson();
+        }
+        return null;
+    }
+
+    /**
+     * Serves config, status, RRD and action endpoints of a single guest.
+     *
+     * @param method the HTTP method
+     * @param node the node name
+     * @param segments the path segments
+     * @param params query and form parameters
+     * @return the response data, or {@code null} when the endpoint is not implemented
+     */
+    private JsonNode guestEndpoint(String method, String node, String[] segments, Map<String, String> params) {
+        String type = segments[3];
+        Guest guest = guest(node, type, segments[4]);
+        String leaf = segments.length > 5 ? segments[5] : "";
+        boolean get = "GET".equals(method);
+        if (get && segments.length == 6 && "config".equals(leaf)) {
+            return guest.config();
+        }
+        if (get && segments.length == 7 && "status".equals(leaf) && "current".equals(segments[6])) {
+            return guest.toJson(true);
+        }
+        if (get && segments.length == 6 && "rrddata".equals(leaf)) {
+            return guest.rrd(params.getOrDefault("timeframe", "hour"));
+        }
+        if ("POST".equals(method) && segments.length == 7 && "status".equals(leaf)) {
+            String action = segments[6];
+            String next = switch (action) {
+                case "start", "resume", "reboot" -> "running";
+                case "stop", "shutdown", "suspend" -> "stopped";
+                default -> null;
+            };
+            if (next == null) {
+                return null;
+            }
+            guest.status = next;
+            return MAPPER.getNodeFactory().textNode(startTask(node, ("qemu".equals(type) ? "qm" : "vz") + action,
+                String.valueOf(guest.vmid)));
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a guest by node, type and ID.
+     *
+     * @param node the node name
+     * @param type {@code qemu} or {@code lxc}
+     * @param vmid the guest ID segment
+     * @return the guest
+     */
+    private Guest guest(String node, String type, String vmid) {
+        Guest guest = vmid.chars().allMatch(Character::isDigit) ? guests.get(Integer.parseInt(vmid)) : null;
+        if (guest == null || !guest.node.equals(node) || !guest.type.equals(type)) {
+            throw new NotFound("Configuration file 'nodes/" + node + "/" + ("qemu".equals(type) ? "qemu-server" : "lxc")
+                + "/" + vmid + ".conf' does not exist");
+        }
+        return guest;
+    }
+
+    /**
+     * Lists the guests of one type on a node.
+     *
+     * @param node the node name
+     * @param type {@code qemu} or {@code lxc}
+     * @return the guests
+     */
+    private List<Guest> guestsOn(String node, String type) {
+        List<Guest> out = new ArrayList<>();
+        for (Guest guest : guests.values()) {
+            if (guest.node.equals(node) && guest.type.equals(type)) {
+                out.add(guest);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Builds {@code /cluster/resources}, optionally filtered by type.
+     *
+     * @param type {@code vm}, {@code storage}, {@code node} or {@code null} for all
+     * @return the resources
+     */
+    private ArrayNode clusterResources(String type) {
+        ArrayNode resources = MAPPER.createArrayNode();
+        if (type == null || "node".equals(type)) {
+            nodeNames.forEach(node -> resources.add(nodeResource(node).put("type", "node")
+                .put("id", "node/" + node)));
+        }
+        if (type == null || "vm".equals(type)) {
+            guests.values().forEach(guest -> resources.add(guest.toJson(true)
+                .put("id", guest.type + "/" + guest.vmid).put("type", guest.type).put("node", guest.node)));
+        }
+        if (type == null || "storage".equals(type)) {
+            for (String node : nodeNames) {
+                for (int s = 1; s <= storagesPerNode; s++) {
+                    resources.add(storage(node, s, true));
+                }
+            }
+        }
+        return resources;
+    }
+
+    /**
+     * Builds {@code /cluster/status}.
+     *
+     * @return the cluster status entries
+     */
+    private ArrayNode clusterStatus() {
+        ArrayNode status = MAPPER.createArrayNode();
+        status.add(MAPPER.createObjectNode().put("type", "cluster").put("id", "cluster").put("name", "fake")
+            .put("nodes", nodeNames.size()).put("quorate", 1).put("version", nodeNames.size()));
+        for (int i = 0; i < nodeNames.size(); i++) {
+            status.add(MAPPER.createObjectNode().put("type", "node").put("id", "node/" + nodeNames.get(i))
+                .put("name", nodeNames.get(i)).put("nodeid", i + 1).put("online", 1).put("local", i == 0 ? 1 : 0)
+                .put("ip", "10.0.0." + (i + 1)));
+        }
+        return status;
+    }
+
+    /**
+     * Builds a node entry as listed by {@code /nodes}.
+     *
+     * @param node the node name
+     * @return the node entry
+     */
+    private static ObjectNode nodeResource(String node) {
+        return MAPPER.createObjectNode().put("node", node).put("status", "online").put("cpu", 0.12)
+            .put("maxcpu", 32).put("mem", 48 * GIB).put("maxmem", 128 * GIB).put("uptime", 1_209_600L);
+    }
+
+    /**
+     * Builds {@code /nodes/{node}/status}.
+     *
+     * @param node the node name
+     * @return the node status
+     */
+    private static ObjectNode nodeStatus(String node) {
+        ObjectNode status = MAPPER.createObjectNode().put("cpu", 0.12).put("uptime", 1_209_600L)
+            .put("pveversion", "pve-manager/8.2.4").put("kversion", "Linux 6.8.12-1-pve");
+        status.putObject("memory").put("used", 48 * GIB).put("total", 128 * GIB).put("free", 80 * GIB);
+        status.putObject("cpuinfo").put("cpus", 32).put("model", "Fake CPU @ " + node).put("sockets", 2);
+        status.putArray("loadavg").add("0.50").add("0.40").add("0.30");
+        return status;
+    }
+
+    /**
+     * Builds a storage pool entry.
+     *
+     * @param node the node name
+     * @param index the one-based pool index
+     * @param resource whether to shape it as a cluster resource
+     * @return the storage entry
+     */
+    private static ObjectNode storage(String node, int index, boolean resource) {
+        String name = "store" + index;
+        ObjectNode store = MAPPER.createObjectNode().put("storage", name).put("content", "backup,iso,vztmpl,images")
+            .put("type", "dir").put("active", 1).put("enabled", 1).put("used", 120 * GIB).put("total", 500 * GIB)
+            .put("avail", 380 * GIB);
+        if (resource) {
+            store.put("type", "storage").put("id", "storage/" + node + "/" + name).put("node", node)
+                .put("status", "available").put("disk", 120 * GIB).put("maxdisk", 500 * GIB)
+                .put("plugintype", "dir");
+        }
+        return store;
+    }
+
+    /**
+     * Lists storage content: one backup per guest on the node's first pool and one ISO per pool.
+     *
+     * @param node the node name
+     * @param storage the storage name
+     * @param params the query, honouring {@code content} and {@code vmid}
+     * @return the content listing
+     */
+    private ArrayNode storageContent(String node, String storage, Map<String, String> params) {
+        ArrayNode content = MAPPER.createArrayNode();
+        String kind = params.get("content");
+        String vmid = params.get("vmid");
+        if ((kind == null || "backup".equals(kind)) && "store1".equals(storage)) {
+            for (Guest guest : guests.values()) {
+                if (!guest.node.equals(node) || (vmid != null && !vmid.equals(String.valueOf(guest.vmid)))) {
+                    continue;
+                }
+                boolean container = "lxc".equals(guest.type);
+                long ctime = BASE_CTIME + guest.vmid * 3_600L;
+                content.add(MAPPER.createObjectNode()
+                    .put("volid", storage + ":backup/vzdump-" + guest.type + "-" + guest.vmid + "-" + ctime
+                        + (container ? ".tar.zst" : ".vma.zst"))
+                    .put("content", "backup").put("format", container ? "tar.zst" : "vma.zst")
+                    .put("vmid", guest.vmid).put("ctime", ctime).put("size", (guest.vmid % 9 + 1) * GIB)
+                    .put("notes", guest.name()));
+            }
+        }
+        if ((kind == null || "iso".equals(kind)) && vmid == null) {
+            content.add(MAPPER.createObjectNode().put("volid", storage + ":iso/debian-12.iso").put("content", "iso")
+                .put("format", "iso").put("size", 628 * 1024L * 1024L).put("ctime", BASE_CTIME));
+        }
+        return content;
+    }
+
+    /**
+     * Registers a task that finishes after the configured task duration.
+     *
+     * @param node the node name
+     * @param type the task type, e.g. {@code qmstart}
+     * @param id the task subject
+     * @return the UPID
+     */
+    private String startTask(String node, String type, String id) {
+        long now = System.currentTimeMillis();
+        int pid = 10_000 + taskCounter.incrementAndGet();
+        String upid = String.format(Locale.ROOT, "UPID:%s:%08X:%08X:%08X:%s:%s:root@pam:", node, pid, pid * 7,
+            now / 1000, type, id);
+        tasks.put(upid, new Task(upid, node, type, id, now / 1000, now + taskDuration.toMillis()));
+        return upid;
+    }
+
+    /**
+     * Writes a Proxmox-style JSON envelope.
+     *
+     * @param exchange the HTTP exchange
+     * @param status the HTTP status
+     * @param data the response data
+     * @param message the error message, or {@code null}
+     * @throws IOException when the response cannot be written
+     */
+    private static void respond(HttpExchange exchange, int status, JsonNode data, String message)
+        throws IOException {
+        ObjectNode envelope = MAPPER.createObjectNode();
+        envelope.set("data", data);
+        if (message != null) {
+            envelope.put("message", message + "\n");
+        }
+        byte[] bytes = MAPPER.writeValueAsBytes(envelope);
+        exchange.getResponseHeaders().add("Content-Type", "application/json;charset=UTF-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Sleeps for an injected latency.
+     *
+     * @param latency the latency, may be {@code null}
+     * @throws InterruptedException when interrupted
+     */
+    private static void sleep(Duration latency) throws InterruptedException {
+        if (latency != null && !latency.isZero()) {
+            Thread.sleep(latency);
+        }
+    }
+
+    /**
+     * Decodes a URL-encoded query or form body.
+     *
+     * @param raw the raw string, may be {@code null}
+     * @return the decoded parameters
+     */
+    private static Map<String, String> decode(String raw) {
+        Map<String, String> params = new HashMap<>();
+        if (raw == null || raw.isEmpty()) {
+            return params;
+        }
+        for (String pair : raw.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = eq < 0 ? pair : pair.substring(0, eq);
+            String value = eq < 0 ? "" : pair.substring(eq + 1);
+            params.put(URLDecoder.decode(key, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+        return params;
+    }
+
+    /**
+     * Creates a TLS context with a fresh self-signed certificate generated by the JDK {@code keytool}.
+     *
+     * @return the TLS context
+     * @throws Exception when the key cannot be generated or loaded
+     */
+    private static SSLContext selfSignedContext() throws Exception {
+        Path dir = Files.createTempDirectory("fake-pve");
+        Path keystore = dir.resolve("fake-pve.p12");
+        try {
+            Process keytool = new ProcessBuilder(
+                Path.of(System.getProperty("java.home"), "bin", "keytool").toString(),
+                "-genkeypair", "-alias", "fake-pve", "-keyalg", "EC", "-groupname", "secp256r1",
+                "-dname", "CN=localhost", "-ext", "san=ip:127.0.0.1,dns:localhost", "-validity", "2",
+                "-storetype", "PKCS12", "-keystore", keystore.toString(),
+                "-storepass", STORE_PASSWORD, "-keypass", STORE_PASSWORD)
+                .redirectErrorStream(true)
+                .start();
+            String output = new String(keytool.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+            if (!keytool.waitFor(30, TimeUnit.SECONDS) || keytool.exitValue() != 0) {
+                throw new IllegalStateException("keytool failed: " + output);
+            }
+            KeyStore store = KeyStore.getInstance("PKCS12");
+            try (InputStream in = Files.newInputStream(keystore)) {
+                store.load(in, STORE_PASSWORD.toCharArray());
+            }
+            KeyManagerFactory keys = KeyManagerFactory.getInstance(KeyManagerFactory.getDefaultAlgorithm());
+            keys.init(store, STORE_PASSWORD.toCharArray());
+            SSLContext context = SSLContext.getInstance("TLS");
+            context.init(keys.getKeyManagers(), null, null);
+            return context;
+        } finally {
+            Files.deleteIfExists(keystore);
+            Files.deleteIfExists(dir);
+        }
+    }
+
+    /**
+     * Injected failure for an endpoint.
+     *
+     * @param rate the failure probability
+     * @param status the HTTP status to return
+     */
+    private record Failure(double rate, int status) {
+    }
+
+    /**
+     * Signals a missing node, guest or task; Proxmox reports these as HTTP 500.
+     */
+    private static final class NotFound extends RuntimeException {
+        /**
+         * Creates the error.
+         *
+         * @param message the Proxmox error message
+         */
+        private NotFound(String message) {
+            super(message);
+        }
+    }
+
+    /**
+     * Synthetic guest with a mutable power state.
+     */
+    private static final class Guest {
+        private final String node;
+        private final int vmid;
+        private final String type;
+        private volatile String status;
+
+        /**
+         * Creates a guest; every fifth guest starts stopped.
+         *
+         * @param node the node name
+         * @param vmid the guest ID
+         * @param type {@code qemu} or {@code lxc}
+         */
+        private Guest(String node, int vmid, String type) {
+            this.node = node;
+            this.vmid = vmid;
+            this.type = type;
+            this.status = vmid % 5 == 0 ? "stopped" : "running";
+        }
+
+        /**
+         * Returns the guest name.
+         *
+         * @return the name
+         */
+        private String name() {
+            return ("qemu".equals(type) ? "vm-" : "ct-") + vmid;
+        }
+
+        /**
+         * Renders the guest as a list entry.
+         *
+         * @param live whether to include current usage figures
+         * @return the guest entry
+         */
+        private ObjectNode toJson(boolean live) {
+            boolean running = "running".equals(status);
+            ObjectNode json = MAPPER.createObjectNode().put("vmid", vmid).put("name", name()).put("status", status)
+                .put("maxcpu", 2).put("maxmem", 2 * GIB).put("maxdisk", 32 * GIB)
+                .put("uptime", running ? 86_400L : 0L);
+            if (live || running) {
+                json.put("cpu", running ? 0.02 + (vmid % 7) / 100.0 : 0.0)
+                    .put("mem", running ? (vmid % 4 + 1) * GIB / 4 : 0L)
+                    .put("disk", 8 * GIB);
+            }
+            return json;
+        }
+
+        /**
+         * Renders the guest configuration.
+         *
+         * @return the configuration
+         */
+        private ObjectNode config() {
+            ObjectNode config = MAPPER.createObjectNode().put("cores", 2).put("memory", 2048)
+                .put("digest", Integer.toHexString(vmid * 31));
+            if ("lxc".equals(type)) {
+                config.put("hostname", name()).put("swap", 512).put("ostype", "debian")
+                    .put("rootfs", "store1:vm-" + vmid + "-disk-0,size=8G")
+                    .put("net0", "name=eth0,bridge=vmbr0,ip=dhcp");
+            } else {
+                config.put("name", name()).put("sockets", 1).put("ostype", "l26")
+                    .put("scsi0", "store1:vm-" + vmid + "-disk-0,size=32G")
+                    .put("net0", "virtio=BC:24:11:00:00:01,bridge=vmbr0");
+            }
+            return config;
+        }
+
+        /**
+         * Renders RRD samples for a timeframe at one sample per minute of an hour.
+         *
+         * @param timeframe the requested timeframe
+         * @return the samples
+         */
+        private ArrayNode rrd(String timeframe) {
+            ArrayNode samples = MAPPER.createArrayNode();
+            boolean running = "running".equals(status);
+            int points = "hour".equals(timeframe) ? 70 : 140;
+            for (int i = 0; i < points; i++) {
+                samples.add(MAPPER.createObjectNode().put("time", BASE_CTIME + i * 60L)
+                    .put("cpu", running ? (vmid % 7 + i % 3) / 100.0 : 0.0)
+                    .put("maxcpu", 2)
+                    .put("mem", running ? (vmid % 4 + 1) * GIB / 4 : 0L)
+                    .put("maxmem", 2 * GIB)
+                    .put("netin", running ? 1_000.0 * i : 0.0)
+                    .put("netout", running ? 500.0 * i : 0.0));
+            }
+            return samples;
+        }
+    }
+
+    /**
+     * Task started by a guest action.
+     *
+     * @param upid the task ID
+     * @param node the node name
+     * @param type the task type
+     * @param id the task subject
+     * @param startTime the start time in epoch seconds
+     * @param endsAtMillis when the task finishes, in epoch milliseconds
+     */
+    private record Task(String upid, String node, String type, String id, long startTime, long endsAtMillis) {
+        /**
+         * Renders the task status.
+         *
+         * @return the status
+         */
+        private ObjectNode toJson() {
+            boolean done = System.currentTimeMillis() >= endsAtMillis;
+            ObjectNode json = MAPPER.createObjectNode().put("upid", upid).put("node", node).put("type", type)
+                .put("id", id).put("user", "root@pam").put("starttime", startTime)
+                .put("status", done ? "stopped" : "running");
+            if (done) {
+                json.put("exitstatus", "OK").put("endtime", endsAtMillis / 1000);
+            }
+            return json;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package io.github.smling.proxmoxmcpserver;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.tools.VmTools;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class FakeProxmoxServerTests {
+
+    private static final String VM_CONFIG = "/nodes/{node}/qemu/{vmid}/config";
+
+    private static FakeProxmoxServer server;
+    private static ProxmoxClient client;
+
+    @BeforeAll
+    static void startServer() throws Exception {
+        server = new FakeProxmoxServer(2, 4, 2).start();
+        client = server.client();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        client.close();
+        server.close();
+    }
+
+    @AfterEach
+    void resetFaults() {
+        server.reset();
+        server.withTaskDuration(Duration.ZERO);
+    }
+
+    @ParameterizedTest
+    @MethodSource("clusterResources")
+    void servesSyntheticClusterResources(String type, int expected) throws Exception {
+        JsonNode resources = client.get("/cluster/resources", Map.of("type", type)).getResponse().path("data");
+
+        assertThat(resources).hasSize(expected);
+        assertThat(resources).allSatisfy(resource -> assertThat(resource.path("node").asText()).startsWith("pve"));
+    }
+
+    @Test
+    void generatesClustersOfThousandsOfGuests() {
+        try (FakeProxmoxServer large = new FakeProxmoxServer(20, 250, 2)) {
+            assertThat(large.guestCount()).isEqualTo(5000);
+            assertThat(large.nodes()).hasSize(20).contains("pve20");
+        }
+    }
+
+    @ParameterizedTest
+    @MethodSource("endpoints")
+    void servesReadEndpoints(String path, String field) throws Exception {
+        JsonNode data = client.get(path).getResponse().path("data");
+
+        JsonNode sample = data.isArray() ? data.get(0) : data;
+        assertThat(sample.has(field)).isTrue();
+    }
+
+    @Test
+    void filtersStorageContentByGuest() throws Exception {
+        JsonNode content = client.get("/nodes/pve1/storage/store1/content", Map.of("content", "backup", "vmid", "101"))
+            .getResponse().path("data");
+
+        assertThat(content).hasSize(1);
+        assertThat(content.get(0).path("volid").asText()).startsWith("store1:backup/vzdump-lxc-101-");
+    }
+
+    @Test
+    void unknownGuestFailsLikeProxmox() {
+        assertThatThrownBy(() -> client.get("/nodes/pve1/qemu/999/config"))
+            .hasMessageContaining("500")
+            .hasMessageContaining("does not exist");
+    }
+
+    @Test
+    void unknownEndpointIsNotImplemented() {
+        assertThatThrownBy(() -> client.get("/nodes/pve1/ceph/status")).hasMessageContaining("501");
+    }
+
+    @Test
+    void injectsEndpointLatency() throws Exception {
+        server.withLatency(VM_CONFIG, Duration.ofMillis(200));
+
+        long started = System.nanoTime();
+        client.get("/nodes/pve1/qemu/100/config");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void injectsSlowNodeLatency() throws Exception {
+        server.withSlowNode("pve2", Duration.ofMillis(200));
+
+        long started = System.nanoTime();
+        client.get("/nodes/pve2/status");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void injectsErrorsAtConfiguredRate() {
+        server.withErrorRate(FakeProxmoxServer.ANY, 1.0, 503);
+
+        assertThatThrownBy(() -> client.get("/version"))
+            .hasMessageContaining("503")
+            .hasMessageContaining("injected failure");
+    }
+
+    @Test
+    void zeroErrorRateNeverFails() throws Exception {
+        server.withErrorRate(FakeProxmoxServer.ANY, 0.0, 503);
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(client.get("/version").getResponse().path("data").path("version").asText()).isEqualTo("8.2.4");
+        }
+    }
+
+    @Test
+    void guestActionsStartTasksAndChangeState() throws Exception {
+        server.withTaskDuration(Duration.ofMinutes(1));
+
+        String upid = client.postForm("/nodes/pve1/qemu/100/status/start", Map.of()).getResponse().path("data")
+            .asText();
+        JsonNode task = client.get("/nodes/pve1/tasks/" + upid + "/status").getResponse().path("data");
+
+        assertThat(upid).startsWith("UPID:pve1:").contains(":qmstart:100:");
+        assertThat(task.path("status").asText()).isEqualTo("running");
+        assertThat(server.guestStatus(100)).isEqualTo("running");
+    }
+
+    @Test
+    void finishedTasksReportExitStatus() throws Exception {
+        String upid = client.postForm("/nodes/pve1/lxc/101/status/stop", Map.of()).getResponse().path("data")
+            .asText();
+        JsonNode task = client.get("/nodes/pve1/tasks/" + upid + "/status").getResponse().path("data");
+
+        assertThat(task.path("status").asText()).isEqualTo("stopped");
+        assertThat(task.path("exitstatus").asText()).isEqualTo("OK");
+        assertThat(server.guestStatus(101)).isEqualTo("stopped");
+    }
+
+    @Test
+    void reproducesPerGuestConfigFanOut() {
+        long before = server.requests(VM_CONFIG);
+
+        new VmTools(client, new ToolsConfig(), new ClusterInventory(client)).getVms();
+
+        assertThat(server.requests(VM_CONFIG) - before).isEqualTo(4);
+    }
+
+    private static Stream<Arguments> clusterResources() {
+        return Stream.of(
+            Arguments.of("vm", 8),
+            Arguments.of("storage", 4),
+            Arguments.of("node", 2)
+        );
+    }
+
+    private static Stream<Arguments> endpoints() {
+        return Stream.of(
+            Arguments.of("/version", "version"),
+            Arguments.of("/nodes", "node"),
+            Arguments.of("/nodes/pve1/status", "cpuinfo"),
+            Arguments.of("/cluster/status", "quorate"),
+            Arguments.of("/nodes/pve1/qemu", "vmid"),
+            Arguments.of("/nodes/pve1/lxc", "vmid"),
+            Arguments.of("/nodes/pve1/qemu/100/config", "scsi0"),
+            Arguments.of("/nodes/pve1/lxc/101/config", "hostname"),
+            Arguments.of("/nodes/pve1/qemu/102/status/current", "status"),
+            Arguments.of("/nodes/pve1/lxc/101/rrddata", "maxmem"),
+            Arguments.of("/nodes/pve1/storage", "storage"),
+            Arguments.of("/nodes/pve1/storage/store1/content", "volid")
+        );
+    }
+}
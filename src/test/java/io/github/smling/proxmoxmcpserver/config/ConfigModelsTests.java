@@ -2,6 +2,7 @@ package io.github.smling.proxmoxmcpserver.config;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -12,6 +13,75 @@ class ConfigModelsTests {
     void configStartsWithDefaultMcpConfig() {
         Config config = new Config();
         assertThat(config.getMcp()).isNotNull();
+        assertThat(config.getTools()).isNotNull();
+        assertThat(config.getCache()).isNotNull();
+    }
+
+    @Test
+    void cacheConfigHasDefaults() {
+        CacheConfig config = new CacheConfig();
+        assertThat(config.isEnabled()).isTrue();
+        assertThat(config.getNodesTtlSeconds()).isEqualTo(60);
+        assertThat(config.getGuestsTtlSeconds()).isEqualTo(15);
+        assertThat(config.getStorageTtlSeconds()).isEqualTo(60);
+        assertThat(config.getRefreshAheadRatio()).isEqualTo(0.8);
+        assertThat(config.getMaxStaleSeconds()).isEqualTo(120);
+        assertThat(config.getRrdMaxSeries()).isEqualTo(4096);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "false,10,5,30,0.5,0",
+        "true,120,30,300,0,600"
+    })
+    void cacheConfigStoresValues(boolean enabled, int nodesTtl, int guestsTtl, int storageTtl, double ratio,
+                                 int maxStale) {
+        CacheConfig config = new CacheConfig();
+        config.setEnabled(enabled);
+        config.setNodesTtlSeconds(nodesTtl);
+        config.setGuestsTtlSeconds(guestsTtl);
+        config.setStorageTtlSeconds(storageTtl);
+        config.setRefreshAheadRatio(ratio);
+        config.setMaxStaleSeconds(maxStale);
+
+        assertThat(config.isEnabled()).isEqualTo(enabled);
+        assertThat(config.getNodesTtlSeconds()).isEqualTo(nodesTtl);
+        assertThat(config.getGuestsTtlSeconds()).isEqualTo(guestsTtl);
+        assertThat(config.getStorageTtlSeconds()).isEqualTo(storageTtl);
+        assertThat(config.getRefreshAheadRatio()).isEqualTo(ratio);
+        assertThat(config.getMaxStaleSeconds()).isEqualTo(maxStale);
+    }
+
+    @Test
+    void toolsConfigHasDefaults() {
+        assertThat(new ToolsConfig().getMaxConcurrency()).isEqualTo(8);
+    }
+
+    @Test
+    void toolsConfigHasCommandPollingDefaults() {
+        ToolsConfig config = new ToolsConfig();
+
+        assertThat(config.getCommandTimeoutSeconds()).isEqualTo(30);
+        assertThat(config.getCommandPollInitialMillis()).isEqualTo(20);
+        assertThat(config.getCommandPollMaxMillis()).isEqualTo(1000);
+        assertThat(config.getCommandOutputMaxBytes()).isEqualTo(65536);
+        assertThat(config.getTaskWaitSeconds()).isZero();
+        assertThat(config.getTaskPollInitialMillis()).isEqualTo(250);
+        assertThat(config.getTaskPollMaxMillis()).isEqualTo(2000);
+        assertThat(config.getStatsConcurrency()).isEqualTo(16);
+        assertThat(config.getStatsTimeoutSeconds()).isEqualTo(10);
+        assertThat(config.getBulkConcurrency()).isEqualTo(16);
+        assertThat(config.getBulkPerNodeConcurrency()).isEqualTo(4);
+        assertThat(config.getRollingWaveTimeoutSeconds()).isEqualTo(300);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"1", "32"})
+    void toolsConfigStoresValues(int maxConcurrency) {
+        ToolsConfig config = new ToolsConfig();
+        config.setMaxConcurrency(maxConcurrency);
+
+        assertThat(config.getMaxConcurrency()).isEqualTo(maxConcurrency);
     }
 
     @Test
@@ -20,6 +90,119 @@ class ConfigModelsTests {
         assertThat(config.getPort()).isEqualTo(8006);
         assertThat(config.isVerifySsl()).isTrue();
         assertThat(config.getService()).isEqualTo("PVE");
+        assertThat(config.getHttp()).isNotNull();
+        assertThat(config.getEndpoints()).isEmpty();
+    }
+
+    @Test
+    void httpConfigHasDefaults() {
+        HttpConfig config = new HttpConfig();
+        assertThat(config.isPooled()).isFalse();
+        assertThat(config.getMaxConnections()).isEqualTo(16);
+        assertThat(config.getIdleTimeoutSeconds()).isEqualTo(30);
+        assertThat(config.getConnectTimeoutSeconds()).isEqualTo(5);
+        assertThat(config.getRequestTimeoutSeconds()).isEqualTo(10);
+        assertThat(config.getTlsSessionTimeoutSeconds()).isEqualTo(3600);
+        assertThat(config.isCoalesceGets()).isTrue();
+        assertThat(config.getLoadBalancing()).isEqualTo(LoadBalancing.LEAST_OUTSTANDING);
+        assertThat(config.getHealthCheckIntervalSeconds()).isEqualTo(15);
+        assertThat(config.getRetry().getMaxAttempts()).isEqualTo(3);
+        assertThat(config.getRetry().getInitialBackoffMillis()).isEqualTo(100);
+        assertThat(config.getRetry().getMaxBackoffMillis()).isEqualTo(2000);
+        assertThat(config.getRetry().getRetryStatuses()).containsExactly(500, 502, 503, 504, 596);
+        assertThat(config.getCircuitBreaker().isEnabled()).isTrue();
+        assertThat(config.getCircuitBreaker().getFailureThreshold()).isEqualTo(5);
+        assertThat(config.getCircuitBreaker().getOpenSeconds()).isEqualTo(30);
+        assertThat(config.getThrottle().isEnabled()).isTrue();
+        assertThat(config.getThrottle().getRequestsPerSecond()).isZero();
+        assertThat(config.getThrottle().getBurst()).isEqualTo(20);
+        assertThat(config.getThrottle().getMaxInFlight()).isEqualTo(16);
+        assertThat(config.getThrottle().getPerNodeRequestsPerSecond()).isZero();
+        assertThat(config.getThrottle().getPerNodeBurst()).isEqualTo(10);
+        assertThat(config.getThrottle().getPerNodeMaxInFlight()).isEqualTo(4);
+        assertThat(config.getThrottle().isPrioritizeMutations()).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "true,5.5,3,2,1.5,2,1,false",
+        "false,0,1,0,0,1,0,true"
+    })
+    void throttleConfigStoresValues(boolean enabled, double rate, int burst, int maxInFlight, double nodeRate,
+                                    int nodeBurst, int nodeMaxInFlight, boolean prioritize) {
+        ThrottleConfig config = new ThrottleConfig();
+        config.setEnabled(enabled);
+        config.setRequestsPerSecond(rate);
+        config.setBurst(burst);
+        config.setMaxInFlight(maxInFlight);
+        config.setPerNodeRequestsPerSecond(nodeRate);
+        config.setPerNodeBurst(nodeBurst);
+        config.setPerNodeMaxInFlight(nodeMaxInFlight);
+        config.setPrioritizeMutations(prioritize);
+        HttpConfig http = new HttpConfig();
+        http.setThrottle(config);
+
+        assertThat(http.getThrottle().isEnabled()).isEqualTo(enabled);
+        assertThat(http.getThrottle().getRequestsPerSecond()).isEqualTo(rate);
+        assertThat(http.getThrottle().getBurst()).isEqualTo(burst);
+        assertThat(http.getThrottle().getMaxInFlight()).isEqualTo(maxInFlight);
+        assertThat(http.getThrottle().getPerNodeRequestsPerSecond()).isEqualTo(nodeRate);
+        assertThat(http.getThrottle().getPerNodeBurst()).isEqualTo(nodeBurst);
+        assertThat(http.getThrottle().getPerNodeMaxInFlight()).isEqualTo(nodeMaxInFlight);
+        assertThat(http.getThrottle().isPrioritizeMutations()).isEqualTo(prioritize);
+    }
+
+    @Test
+    void resilienceConfigsStoreValues() {
+        RetryConfig retry = new RetryConfig();
+        retry.setMaxAttempts(5);
+        retry.setInitialBackoffMillis(50);
+        retry.setMaxBackoffMillis(500);
+        retry.setRetryStatuses(List.of(503));
+        CircuitBreakerConfig breaker = new CircuitBreakerConfig();
+        breaker.setEnabled(false);
+        breaker.setFailureThreshold(2);
+        breaker.setOpenSeconds(5);
+        HttpConfig http = new HttpConfig();
+        http.setRetry(retry);
+        http.setCircuitBreaker(breaker);
+        http.setLoadBalancing("round_robin");
+        http.setHealthCheckIntervalSeconds(0);
+
+        assertThat(http.getRetry().getMaxAttempts()).isEqualTo(5);
+        assertThat(http.getRetry().getInitialBackoffMillis()).isEqualTo(50);
+        assertThat(http.getRetry().getMaxBackoffMillis()).isEqualTo(500);
+        assertThat(http.getRetry().getRetryStatuses()).containsExactly(503);
+        assertThat(http.getCircuitBreaker().isEnabled()).isFalse();
+        assertThat(http.getCircuitBreaker().getFailureThreshold()).isEqualTo(2);
+        assertThat(http.getCircuitBreaker().getOpenSeconds()).isEqualTo(5);
+        assertThat(http.getLoadBalancing()).isEqualTo(LoadBalancing.ROUND_ROBIN);
+        assertThat(http.getHealthCheckIntervalSeconds()).isZero();
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "true,4,15,2,20,600,false",
+        "false,32,60,10,30,0,true"
+    })
+    void httpConfigStoresValues(boolean pooled, int maxConnections, int idleTimeout, int connectTimeout,
+                                int requestTimeout, int tlsSessionTimeout, boolean coalesceGets) {
+        HttpConfig config = new HttpConfig();
+        config.setPooled(pooled);
+        config.setMaxConnections(maxConnections);
+        config.setIdleTimeoutSeconds(idleTimeout);
+        config.setConnectTimeoutSeconds(connectTimeout);
+        config.setRequestTimeoutSeconds(requestTimeout);
+        config.setTlsSessionTimeoutSeconds(tlsSessionTimeout);
+        config.setCoalesceGets(coalesceGets);
+
+        assertThat(config.isPooled()).isEqualTo(pooled);
+        assertThat(config.getMaxConnections()).isEqualTo(maxConnections);
+        assertThat(config.getIdleTimeoutSeconds()).isEqualTo(idleTimeout);
+        assertThat(config.getConnectTimeoutSeconds()).isEqualTo(connectTimeout);
+        assertThat(config.getRequestTimeoutSeconds()).isEqualTo(requestTimeout);
+        assertThat(config.getTlsSessionTimeoutSeconds()).isEqualTo(tlsSessionTimeout);
+        assertThat(config.isCoalesceGets()).isEqualTo(coalesceGets);
     }
 
     @Test
@@ -41,8 +224,10 @@ class ConfigModelsTests {
         config.setPort(port);
         config.setVerifySsl(verifySsl);
         config.setService(service);
+        config.setEndpoints(List.of(host + "-2"));
 
         assertThat(config.getHost()).isEqualTo(host);
+        assertThat(config.getEndpoints()).containsExactly(host + "-2");
         assertThat(config.getPort()).isEqualTo(port);
         assertThat(config.isVerifySsl()).isEqualTo(verifySsl);
         assertThat(config.getService()).isEqualTo(service);
@@ -114,13 +299,19 @@ class ConfigModelsTests {
         ProxmoxConfig proxmox = new ProxmoxConfig();
         AuthConfig auth = new AuthConfig();
         McpConfig mcp = new McpConfig();
+        ToolsConfig tools = new ToolsConfig();
+        CacheConfig cache = new CacheConfig();
 
         config.setProxmox(proxmox);
         config.setAuth(auth);
         config.setMcp(mcp);
+        config.setTools(tools);
+        config.setCache(cache);
 
         assertThat(config.getProxmox()).isSameAs(proxmox);
         assertThat(config.getAuth()).isSameAs(auth);
         assertThat(config.getMcp()).isSameAs(mcp);
+        assertThat(config.getTools()).isSameAs(tools);
+        assertThat(config.getCache()).isSameAs(cache);
     }
 }
@@ -0,0 +1,34 @@
+package io.github.smling.proxmoxmcpserver.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+
+class LoadBalancingTests {
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void fromStringDefaultsToLeastOutstandingWhenBlank(String value) {
+        assertThat(LoadBalancing.fromString(value)).isEqualTo(LoadBalancing.LEAST_OUTSTANDING);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "least_outstanding,LEAST_OUTSTANDING",
+        "round-robin,ROUND_ROBIN",
+        "ROUND_ROBIN,ROUND_ROBIN"
+    })
+    void fromStringParsesKnownValues(String value, LoadBalancing expected) {
+        assertThat(LoadBalancing.fromString(value)).isEqualTo(expected);
+    }
+
+    @Test
+    void fromStringThrowsForUnknownValue() {
+        assertThatThrownBy(() -> LoadBalancing.fromString("random"))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.corsinvest.proxmoxve.api.Result;
+import java.net.ConnectException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpMethod;
+
+class ApiMetricsTests {
+
+    private final ApiMetrics metrics = new ApiMetrics();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        metrics.bindTo(registry);
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "/nodes,/nodes",
+        "/nodes/pve1/qemu,/nodes/{node}/qemu",
+        "/nodes/pve1/qemu/100/config,/nodes/{node}/qemu/{vmid}/config",
+        "/nodes/pve1/lxc/200/status/current,/nodes/{node}/lxc/{vmid}/status/current",
+        "/nodes/pve1/storage/local/content/local:iso/debian.iso,/nodes/{node}/storage/{storage}/content/{volume}",
+        "/nodes/pve1/tasks/UPID:pve1:0001:start:/status,/nodes/{node}/tasks/{upid}/status",
+        "/nodes/storage/qemu/101/snapshot/pre/rollback,/nodes/{node}/qemu/{vmid}/snapshot/{snapname}/rollback",
+        "/cluster/resources,/cluster/resources",
+        "/cluster/backup/42,/cluster/backup/{id}",
+        "NULL,none"
+    }, nullValues = "NULL")
+    void normalizesPathTemplates(String path, String template) {
+        assertThat(ApiMetrics.pathTemplate(path)).isEqualTo(template);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"101,INFORMATIONAL", "200,SUCCESS", "302,REDIRECTION", "403,CLIENT_ERROR", "596,SERVER_ERROR",
+        "0,UNKNOWN"})
+    void mapsStatusToOutcome(int status, String outcome) {
+        assertThat(ApiMetrics.outcome(status)).isEqualTo(outcome);
+    }
+
+    @Test
+    void timesCallsByTemplateStatusAndOutcome() throws Exception {
+        Result result = PooledHttpTransport.toResult(HttpMethod.GET, "/nodes/pve1/qemu", null, 596, new byte[0]);
+
+        metrics.send((method, path, params) -> result, HttpMethod.GET, "/nodes/pve1/qemu", null);
+        metrics.send((method, path, params) -> result, HttpMethod.GET, "/nodes/pve2/qemu", null);
+
+        assertThat(registry.get("proxmox.api.requests")
+            .tag("method", "GET")
+            .tag("uri", "/nodes/{node}/qemu")
+            .tag("status", "596")
+            .tag("outcome", "SERVER_ERROR")
+            .tag("exception", "none")
+            .timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    void tagsTransportFailures() {
+        assertThatThrownBy(() -> metrics.send((method, path, params) -> {
+            throw new ConnectException("Connection refused");
+        }, HttpMethod.POST, "/nodes/pve1/qemu/100/status/start", null)).isInstanceOf(ConnectException.class);
+
+        assertThat(registry.get("proxmox.api.requests")
+            .tag("uri", "/nodes/{node}/qemu/{vmid}/status/start")
+            .tag("status", "IO_ERROR")
+            .tag("outcome", "UNKNOWN")
+            .tag("exception", "ConnectException")
+            .timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void tracksInFlightCallsAndReceivedBytes() throws Exception {
+        AtomicReference<Double> during = new AtomicReference<>();
+
+        metrics.send((method, path, params) -> {
+            during.set(registry.get("proxmox.api.in.flight").gauge().value());
+            return null;
+        }, HttpMethod.GET, "/version", null);
+        metrics.recordBytesReceived(512);
+        metrics.recordBytesReceived(128);
+
+        assertThat(during.get()).isEqualTo(1.0);
+        assertThat(registry.get("proxmox.api.in.flight").gauge().value()).isZero();
+        assertThat(registry.get("proxmox.api.received").functionCounter().count()).isEqualTo(640.0);
+        assertThat(registry.get("proxmox.api.requests").tag("status", "NONE").timer().count()).isEqualTo(1);
+    }
+}
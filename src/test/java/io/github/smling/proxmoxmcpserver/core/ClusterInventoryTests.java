@@ -0,0 +1,327 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+import it.corsinvest.proxmoxve.api.Result;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class ClusterInventoryTests {
+
+    private static final Map<String, String> GUESTS = Map.of("type", "vm");
+    private static final Map<String, String> NODES = Map.of("type", "node");
+
+    private final ObjectMapper mapper = TestSupport.mapper();
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicReference<Runnable> refreshAhead = new AtomicReference<>();
+    private ProxmoxClient proxmox;
+    private ScheduledExecutorService scheduler;
+
+    @BeforeEach
+    void setUp() {
+        proxmox = mock(ProxmoxClient.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            ((Runnable) invocation.getArgument(0)).run();
+            return null;
+        }).when(scheduler).execute(any());
+        doAnswer(invocation -> {
+            refreshAhead.set(invocation.getArgument(0));
+            return null;
+        }).when(scheduler).scheduleWithFixedDelay(any(), anyLong(), anyLong(), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void groupsGuestsByTypeInStableOrder() throws Exception {
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve2").put("vmid", 200));
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve1").put("vmid", 1000));
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve1").put("vmid", 101));
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 300));
+        resources.add(mapper.createObjectNode().put("type", "sdn").put("node", "pve1"));
+        when(proxmox.get("/cluster/resources", GUESTS)).thenReturn(TestSupport.resultWithData(resources));
+
+        ClusterInventory inventory = new ClusterInventory(proxmox);
+
+        assertThat(inventory.vms()).extracting(vm -> vm.path("vmid").asInt()).containsExactly(101, 1000, 200);
+        assertThat(inventory.containers()).extracting(ct -> ct.path("vmid").asInt()).containsExactly(300);
+    }
+
+    @Test
+    void readsNodesAndStoragePerType() throws Exception {
+        ArrayNode storage = mapper.createArrayNode();
+        storage.add(mapper.createObjectNode().put("type", "storage").put("node", "pve2").put("storage", "local"));
+        storage.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "nfs"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "storage")))
+            .thenReturn(TestSupport.resultWithData(storage));
+        when(proxmox.get("/cluster/resources", Map.of("type", "node"))).thenReturn(TestSupport.resultWithData(
+            mapper.createArrayNode().add(mapper.createObjectNode().put("type", "node").put("node", "pve1"))));
+
+        ClusterInventory inventory = new ClusterInventory(proxmox);
+
+        assertThat(inventory.storage()).extracting(store -> store.path("node").asText())
+            .containsExactly("pve1", "pve2");
+        assertThat(inventory.nodes()).hasSize(1);
+    }
+
+    @ParameterizedTest
+    @MethodSource("unusableResponses")
+    void rejectsMissingResourceList(Result result) throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS)).thenReturn(result);
+
+        assertThatThrownBy(() -> new ClusterInventory(proxmox).vms())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no cluster resources");
+    }
+
+    @Test
+    void propagatesApiErrors() throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS)).thenThrow(new IllegalStateException("Proxmox API error: 403"));
+
+        assertThatThrownBy(() -> new ClusterInventory(proxmox).vms())
+            .hasMessageContaining("403");
+    }
+
+    @Test
+    void uncachedInventoryFetchesEveryRead() throws Exception {
+        stubGuests(100);
+        ClusterInventory inventory = new ClusterInventory(proxmox);
+
+        inventory.vms();
+        inventory.containers();
+
+        verify(proxmox, times(2)).get("/cluster/resources", GUESTS);
+    }
+
+    @Test
+    void servesFreshEntriesFromCache() throws Exception {
+        stubGuests(100);
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        inventory.containers();
+
+        verify(proxmox, times(1)).get("/cluster/resources", GUESTS);
+    }
+
+    @Test
+    void servesStaleNodeEntryWhileRevalidating() throws Exception {
+        when(proxmox.get("/cluster/resources", NODES))
+            .thenReturn(nodes("pve1"))
+            .thenReturn(nodes("pve2"));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.nodes();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        JsonNode stale = inventory.nodes().get(0);
+        JsonNode refreshed = inventory.nodes().get(0);
+
+        assertThat(stale.path("node").asText()).isEqualTo("pve1");
+        assertThat(refreshed.path("node").asText()).isEqualTo("pve2");
+        verify(scheduler).execute(any());
+    }
+
+    @Test
+    void keepsStaleNodeEntryWhenRevalidationFails() throws Exception {
+        when(proxmox.get("/cluster/resources", NODES))
+            .thenReturn(nodes("pve1"))
+            .thenThrow(new IllegalStateException("Proxmox API error: 500"));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.nodes();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(inventory.nodes().get(0).path("node").asText()).isEqualTo("pve1");
+        assertThat(inventory.nodes().get(0).path("node").asText()).isEqualTo("pve1");
+    }
+
+    @Test
+    void neverServesExpiredGuestStatus() throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenReturn(guest(100, "running"))
+            .thenReturn(guest(100, "stopped"));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        assertThat(inventory.vms().get(0).path("status").asText()).isEqualTo("running");
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(inventory.vms().get(0).path("status").asText()).isEqualTo("stopped");
+        verify(scheduler, never()).execute(any());
+    }
+
+    @Test
+    void failsInsteadOfServingExpiredGuestsWhenReloadFails() throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenReturn(guest(100, "running"))
+            .thenThrow(new IllegalStateException("Proxmox API error: 500"));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThatThrownBy(inventory::vms).hasMessageContaining("500");
+    }
+
+    @Test
+    void reloadsSynchronouslyBeyondStaleWindow() throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenReturn(guests(100))
+            .thenReturn(guests(200));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(60));
+
+        assertThat(inventory.vms().get(0).path("vmid").asInt()).isEqualTo(200);
+        verify(scheduler, never()).execute(any());
+    }
+
+    @Test
+    void refreshesRecentlyReadEntriesAhead() throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenReturn(guests(100))
+            .thenReturn(guests(200));
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(8));
+        inventory.vms();
+        refreshAhead.get().run();
+
+        assertThat(inventory.vms().get(0).path("vmid").asInt()).isEqualTo(200);
+        verify(scheduler).scheduleWithFixedDelay(any(), eq(TimeUnit.SECONDS.toNanos(2)),
+            eq(TimeUnit.SECONDS.toNanos(2)), eq(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    void skipsRefreshAheadForIdleEntries() throws Exception {
+        stubGuests(100);
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        refreshAhead.get().run();
+
+        verify(proxmox, times(1)).get("/cluster/resources", GUESTS);
+    }
+
+    @Test
+    void invalidateForcesReload() throws Exception {
+        stubGuests(100);
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        inventory.invalidate();
+        inventory.vms();
+
+        verify(proxmox, times(2)).get("/cluster/resources", GUESTS);
+    }
+
+    @Test
+    void invalidateDiscardsLoadInFlight() throws Exception {
+        AtomicReference<ClusterInventory> inventory = new AtomicReference<>();
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenAnswer(invocation -> {
+                inventory.get().invalidate();
+                return guests(100);
+            })
+            .thenReturn(guests(200));
+        inventory.set(cached(cacheConfig()));
+
+        assertThat(inventory.get().vms().get(0).path("vmid").asInt()).isEqualTo(100);
+        assertThat(inventory.get().vms().get(0).path("vmid").asInt()).isEqualTo(200);
+        assertThat(inventory.get().vms().get(0).path("vmid").asInt()).isEqualTo(200);
+        verify(proxmox, times(2)).get("/cluster/resources", GUESTS);
+    }
+
+    @Test
+    void invalidateDiscardsBackgroundRefreshInFlight() throws Exception {
+        AtomicReference<ClusterInventory> inventory = new AtomicReference<>();
+        when(proxmox.get("/cluster/resources", GUESTS))
+            .thenReturn(guests(100))
+            .thenAnswer(invocation -> {
+                inventory.get().invalidate();
+                return guests(150);
+            })
+            .thenReturn(guests(200));
+        inventory.set(cached(cacheConfig()));
+
+        inventory.get().vms();
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(15));
+        inventory.get().vms();
+
+        assertThat(inventory.get().vms().get(0).path("vmid").asInt()).isEqualTo(200);
+    }
+
+    @Test
+    void closeStopsScheduler() throws Exception {
+        stubGuests(100);
+        ClusterInventory inventory = cached(cacheConfig());
+
+        inventory.vms();
+        inventory.close();
+
+        verify(scheduler).shutdownNow();
+    }
+
+    private ClusterInventory cached(CacheConfig config) {
+        return new ClusterInventory(proxmox, config, clock::get, () -> scheduler);
+    }
+
+    private static CacheConfig cacheConfig() {
+        CacheConfig config = new CacheConfig();
+        config.setGuestsTtlSeconds(10);
+        config.setNodesTtlSeconds(10);
+        config.setRefreshAheadRatio(0.8);
+        config.setMaxStaleSeconds(30);
+        return config;
+    }
+
+    private void stubGuests(int vmid) throws Exception {
+        when(proxmox.get("/cluster/resources", GUESTS)).thenReturn(guests(vmid));
+    }
+
+    private Result guests(int vmid) {
+        return TestSupport.resultWithData(mapper.createArrayNode()
+            .add(mapper.createObjectNode().put("type", "qemu").put("node", "pve1").put("vmid", vmid)));
+    }
+
+    private Result guest(int vmid, String status) {
+        return TestSupport.resultWithData(mapper.createArrayNode().add(mapper.createObjectNode()
+            .put("type", "qemu").put("node", "pve1").put("vmid", vmid).put("status", status)));
+    }
+
+    private Result nodes(String node) {
+        return TestSupport.resultWithData(mapper.createArrayNode()
+            .add(mapper.createObjectNode().put("type", "node").put("node", node)));
+    }
+
+    private static Stream<Result> unusableResponses() {
+        JsonNode object = TestSupport.mapper().createObjectNode();
+        return Stream.of(null, TestSupport.resultWithResponse(null), TestSupport.resultWithData(object));
+    }
+}
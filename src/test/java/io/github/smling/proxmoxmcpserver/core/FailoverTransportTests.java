@@ -0,0 +1,171 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.LoadBalancing;
+import it.corsinvest.proxmoxve.api.Result;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.http.HttpMethod;
+
+class FailoverTransportTests {
+
+    private final Result ok = TestSupport.resultWithData(TestSupport.mapper().createArrayNode());
+    private ProxmoxTransport first;
+    private ProxmoxTransport second;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        first = mock(ProxmoxTransport.class);
+        second = mock(ProxmoxTransport.class);
+        when(first.send(any(), any(), any())).thenReturn(ok);
+        when(second.send(any(), any(), any())).thenReturn(ok);
+    }
+
+    @Test
+    void roundRobinAlternatesGets() throws Exception {
+        FailoverTransport transport = failover(LoadBalancing.ROUND_ROBIN);
+
+        for (int i = 0; i < 4; i++) {
+            transport.send(HttpMethod.GET, "/nodes", null);
+        }
+
+        verify(first, times(2)).send(HttpMethod.GET, "/nodes", null);
+        verify(second, times(2)).send(HttpMethod.GET, "/nodes", null);
+    }
+
+    @Test
+    void leastOutstandingAvoidsBusyEndpoint() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(first.send(HttpMethod.GET, "/slow", null)).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return ok;
+        });
+        FailoverTransport transport = failover(LoadBalancing.LEAST_OUTSTANDING);
+
+        CompletableFuture<Result> slow = CompletableFuture.supplyAsync(() -> {
+            try {
+                return transport.send(HttpMethod.GET, "/slow", null);
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        transport.send(HttpMethod.GET, "/nodes", null);
+        transport.send(HttpMethod.GET, "/nodes", null);
+        release.countDown();
+        slow.get(5, TimeUnit.SECONDS);
+
+        verify(second, times(2)).send(HttpMethod.GET, "/nodes", null);
+        verify(first, never()).send(HttpMethod.GET, "/nodes", null);
+    }
+
+    @Test
+    void getFailsOverAndSkipsDownEndpoint() throws Exception {
+        when(first.send(any(), any(), any())).thenThrow(new HttpTimeoutException("request timed out"));
+        FailoverTransport transport = failover(LoadBalancing.ROUND_ROBIN);
+
+        assertThat(transport.send(HttpMethod.GET, "/nodes", null)).isSameAs(ok);
+        assertThat(transport.send(HttpMethod.GET, "/nodes", null)).isSameAs(ok);
+        assertThat(transport.send(HttpMethod.GET, "/nodes", null)).isSameAs(ok);
+
+        assertThat(transport.healthyEndpoints()).containsExactly("pve2");
+        verify(first, times(1)).send(any(), any(), any());
+        verify(second, times(3)).send(HttpMethod.GET, "/nodes", null);
+    }
+
+    @ParameterizedTest
+    @MethodSource("mutationFailures")
+    void mutationsGoToPrimaryAndFailOverOnlyBeforeConnecting(IOException error, boolean failsOver) throws Exception {
+        Map<String, Object> form = Map.of("vmid", "100");
+        when(first.send(eq(HttpMethod.POST), any(), any())).thenThrow(error);
+        FailoverTransport transport = failover(LoadBalancing.ROUND_ROBIN);
+
+        if (failsOver) {
+            assertThat(transport.send(HttpMethod.POST, "/nodes/pve1/qemu", form)).isSameAs(ok);
+            verify(second).send(HttpMethod.POST, "/nodes/pve1/qemu", form);
+        } else {
+            assertThatThrownBy(() -> transport.send(HttpMethod.POST, "/nodes/pve1/qemu", form)).isSameAs(error);
+            verify(second, never()).send(any(), any(), any());
+        }
+    }
+
+    @Test
+    void throwsLastErrorWhenEveryEndpointFails() throws Exception {
+        when(first.send(any(), any(), any())).thenThrow(new ConnectException("first down"));
+        when(second.send(any(), any(), any())).thenThrow(new ConnectException("second down"));
+        FailoverTransport transport = failover(LoadBalancing.LEAST_OUTSTANDING);
+
+        assertThatThrownBy(() -> transport.send(HttpMethod.DELETE, "/nodes/pve1/qemu/100", null))
+            .isInstanceOf(ConnectException.class)
+            .hasMessage("second down");
+        assertThat(transport.healthyEndpoints()).isEmpty();
+    }
+
+    @Test
+    void healthCheckMarksEndpointsDownAndUp() throws Exception {
+        Result up = PooledHttpTransport.toResult(HttpMethod.GET, "/version", null, 200, new byte[0]);
+        Result down = PooledHttpTransport.toResult(HttpMethod.GET, "/version", null, 503, new byte[0]);
+        when(second.send(HttpMethod.GET, "/version", null)).thenReturn(down).thenReturn(up);
+        when(first.send(HttpMethod.GET, "/version", null)).thenReturn(up);
+        FailoverTransport transport = failover(LoadBalancing.ROUND_ROBIN);
+
+        transport.checkHealth();
+        assertThat(transport.healthyEndpoints()).containsExactly("pve1");
+        transport.checkHealth();
+        assertThat(transport.healthyEndpoints()).containsExactly("pve1", "pve2");
+    }
+
+    @Test
+    void closeClosesEveryEndpoint() {
+        failover(LoadBalancing.ROUND_ROBIN).close();
+
+        verify(first).close();
+        verify(second).close();
+    }
+
+    @Test
+    void rejectsEmptyEndpointList() {
+        assertThatThrownBy(() -> new FailoverTransport(List.of(), LoadBalancing.ROUND_ROBIN, 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Stream<Arguments> mutationFailures() {
+        return Stream.of(
+            Arguments.of(new ConnectException("Connection refused"), true),
+            Arguments.of(new java.net.http.HttpConnectTimeoutException("connect timed out"), true),
+            Arguments.of(new HttpTimeoutException("request timed out"), false),
+            Arguments.of(new IOException("connection reset"), false)
+        );
+    }
+
+    private FailoverTransport failover(LoadBalancing strategy) {
+        return new FailoverTransport(List.of(
+            new FailoverTransport.Endpoint("pve1", first),
+            new FailoverTransport.Endpoint("pve2", second)
+        ), strategy, 0);
+    }
+}
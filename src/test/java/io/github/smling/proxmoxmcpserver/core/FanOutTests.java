@@ -0,0 +1,171 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class FanOutTests {
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 64})
+    void mapPreservesInputOrder(int maxConcurrency) {
+        FanOut fanOut = new FanOut(maxConcurrency);
+        List<Integer> items = IntStream.range(0, 50).boxed().toList();
+
+        List<Integer> results = fanOut.map(items, item -> {
+            Thread.sleep((50 - item) % 5);
+            return item * 2;
+        }, (item, error) -> -1);
+
+        assertThat(results).isEqualTo(items.stream().map(item -> item * 2).toList());
+    }
+
+    @Test
+    void mapNeverExceedsConcurrencyCap() {
+        FanOut fanOut = new FanOut(3);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        fanOut.map(IntStream.range(0, 30).boxed().toList(), item -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(5);
+            inFlight.decrementAndGet();
+            return item;
+        }, (item, error) -> item);
+
+        assertThat(peak.get()).isBetween(1, 3);
+    }
+
+    @Test
+    void mapRunsCallsConcurrently() {
+        FanOut fanOut = new FanOut(8);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+
+        fanOut.map(IntStream.range(0, 16).boxed().toList(), item -> {
+            peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            inFlight.decrementAndGet();
+            return item;
+        }, (item, error) -> item);
+
+        assertThat(peak.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void mapUsesFallbackForFailedItems() {
+        FanOut fanOut = new FanOut(4);
+
+        List<String> results = fanOut.map(List.of("a", "b", "c"), item -> {
+            if ("b".equals(item)) {
+                throw new IllegalStateException("boom");
+            }
+            return item.toUpperCase();
+        }, (item, error) -> item + ":" + error.getMessage());
+
+        assertThat(results).containsExactly("A", "b:boom", "C");
+    }
+
+    @Test
+    void mapPropagatesFallbackFailures() {
+        FanOut fanOut = new FanOut(4);
+
+        assertThatThrownBy(() -> fanOut.map(List.of("a", "b"), item -> {
+            throw new IllegalStateException("boom");
+        }, (item, error) -> {
+            throw new IllegalArgumentException(item);
+        })).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4})
+    void mapTimesOutSlowItems(int maxConcurrency) {
+        FanOut fanOut = new FanOut(maxConcurrency);
+        long started = System.nanoTime();
+
+        List<String> results = fanOut.map(List.of("a", "slow", "c"), item -> {
+            if ("slow".equals(item)) {
+                Thread.sleep(10_000);
+            }
+            return item.toUpperCase();
+        }, (item, error) -> error instanceof TimeoutException ? item + ":timeout" : item, Duration.ofMillis(100));
+
+        assertThat(results).containsExactly("A", "slow:timeout", "C");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void mapTimeoutKeepsTaskFailures() {
+        FanOut fanOut = new FanOut(2);
+
+        List<String> results = fanOut.map(List.of("a", "b"), item -> {
+            if ("b".equals(item)) {
+                throw new IllegalStateException("boom");
+            }
+            return item;
+        }, (item, error) -> item + ":" + error.getMessage(), Duration.ofSeconds(5));
+
+        assertThat(results).containsExactly("a", "b:boom");
+    }
+
+    @Test
+    void mapGroupedCapsEachGroup() {
+        FanOut fanOut = new FanOut(16);
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        Map<String, AtomicInteger> peak = new ConcurrentHashMap<>();
+        List<String> items = IntStream.range(0, 30).mapToObj(i -> (i % 3 == 0 ? "b" : "a") + i).toList();
+
+        List<String> results = fanOut.mapGrouped(items, item -> item.substring(0, 1), 2, item -> {
+            String group = item.substring(0, 1);
+            int current = inFlight.computeIfAbsent(group, key -> new AtomicInteger()).incrementAndGet();
+            peak.computeIfAbsent(group, key -> new AtomicInteger()).accumulateAndGet(current, Math::max);
+            Thread.sleep(5);
+            inFlight.get(group).decrementAndGet();
+            return item.toUpperCase();
+        }, (item, error) -> item);
+
+        assertThat(results).isEqualTo(items.stream().map(String::toUpperCase).toList());
+        assertThat(peak.get("a").get()).isBetween(1, 2);
+        assertThat(peak.get("b").get()).isBetween(1, 2);
+    }
+
+    @Test
+    void mapGroupedDoesNotLetBusyGroupBlockOthers() {
+        FanOut fanOut = new FanOut(2);
+        CountDownLatch otherGroupRan = new CountDownLatch(1);
+        List<String> items = List.of("busy-1", "busy-2", "busy-3", "busy-4", "other-1");
+
+        List<String> results = fanOut.mapGrouped(items, item -> item.substring(0, item.indexOf('-')), 1, item -> {
+            if (item.startsWith("busy")) {
+                return otherGroupRan.await(5, TimeUnit.SECONDS) ? item : "starved";
+            }
+            otherGroupRan.countDown();
+            return item;
+        }, (item, error) -> item + ":" + error.getMessage());
+
+        assertThat(results).containsExactlyElementsOf(items);
+    }
+
+    @Test
+    void mapReturnsEmptyListForNoItems() {
+        assertThat(new FanOut(4).map(List.<String>of(), String::length, (item, error) -> 0)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {0, -3})
+    void nonPositiveCapMeansSequential(int maxConcurrency) {
+        assertThat(new FanOut(maxConcurrency).getMaxConcurrency()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,119 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.smling.proxmoxmcpserver.config.CircuitBreakerConfig;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class NodeCircuitBreakerTests {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final NodeCircuitBreaker breaker = new NodeCircuitBreaker(config(true), clock::get);
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "/nodes/pve1/qemu/100/status/current,pve1",
+        "/nodes/pve2,pve2",
+        "/nodes,NULL",
+        "/nodes/,NULL",
+        "/cluster/resources,NULL",
+        "NULL,NULL"
+    }, nullValues = "NULL")
+    void extractsNodeFromPath(String path, String node) {
+        assertThat(NodeCircuitBreaker.nodeOf(path)).isEqualTo(node);
+    }
+
+    @ParameterizedTest
+    @CsvSource({"502,true", "503,true", "504,true", "595,true", "596,true", "500,false", "404,false", "200,false"})
+    void classifiesNodeFailureStatuses(int status, boolean failure) {
+        assertThat(NodeCircuitBreaker.isNodeFailure(status)).isEqualTo(failure);
+    }
+
+    @Test
+    void opensAfterConsecutiveFailuresAndRejectsRequests() {
+        fail("pve1", 3);
+
+        assertThat(breaker.state("pve1")).isEqualTo(NodeCircuitBreaker.State.OPEN);
+        assertThatThrownBy(() -> breaker.acquire("pve1"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("node pve1 is unavailable");
+        assertThatCode(() -> breaker.acquire("pve2")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void successResetsFailureCount() {
+        fail("pve1", 2);
+        breaker.acquire("pve1");
+        breaker.recordSuccess("pve1");
+        fail("pve1", 2);
+
+        assertThat(breaker.state("pve1")).isEqualTo(NodeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void admitsSingleProbeAfterOpenPeriod() {
+        fail("pve1", 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(breaker.state("pve1")).isEqualTo(NodeCircuitBreaker.State.HALF_OPEN);
+        breaker.acquire("pve1");
+        assertThatThrownBy(() -> breaker.acquire("pve1")).isInstanceOf(IllegalStateException.class);
+
+        breaker.recordSuccess("pve1");
+        assertThat(breaker.state("pve1")).isEqualTo(NodeCircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void failedProbeReopensCircuit() {
+        fail("pve1", 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        fail("pve1", 1);
+
+        assertThat(breaker.state("pve1")).isEqualTo(NodeCircuitBreaker.State.OPEN);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        assertThatThrownBy(() -> breaker.acquire("pve1")).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void abandonedProbeFreesSlot() {
+        fail("pve1", 3);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(10));
+        breaker.acquire("pve1");
+        breaker.abandon("pve1");
+
+        assertThatCode(() -> breaker.acquire("pve1")).doesNotThrowAnyException();
+    }
+
+    @Test
+    void disabledBreakerNeverRejects() {
+        NodeCircuitBreaker disabled = new NodeCircuitBreaker(config(false), clock::get);
+        for (int i = 0; i < 10; i++) {
+            disabled.acquire("pve1");
+            disabled.recordFailure("pve1");
+        }
+
+        assertThatCode(() -> disabled.acquire("pve1")).doesNotThrowAnyException();
+        assertThat(disabled.state("pve1")).isEqualTo(NodeCircuitBreaker.State.CLOSED);
+    }
+
+    private void fail(String node, int times) {
+        for (int i = 0; i < times; i++) {
+            breaker.acquire(node);
+            breaker.recordFailure(node);
+        }
+    }
+
+    private static CircuitBreakerConfig config(boolean enabled) {
+        CircuitBreakerConfig config = new CircuitBreakerConfig();
+        config.setEnabled(enabled);
+        config.setFailureThreshold(3);
+        config.setOpenSeconds(10);
+        return config;
+    }
+}
@@ -0,0 +1,195 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
+import it.corsinvest.proxmoxve.api.Result;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.http.HttpMethod;
+
+class PooledHttpTransportTests {
+
+    private HttpServer server;
+    private PooledHttpTransport transport;
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final List<String> remotePorts = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/api2/json/nodes", exchange -> respond(exchange, 200,
+            "{\"data\":[{\"node\":\"pve1\"}]}"));
+        server.createContext("/api2/json/nodes/pve1/qemu/100/config", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            requests.add(exchange.getRequestMethod() + " " + exchange.getRequestHeaders()
+                .getFirst("Content-Type") + " " + body);
+            respond(exchange, 200, "{\"data\":null}");
+        });
+        server.createContext("/api2/json/nodes/pve9", exchange -> respond(exchange, 500,
+            "{\"data\":null,\"message\":\"hostname lookup 'pve9' failed\\n\"}"));
+        server.createContext("/api2/json/cluster/tasks", exchange -> respond(exchange, 200, ""));
+        server.start();
+
+        HttpConfig config = new HttpConfig();
+        config.setPooled(true);
+        config.setMaxConnections(2);
+        URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api2/json");
+        transport = new PooledHttpTransport(baseUri, "root@pam!token=secret", true, config);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transport.close();
+        server.stop(0);
+    }
+
+    @Test
+    void getSendsTokenHeaderAndQuery() throws Exception {
+        Map<String, Object> query = new LinkedHashMap<>();
+        query.put("type", "vm");
+        query.put("ds", "cpu,mem");
+
+        Result result = transport.send(HttpMethod.GET, "/nodes", query);
+
+        assertThat(result.isSuccessStatusCode()).isTrue();
+        assertThat(result.getResponse().path("data").get(0).path("node").asText()).isEqualTo("pve1");
+        assertThat(requests).contains("GET /api2/json/nodes?type=vm&ds=cpu%2Cmem PVEAPIToken=root@pam!token=secret");
+    }
+
+    @Test
+    void putSendsUrlEncodedForm() throws Exception {
+        transport.send(HttpMethod.PUT, "/nodes/pve1/qemu/100/config", Map.of("cores", "2"));
+
+        assertThat(requests).contains("PUT application/x-www-form-urlencoded cores=2");
+    }
+
+    @Test
+    void sequentialRequestsReuseConnection() throws Exception {
+        transport.send(HttpMethod.GET, "/nodes", null);
+        transport.send(HttpMethod.GET, "/nodes", null);
+        transport.send(HttpMethod.GET, "/nodes", null);
+
+        assertThat(remotePorts).hasSize(3);
+        assertThat(remotePorts.stream().distinct()).hasSize(1);
+    }
+
+    @Test
+    void reportsReceivedBodyBytes() throws Exception {
+        java.util.concurrent.atomic.LongAdder received = new java.util.concurrent.atomic.LongAdder();
+        HttpConfig config = new HttpConfig();
+        config.setPooled(true);
+        URI baseUri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/api2/json");
+        try (PooledHttpTransport counting = new PooledHttpTransport(baseUri, "root@pam!token=secret", true, config,
+            received::add)) {
+            counting.send(HttpMethod.GET, "/nodes", null);
+            counting.send(HttpMethod.GET, "/cluster/tasks", null);
+        }
+
+        assertThat(received.sum()).isEqualTo("{\"data\":[{\"node\":\"pve1\"}]}".length());
+    }
+
+    @Test
+    void errorStatusUsesMessageAsReasonPhrase() throws Exception {
+        Result result = transport.send(HttpMethod.GET, "/nodes/pve9/status", null);
+
+        assertThat(result.isSuccessStatusCode()).isFalse();
+        assertThat(result.getStatusCode()).isEqualTo(500);
+        assertThat(result.getReasonPhrase()).isEqualTo("hostname lookup 'pve9' failed");
+    }
+
+    @Test
+    void emptyBodyFallsBackToStandardReasonPhrase() throws Exception {
+        Result result = transport.send(HttpMethod.GET, "/cluster/tasks", null);
+
+        assertThat(result.isSuccessStatusCode()).isTrue();
+        assertThat(result.getReasonPhrase()).isEqualTo("OK");
+        assertThat(result.getResponse().isNull()).isTrue();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "502 | <html><body><h1>502 Bad Gateway</h1></body></html> | Bad Gateway",
+        "596 | Connection timed out                                 | ''",
+        "500 | proxy error                                          | Internal Server Error"
+    })
+    void nonJsonErrorBodyKeepsStatus(int status, String body, String reason) throws Exception {
+        Result result = PooledHttpTransport.toResult(HttpMethod.GET, "/nodes", null, status,
+            body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(result.isSuccessStatusCode()).isFalse();
+        assertThat(result.getStatusCode()).isEqualTo(status);
+        assertThat(result.getReasonPhrase()).isEqualTo(reason);
+        assertThat(result.getResponse().isNull()).isTrue();
+    }
+
+    @Test
+    void connectionPoolSettingsKeepExplicitSystemProperties() {
+        String poolSize = System.getProperty("jdk.httpclient.connectionPoolSize");
+        String keepAlive = System.getProperty("jdk.httpclient.keepalive.timeout");
+        System.setProperty("jdk.httpclient.connectionPoolSize", "7");
+        System.setProperty("jdk.httpclient.keepalive.timeout", "11");
+        try {
+            HttpConfig config = new HttpConfig();
+            config.setMaxConnections(32);
+            config.setIdleTimeoutSeconds(90);
+
+            PooledHttpTransport.configureConnectionPool(config);
+
+            assertThat(System.getProperty("jdk.httpclient.connectionPoolSize")).isEqualTo("7");
+            assertThat(System.getProperty("jdk.httpclient.keepalive.timeout")).isEqualTo("11");
+        } finally {
+            restore("jdk.httpclient.connectionPoolSize", poolSize);
+            restore("jdk.httpclient.keepalive.timeout", keepAlive);
+        }
+    }
+
+    @Test
+    void nonJsonSuccessBodyStillFails() {
+        assertThatThrownBy(() -> PooledHttpTransport.toResult(HttpMethod.GET, "/nodes", null, 200,
+            "<html></html>".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(JsonProcessingException.class);
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        if ("GET".equals(exchange.getRequestMethod())) {
+            requests.add("GET " + exchange.getRequestURI().getRawPath()
+                + (exchange.getRequestURI().getRawQuery() == null ? "" : "?" + exchange.getRequestURI().getRawQuery())
+                + " " + exchange.getRequestHeaders().getFirst("Authorization"));
+        }
+        remotePorts.add(String.valueOf(exchange.getRemoteAddress().getPort()));
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length);
+        if (bytes.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private static void restore(String property, String value) {
+        if (value == null) {
+            System.clearProperty(property);
+        } else {
+            System.setProperty(property, value);
+        }
+    }
+}
@@ -5,18 +5,33 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.smling.proxmoxmcpserver.config.HttpConfig;
 import it.corsinvest.proxmoxve.api.PveClient;
 import it.corsinvest.proxmoxve.api.Result;
 import java.lang.reflect.Field;
 import java.lang.reflect.Method;
 import java.net.URI;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.http.HttpMethod;
 
@@ -177,6 +192,292 @@ class ProxmoxClientTests {
             .hasRootCauseInstanceOf(IllegalArgumentException.class);
     }
 
+    @Test
+    void getAsyncCompletesWithDataOnVirtualThread() throws Exception {
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, true, "root@pam", "token", "secret");
+        PveClient pveClient = mock(PveClient.class);
+        Result result = mock(Result.class);
+        AtomicBoolean virtual = new AtomicBoolean();
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        when(result.getResponse()).thenReturn(new ObjectMapper().readTree("{\"data\":[{\"node\":\"pve1\"}]}"));
+        when(pveClient.get(eq("/nodes"), any())).thenAnswer(invocation -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return result;
+        });
+        setField(client, "client", pveClient);
+
+        JsonNode data = client.getAsync("/nodes").get(5, TimeUnit.SECONDS);
+
+        assertThat(data.get(0).path("node").asText()).isEqualTo("pve1");
+        assertThat(virtual).isTrue();
+    }
+
+    @ParameterizedTest
+    @MethodSource("asyncCalls")
+    void asyncMethodsCompleteWithDataNode(String label, Function<ProxmoxClient, CompletableFuture<JsonNode>> call)
+        throws Exception {
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, true, "root@pam", "token", "secret");
+        PveClient pveClient = mock(PveClient.class);
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        when(result.getResponse()).thenReturn(new ObjectMapper().readTree("{\"data\":\"UPID:pve1\"}"));
+        when(pveClient.create(eq("/nodes/pve1/qemu/100/status/start"), any())).thenReturn(result);
+        when(pveClient.set(eq("/nodes/pve1/qemu/100/config"), any())).thenReturn(result);
+        when(pveClient.delete(eq("/nodes/pve1/qemu/100"), any())).thenReturn(result);
+        setField(client, "client", pveClient);
+
+        assertThat(call.apply(client).get(5, TimeUnit.SECONDS).asText()).as(label).isEqualTo("UPID:pve1");
+    }
+
+    @Test
+    void getAsyncReturnsMissingNodeForEmptyResponse() throws Exception {
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, true, "root@pam", "token", "secret");
+        PveClient pveClient = mock(PveClient.class);
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        when(pveClient.get(eq("/nodes"), any())).thenReturn(result);
+        setField(client, "client", pveClient);
+
+        assertThat(client.getAsync("/nodes").get(5, TimeUnit.SECONDS).isMissingNode()).isTrue();
+    }
+
+    @Test
+    void getAsyncFailsWithSameErrorAsBlockingCall() throws Exception {
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, true, "root@pam", "token", "secret");
+        PveClient pveClient = mock(PveClient.class);
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(false);
+        when(result.getStatusCode()).thenReturn(500);
+        when(result.getReasonPhrase()).thenReturn("boom");
+        when(pveClient.get(eq("/nodes"), any())).thenReturn(result);
+        setField(client, "client", pveClient);
+
+        assertThatThrownBy(() -> client.getAsync("/nodes", Map.of("type", "vm")).join())
+            .isInstanceOf(CompletionException.class)
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("Proxmox API error: 500 boom");
+    }
+
+    private static Stream<Arguments> asyncCalls() {
+        return Stream.of(
+            Arguments.of("post", (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.postFormAsync("/nodes/pve1/qemu/100/status/start", Map.of())),
+            Arguments.of("put", (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.putFormAsync("/nodes/pve1/qemu/100/config", Map.of("cores", "2"))),
+            Arguments.of("delete", (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.deleteAsync("/nodes/pve1/qemu/100"))
+        );
+    }
+
+    @Test
+    void pooledModeSendsThroughTransport() throws Exception {
+        HttpConfig http = new HttpConfig();
+        http.setPooled(true);
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, false, "root@pam", "token", "secret", http);
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        when(transport.send(eq(HttpMethod.GET), eq("/nodes"), any())).thenReturn(result);
+        setField(client, "transport", transport);
+
+        assertThat(client.get("/nodes")).isSameAs(result);
+
+        client.close();
+        verify(transport).close();
+    }
+
+    @Test
+    void concurrentIdenticalGetsShareOneUpstreamCall() throws Exception {
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, false, "root@pam", "token", "secret");
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        setField(client, "transport", (ProxmoxTransport) (method, path, params) -> {
+            calls.incrementAndGet();
+            release.await();
+            return result;
+        });
+
+        CompletableFuture<JsonNode> first = client.getAsync("/cluster/resources", Map.of("type", "vm"));
+        CompletableFuture<JsonNode> second = client.getAsync("/cluster/resources", Map.of("type", "vm"));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (client.getCoalescer().getCoalescedCount() < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        release.countDown();
+        CompletableFuture.allOf(first, second).get(5, TimeUnit.SECONDS);
+
+        assertThat(calls).hasValue(1);
+        assertThat(client.getCoalescer().getHitRatio()).isEqualTo(0.5);
+    }
+
+    @ParameterizedTest
+    @MethodSource("uncoalescedRequests")
+    void mutationsAndDisabledCoalescingBypassCoalescer(boolean coalesceGets,
+                                                       Function<ProxmoxClient, CompletableFuture<JsonNode>> call)
+        throws Exception {
+        HttpConfig http = new HttpConfig();
+        http.setCoalesceGets(coalesceGets);
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, false, "root@pam", "token", "secret", http);
+        Result result = mock(Result.class);
+        when(result.isSuccessStatusCode()).thenReturn(true);
+        setField(client, "transport", (ProxmoxTransport) (method, path, params) -> result);
+
+        call.apply(client).get(5, TimeUnit.SECONDS);
+
+        assertThat(client.getCoalescer().getRequestCount()).isZero();
+    }
+
+    private static Stream<Arguments> uncoalescedRequests() {
+        return Stream.of(
+            Arguments.of(false, (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.getAsync("/nodes")),
+            Arguments.of(true, (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.postFormAsync("/nodes/pve1/qemu/100/status/start", Map.of())),
+            Arguments.of(true, (Function<ProxmoxClient, CompletableFuture<JsonNode>>) client ->
+                client.deleteAsync("/nodes/pve1/qemu/100"))
+        );
+    }
+
+    @Test
+    void retriesTransientGetFailuresWithBackoff() throws Exception {
+        ProxmoxClient client = resilientClient();
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(eq(HttpMethod.GET), eq("/nodes"), any()))
+            .thenThrow(new java.net.ConnectException("Connection refused"))
+            .thenReturn(status(HttpMethod.GET, "/nodes", 502))
+            .thenReturn(status(HttpMethod.GET, "/nodes", 200));
+        setField(client, "transport", transport);
+
+        assertThat(client.get("/nodes").isSuccessStatusCode()).isTrue();
+        verify(transport, times(3)).send(eq(HttpMethod.GET), eq("/nodes"), any());
+    }
+
+    @ParameterizedTest
+    @CsvSource({"400,1", "404,1", "500,3", "596,3"})
+    void retriesOnlyConfiguredStatuses(int status, int expectedCalls) throws Exception {
+        ProxmoxClient client = resilientClient();
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(eq(HttpMethod.GET), eq("/cluster/status"), any()))
+            .thenReturn(status(HttpMethod.GET, "/cluster/status", status));
+        setField(client, "transport", transport);
+
+        assertThatThrownBy(() -> client.get("/cluster/status"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(String.valueOf(status));
+        verify(transport, times(expectedCalls)).send(eq(HttpMethod.GET), eq("/cluster/status"), any());
+    }
+
+    @Test
+    void doesNotRetryMutations() throws Exception {
+        ProxmoxClient client = resilientClient();
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(eq(HttpMethod.POST), any(), any()))
+            .thenReturn(status(HttpMethod.POST, "/nodes/pve1/qemu/100/status/start", 502));
+        setField(client, "transport", transport);
+
+        assertThatThrownBy(() -> client.postForm("/nodes/pve1/qemu/100/status/start", Map.of()))
+            .hasMessageContaining("502");
+        verify(transport, times(1)).send(any(), any(), any());
+    }
+
+    @Test
+    void openCircuitFailsFastForDeadNode() throws Exception {
+        ProxmoxClient client = resilientClient();
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(eq(HttpMethod.GET), any(), any()))
+            .thenThrow(new java.net.http.HttpTimeoutException("request timed out"));
+        setField(client, "transport", transport);
+
+        assertThatThrownBy(() -> client.get("/nodes/pve2/qemu")).isInstanceOf(java.io.IOException.class);
+        assertThatThrownBy(() -> client.get("/nodes/pve2/lxc"))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("node pve2 is unavailable");
+
+        verify(transport, times(2)).send(any(), any(), any());
+        assertThat(client.getCircuitBreaker().state("pve2")).isEqualTo(NodeCircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void throttlePermitsAreReleasedAfterFailures() throws Exception {
+        HttpConfig http = new HttpConfig();
+        http.getRetry().setMaxAttempts(1);
+        http.getThrottle().setMaxInFlight(1);
+        http.getThrottle().setPerNodeMaxInFlight(1);
+        ProxmoxClient client = new ProxmoxClient("pve.local", 8006, false, "root@pam", "token", "secret", http);
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(any(), any(), any()))
+            .thenThrow(new java.io.IOException("connection reset"))
+            .thenReturn(status(HttpMethod.GET, "/nodes/pve1/qemu", 200));
+        setField(client, "transport", transport);
+
+        assertThatThrownBy(() -> client.get("/nodes/pve1/qemu")).isInstanceOf(java.io.IOException.class);
+        assertThat(client.getAsync("/nodes/pve1/qemu").get(5, TimeUnit.SECONDS).isNull()).isTrue();
+    }
+
+    @Test
+    void timesEveryRetryAttempt() throws Exception {
+        ProxmoxClient client = resilientClient();
+        io.micrometer.core.instrument.simple.SimpleMeterRegistry registry =
+            new io.micrometer.core.instrument.simple.SimpleMeterRegistry();
+        client.getMetrics().bindTo(registry);
+        ProxmoxTransport transport = mock(ProxmoxTransport.class);
+        when(transport.send(any(), any(), any()))
+            .thenReturn(status(HttpMethod.GET, "/nodes/pve1/qemu/100/config", 502))
+            .thenReturn(status(HttpMethod.GET, "/nodes/pve1/qemu/100/config", 200));
+        setField(client, "transport", transport);
+
+        client.get("/nodes/pve1/qemu/100/config");
+
+        assertThat(registry.get("proxmox.api.requests").tag("uri", "/nodes/{node}/qemu/{vmid}/config").timers())
+            .extracting(timer -> timer.getId().getTag("status") + "=" + timer.count())
+            .containsExactlyInAnyOrder("502=1", "200=1");
+    }
+
+    private static ProxmoxClient resilientClient() {
+        HttpConfig http = new HttpConfig();
+        http.getRetry().setMaxAttempts(3);
+        http.getRetry().setInitialBackoffMillis(0);
+        http.getCircuitBreaker().setFailureThreshold(2);
+        return new ProxmoxClient("pve.local", 8006, false, "root@pam", "token", "secret", http);
+    }
+
+    private static Result status(HttpMethod method, String path, int status) throws Exception {
+        return PooledHttpTransport.toResult(method, path, null, status, "{\"data\":null}".getBytes());
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "pve1,https://pve1:8006/api2/json",
+        "pve1:8007,https://pve1:8007/api2/json",
+        "pve_lab,https://pve_lab:8006/api2/json",
+        "[fd00::1]:8443,https://[fd00::1]:8443/api2/json",
+        "[fd00::1],https://[fd00::1]:8006/api2/json"
+    })
+    void baseUriUsesPrimaryEndpoint(String endpoint, String expected) {
+        ProxmoxClient client = new ProxmoxClient(List.of(endpoint, "pve9"), 8006, false, "root@pam", "token",
+            "secret", new HttpConfig());
+
+        assertThat(client.getBaseUri()).hasToString(expected);
+        client.close();
+    }
+
+    @Test
+    void multipleEndpointsUseFailoverTransport() throws Exception {
+        HttpConfig http = new HttpConfig();
+        http.setHealthCheckIntervalSeconds(0);
+        ProxmoxClient single = new ProxmoxClient(List.of("pve1"), 8006, false, "root@pam", "token", "secret", http);
+        ProxmoxClient multi = new ProxmoxClient(List.of("pve1", "pve2:8007"), 8006, false, "root@pam", "token",
+            "secret", http);
+
+        assertThat(getField(single, "transport")).isNotInstanceOf(FailoverTransport.class);
+        FailoverTransport failover = (FailoverTransport) getField(multi, "transport");
+        assertThat(failover.healthyEndpoints()).containsExactly("pve1", "pve2:8007");
+        single.close();
+        multi.close();
+    }
+
     @Test
     void toObjectMapFiltersNullValues() throws Exception {
         Method toObjectMap = ProxmoxClient.class.getDeclaredMethod("toObjectMap", Map.class);
@@ -211,6 +512,12 @@ class ProxmoxClientTests {
         return Stream.of(null, new HashMap<>(), onlyNulls);
     }
 
+    private static Object getField(Object target, String name) throws Exception {
+        Field field = target.getClass().getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+    }
+
     private static void setField(Object target, String name, Object value) throws Exception {
         Field field = target.getClass().getDeclaredField(name);
         field.setAccessible(true);
@@ -25,6 +25,16 @@ class ProxmoxManagerTests {
         assertThat(manager.getApi()).isSameAs(client);
     }
 
+    @Test
+    void closeReleasesClient() {
+        ProxmoxClient client = mock(ProxmoxClient.class);
+        ProxmoxManager manager = new ProxmoxManager(client, false);
+
+        manager.close();
+
+        verify(client).close();
+    }
+
     @Test
     void constructorValidatesConnectionWhenEnabled() throws Exception {
         ProxmoxClient client = mock(ProxmoxClient.class);
@@ -56,6 +66,23 @@ class ProxmoxManagerTests {
         }
     }
 
+    @Test
+    void constructorPassesDistinctEndpointsStartingWithHost() {
+        ProxmoxConfig proxmoxConfig = new ProxmoxConfig();
+        proxmoxConfig.setHost("pve1");
+        proxmoxConfig.setEndpoints(java.util.Arrays.asList("pve2:8007", " pve1", null, "", "pve3"));
+
+        try (MockedConstruction<ProxmoxClient> mocked = Mockito.mockConstruction(ProxmoxClient.class,
+            (mock, context) -> {
+                when(mock.getBaseUri()).thenReturn(URI.create("https://pve1"));
+                assertThat(context.arguments().get(0)).isEqualTo(java.util.List.of("pve1", "pve2:8007", "pve3"));
+            })) {
+            new ProxmoxManager(proxmoxConfig, new AuthConfig());
+
+            assertThat(mocked.constructed()).hasSize(1);
+        }
+    }
+
     @Test
     void testConnectionReturnsClientOnSuccess() throws Exception {
         ProxmoxClient client = mock(ProxmoxClient.class);
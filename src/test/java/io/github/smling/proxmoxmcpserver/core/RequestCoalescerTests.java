@@ -0,0 +1,153 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import it.corsinvest.proxmoxve.api.Result;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class RequestCoalescerTests {
+
+    private final RequestCoalescer coalescer = new RequestCoalescer();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentIdenticalRequestsShareOneUpstreamCall() throws Exception {
+        Result result = TestSupport.resultWithData(TestSupport.mapper().createArrayNode());
+        Future<Result> leader = executor.submit(() -> coalescer.execute("/nodes", blocking(result)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        List<Future<Result>> followers = Stream.<Future<Result>>generate(
+            () -> executor.submit(() -> coalescer.execute("/nodes", blocking(result)))).limit(3).toList();
+        awaitCoalesced(3);
+        release.countDown();
+
+        assertThat(leader.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        for (Future<Result> follower : followers) {
+            assertThat(follower.get(5, TimeUnit.SECONDS)).isSameAs(result);
+        }
+        assertThat(upstreamCalls).hasValue(1);
+        assertThat(coalescer.getRequestCount()).isEqualTo(4);
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(3);
+        assertThat(coalescer.getHitRatio()).isEqualTo(0.75);
+    }
+
+    @Test
+    void followersReceiveLeaderFailure() throws Exception {
+        Future<Result> leader = executor.submit(() -> coalescer.execute("/nodes", () -> {
+            started.countDown();
+            release.await();
+            throw new IllegalStateException("Proxmox API error: 500");
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        Future<Result> follower = executor.submit(() -> coalescer.execute("/nodes", () -> {
+            throw new AssertionError("follower must not call upstream");
+        }));
+        awaitCoalesced(1);
+        release.countDown();
+
+        assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> follower.get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(IllegalStateException.class)
+            .hasRootCauseMessage("Proxmox API error: 500");
+    }
+
+    @Test
+    void differentKeysAreNotCoalesced() throws Exception {
+        Result result = TestSupport.resultWithData(TestSupport.mapper().createArrayNode());
+        Future<Result> first = executor.submit(() -> coalescer.execute("/nodes", blocking(result)));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(coalescer.execute("/cluster/status", () -> {
+            upstreamCalls.incrementAndGet();
+            return result;
+        })).isSameAs(result);
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(coalescer.getCoalescedCount()).isZero();
+    }
+
+    @Test
+    void sequentialRequestsAreNotCached() throws Exception {
+        release.countDown();
+        Result result = TestSupport.resultWithData(TestSupport.mapper().createArrayNode());
+
+        coalescer.execute("/nodes", blocking(result));
+        coalescer.execute("/nodes", blocking(result));
+
+        assertThat(upstreamCalls).hasValue(2);
+        assertThat(coalescer.getHitRatio()).isZero();
+    }
+
+    @ParameterizedTest
+    @MethodSource("keys")
+    void keyIgnoresQueryOrder(String path, Map<String, ?> query, String expected) {
+        assertThat(RequestCoalescer.key(path, query)).isEqualTo(expected);
+    }
+
+    @Test
+    void bindsHitRatioMeters() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        coalescer.bindTo(registry);
+        release.countDown();
+        coalescer.execute("/nodes", blocking(null));
+
+        assertThat(registry.get("proxmox.api.coalesce.requests").functionCounter().count()).isEqualTo(1.0);
+        assertThat(registry.get("proxmox.api.coalesce.hits").functionCounter().count()).isZero();
+        assertThat(registry.get("proxmox.api.coalesce.hit.ratio").gauge().value()).isZero();
+    }
+
+    private static Stream<Arguments> keys() {
+        Map<String, String> ordered = new LinkedHashMap<>();
+        ordered.put("type", "vm");
+        ordered.put("content", "iso");
+        return Stream.of(
+            Arguments.of("/nodes", null, "/nodes"),
+            Arguments.of("/nodes", Map.of(), "/nodes"),
+            Arguments.of("/cluster/resources", ordered, "/cluster/resources?{content=iso, type=vm}")
+        );
+    }
+
+    private RequestCoalescer.Request blocking(Result result) {
+        return () -> {
+            upstreamCalls.incrementAndGet();
+            started.countDown();
+            release.await();
+            return result;
+        };
+    }
+
+    private void awaitCoalesced(long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coalescer.getCoalescedCount() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(coalescer.getCoalescedCount()).isEqualTo(expected);
+    }
+}
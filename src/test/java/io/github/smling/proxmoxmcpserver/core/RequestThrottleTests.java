@@ -0,0 +1,132 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.github.smling.proxmoxmcpserver.config.ThrottleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class RequestThrottleTests {
+
+    private static final long MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    @Test
+    void tokenBucketAllowsBurstThenSpacesReservations() {
+        RequestThrottle.TokenBucket bucket = new RequestThrottle.TokenBucket(10, 2, 0);
+
+        assertThat(bucket.reserve(0, false)).isZero();
+        assertThat(bucket.reserve(0, false)).isZero();
+        assertThat(bucket.reserve(0, false)).isEqualTo(100 * MILLI);
+        assertThat(bucket.reserve(0, false)).isEqualTo(200 * MILLI);
+        assertThat(bucket.reserve(TimeUnit.SECONDS.toNanos(10), false)).isZero();
+        assertThat(bucket.reserve(TimeUnit.SECONDS.toNanos(10), false)).isZero();
+        assertThat(bucket.reserve(TimeUnit.SECONDS.toNanos(10), false)).isEqualTo(100 * MILLI);
+    }
+
+    @Test
+    void priorityReservationSkipsWaitAndDelaysLaterReads() {
+        RequestThrottle.TokenBucket bucket = new RequestThrottle.TokenBucket(10, 1, 0);
+        bucket.reserve(0, false);
+
+        assertThat(bucket.reserve(0, true)).isZero();
+        assertThat(bucket.reserve(0, false)).isEqualTo(200 * MILLI);
+    }
+
+    @Test
+    void bulkheadAdmitsQueuedMutationBeforeQueuedRead() throws Exception {
+        RequestThrottle.Bulkhead bulkhead = new RequestThrottle.Bulkhead(1);
+        List<String> admitted = new CopyOnWriteArrayList<>();
+        bulkhead.acquire(false);
+
+        Thread read = waiter(bulkhead, false, "read", admitted);
+        Thread mutation = waiter(bulkhead, true, "mutation", admitted);
+        bulkhead.release();
+        read.join(5000);
+        mutation.join(5000);
+
+        assertThat(admitted).containsExactly("mutation", "read");
+        assertThat(bulkhead.inFlight()).isZero();
+    }
+
+    @Test
+    void perNodeLimitIsolatesNodes() throws Exception {
+        ThrottleConfig config = new ThrottleConfig();
+        config.setPerNodeMaxInFlight(1);
+        RequestThrottle throttle = new RequestThrottle(config);
+        List<String> admitted = new CopyOnWriteArrayList<>();
+
+        RequestThrottle.Permit held = throttle.acquire("pve1", false);
+        Thread sameNode = new Thread(() -> {
+            try (RequestThrottle.Permit permit = throttle.acquire("pve1", false)) {
+                admitted.add("pve1");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        sameNode.start();
+        awaitWaiting(sameNode);
+        try (RequestThrottle.Permit other = throttle.acquire("pve2", false)) {
+            admitted.add("pve2");
+        }
+        held.close();
+        sameNode.join(5000);
+
+        assertThat(admitted).containsExactly("pve2", "pve1");
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {true, false})
+    void recordsQueueWaitPerKind(boolean mutation) throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RequestThrottle throttle = new RequestThrottle(new ThrottleConfig());
+        throttle.bindTo(registry);
+
+        throttle.acquire("pve1", mutation).close();
+
+        String kind = mutation ? "mutation" : "read";
+        assertThat(registry.get("proxmox.api.queue.wait").tag("kind", kind).timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledThrottleNeverBlocks() throws Exception {
+        ThrottleConfig config = new ThrottleConfig();
+        config.setEnabled(false);
+        config.setMaxInFlight(1);
+        RequestThrottle throttle = new RequestThrottle(config);
+
+        RequestThrottle.Permit first = throttle.acquire(null, false);
+        RequestThrottle.Permit second = throttle.acquire(null, false);
+
+        first.close();
+        second.close();
+    }
+
+    private static Thread waiter(RequestThrottle.Bulkhead bulkhead, boolean priority, String name,
+                                 List<String> admitted) throws InterruptedException {
+        Thread thread = new Thread(() -> {
+            try {
+                bulkhead.acquire(priority);
+                admitted.add(name);
+                bulkhead.release();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        thread.start();
+        awaitWaiting(thread);
+        return thread;
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (thread.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(1);
+        }
+        assertThat(thread.getState()).isEqualTo(Thread.State.WAITING);
+    }
+}
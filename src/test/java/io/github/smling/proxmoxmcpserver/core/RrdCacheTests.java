@@ -0,0 +1,177 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class RrdCacheTests {
+    private static final String PATH = "/nodes/pve1/lxc/101/rrddata";
+
+    private final ObjectMapper mapper = TestSupport.mapper();
+    private final AtomicLong clock = new AtomicLong();
+    private ProxmoxClient proxmox;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        proxmox = mock(ProxmoxClient.class);
+        when(proxmox.get(eq(PATH), anyMap())).thenReturn(TestSupport.resultWithData(samples()));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "HOUR, 60, hour",
+        "DAY, 1800, day",
+        "YEAR, 604800, year"
+    })
+    void timeframesKnowTheirResolution(RrdCache.Timeframe timeframe, long stepSeconds, String apiName) {
+        assertThat(timeframe.stepSeconds()).isEqualTo(stepSeconds);
+        assertThat(timeframe.apiName()).isEqualTo(apiName);
+    }
+
+    @Test
+    void servesSeriesFromMemoryUntilNextSampleIsDue() throws Exception {
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        verify(proxmox, times(1)).get(PATH, Map.of("timeframe", "hour", "cf", "AVERAGE"));
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        verify(proxmox, times(2)).get(PATH, Map.of("timeframe", "hour", "cf", "AVERAGE"));
+    }
+
+    @Test
+    void cachesEachTimeframeSeparately() throws Exception {
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.DAY);
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.DAY);
+
+        verify(proxmox, times(1)).get(PATH, Map.of("timeframe", "hour", "cf", "AVERAGE"));
+        verify(proxmox, times(1)).get(PATH, Map.of("timeframe", "day", "cf", "AVERAGE"));
+    }
+
+    @Test
+    void lastValuesSkipTheUnfilledNewestRow() throws Exception {
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        RrdCache.Series series = cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+
+        assertThat(series.size()).isEqualTo(3);
+        assertThat(series.lastCpu()).isEqualTo(0.2);
+        assertThat(series.lastMem()).isEqualTo(2048.0);
+        assertThat(series.lastMaxmem()).isEqualTo(4096.0);
+    }
+
+    @Test
+    void emptyPayloadGivesEmptySeries() throws Exception {
+        when(proxmox.get(eq(PATH), anyMap())).thenReturn(TestSupport.resultWithData(mapper.nullNode()));
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        RrdCache.Series series = cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+
+        assertThat(series.size()).isZero();
+        assertThat(series.lastCpu()).isNaN();
+    }
+
+    @Test
+    void disabledCacheFetchesEveryTime() throws Exception {
+        CacheConfig config = new CacheConfig();
+        config.setEnabled(false);
+        RrdCache cache = new RrdCache(proxmox, config, clock::get);
+
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+
+        verify(proxmox, times(2)).get(eq(PATH), anyMap());
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedSeries() throws Exception {
+        when(proxmox.get(eq("/nodes/pve1/lxc/102/rrddata"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(samples()));
+        when(proxmox.get(eq("/nodes/pve1/lxc/103/rrddata"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(samples()));
+        CacheConfig config = new CacheConfig();
+        config.setRrdMaxSeries(2);
+        RrdCache cache = new RrdCache(proxmox, config, clock::get);
+
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 102, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 103, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR);
+        cache.series("pve1", "lxc", 102, RrdCache.Timeframe.HOUR);
+
+        assertThat(cache.size()).isEqualTo(2);
+        verify(proxmox, times(1)).get(eq(PATH), anyMap());
+        verify(proxmox, times(2)).get(eq("/nodes/pve1/lxc/102/rrddata"), anyMap());
+    }
+
+    @Test
+    void doesNotCacheFailures() throws Exception {
+        when(proxmox.get(eq(PATH), anyMap()))
+            .thenThrow(new IllegalStateException("Proxmox API error: 500"))
+            .thenReturn(TestSupport.resultWithData(samples()));
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        assertThatThrownBy(() -> cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR))
+            .isInstanceOf(IllegalStateException.class);
+        assertThat(cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR).size()).isEqualTo(3);
+    }
+
+    @Test
+    void concurrentLookupsShareOneRequest() throws Exception {
+        when(proxmox.get(eq(PATH), anyMap())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return TestSupport.resultWithData(samples());
+        });
+        RrdCache cache = new RrdCache(proxmox, new CacheConfig(), clock::get);
+
+        List<Future<RrdCache.Series>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 8; i++) {
+                futures.add(executor.submit(() -> cache.series("pve1", "lxc", 101, RrdCache.Timeframe.HOUR)));
+            }
+        }
+
+        for (Future<RrdCache.Series> future : futures) {
+            assertThat(future.get().size()).isEqualTo(3);
+        }
+        verify(proxmox, times(1)).get(eq(PATH), anyMap());
+    }
+
+    private ArrayNode samples() {
+        ArrayNode data = mapper.createArrayNode();
+        data.add(mapper.createObjectNode().put("time", 60).put("cpu", 0.1).put("mem", 1024).put("maxmem", 4096));
+        data.add(mapper.createObjectNode().put("time", 120).put("cpu", 0.2).put("mem", 2048).put("maxmem", 4096));
+        data.add(mapper.createObjectNode().put("time", 180));
+        return data;
+    }
+}
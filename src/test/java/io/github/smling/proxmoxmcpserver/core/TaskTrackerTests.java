@@ -0,0 +1,284 @@
+package io.github.smling.proxmoxmcpserver.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import it.corsinvest.proxmoxve.api.Result;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TaskTrackerTests {
+    private static final Map<String, String> ACTIVE = Map.of("source", "active");
+
+    private final ObjectMapper mapper = TestSupport.mapper();
+    private ProxmoxClient proxmox;
+    private TaskTracker tracker;
+
+    @BeforeEach
+    void setUp() {
+        proxmox = mock(ProxmoxClient.class);
+        ToolsConfig tools = new ToolsConfig();
+        tools.setTaskPollInitialMillis(5);
+        tools.setTaskPollMaxMillis(20);
+        tracker = new TaskTracker(proxmox, tools);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:qmstart:100:root@pam:, pve1, qmstart, 100, root@pam",
+        "'\"UPID:pve2:00001234:00005678:65A1B2C3:vzdump::backup@pve:\"', pve2, vzdump, '', backup@pve"
+    })
+    void parsesUpid(String value, String node, String type, String id, String user) {
+        TaskTracker.Upid upid = TaskTracker.Upid.parse(value);
+
+        assertThat(upid.node()).isEqualTo(node);
+        assertThat(upid.type()).isEqualTo(type);
+        assertThat(upid.id()).isEqualTo(id);
+        assertThat(upid.user()).isEqualTo(user);
+        assertThat(upid.startTime()).isEqualTo(0x65A1B2C3L);
+        assertThat(upid.value()).startsWith("UPID:");
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"TASK", "UPID:pve1:1:2", "UPID::0:0:65A1B2C3:qmstart:100:root@pam:",
+        "UPID:pve1:0:0:zz:qmstart:100:root@pam:"})
+    void rejectsInvalidUpid(String value) {
+        assertThat(TaskTracker.Upid.isUpid(value)).isFalse();
+        assertThatThrownBy(() -> TaskTracker.Upid.parse(value))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid UPID");
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "running, , true, false",
+        "stopped, OK, false, true",
+        "stopped, 'WARNINGS: 2', false, true",
+        "stopped, command failed, false, false"
+    })
+    void readsStatus(String status, String exitStatus, boolean running, boolean ok) throws Exception {
+        String upid = upid("pve1", 100);
+        when(proxmox.get(statusPath(upid))).thenReturn(status(status, exitStatus));
+
+        TaskTracker.TaskStatus result = tracker.status(upid);
+
+        assertThat(result.running()).isEqualTo(running);
+        assertThat(result.ok()).isEqualTo(ok);
+    }
+
+    @Test
+    void awaitPollsNodeOnceForManyTasks() throws Exception {
+        List<String> upids = List.of(upid("pve1", 100), upid("pve1", 101), upid("pve1", 102));
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE))
+            .thenReturn(active(upids.toArray(String[]::new)))
+            .thenReturn(active());
+        for (String upid : upids) {
+            when(proxmox.get(statusPath(upid))).thenReturn(status("stopped", "OK"));
+        }
+
+        List<TaskTracker.TaskStatus> results;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<CompletableFuture<TaskTracker.TaskStatus>> futures = upids.stream()
+                .map(upid -> CompletableFuture.supplyAsync(() -> await(upid, Duration.ofSeconds(5)), executor))
+                .toList();
+            results = futures.stream().map(CompletableFuture::join).toList();
+        }
+
+        assertThat(results).allMatch(TaskTracker.TaskStatus::ok);
+        for (String upid : upids) {
+            verify(proxmox, times(1)).get(statusPath(upid));
+        }
+    }
+
+    @Test
+    void pollerDoesNotCountAgainstTheCallerThatStartedIt() throws Exception {
+        String first = upid("pve1", 100);
+        String second = upid("pve1", 101);
+        AtomicInteger rounds = new AtomicInteger();
+        CountDownLatch polled = new CountDownLatch(1);
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE)).thenAnswer(invocation -> {
+            UpstreamCalls.record();
+            int round = rounds.incrementAndGet();
+            polled.countDown();
+            if (round <= 2) {
+                return active(first, second);
+            }
+            return round <= 4 ? active(second) : active();
+        });
+        for (String upid : List.of(first, second)) {
+            when(proxmox.get(statusPath(upid))).thenAnswer(invocation -> {
+                UpstreamCalls.record();
+                return status("stopped", "OK");
+            });
+        }
+        LongAdder firstCalls = new LongAdder();
+        LongAdder secondCalls = new LongAdder();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<TaskTracker.TaskStatus> firstWait = CompletableFuture.supplyAsync(
+                () -> UpstreamCalls.count(firstCalls, () -> await(first, Duration.ofSeconds(5))), executor);
+            assertThat(polled.await(5, TimeUnit.SECONDS)).isTrue();
+            CompletableFuture<TaskTracker.TaskStatus> secondWait = CompletableFuture.supplyAsync(
+                () -> UpstreamCalls.count(secondCalls, () -> await(second, Duration.ofSeconds(5))), executor);
+
+            assertThat(firstWait.join().ok()).isTrue();
+            assertThat(secondWait.join().ok()).isTrue();
+        }
+
+        assertThat(rounds).hasValueGreaterThanOrEqualTo(5);
+        assertThat(firstCalls.sum()).isZero();
+        assertThat(secondCalls.sum()).isZero();
+    }
+
+    @Test
+    void awaitReturnsRunningStatusOnTimeout() throws Exception {
+        String upid = upid("pve1", 100);
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE)).thenReturn(active(upid));
+        when(proxmox.get(statusPath(upid))).thenReturn(status("running", null));
+
+        TaskTracker.TaskStatus result = tracker.await(upid, Duration.ofMillis(50));
+
+        assertThat(result.running()).isTrue();
+        verify(proxmox, times(1)).get(statusPath(upid));
+    }
+
+    @Test
+    void awaitReadsEachStatusWhenActiveListFails() throws Exception {
+        String upid = upid("pve1", 100);
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE)).thenThrow(new IllegalStateException("Proxmox API error: 403"));
+        when(proxmox.get(statusPath(upid)))
+            .thenReturn(status("running", null))
+            .thenReturn(status("stopped", "OK"));
+
+        assertThat(tracker.await(upid, Duration.ofSeconds(5)).ok()).isTrue();
+    }
+
+    @Test
+    void awaitFailsForUnknownTask() throws Exception {
+        String upid = upid("pve1", 100);
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE)).thenReturn(active());
+        when(proxmox.get(statusPath(upid))).thenThrow(new IllegalStateException("Proxmox API error: no such task"));
+
+        assertThatThrownBy(() -> tracker.await(upid, Duration.ofSeconds(5)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("no such task");
+    }
+
+    @Test
+    void awaitFailsFastOnPermanentStatusError() throws Exception {
+        String upid = upid("pve1", 100);
+        when(proxmox.get("/nodes/pve1/tasks", ACTIVE)).thenReturn(active());
+        when(proxmox.get(statusPath(upid))).thenThrow(new IllegalStateException("Proxmox API error: 403 Forbidden"));
+
+        long started = System.nanoTime();
+        assertThatThrownBy(() -> tracker.await(upid, Duration.ofSeconds(30)))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("403");
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        verify(proxmox, times(1)).get(statusPath(upid));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "'Proxmox API error: no such task', true",
+        "'Proxmox API error: 403 Forbidden', true",
+        "'Proxmox API error: 401 No ticket', true",
+        "'Proxmox API error: hostname lookup pve9 failed - failed to get address info', true",
+        "'PROXMOX API ERROR: 404 Not Found', true",
+        "'Proxmox API error: 429 Too Many Requests', false",
+        "'Proxmox API error: 408 Request Timeout', false",
+        "'Proxmox API error: 500 Internal Server Error', false",
+        "'Proxmox API error: node pve1 is unavailable (circuit open)', false",
+        "'connection reset', false"
+    })
+    void classifiesPermanentStatusErrors(String message, boolean permanent) {
+        assertThat(TaskTracker.isPermanent(new IllegalStateException(message))).isEqualTo(permanent);
+    }
+
+    @Test
+    void logReturnsTail() throws Exception {
+        String upid = upid("pve1", 100);
+        String path = "/nodes/pve1/tasks/" + upid + "/log";
+        ObjectNode head = mapper.createObjectNode();
+        head.set("data", logLines(1, 2));
+        head.put("total", 5);
+        when(proxmox.get(path, Map.of("start", "0", "limit", "2"))).thenReturn(TestSupport.resultWithResponse(head));
+        when(proxmox.get(path, Map.of("start", "3", "limit", "2")))
+            .thenReturn(TestSupport.resultWithData(logLines(4, 5)));
+
+        assertThat(tracker.log(upid, 2)).containsExactly("line 4", "line 5");
+    }
+
+    @Test
+    void logSkipsRequestForZeroLines() throws Exception {
+        assertThat(tracker.log(upid("pve1", 100), 0)).isEmpty();
+        verify(proxmox, never()).get(anyString(), anyMap());
+    }
+
+    private TaskTracker.TaskStatus await(String upid, Duration timeout) {
+        try {
+            return tracker.await(upid, timeout);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String upid(String node, int vmid) {
+        return "UPID:" + node + ":0000A1B2:0012C3D4:65A1B2C3:qmstart:" + vmid + ":root@pam:";
+    }
+
+    private static String statusPath(String upid) {
+        return "/nodes/" + TaskTracker.Upid.parse(upid).node() + "/tasks/" + upid + "/status";
+    }
+
+    private Result status(String status, String exitStatus) {
+        ObjectNode data = mapper.createObjectNode().put("status", status);
+        if (exitStatus != null) {
+            data.put("exitstatus", exitStatus);
+        }
+        return TestSupport.resultWithData(data);
+    }
+
+    private Result active(String... upids) {
+        ArrayNode data = mapper.createArrayNode();
+        for (String upid : upids) {
+            data.add(mapper.createObjectNode().put("upid", upid));
+        }
+        return TestSupport.resultWithData(data);
+    }
+
+    private ArrayNode logLines(int from, int to) {
+        ArrayNode data = mapper.createArrayNode();
+        for (int line = from; line <= to; line++) {
+            data.add(mapper.createObjectNode().put("n", line).put("t", "line " + line));
+        }
+        return data;
+    }
+}
@@ -0,0 +1,179 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
+import io.modelcontextprotocol.spec.McpSchema.CallToolRequest;
+import io.modelcontextprotocol.spec.McpSchema.CallToolResult;
+import io.modelcontextprotocol.spec.McpSchema.TextContent;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+class AsyncToolExecutorTests {
+
+    private final AsyncToolExecutor executor = new AsyncToolExecutor();
+
+    @AfterEach
+    void closeExecutor() {
+        executor.close();
+    }
+
+    @Test
+    void specificationKeepsToolDefinition() {
+        AsyncToolSpecification specification = executor.specification(callback("get_vms", input -> "vm list"));
+
+        assertThat(specification.tool().name()).isEqualTo("get_vms");
+        assertThat(specification.tool().description()).isEqualTo("Lists get_vms");
+    }
+
+    @Test
+    void runsCallsOnVirtualThreads() {
+        AtomicBoolean virtual = new AtomicBoolean();
+        AsyncToolSpecification specification = executor.specification(callback("get_vms", input -> {
+            virtual.set(Thread.currentThread().isVirtual());
+            return "vm list for " + input;
+        }));
+
+        CallToolResult result = call(specification, Map.of("node", "pve1")).block(Duration.ofSeconds(5));
+
+        assertThat(virtual).isTrue();
+        assertThat(result.isError()).isFalse();
+        assertThat(((TextContent) result.content().get(0)).text()).contains("pve1");
+    }
+
+    @Test
+    void doesNotStartCallsUntilSubscribed() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        AsyncToolSpecification specification = executor.specification(callback("get_vms", input -> {
+            started.countDown();
+            return "vm list";
+        }));
+
+        Mono<CallToolResult> pending = call(specification, Map.of());
+
+        assertThat(started.await(100, TimeUnit.MILLISECONDS)).isFalse();
+        pending.block(Duration.ofSeconds(5));
+        assertThat(started.getCount()).isZero();
+    }
+
+    @Test
+    void keepsThousandsOfBlockedCallsInFlight() throws Exception {
+        int calls = 2000;
+        CountDownLatch inFlight = new CountDownLatch(calls);
+        CountDownLatch release = new CountDownLatch(1);
+        AsyncToolSpecification specification = executor.specification(callback("get_vms", input -> {
+            inFlight.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return "vm list";
+        }));
+
+        Mono<List<CallToolResult>> results = Flux.range(0, calls)
+            .flatMap(i -> call(specification, Map.of()), calls)
+            .collectList()
+            .cache();
+        results.subscribe();
+
+        assertThat(inFlight.await(10, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+        assertThat(results.block(Duration.ofSeconds(10))).hasSize(calls);
+    }
+
+    @Test
+    void toolFailuresBecomeErrorResults() {
+        AsyncToolSpecification specification = executor.specification(callback("start_vm", input -> {
+            throw new IllegalStateException("Proxmox API error: 500");
+        }));
+
+        CallToolResult result = call(specification, Map.of()).block(Duration.ofSeconds(5));
+
+        assertThat(result.isError()).isTrue();
+        assertThat(((TextContent) result.content().get(0)).text()).contains("Proxmox API error: 500");
+    }
+
+    @Test
+    void passesProgressTokenToTools() {
+        AtomicReference<ToolContext> context = new AtomicReference<>();
+        AsyncToolSpecification specification = executor.specification(new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return callback("stream_vm_command", input -> "").getToolDefinition();
+            }
+
+            @Override
+            public String call(String toolInput) {
+                throw new IllegalStateException("ToolContext is required");
+            }
+
+            @Override
+            public String call(String toolInput, ToolContext toolContext) {
+                context.set(toolContext);
+                return "done";
+            }
+        });
+        CallToolRequest request = new CallToolRequest("stream_vm_command", Map.of(), Map.of("progressToken", "t-1"));
+
+        CallToolResult result = specification.callHandler().apply(null, request).block(Duration.ofSeconds(5));
+
+        assertThat(result.isError()).isFalse();
+        assertThat(context.get().getContext())
+            .containsEntry(CommandProgressNotifier.PROGRESS_TOKEN_KEY, "t-1")
+            .containsKey(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY);
+    }
+
+    @Test
+    void rejectsCallsAfterClose() {
+        AsyncToolSpecification specification = executor.specification(callback("get_vms", input -> "vm list"));
+        executor.close();
+
+        assertThatThrownBy(() -> call(specification, Map.of()).block(Duration.ofSeconds(5)))
+            .hasRootCauseInstanceOf(RejectedExecutionException.class);
+    }
+
+    private static Mono<CallToolResult> call(AsyncToolSpecification specification, Map<String, Object> arguments) {
+        return specification.callHandler().apply(null, new CallToolRequest(specification.tool().name(), arguments));
+    }
+
+    private static ToolCallback callback(String name, Function<String, String> body) {
+        ToolDefinition definition = ToolDefinition.builder()
+            .name(name)
+            .description("Lists " + name)
+            .inputSchema("{\"type\":\"object\",\"properties\":{}}")
+            .build();
+        return new ToolCallback() {
+            @Override
+            public ToolDefinition getToolDefinition() {
+                return definition;
+            }
+
+            @Override
+            public String call(String toolInput) {
+                return body.apply(toolInput);
+            }
+
+            @Override
+            public String call(String toolInput, ToolContext toolContext) {
+                return call(toolInput);
+            }
+        };
+    }
+}
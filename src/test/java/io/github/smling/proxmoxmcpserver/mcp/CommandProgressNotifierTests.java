@@ -0,0 +1,98 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.github.smling.proxmoxmcpserver.tools.console.CommandOutputListener;
+import io.modelcontextprotocol.server.McpSyncServerExchange;
+import io.modelcontextprotocol.spec.McpSchema.LoggingLevel;
+import io.modelcontextprotocol.spec.McpSchema.LoggingMessageNotification;
+import io.modelcontextprotocol.spec.McpSchema.ProgressNotification;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.mcp.McpToolUtils;
+
+class CommandProgressNotifierTests {
+
+    private final McpSyncServerExchange exchange = mock(McpSyncServerExchange.class);
+
+    @Test
+    void sendsOutputAsProgressWhenTokenPresent() {
+        CommandOutputListener listener = CommandProgressNotifier.from(context("t-1"), "stream_vm_command");
+
+        listener.output("stdout", "line1\n");
+        listener.output("stderr", "oops\n");
+
+        ArgumentCaptor<ProgressNotification> captor = ArgumentCaptor.forClass(ProgressNotification.class);
+        verify(exchange, times(2)).progressNotification(captor.capture());
+        assertThat(captor.getAllValues()).extracting(ProgressNotification::progressToken).containsOnly("t-1");
+        assertThat(captor.getAllValues()).extracting(ProgressNotification::progress).containsExactly(1.0, 2.0);
+        assertThat(captor.getAllValues()).extracting(ProgressNotification::message)
+            .containsExactly("[stdout] line1\n", "[stderr] oops\n");
+        verify(exchange, never()).loggingNotification(any());
+    }
+
+    @Test
+    void sendsOutputAsLoggingWithoutToken() {
+        CommandOutputListener listener = CommandProgressNotifier.from(context(null), "stream_vm_command");
+
+        listener.output("stdout", "line1\n");
+        listener.output("stderr", "oops\n");
+
+        ArgumentCaptor<LoggingMessageNotification> captor = ArgumentCaptor.forClass(LoggingMessageNotification.class);
+        verify(exchange, times(2)).loggingNotification(captor.capture());
+        assertThat(captor.getAllValues()).extracting(LoggingMessageNotification::level)
+            .containsExactly(LoggingLevel.INFO, LoggingLevel.WARNING);
+        assertThat(captor.getAllValues()).extracting(LoggingMessageNotification::logger)
+            .containsOnly("stream_vm_command");
+        assertThat(captor.getAllValues().get(0).data()).isEqualTo("line1\n");
+        verify(exchange, never()).progressNotification(any());
+    }
+
+    @Test
+    void throttlesRunningNotifications() {
+        CommandOutputListener listener = CommandProgressNotifier.from(context("t-1"), "stream_vm_command");
+
+        listener.output("stdout", "line1\n");
+        listener.running("123", 20);
+        listener.running("123", 40);
+
+        verify(exchange, times(1)).progressNotification(any());
+    }
+
+    @Test
+    void ignoresNotificationFailures() {
+        doThrow(new IllegalStateException("session closed")).when(exchange).progressNotification(any());
+        CommandOutputListener listener = CommandProgressNotifier.from(context("t-1"), "stream_vm_command");
+
+        assertThatCode(() -> listener.output("stdout", "line1\n")).doesNotThrowAnyException();
+    }
+
+    @ParameterizedTest
+    @MethodSource("contextsWithoutExchange")
+    void ignoresCallsOutsideMcpExchange(ToolContext toolContext) {
+        assertThat(CommandProgressNotifier.from(toolContext, "stream_vm_command")).isSameAs(CommandOutputListener.NONE);
+    }
+
+    private ToolContext context(Object progressToken) {
+        return progressToken == null
+            ? new ToolContext(Map.of(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange))
+            : new ToolContext(Map.of(McpToolUtils.TOOL_CONTEXT_MCP_EXCHANGE_KEY, exchange,
+                CommandProgressNotifier.PROGRESS_TOKEN_KEY, progressToken));
+    }
+
+    private static Stream<ToolContext> contextsWithoutExchange() {
+        return Stream.of(null, new ToolContext(Map.of("other", "value")));
+    }
+}
@@ -0,0 +1,52 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+class InstrumentedToolCallbackTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ToolCallback delegate = mock(ToolCallback.class);
+    private final ToolDefinition definition = ToolDefinition.builder()
+        .name("get_nodes")
+        .description("List nodes")
+        .inputSchema("{}")
+        .build();
+
+    @Test
+    void delegatesDefinitionAndMetadata() {
+        ToolMetadata metadata = ToolMetadata.builder().returnDirect(true).build();
+        when(delegate.getToolDefinition()).thenReturn(definition);
+        when(delegate.getToolMetadata()).thenReturn(metadata);
+
+        InstrumentedToolCallback callback = new InstrumentedToolCallback(delegate, new ToolMetrics(registry));
+
+        assertThat(callback.getToolDefinition()).isSameAs(definition);
+        assertThat(callback.getToolMetadata()).isSameAs(metadata);
+    }
+
+    @Test
+    void recordsBothCallVariantsUnderToolName() {
+        ToolContext context = new ToolContext(Map.of());
+        when(delegate.getToolDefinition()).thenReturn(definition);
+        when(delegate.call("{}")).thenReturn("pve1");
+        when(delegate.call("{}", context)).thenReturn("pve1,pve2");
+        InstrumentedToolCallback callback = new InstrumentedToolCallback(delegate, new ToolMetrics(registry));
+
+        assertThat(callback.call("{}")).isEqualTo("pve1");
+        assertThat(callback.call("{}", context)).isEqualTo("pve1,pve2");
+
+        assertThat(registry.get("mcp.tool.duration").tag("tool", "get_nodes").timer().count()).isEqualTo(2);
+        assertThat(registry.get("mcp.tool.response.size").tag("tool", "get_nodes").summary().totalAmount())
+            .isEqualTo(13.0);
+    }
+}
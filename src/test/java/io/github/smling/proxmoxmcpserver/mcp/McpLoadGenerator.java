@@ -0,0 +1,472 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import io.modelcontextprotocol.client.McpClient;
+import io.modelcontextprotocol.client.McpSyncClient;
+import io.modelcontextprotocol.client.transport.HttpClientStreamableHttpTransport;
+import io.modelcontextprotocol.spec.McpSchema;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load generator that replays a weighted mix of tool calls over concurrent MCP sessions.
+ *
+ * <p>Every session is an independent streamable-HTTP MCP client that initializes first and then calls tools
+ * back to back until the run ends. Latency is measured per call on the client, so it includes queueing in the
+ * server's request threads. Ramping the session count shows where throughput stops growing and latency starts
+ * to climb, which is the saturation point of the server's execution model.</p>
+ *
+ * <p>Run it against a running server with the test classpath, for example:</p>
+ * <pre>
+ * ./mvnw test-compile exec:java -Dexec.classpathScope=test \
+ *   -Dexec.mainClass=io.github.smling.proxmoxmcpserver.mcp.McpLoadGenerator \
+ *   -Dexec.args="--url http://localhost:8080 --sessions 1,8,32,128 --duration 30"
+ * </pre>
+ */
+public final class McpLoadGenerator {
+    private static final Duration SESSION_TIMEOUT = Duration.ofSeconds(30);
+
+    private final SessionFactory sessions;
+    private final List<WeightedCall> mix;
+    private final int totalWeight;
+
+    /**
+     * Creates a generator.
+     *
+     * @param sessions opens one MCP session per simulated agent
+     * @param mix the weighted tool calls to replay
+     */
+    public McpLoadGenerator(SessionFactory sessions, List<WeightedCall> mix) {
+        this.sessions = sessions;
+        this.mix = mix.stream().filter(call -> call.weight() > 0).toList();
+        this.totalWeight = this.mix.stream().mapToInt(WeightedCall::weight).sum();
+        if (this.mix.isEmpty()) {
+            throw new IllegalArgumentException("Tool mix must contain at least one call with a positive weight");
+        }
+    }
+
+    /**
+     * Runs the mix over concurrent sessions for a fixed duration.
+     *
+     * @param sessionCount the number of concurrent sessions
+     * @param duration how long sessions keep issuing calls
+     * @param seed the seed for the per-session call selection
+     * @return the aggregated report
+     * @throws InterruptedException when interrupted while waiting for sessions
+     */
+    public Report run(int sessionCount, Duration duration, long seed) throws InterruptedException {
+        List<Recorder> recorders = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        CountDownLatch ready = new CountDownLatch(sessionCount);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] deadline = new long[1];
+
+        for (int i = 0; i < sessionCount; i++) {
+            Recorder recorder = new Recorder();
+            Random random = new Random(seed + i);
+            recorders.add(recorder);
+            threads.add(Thread.ofVirtual().name("mcp-load-", i).start(() -> {
+                Session session = null;
+                try {
+                    session = sessions.open();
+                } catch (Exception e) {
+                    recorder.sessionFailed = true;
+                } finally {
+                    ready.countDown();
+                }
+                if (session == null) {
+                    return;
+                }
+                try (Session open = session) {
+                    go.await();
+                    while (System.nanoTime() < deadline[0]) {
+                        WeightedCall call = pick(random);
+                        long started = System.nanoTime();
+                        boolean error;
+                        try {
+                            error = open.call(call.tool(), call.arguments());
+                        } catch (Exception e) {
+                            error = true;
+                        }
+                        recorder.record(call.tool(), System.nanoTime() - started, error);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+
+        ready.await();
+        long started = System.nanoTime();
+        deadline[0] = started + duration.toNanos();
+        go.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        return Report.of(sessionCount, Duration.ofNanos(System.nanoTime() - started), recorders);
+    }
+
+    /**
+     * Picks the next call according to the mix weights.
+     *
+     * @param random the session's random source
+     * @return the call
+     */
+    private WeightedCall pick(Random random) {
+        int target = random.nextInt(totalWeight);
+        for (WeightedCall call : mix) {
+            target -= call.weight();
+            if (target < 0) {
+                return call;
+            }
+        }
+        return mix.getLast();
+    }
+
+    /**
+     * Returns the default read-heavy mix with occasional container starts.
+     *
+     * @param selector the container selector used by {@code start_container}
+     * @return the mix
+     */
+    public static List<WeightedCall> defaultMix(String selector) {
+        return parseMix("get_vms=4,get_containers=4,list_backups=2,get_nodes=2,get_cluster_status=1,"
+            + "start_container=1", selector);
+    }
+
+    /**
+     * Parses a mix such as {@code get_vms=4,list_backups=1}; a missing weight means {@code 1}.
+     *
+     * <p>Container actions receive the selector; every other tool is called with default arguments.</p>
+     *
+     * @param spec the mix specification
+     * @param selector the container selector for container actions
+     * @return the mix
+     */
+    public static List<WeightedCall> parseMix(String spec, String selector) {
+        List<WeightedCall> mix = new ArrayList<>();
+        for (String entry : spec.split(",")) {
+            String trimmed = entry.trim();
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            String[] parts = trimmed.split("=", 2);
+            int weight;
+            try {
+                weight = parts.length == 2 ? Integer.parseInt(parts[1].trim()) : 1;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in tool mix entry: " + trimmed, e);
+            }
+            String tool = parts[0].trim();
+            Map<String, Object> arguments = tool.endsWith("_container") && !"create_container".equals(tool)
+                ? Map.of("selector", selector)
+                : Map.of();
+            mix.add(new WeightedCall(tool, arguments, weight));
+        }
+        return mix;
+    }
+
+    /**
+     * Opens streamable-HTTP MCP sessions against a running server.
+     *
+     * @param baseUrl the server base URL, e.g. {@code http://localhost:8080}
+     * @param endpoint the MCP endpoint path, e.g. {@code /mcp}
+     * @param timeout the per-request timeout
+     * @return the session factory
+     */
+    public static SessionFactory streamableHttp(String baseUrl, String endpoint, Duration timeout) {
+        return () -> {
+            McpSyncClient client = McpClient.sync(HttpClientStreamableHttpTransport.builder(baseUrl)
+                    .endpoint(endpoint)
+                    .build())
+                .clientInfo(new McpSchema.Implementation("mcp-load-generator", "1.0"))
+                .requestTimeout(timeout)
+                .initializationTimeout(SESSION_TIMEOUT)
+                .build();
+            try {
+                client.initialize();
+            } catch (RuntimeException e) {
+                client.close();
+                throw e;
+            }
+            return new Session() {
+                @Override
+                public boolean call(String tool, Map<String, Object> arguments) {
+                    McpSchema.CallToolResult result = client.callTool(new McpSchema.CallToolRequest(tool, arguments));
+                    return Boolean.TRUE.equals(result.isError());
+                }
+
+                @Override
+                public void close() {
+                    client.closeGracefully();
+                }
+            };
+        };
+    }
+
+    /**
+     * Runs one load step per session count and prints a report for each.
+     *
+     * <p>Options: {@code --url} (default {@code http://localhost:8080}), {@code --endpoint} ({@code /mcp}),
+     * {@code --sessions} (comma-separated steps, {@code 1,8,32}), {@code --duration} seconds per step
+     * ({@code 30}), {@code --mix} ({@code tool=weight,...}), {@code --selector} ({@code 101}),
+     * {@code --timeout} seconds per call ({@code 60}) and {@code --seed} ({@code 42}).</p>
+     *
+     * @param args command-line options
+     * @throws InterruptedException when interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            options.put(args[i].replaceFirst("^--", ""), args[i + 1]);
+        }
+        String selector = options.getOrDefault("selector", "101");
+        List<WeightedCall> mix = options.containsKey("mix")
+            ? parseMix(options.get("mix"), selector)
+            : defaultMix(selector);
+        McpLoadGenerator generator = new McpLoadGenerator(streamableHttp(
+            options.getOrDefault("url", "http://localhost:8080"),
+            options.getOrDefault("endpoint", "/mcp"),
+            Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")))), mix);
+        Duration duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "30")));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        for (String step : options.getOrDefault("sessions", "1,8,32").split(",")) {
+            System.out.println(generator.run(Integer.parseInt(step.trim()), duration, seed).format());
+            System.out.println();
+        }
+    }
+
+    /**
+     * Returns the nearest-rank percentile of sorted samples.
+     *
+     * @param sorted the samples in ascending order
+     * @param percentile the percentile between 0 and 1
+     * @return the percentile, or {@code 0} without samples
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0L;
+        }
+        int rank = (int) Math.ceil(percentile * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(1, rank)) - 1];
+    }
+
+    /**
+     * Converts nanoseconds to milliseconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in milliseconds
+     */
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * One simulated agent connection.
+     */
+    public interface Session extends AutoCloseable {
+        /**
+         * Calls a tool.
+         *
+         * @param tool the tool name
+         * @param arguments the tool arguments
+         * @return {@code true} when the server reported a tool error
+         * @throws Exception when the call fails
+         */
+        boolean call(String tool, Map<String, Object> arguments) throws Exception;
+
+        /**
+         * Ends the session.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Opens initialized sessions.
+     */
+    @FunctionalInterface
+    public interface SessionFactory {
+        /**
+         * Opens and initializes a session.
+         *
+         * @return the session
+         * @throws Exception when the session cannot be established
+         */
+        Session open() throws Exception;
+    }
+
+    /**
+     * A tool call and its share of the mix.
+     *
+     * @param tool the tool name
+     * @param arguments the tool arguments
+     * @param weight the relative weight
+     */
+    public record WeightedCall(String tool, Map<String, Object> arguments, int weight) {
+    }
+
+    /**
+     * Latency and error figures for one tool.
+     *
+     * @param calls completed calls
+     * @param errors failed calls
+     * @param p50Millis median latency
+     * @param p95Millis 95th percentile latency
+     * @param p99Millis 99th percentile latency
+     * @param maxMillis maximum latency
+     */
+    public record ToolStats(long calls, long errors, double p50Millis, double p95Millis, double p99Millis,
+                            double maxMillis) {
+        /**
+         * Computes statistics from raw latencies.
+         *
+         * @param latencies the latencies in nanoseconds
+         * @param errors the number of failed calls
+         * @return the statistics
+         */
+        static ToolStats of(long[] latencies, long errors) {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return new ToolStats(sorted.length, errors, millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.95)), millis(percentile(sorted, 0.99)),
+                millis(sorted.length == 0 ? 0L : sorted[sorted.length - 1]));
+        }
+    }
+
+    /**
+     * Result of one load step.
+     *
+     * @param sessions the number of concurrent sessions
+     * @param failedSessions sessions that could not be initialized
+     * @param elapsed the wall time of the step
+     * @param throughput completed calls per second
+     * @param errorRate the share of failed calls between 0 and 1
+     * @param overall statistics across every tool
+     * @param tools statistics per tool, sorted by name
+     */
+    public record Report(int sessions, int failedSessions, Duration elapsed, double throughput, double errorRate, ToolStats overall,
+                         Map<String, ToolStats> tools) {
+        /**
+         * Aggregates the per-session recorders.
+         *
+         * @param sessions the number of sessions
+         * @param elapsed the wall time
+         * @param recorders the per-session recorders
+         * @return the report
+         */
+        static Report of(int sessions, Duration elapsed, List<Recorder> recorders) {
+            Map<String, Recorder.Samples> merged = new LinkedHashMap<>();
+            Recorder.Samples all = new Recorder.Samples();
+            int failedSessions = 0;
+            for (Recorder recorder : recorders) {
+                if (recorder.sessionFailed) {
+                    failedSessions++;
+                }
+                recorder.samples.forEach((tool, samples) -> {
+                    merged.computeIfAbsent(tool, key -> new Recorder.Samples()).addAll(samples);
+                    all.addAll(samples);
+                });
+            }
+            Map<String, ToolStats> tools = new TreeMap<>();
+            merged.forEach((tool, samples) -> tools.put(tool, ToolStats.of(samples.latencies(), samples.errors)));
+            ToolStats overall = ToolStats.of(all.latencies(), all.errors);
+            double seconds = Math.max(1e-9, elapsed.toNanos() / 1e9);
+            double errorRate = overall.calls() == 0 ? 0.0 : (double) overall.errors() / overall.calls();
+            return new Report(sessions, failedSessions, elapsed, overall.calls() / seconds, errorRate, overall, tools);
+        }
+
+        /**
+         * Renders the report as a small table.
+         *
+         * @return the formatted report
+         */
+        public String format() {
+            StringBuilder builder = new StringBuilder(String.format(Locale.ROOT,
+                "sessions=%d failed_sessions=%d elapsed=%.1fs calls=%d throughput=%.1f/s errors=%.2f%% p50=%.1fms "
+                    + "p95=%.1fms p99=%.1fms max=%.1fms",
+                sessions, failedSessions, elapsed.toMillis() / 1000.0, overall.calls(), throughput, errorRate * 100,
+                overall.p50Millis(), overall.p95Millis(), overall.p99Millis(), overall.maxMillis()));
+            tools.forEach((tool, stats) -> builder.append(String.format(Locale.ROOT,
+                "%n  %-28s calls=%-7d errors=%-5d p50=%8.1fms p95=%8.1fms p99=%8.1fms max=%8.1fms",
+                tool, stats.calls(), stats.errors(), stats.p50Millis(), stats.p95Millis(), stats.p99Millis(),
+                stats.maxMillis())));
+            return builder.toString();
+        }
+    }
+
+    /**
+     * Per-session latency samples, written by a single thread.
+     */
+    static final class Recorder {
+        private final Map<String, Samples> samples = new HashMap<>();
+        private boolean sessionFailed;
+
+        /**
+         * Records one call.
+         *
+         * @param tool the tool name
+         * @param nanos the latency in nanoseconds
+         * @param error whether the call failed
+         */
+        void record(String tool, long nanos, boolean error) {
+            samples.computeIfAbsent(tool, key -> new Samples()).add(nanos, error);
+        }
+
+        /**
+         * Growable latency buffer with an error count.
+         */
+        static final class Samples {
+            private long[] values = new long[64];
+            private int size;
+            private long errors;
+
+            /**
+             * Adds a sample.
+             *
+             * @param nanos the latency in nanoseconds
+             * @param error whether the call failed
+             */
+            void add(long nanos, boolean error) {
+                if (size == values.length) {
+                    values = Arrays.copyOf(values, size * 2);
+                }
+                values[size++] = nanos;
+                if (error) {
+                    errors++;
+                }
+            }
+
+            /**
+             * Appends every sample of another buffer.
+             *
+             * @param other the other buffer
+             */
+            void addAll(Samples other) {
+                for (int i = 0; i < other.size; i++) {
+                    add(other.values[i], false);
+                }
+                errors += other.errors;
+            }
+
+            /**
+             * Returns the recorded latencies.
+             *
+             * @return the latencies in nanoseconds
+             */
+            long[] latencies() {
+                return Arrays.copyOf(values, size);
+            }
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.smling.proxmoxmcpserver.mcp.McpLoadGenerator.Report;
+import io.github.smling.proxmoxmcpserver.mcp.McpLoadGenerator.Session;
+import io.github.smling.proxmoxmcpserver.mcp.McpLoadGenerator.WeightedCall;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class McpLoadGeneratorTests {
+
+    private final AtomicInteger opened = new AtomicInteger();
+    private final AtomicInteger closed = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final AtomicBoolean failedOnce = new AtomicBoolean();
+
+    @Test
+    void runsSessionsConcurrently() throws Exception {
+        McpLoadGenerator generator = new McpLoadGenerator(() -> session(Duration.ofMillis(5)),
+            List.of(new WeightedCall("get_vms", Map.of(), 1)));
+
+        Report report = generator.run(4, Duration.ofMillis(200), 1L);
+
+        assertThat(opened).hasValue(4);
+        assertThat(closed).hasValue(4);
+        assertThat(maxInFlight).hasValue(4);
+        assertThat(report.overall().calls()).isPositive();
+        assertThat(report.throughput()).isPositive();
+        assertThat(report.overall().p50Millis()).isGreaterThanOrEqualTo(5.0);
+    }
+
+    @Test
+    void followsMixWeights() throws Exception {
+        McpLoadGenerator generator = new McpLoadGenerator(() -> session(Duration.ZERO), List.of(
+            new WeightedCall("get_vms", Map.of(), 3),
+            new WeightedCall("list_backups", Map.of(), 1),
+            new WeightedCall("delete_vm", Map.of(), 0)));
+
+        Report report = generator.run(2, Duration.ofMillis(200), 7L);
+
+        double vms = report.tools().get("get_vms").calls();
+        double backups = report.tools().get("list_backups").calls();
+        assertThat(vms / (vms + backups)).isBetween(0.70, 0.80);
+        assertThat(report.tools()).doesNotContainKey("delete_vm");
+    }
+
+    @Test
+    void countsToolErrorsAndExceptions() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        McpLoadGenerator generator = new McpLoadGenerator(() -> new Session() {
+            @Override
+            public boolean call(String tool, Map<String, Object> arguments) {
+                int n = calls.incrementAndGet();
+                if (n % 4 == 0) {
+                    throw new IllegalStateException("timeout");
+                }
+                return n % 4 == 1;
+            }
+
+            @Override
+            public void close() {
+            }
+        }, List.of(new WeightedCall("start_container", Map.of("selector", "101"), 1)));
+
+        Report report = generator.run(1, Duration.ofMillis(100), 1L);
+
+        assertThat(report.errorRate()).isBetween(0.45, 0.55);
+        assertThat(report.tools().get("start_container").errors()).isEqualTo(report.overall().errors());
+    }
+
+    @Test
+    void reportsSessionsThatFailToInitialize() throws Exception {
+        McpLoadGenerator generator = new McpLoadGenerator(() -> {
+            if (failedOnce.compareAndSet(false, true)) {
+                throw new IllegalStateException("connection refused");
+            }
+            return session(Duration.ZERO);
+        }, List.of(new WeightedCall("get_vms", Map.of(), 1)));
+
+        Report report = generator.run(3, Duration.ofMillis(50), 1L);
+
+        assertThat(report.failedSessions()).isEqualTo(1);
+        assertThat(report.overall().calls()).isPositive();
+        assertThat(report.format()).contains("failed_sessions=1").contains("get_vms");
+    }
+
+    @Test
+    void rejectsMixWithoutPositiveWeights() {
+        assertThatThrownBy(() -> new McpLoadGenerator(() -> null, List.of(new WeightedCall("get_vms", Map.of(), 0))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @ParameterizedTest
+    @MethodSource("mixes")
+    void parsesMix(String spec, List<WeightedCall> expected) {
+        assertThat(McpLoadGenerator.parseMix(spec, "pve1:101")).isEqualTo(expected);
+    }
+
+    @Test
+    void rejectsInvalidMixWeight() {
+        assertThatThrownBy(() -> McpLoadGenerator.parseMix("get_vms=many", "101"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("get_vms=many");
+    }
+
+    @Test
+    void defaultMixIncludesReadsAndContainerStarts() {
+        assertThat(McpLoadGenerator.defaultMix("101")).extracting(WeightedCall::tool)
+            .contains("get_vms", "get_containers", "list_backups", "start_container");
+    }
+
+    @ParameterizedTest
+    @MethodSource("percentiles")
+    void computesNearestRankPercentiles(long[] sorted, double percentile, long expected) {
+        assertThat(McpLoadGenerator.percentile(sorted, percentile)).isEqualTo(expected);
+    }
+
+    private Session session(Duration latency) {
+        opened.incrementAndGet();
+        return new Session() {
+            @Override
+            public boolean call(String tool, Map<String, Object> arguments) throws Exception {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    if (!latency.isZero()) {
+                        Thread.sleep(latency);
+                    }
+                    return false;
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            }
+
+            @Override
+            public void close() {
+                closed.incrementAndGet();
+            }
+        };
+    }
+
+    private static Stream<Arguments> mixes() {
+        return Stream.of(
+            Arguments.of("get_vms=3,list_backups", List.of(
+                new WeightedCall("get_vms", Map.of(), 3),
+                new WeightedCall("list_backups", Map.of(), 1))),
+            Arguments.of(" start_container = 2 , get_containers=1,", List.of(
+                new WeightedCall("start_container", Map.of("selector", "pve1:101"), 2),
+                new WeightedCall("get_containers", Map.of(), 1)))
+        );
+    }
+
+    private static Stream<Arguments> percentiles() {
+        long[] samples = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+        return Stream.of(
+            Arguments.of(samples, 0.50, 5L),
+            Arguments.of(samples, 0.95, 10L),
+            Arguments.of(samples, 0.0, 1L),
+            Arguments.of(new long[0], 0.99, 0L)
+        );
+    }
+}
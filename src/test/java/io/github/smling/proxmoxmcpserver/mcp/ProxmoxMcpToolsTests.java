@@ -13,7 +13,10 @@ import io.github.smling.proxmoxmcpserver.tools.IsoTools;
 import io.github.smling.proxmoxmcpserver.tools.NodeTools;
 import io.github.smling.proxmoxmcpserver.tools.SnapshotTools;
 import io.github.smling.proxmoxmcpserver.tools.StorageTools;
+import io.github.smling.proxmoxmcpserver.tools.TaskTools;
 import io.github.smling.proxmoxmcpserver.tools.VmTools;
+import io.github.smling.proxmoxmcpserver.tools.console.CommandOutputListener;
+import java.time.Duration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -28,6 +31,7 @@ class ProxmoxMcpToolsTests {
     private SnapshotTools snapshotTools;
     private IsoTools isoTools;
     private BackupTools backupTools;
+    private TaskTools taskTools;
     private ProxmoxMcpTools tools;
 
     @BeforeEach
@@ -40,8 +44,10 @@ class ProxmoxMcpToolsTests {
         snapshotTools = mock(SnapshotTools.class);
         isoTools = mock(IsoTools.class);
         backupTools = mock(BackupTools.class);
+        taskTools = mock(TaskTools.class);
         tools = new ProxmoxMcpTools(
-            nodeTools, vmTools, storageTools, clusterTools, containerTools, snapshotTools, isoTools, backupTools
+            nodeTools, vmTools, storageTools, clusterTools, containerTools, snapshotTools, isoTools, backupTools,
+            taskTools
         );
     }
 
@@ -84,10 +90,35 @@ class ProxmoxMcpToolsTests {
     @Test
     void executeVmCommandDelegates() {
         when(vmTools.executeCommand("pve1", "100", "uptime")).thenReturn("out");
-        assertThat(tools.executeVmCommand("pve1", "100", "uptime")).isEqualTo("out");
+        assertThat(tools.executeVmCommand("pve1", "100", "uptime", null)).isEqualTo("out");
         verify(vmTools).executeCommand("pve1", "100", "uptime");
     }
 
+    @Test
+    void executeVmCommandPassesTimeout() {
+        when(vmTools.executeCommand("pve1", "100", "sleep 60", Duration.ofSeconds(90))).thenReturn("out");
+        assertThat(tools.executeVmCommand("pve1", "100", "sleep 60", 90)).isEqualTo("out");
+        verify(vmTools).executeCommand("pve1", "100", "sleep 60", Duration.ofSeconds(90));
+    }
+
+    @Test
+    void streamVmCommandDelegates() {
+        when(vmTools.streamCommand("pve1", "100", "dmesg", Duration.ofSeconds(5), 1024, true,
+            CommandOutputListener.NONE)).thenReturn("stream");
+        assertThat(tools.streamVmCommand("pve1", "100", "dmesg", 5, 1024, true, null)).isEqualTo("stream");
+        verify(vmTools).streamCommand("pve1", "100", "dmesg", Duration.ofSeconds(5), 1024, true,
+            CommandOutputListener.NONE);
+    }
+
+    @Test
+    void executeVmCommandBatchDelegates() {
+        when(vmTools.executeCommandOnVms("101,102", null, "web", null, "uptime", 4, Duration.ofSeconds(10), "json"))
+            .thenReturn("batch");
+        assertThat(tools.executeVmCommandBatch("uptime", "101,102", null, "web", null, 4, 10, "json"))
+            .isEqualTo("batch");
+        verify(vmTools).executeCommandOnVms("101,102", null, "web", null, "uptime", 4, Duration.ofSeconds(10), "json");
+    }
+
     @Test
     void startVmDelegates() {
         when(vmTools.startVm("pve1", "100")).thenReturn("start");
@@ -160,44 +191,44 @@ class ProxmoxMcpToolsTests {
 
     @Test
     void startContainerDefaultsFormatStyle() {
-        when(containerTools.startContainer("101", "pretty")).thenReturn("started");
-        assertThat(tools.startContainer("101", null)).isEqualTo("started");
-        verify(containerTools).startContainer("101", "pretty");
+        when(containerTools.startContainer("101", null, "pretty")).thenReturn("started");
+        assertThat(tools.startContainer("101", null, null)).isEqualTo("started");
+        verify(containerTools).startContainer("101", null, "pretty");
     }
 
     @Test
     void startContainerHonorsFormatStyle() {
-        when(containerTools.startContainer("101", "json")).thenReturn("started");
-        assertThat(tools.startContainer("101", "json")).isEqualTo("started");
-        verify(containerTools).startContainer("101", "json");
+        when(containerTools.startContainer("101", 30, "json")).thenReturn("started");
+        assertThat(tools.startContainer("101", 30, "json")).isEqualTo("started");
+        verify(containerTools).startContainer("101", 30, "json");
     }
 
     @Test
     void stopContainerDefaultsGracefulAndTimeout() {
-        when(containerTools.stopContainer("101", true, 10, "pretty")).thenReturn("stopped");
-        assertThat(tools.stopContainer("101", null, null, null)).isEqualTo("stopped");
-        verify(containerTools).stopContainer("101", true, 10, "pretty");
+        when(containerTools.stopContainer("101", true, 10, null, null, null, "pretty")).thenReturn("stopped");
+        assertThat(tools.stopContainer("101", null, null, null, null, null, null)).isEqualTo("stopped");
+        verify(containerTools).stopContainer("101", true, 10, null, null, null, "pretty");
     }
 
     @Test
     void stopContainerHonorsGracefulFalse() {
-        when(containerTools.stopContainer("101", false, 5, "json")).thenReturn("stopped");
-        assertThat(tools.stopContainer("101", false, 5, "json")).isEqualTo("stopped");
-        verify(containerTools).stopContainer("101", false, 5, "json");
+        when(containerTools.stopContainer("101", false, 5, 60, 2, 1, "json")).thenReturn("stopped");
+        assertThat(tools.stopContainer("101", false, 5, 60, 2, 1, "json")).isEqualTo("stopped");
+        verify(containerTools).stopContainer("101", false, 5, 60, 2, 1, "json");
     }
 
     @Test
     void restartContainerDefaultsTimeout() {
-        when(containerTools.restartContainer("101", 10, "pretty")).thenReturn("restarted");
-        assertThat(tools.restartContainer("101", null, null)).isEqualTo("restarted");
-        verify(containerTools).restartContainer("101", 10, "pretty");
+        when(containerTools.restartContainer("101", 10, null, null, null, "pretty")).thenReturn("restarted");
+        assertThat(tools.restartContainer("101", null, null, null, null, null)).isEqualTo("restarted");
+        verify(containerTools).restartContainer("101", 10, null, null, null, "pretty");
     }
 
     @Test
     void restartContainerUsesProvidedTimeout() {
-        when(containerTools.restartContainer("101", 30, "json")).thenReturn("restarted");
-        assertThat(tools.restartContainer("101", 30, "json")).isEqualTo("restarted");
-        verify(containerTools).restartContainer("101", 30, "json");
+        when(containerTools.restartContainer("101", 30, 0, 5, 0, "json")).thenReturn("restarted");
+        assertThat(tools.restartContainer("101", 30, 0, 5, 0, "json")).isEqualTo("restarted");
+        verify(containerTools).restartContainer("101", 30, 0, 5, 0, "json");
     }
 
     @Test
@@ -242,9 +273,9 @@ class ProxmoxMcpToolsTests {
 
     @Test
     void deleteContainerDefaultsForce() {
-        when(containerTools.deleteContainer("101", false, "pretty")).thenReturn("deleted");
-        assertThat(tools.deleteContainer("101", null, null)).isEqualTo("deleted");
-        verify(containerTools).deleteContainer("101", false, "pretty");
+        when(containerTools.deleteContainer("101", false, null, "pretty")).thenReturn("deleted");
+        assertThat(tools.deleteContainer("101", null, null, null)).isEqualTo("deleted");
+        verify(containerTools).deleteContainer("101", false, null, "pretty");
     }
 
     @Test
@@ -362,4 +393,32 @@ class ProxmoxMcpToolsTests {
         assertThat(tools.deleteBackup("pve1", "backup", "volid")).isEqualTo("deleted");
         verify(backupTools).deleteBackup("pve1", "backup", "volid");
     }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    void getTaskRequiresUpid(String upid) {
+        assertThatThrownBy(() -> tools.getTask(upid, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void getTaskDelegates() {
+        when(taskTools.getTask("UPID:pve1:1", 5)).thenReturn("task");
+        assertThat(tools.getTask("UPID:pve1:1", 5)).isEqualTo("task");
+        verify(taskTools).getTask("UPID:pve1:1", 5);
+    }
+
+    @Test
+    void waitTaskConvertsTimeout() {
+        when(taskTools.waitTask("UPID:pve1:1", Duration.ofSeconds(90), null)).thenReturn("done");
+        assertThat(tools.waitTask("UPID:pve1:1", 90, null)).isEqualTo("done");
+        verify(taskTools).waitTask("UPID:pve1:1", Duration.ofSeconds(90), null);
+    }
+
+    @Test
+    void waitTaskPassesDefaultTimeout() {
+        when(taskTools.waitTask("UPID:pve1:1", null, 3)).thenReturn("done");
+        assertThat(tools.waitTask("UPID:pve1:1", null, 3)).isEqualTo("done");
+        verify(taskTools).waitTask("UPID:pve1:1", null, 3);
+    }
 }
@@ -17,6 +17,10 @@ class ToolDescriptionsTests {
         "GET_VMS_DESC",
         "CREATE_VM_DESC",
         "EXECUTE_VM_COMMAND_DESC",
+        "STREAM_VM_COMMAND_DESC",
+        "EXECUTE_VM_COMMAND_BATCH_DESC",
+        "GET_TASK_DESC",
+        "WAIT_TASK_DESC",
         "GET_STORAGE_DESC",
         "GET_CLUSTER_STATUS_DESC"
     })
@@ -0,0 +1,96 @@
+package io.github.smling.proxmoxmcpserver.mcp;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.github.smling.proxmoxmcpserver.core.ApiMetrics;
+import io.github.smling.proxmoxmcpserver.core.FanOut;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class ToolMetricsTests {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ToolMetrics metrics = new ToolMetrics(registry);
+    private final ApiMetrics apiMetrics = new ApiMetrics();
+
+    @Test
+    void recordsDurationResponseSizeAndUpstreamCalls() {
+        String response = metrics.record("get_vms", () -> {
+            upstream("/nodes");
+            upstream("/nodes/pve1/qemu");
+            return "vm-list";
+        });
+
+        assertThat(response).isEqualTo("vm-list");
+        assertThat(registry.get("mcp.tool.duration").tag("tool", "get_vms").timer().count()).isEqualTo(1);
+        assertThat(registry.get("mcp.tool.upstream.calls").tag("tool", "get_vms").summary().totalAmount())
+            .isEqualTo(2.0);
+        assertThat(registry.get("mcp.tool.response.size").tag("tool", "get_vms").summary().totalAmount())
+            .isEqualTo(7.0);
+    }
+
+    @Test
+    void countsUpstreamCallsFromFanOutThreads() {
+        FanOut fanOut = new FanOut(4);
+
+        metrics.record("get_containers", () -> String.join(",", fanOut.map(List.of("pve1", "pve2", "pve3"),
+            node -> {
+                upstream("/nodes/" + node + "/lxc");
+                return node;
+            }, (node, error) -> "")));
+
+        assertThat(metrics.summaries().get("get_containers").meanUpstreamCalls()).isEqualTo(3.0);
+    }
+
+    @Test
+    void recordsErrorClassAndRethrows() {
+        assertThatThrownBy(() -> metrics.record("list_backups", () -> {
+            throw new IllegalArgumentException("Resource not found");
+        })).isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(registry.get("mcp.tool.errors")
+            .tag("tool", "list_backups")
+            .tag("exception", "IllegalArgumentException")
+            .counter().count()).isEqualTo(1.0);
+        assertThat(metrics.summaries().get("list_backups").errors()).isEqualTo(1);
+        assertThat(registry.get("mcp.tool.duration").tag("tool", "list_backups").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void summariesListPercentilesPerToolInNameOrder() {
+        for (int i = 0; i < 20; i++) {
+            metrics.record("get_vms", () -> "x");
+        }
+        metrics.record("get_nodes", () -> "nodes");
+
+        assertThat(metrics.summaries()).containsOnlyKeys("get_nodes", "get_vms");
+        assertThat(metrics.summaries().keySet()).containsExactly("get_nodes", "get_vms");
+        ToolMetrics.ToolSummary summary = metrics.summaries().get("get_vms");
+        assertThat(summary.count()).isEqualTo(20);
+        assertThat(summary.p50Millis()).isLessThanOrEqualTo(summary.p95Millis());
+        assertThat(summary.p95Millis()).isLessThanOrEqualTo(summary.p99Millis());
+        assertThat(summary.meanResponseChars()).isEqualTo(1.0);
+        assertThat(summary.meanUpstreamCalls()).isZero();
+    }
+
+    @Test
+    void endpointExposesSummaries() {
+        ToolMetricsEndpoint endpoint = new ToolMetricsEndpoint(metrics);
+        metrics.record("get_storage", () -> "storage");
+
+        assertThat(endpoint.tools()).containsOnlyKeys("get_storage");
+        assertThat(endpoint.tool("get_storage").count()).isEqualTo(1);
+        assertThat(endpoint.tool("get_vms")).isNull();
+    }
+
+    private void upstream(String path) {
+        try {
+            apiMetrics.send((method, target, params) -> null, HttpMethod.GET, path, null);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -7,9 +7,18 @@ import static org.mockito.Mockito.when;
 import io.github.smling.proxmoxmcpserver.config.Config;
 import io.github.smling.proxmoxmcpserver.config.AuthConfig;
 import io.github.smling.proxmoxmcpserver.config.ProxmoxConfig;
+import io.github.smling.proxmoxmcpserver.config.ThrottleConfig;
+import io.github.smling.proxmoxmcpserver.core.ApiMetrics;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxManager;
+import io.github.smling.proxmoxmcpserver.core.RequestCoalescer;
+import io.github.smling.proxmoxmcpserver.core.RequestThrottle;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
+import io.github.smling.proxmoxmcpserver.mcp.AsyncToolExecutor;
+import io.github.smling.proxmoxmcpserver.mcp.InstrumentedToolCallback;
 import io.github.smling.proxmoxmcpserver.mcp.ProxmoxMcpTools;
+import io.github.smling.proxmoxmcpserver.mcp.ToolMetrics;
 import io.github.smling.proxmoxmcpserver.tools.BackupTools;
 import io.github.smling.proxmoxmcpserver.tools.ClusterTools;
 import io.github.smling.proxmoxmcpserver.tools.ContainerTools;
@@ -17,14 +26,21 @@ import io.github.smling.proxmoxmcpserver.tools.IsoTools;
 import io.github.smling.proxmoxmcpserver.tools.NodeTools;
 import io.github.smling.proxmoxmcpserver.tools.SnapshotTools;
 import io.github.smling.proxmoxmcpserver.tools.StorageTools;
+import io.github.smling.proxmoxmcpserver.tools.TaskTools;
 import io.github.smling.proxmoxmcpserver.tools.VmTools;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.modelcontextprotocol.server.McpServerFeatures.AsyncToolSpecification;
 import java.lang.reflect.Field;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
 import org.mockito.MockedConstruction;
 import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.ai.tool.ToolCallbackProvider;
 
 class ProxmoxConfigurationTests {
@@ -88,14 +104,17 @@ class ProxmoxConfigurationTests {
         ProxmoxClient api = mock(ProxmoxClient.class);
         when(manager.getApi()).thenReturn(api);
 
+        ClusterInventory inventory = configuration.clusterInventory(manager, new Config());
+        TaskTracker tasks = configuration.taskTracker(manager, new Config());
         NodeTools nodeTools = configuration.nodeTools(manager);
-        VmTools vmTools = configuration.vmTools(manager);
-        StorageTools storageTools = configuration.storageTools(manager);
+        VmTools vmTools = configuration.vmTools(manager, new Config(), inventory, tasks);
+        StorageTools storageTools = configuration.storageTools(manager, new Config(), inventory);
         ClusterTools clusterTools = configuration.clusterTools(manager);
-        ContainerTools containerTools = configuration.containerTools(manager);
-        SnapshotTools snapshotTools = configuration.snapshotTools(manager);
-        IsoTools isoTools = configuration.isoTools(manager);
-        BackupTools backupTools = configuration.backupTools(manager);
+        ContainerTools containerTools = configuration.containerTools(manager, new Config(), inventory, tasks);
+        SnapshotTools snapshotTools = configuration.snapshotTools(manager, new Config(), inventory, tasks);
+        IsoTools isoTools = configuration.isoTools(manager, new Config(), inventory, tasks);
+        BackupTools backupTools = configuration.backupTools(manager, new Config(), inventory, tasks);
+        TaskTools taskTools = configuration.taskTools(manager, new Config(), inventory, tasks);
 
         assertThat(extractProxmox(nodeTools)).isSameAs(api);
         assertThat(extractProxmox(vmTools)).isSameAs(api);
@@ -105,6 +124,27 @@ class ProxmoxConfigurationTests {
         assertThat(extractProxmox(snapshotTools)).isSameAs(api);
         assertThat(extractProxmox(isoTools)).isSameAs(api);
         assertThat(extractProxmox(backupTools)).isSameAs(api);
+        assertThat(extractProxmox(taskTools)).isSameAs(api);
+        assertThat(List.of(vmTools, containerTools, snapshotTools, isoTools, backupTools, taskTools))
+            .allSatisfy(tool -> assertThat(extractTasks(tool)).isSameAs(tasks));
+    }
+
+    @Test
+    void metricBindersComeFromManagerApi() {
+        ProxmoxConfiguration configuration = new ProxmoxConfiguration();
+        ProxmoxManager manager = mock(ProxmoxManager.class);
+        ProxmoxClient api = mock(ProxmoxClient.class);
+        RequestCoalescer coalescer = new RequestCoalescer();
+        RequestThrottle throttle = new RequestThrottle(new ThrottleConfig());
+        ApiMetrics metrics = new ApiMetrics();
+        when(manager.getApi()).thenReturn(api);
+        when(api.getMetrics()).thenReturn(metrics);
+        when(api.getCoalescer()).thenReturn(coalescer);
+        when(api.getThrottle()).thenReturn(throttle);
+
+        assertThat(configuration.proxmoxCoalescingMetrics(manager)).isSameAs(coalescer);
+        assertThat(configuration.proxmoxThrottleMetrics(manager)).isSameAs(throttle);
+        assertThat(configuration.proxmoxApiMetrics(manager)).isSameAs(metrics);
     }
 
     @Test
@@ -132,9 +172,43 @@ class ProxmoxConfigurationTests {
         ProxmoxConfiguration configuration = new ProxmoxConfiguration();
         ProxmoxMcpTools tools = mock(ProxmoxMcpTools.class);
 
-        ToolCallbackProvider provider = configuration.proxmoxToolCallbacks(tools);
+        ToolCallbackProvider provider = configuration.proxmoxToolCallbacks(tools,
+            new ToolMetrics(new SimpleMeterRegistry()));
 
         assertThat(provider).isNotNull();
+        assertThat(provider.getToolCallbacks()).allMatch(InstrumentedToolCallback.class::isInstance);
+    }
+
+    @Test
+    void instrumentedCallbacksCoverEveryTool() {
+        ProxmoxConfiguration configuration = new ProxmoxConfiguration();
+        ProxmoxMcpTools tools = new ProxmoxMcpTools(mock(NodeTools.class), mock(VmTools.class),
+            mock(StorageTools.class), mock(ClusterTools.class), mock(ContainerTools.class),
+            mock(SnapshotTools.class), mock(IsoTools.class), mock(BackupTools.class), mock(TaskTools.class));
+        ToolMetrics toolMetrics = configuration.toolMetrics(
+            new StaticListableBeanFactory().getBeanProvider(MeterRegistry.class));
+
+        ToolCallbackProvider provider = configuration.proxmoxToolCallbacks(tools, toolMetrics);
+
+        assertThat(provider.getToolCallbacks()).isNotEmpty().allMatch(InstrumentedToolCallback.class::isInstance);
+        assertThat(configuration.toolMetricsEndpoint(toolMetrics).tools()).isEmpty();
+    }
+
+    @Test
+    void asyncToolsMirrorSyncCallbacks() {
+        ProxmoxConfiguration configuration = new ProxmoxConfiguration();
+        ProxmoxMcpTools tools = new ProxmoxMcpTools(mock(NodeTools.class), mock(VmTools.class),
+            mock(StorageTools.class), mock(ClusterTools.class), mock(ContainerTools.class),
+            mock(SnapshotTools.class), mock(IsoTools.class), mock(BackupTools.class), mock(TaskTools.class));
+        ToolMetrics toolMetrics = new ToolMetrics(new SimpleMeterRegistry());
+
+        try (AsyncToolExecutor executor = configuration.asyncToolExecutor()) {
+            List<AsyncToolSpecification> asyncTools = configuration.proxmoxAsyncTools(tools, toolMetrics, executor);
+
+            assertThat(asyncTools).extracting(specification -> specification.tool().name())
+                .containsExactlyElementsOf(Arrays.stream(configuration.proxmoxToolCallbacks(tools, toolMetrics)
+                    .getToolCallbacks()).map(callback -> callback.getToolDefinition().name()).toList());
+        }
     }
 
     @Test
@@ -154,4 +228,10 @@ class ProxmoxConfigurationTests {
         return (ProxmoxClient) field.get(tool);
     }
 
+    private static TaskTracker extractTasks(Object tool) throws Exception {
+        Field field = tool.getClass().getSuperclass().getDeclaredField("tasks");
+        field.setAccessible(true);
+        return (TaskTracker) field.get(tool);
+    }
+
 }
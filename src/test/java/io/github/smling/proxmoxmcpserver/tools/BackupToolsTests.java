@@ -4,6 +4,9 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,7 +14,11 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
@@ -68,6 +75,34 @@ class BackupToolsTests {
         assertThat(output).contains("Volume ID: backup:backup/vzdump-qemu-100.vma.zst");
     }
 
+    @Test
+    void listBackupsReusesCachedStorageInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "backup")
+            .put("content", "backup,iso"));
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "local")
+            .put("content", "images"));
+        ArrayNode content = mapper.createArrayNode();
+        content.add(mapper.createObjectNode().put("volid", "backup:backup/vzdump-lxc-101.tar.zst").put("vmid", "101"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "storage")))
+            .thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get(eq("/nodes/pve1/storage/backup/content"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(content));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            BackupTools tools = new BackupTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.listBackups(null, null, null);
+            String output = tools.listBackups("pve1", null, null);
+
+            assertThat(output).contains("Volume ID: backup:backup/vzdump-lxc-101.tar.zst");
+        }
+        verify(proxmox, times(1)).get("/cluster/resources", Map.of("type", "storage"));
+        verify(proxmox, never()).get("/nodes");
+        verify(proxmox, never()).get(eq("/nodes/pve1/storage/local/content"), anyMap());
+    }
+
     @Test
     void listBackupsSkipsNonBackupStorages() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -152,6 +187,20 @@ class BackupToolsTests {
         assertThat(output).contains("TASK");
     }
 
+    @Test
+    void restoreBackupInvalidatesInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ClusterInventory inventory = mock(ClusterInventory.class);
+        BackupTools tools = new BackupTools(proxmox, new ToolsConfig(), inventory);
+
+        when(proxmox.postForm(eq("/nodes/pve1/lxc"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK")));
+
+        tools.restoreBackup("pve1", "backup:backup/vzdump-lxc-101.tar.zst", "201", null, false);
+
+        verify(inventory).invalidate();
+    }
+
     @Test
     void restoreBackupIncludesStorageAndUniqueNo() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
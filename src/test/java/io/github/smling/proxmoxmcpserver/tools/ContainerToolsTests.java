@@ -2,8 +2,14 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.matches;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,13 +17,25 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.CacheConfig;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 
 class ContainerToolsTests {
 
@@ -93,6 +111,33 @@ class ContainerToolsTests {
         assertThat(output).contains("\"mem_bytes\" : 1024");
     }
 
+    @Test
+    void getContainersReadsLiveStatsFromClusterResources() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ContainerTools tools = new ContainerTools(proxmox);
+
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "running").put("cpu", 0.25).put("mem", 512).put("maxmem", 1024));
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve2").put("vmid", 102)
+            .put("name", "ct2").put("status", "running"));
+
+        ObjectNode config = mapper.createObjectNode();
+        config.put("cores", 2);
+        config.put("memory", 1);
+
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get("/nodes/pve1/lxc/101/config")).thenReturn(TestSupport.resultWithData(config));
+
+        String output = tools.getContainers("pve1", true, false, "json");
+
+        assertThat(output).contains("\"cpu_pct\" : 25.0");
+        assertThat(output).contains("\"mem_pct\" : 50.0");
+        assertThat(output).doesNotContain("ct2");
+        verify(proxmox, never()).get("/nodes/pve1/lxc/101/status/current");
+        verify(proxmox, never()).get("/nodes/pve1/lxc");
+    }
+
     @Test
     void getContainersUsesNodeFilterAndHandlesNumericIds() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -172,6 +217,62 @@ class ContainerToolsTests {
         assertThat(output).contains("unlimited");
     }
 
+    @Test
+    void getContainersReturnsPartialStatsWhenSomeContainersFail() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ContainerTools tools = new ContainerTools(proxmox);
+
+        ArrayNode containers = mapper.createArrayNode();
+        containers.add(mapper.createObjectNode().put("vmid", 101).put("name", "ct1"));
+        containers.add(mapper.createObjectNode().put("vmid", 102).put("name", "ct2"));
+
+        ObjectNode status = mapper.createObjectNode();
+        status.put("status", "running");
+        status.put("cpu", 0.5);
+        status.put("mem", 512);
+        status.put("maxmem", 1024);
+
+        when(proxmox.get("/nodes/pve1/lxc")).thenReturn(TestSupport.resultWithData(containers));
+        when(proxmox.get("/nodes/pve1/lxc/101/status/current")).thenReturn(TestSupport.resultWithData(status));
+        when(proxmox.get("/nodes/pve1/lxc/101/config")).thenReturn(TestSupport.resultWithData(
+            mapper.createObjectNode().put("cores", 1)));
+        when(proxmox.get("/nodes/pve1/lxc/102/status/current"))
+            .thenThrow(new IllegalStateException("Proxmox API error: 500"));
+
+        String output = tools.getContainers("pve1", true, false, "pretty");
+
+        assertThat(output).contains("ct1 (ID: 101)", "CPU: 50.0%", "ct2 (ID: 102)",
+            "Stats: unavailable (Proxmox API error: 500)");
+    }
+
+    @Test
+    void getContainersTimesOutSlowContainers() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ToolsConfig settings = new ToolsConfig();
+        settings.setStatsTimeoutSeconds(1);
+        ContainerTools tools = new ContainerTools(proxmox, settings, new ClusterInventory(proxmox));
+
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "running").put("cpu", 0.25).put("mem", 512).put("maxmem", 1024));
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 102)
+            .put("name", "ct2").put("status", "running").put("cpu", 0.25).put("mem", 512).put("maxmem", 1024));
+
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get("/nodes/pve1/lxc/101/config")).thenReturn(TestSupport.resultWithData(
+            mapper.createObjectNode().put("cores", 2)));
+        when(proxmox.get("/nodes/pve1/lxc/102/config")).thenAnswer(invocation -> {
+            Thread.sleep(10_000);
+            return TestSupport.resultWithData(mapper.createObjectNode());
+        });
+
+        long started = System.nanoTime();
+        String output = tools.getContainers(null, true, false, "json");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofSeconds(5));
+        assertThat(output).contains("\"cpu_pct\" : 25.0", "\"stats_error\" : \"timed out after 1000 ms\"");
+    }
+
     @Test
     void getContainersHandlesRrdErrors() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -199,6 +300,165 @@ class ContainerToolsTests {
         assertThat(output).contains("Containers");
     }
 
+    @Test
+    void selectorResolutionReusesCachedInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "stopped"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/start"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("UPID:pve1:start")));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.getContainers(null, false, false, "json");
+            String output = tools.startContainer("pve1:101", "json");
+
+            assertThat(output).contains("UPID:pve1:start");
+        }
+        verify(proxmox, times(1)).get("/cluster/resources", Map.of("type", "vm"));
+        verify(proxmox, never()).get("/nodes");
+    }
+
+    @Test
+    void containerActionInvalidatesCachedInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "stopped"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/start"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("UPID:pve1:start")));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.startContainer("ct1", 0, "json");
+            tools.getContainers(null, false, false, "json");
+        }
+        verify(proxmox, times(2)).get("/cluster/resources", Map.of("type", "vm"));
+    }
+
+    @Test
+    void updateContainerResourcesInvalidatesCachedInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "running"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.updateContainerResources("ct1", 2, null, null, null, null, "json");
+            tools.getContainers(null, false, false, "json");
+        }
+        verify(proxmox).putForm(eq("/nodes/pve1/lxc/101/config"), anyMap());
+        verify(proxmox, times(2)).get("/cluster/resources", Map.of("type", "vm"));
+    }
+
+    @Test
+    void failedContainerActionKeepsCachedInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "stopped"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/start"), anyMap()))
+            .thenThrow(new IllegalStateException("Proxmox API error: 500"));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.startContainer("ct1", 0, "json");
+            tools.getContainers(null, false, false, "json");
+        }
+        verify(proxmox, times(1)).get("/cluster/resources", Map.of("type", "vm"));
+    }
+
+    @Test
+    void resolveTargetsLabelsContainersByNameOrId() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 300));
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve2").put("vmid", "202")
+            .put("name", "cache"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            assertThat(tools.resolveTargets("300, CACHE")).containsExactly(
+                new ContainerTools.ContainerTarget("pve1", 300, "ct-300"),
+                new ContainerTools.ContainerTarget("pve2", 202, "cache"));
+        }
+    }
+
+    @Test
+    void containerIndexIsRebuiltOnlyWhenInventoryRefreshes() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "stopped"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            GuestSelector<ContainerTools.NodeContainerPair> first = tools.containerIndex();
+            assertThat(tools.containerIndex()).isSameAs(first);
+
+            inventory.invalidate();
+            assertThat(tools.containerIndex()).isNotSameAs(first);
+        }
+    }
+
+    @Test
+    void getContainersReusesCachedRrdSeries() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 101)
+            .put("name", "ct1").put("status", "running").put("cpu", 0.0).put("mem", 512).put("maxmem", 1024));
+        ArrayNode rrd = mapper.createArrayNode();
+        rrd.add(mapper.createObjectNode().put("time", 60).put("cpu", 0.125).put("mem", 256).put("maxmem", 1024));
+        rrd.add(mapper.createObjectNode().put("time", 120));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get(eq("/nodes/pve1/lxc/101/rrddata"), anyMap())).thenReturn(TestSupport.resultWithData(rrd));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.getContainers(null, true, false, "json");
+            String output = tools.getContainers(null, true, false, "json");
+
+            assertThat(output).contains("\"cpu_pct\" : 12.5", "\"mem_bytes\" : 512");
+        }
+        verify(proxmox, times(1)).get(eq("/nodes/pve1/lxc/101/rrddata"), anyMap());
+    }
+
+    @Test
+    void createContainerInvalidatesCachedInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm")))
+            .thenReturn(TestSupport.resultWithData(mapper.createArrayNode()));
+        when(proxmox.get("/cluster/resources", Map.of("type", "node"))).thenReturn(TestSupport.resultWithData(
+            mapper.createArrayNode().add(mapper.createObjectNode().put("type", "node").put("node", "pve1"))));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("UPID:pve1:create")));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            tools.createContainer("pve1", "200", "local:vztmpl/debian.tar.zst", "ct200", 1, 512, 512, 8,
+                "local-lvm", null, null, null, false, true);
+            tools.getContainers(null, false, false, "json");
+        }
+        verify(proxmox, times(2)).get("/cluster/resources", Map.of("type", "vm"));
+        verify(proxmox, never()).get("/nodes");
+    }
+
     @Test
     void getContainersHandlesZeroMaxMemory() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -278,6 +538,145 @@ class ContainerToolsTests {
         assertThat(output).contains("No containers matched");
     }
 
+    @Test
+    void restartContainerDispatchesConcurrentlyWithinPerNodeCap() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ArrayNode resources = mapper.createArrayNode();
+        for (int i = 0; i < 12; i++) {
+            resources.add(mapper.createObjectNode().put("type", "lxc").put("node", i % 2 == 0 ? "pve1" : "pve2")
+                .put("vmid", 100 + i).put("name", "web-" + i).put("status", "running"));
+        }
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        Map<String, AtomicInteger> inFlight = new ConcurrentHashMap<>();
+        AtomicInteger peakPerNode = new AtomicInteger();
+        AtomicInteger peakTotal = new AtomicInteger();
+        AtomicInteger total = new AtomicInteger();
+        when(proxmox.postForm(anyString(), anyMap())).thenAnswer(invocation -> {
+            String node = invocation.getArgument(0, String.class).split("/")[2];
+            AtomicInteger counter = inFlight.computeIfAbsent(node, key -> new AtomicInteger());
+            peakPerNode.accumulateAndGet(counter.incrementAndGet(), Math::max);
+            peakTotal.accumulateAndGet(total.incrementAndGet(), Math::max);
+            Thread.sleep(20);
+            counter.decrementAndGet();
+            total.decrementAndGet();
+            return TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK"));
+        });
+        ToolsConfig config = new ToolsConfig();
+        config.setBulkPerNodeConcurrency(2);
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, config, inventory);
+
+            String output = tools.restartContainer("web-*", 10, "pretty");
+
+            assertThat(output).contains("Containers: 12 | OK: 12 | Failed: 0");
+            assertThat(output.indexOf("web-0 ")).isLessThan(output.indexOf("web-11 "));
+        }
+        assertThat(peakPerNode.get()).isBetween(1, 2);
+        assertThat(peakTotal.get()).isGreaterThan(1);
+    }
+
+    @Test
+    void startContainerWaitsForTasksWhenRequested() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        TaskTracker tasks = mock(TaskTracker.class);
+        seedInventory(proxmox);
+        ArrayNode containers = mapper.createArrayNode();
+        containers.add(mapper.createObjectNode().put("vmid", 101).put("name", "ct1"));
+        containers.add(mapper.createObjectNode().put("vmid", 102).put("name", "ct2"));
+        when(proxmox.get("/nodes/pve1/lxc")).thenReturn(TestSupport.resultWithData(containers));
+        String okUpid = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:vzstart:101:root@pam:";
+        String failedUpid = "UPID:pve1:0000A1B3:0012C3D5:65A1B2C4:vzstart:102:root@pam:";
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/start"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode(okUpid)));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/102/status/start"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode(failedUpid)));
+        when(tasks.await(okUpid, Duration.ofSeconds(30)))
+            .thenReturn(new TaskTracker.TaskStatus(TaskTracker.Upid.parse(okUpid), "stopped", "OK"));
+        when(tasks.await(failedUpid, Duration.ofSeconds(30)))
+            .thenReturn(new TaskTracker.TaskStatus(TaskTracker.Upid.parse(failedUpid), "stopped", "startup failed"));
+        ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), new ClusterInventory(proxmox), tasks);
+
+        String output = tools.startContainer("ct1,ct2", 30, "pretty");
+
+        assertThat(output).contains("Containers: 2 | OK: 1 | Failed: 1", "OK ct1 (ID: 101, node: pve1)",
+            "FAIL ct2 (ID: 102, node: pve1) - Task failed: startup failed");
+        assertThat(tools.startContainer("ct1", 0, "json")).doesNotContain("task_status");
+        verify(tasks, times(2)).await(anyString(), eq(Duration.ofSeconds(30)));
+    }
+
+    @Test
+    void restartContainerRollsInWavesAfterHealthChecks() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        stubClusterContainers(proxmox, 4);
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        when(proxmox.postForm(anyString(), anyMap())).thenAnswer(invocation -> {
+            events.add("reboot:" + invocation.getArgument(0, String.class).split("/")[4]);
+            return TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK"));
+        });
+        when(proxmox.get(matches("/nodes/pve1/lxc/\\d+/status/current"))).thenAnswer(invocation -> {
+            events.add("health:" + invocation.getArgument(0, String.class).split("/")[4]);
+            return TestSupport.resultWithData(mapper.createObjectNode().put("status", "running"));
+        });
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory);
+
+            String output = tools.restartContainer("web-*", 10, null, 2, null, "pretty");
+
+            assertThat(output)
+                .contains("Restart Containers (rolling, waves of 2)", "Containers: 4 | OK: 4 | Failed: 0");
+        }
+        int secondWave = Math.min(events.indexOf("reboot:102"), events.indexOf("reboot:103"));
+        assertThat(events.subList(0, secondWave))
+            .containsExactlyInAnyOrder("reboot:100", "reboot:101", "health:100", "health:101");
+    }
+
+    @Test
+    void restartContainerAbortsRollWhenFailureBudgetIsExceeded() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        stubClusterContainers(proxmox, 3);
+        when(proxmox.postForm(anyString(), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK")));
+        when(proxmox.get("/nodes/pve1/lxc/100/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", "stopped")));
+        ToolsConfig config = new ToolsConfig();
+        config.setTaskPollInitialMillis(5);
+        config.setTaskPollMaxMillis(20);
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, config, inventory);
+
+            String output = tools.restartContainer("web-*", 10, 1, 1, 0, "pretty");
+
+            assertThat(output).contains("Containers: 3 | OK: 0 | Failed: 1 | Skipped: 2",
+                "FAIL web-0 (ID: 100, node: pve1) - Health check failed: status is stopped, expected running",
+                "SKIP web-1 (ID: 101, node: pve1) - Skipped: rollout aborted after 1 failure(s), max_failures 0");
+        }
+        verify(proxmox, times(1)).postForm(anyString(), anyMap());
+    }
+
+    @Test
+    void stopContainerRollingTreatsUnfinishedTasksAsFailures() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        TaskTracker tasks = mock(TaskTracker.class);
+        stubClusterContainers(proxmox, 2);
+        String upid = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:vzshutdown:100:root@pam:";
+        when(proxmox.postForm(anyString(), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode(upid)));
+        when(tasks.await(upid, Duration.ofSeconds(5)))
+            .thenReturn(new TaskTracker.TaskStatus(TaskTracker.Upid.parse(upid), "running", null));
+
+        try (ClusterInventory inventory = new ClusterInventory(proxmox, new CacheConfig())) {
+            ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), inventory, tasks);
+
+            String output = tools.stopContainer("web-0,web-1", true, 10, 5, 1, 1, "json");
+
+            assertThat(output).contains("\"error\" : \"Task still running after 5s\"", "\"wave\" : 2");
+        }
+        verify(proxmox, never()).get(matches(".*/status/current"));
+    }
+
     @Test
     void stopContainerUsesForceStopWhenNotGraceful() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -338,19 +737,56 @@ class ContainerToolsTests {
     @Test
     void deleteContainerStopsWhenForceEnabled() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
-        ContainerTools tools = new ContainerTools(proxmox);
+        TaskTracker tasks = mock(TaskTracker.class);
+        ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), new ClusterInventory(proxmox), tasks);
 
         seedInventory(proxmox);
 
         ObjectNode status = mapper.createObjectNode();
         status.put("status", "running");
         when(proxmox.get("/nodes/pve1/lxc/101/status/current")).thenReturn(TestSupport.resultWithData(status));
+        String stopUpid = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:vzstop:101:root@pam:";
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/stop"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode(stopUpid)));
+        when(tasks.await(stopUpid, Duration.ofSeconds(60)))
+            .thenReturn(new TaskTracker.TaskStatus(TaskTracker.Upid.parse(stopUpid), "stopped", "OK"));
         when(proxmox.delete("/nodes/pve1/lxc/101"))
             .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK")));
 
         String output = tools.deleteContainer("101", true, "pretty");
 
         assertThat(output).contains("Stopped and deleted");
+        InOrder order = inOrder(proxmox, tasks);
+        order.verify(proxmox).postForm(eq("/nodes/pve1/lxc/101/status/stop"), anyMap());
+        order.verify(tasks).await(stopUpid, Duration.ofSeconds(60));
+        order.verify(proxmox).delete("/nodes/pve1/lxc/101");
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "running | ''                 | Stop task still running after 20s; container not deleted",
+        "stopped | can't lock file    | Stop task failed: can't lock file; container not deleted"
+    })
+    void deleteContainerKeepsContainerWhenForcedStopDoesNotFinish(String taskState, String exitStatus,
+                                                                 String expected) throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        TaskTracker tasks = mock(TaskTracker.class);
+        ContainerTools tools = new ContainerTools(proxmox, new ToolsConfig(), new ClusterInventory(proxmox), tasks);
+
+        seedInventory(proxmox);
+
+        when(proxmox.get("/nodes/pve1/lxc/101/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", "running")));
+        String stopUpid = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:vzstop:101:root@pam:";
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/status/stop"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode(stopUpid)));
+        when(tasks.await(stopUpid, Duration.ofSeconds(20))).thenReturn(new TaskTracker.TaskStatus(
+            TaskTracker.Upid.parse(stopUpid), taskState, exitStatus.isEmpty() ? null : exitStatus));
+
+        String output = tools.deleteContainer("101", true, 20, "pretty");
+
+        assertThat(output).contains("FAIL", expected);
+        verify(proxmox, never()).delete("/nodes/pve1/lxc/101");
     }
 
     @Test
@@ -506,6 +942,15 @@ class ContainerToolsTests {
         }
     }
 
+    private void stubClusterContainers(ProxmoxClient proxmox, int count) throws Exception {
+        ArrayNode resources = mapper.createArrayNode();
+        for (int i = 0; i < count; i++) {
+            resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 100 + i)
+                .put("name", "web-" + i).put("status", "running"));
+        }
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+    }
+
     private void seedInventory(ProxmoxClient proxmox) throws Exception {
         ArrayNode nodes = mapper.createArrayNode();
         nodes.add(mapper.createObjectNode().put("node", "pve1"));
@@ -521,7 +966,7 @@ class ContainerToolsTests {
     }
 
     private static Stream<String> selectorCases() {
-        return Stream.of("pve1:101", "pve1/ct1", "101", "ct1", "101,ct1");
+        return Stream.of("pve1:101", "pve1/ct1", "101", "ct1", "101,ct1", "ct*", "pve1/c?1", "re:^ct\\d$");
     }
 
 }
@@ -0,0 +1,148 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.github.smling.proxmoxmcpserver.TestSupport;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class GuestSelectorTests {
+    private final ObjectMapper mapper = TestSupport.mapper();
+    private final Object source = new Object();
+    private GuestSelector<ContainerTools.NodeContainerPair> index;
+
+    @BeforeEach
+    void setUp() {
+        index = new GuestSelector<>(source, List.of(
+            pair("pve1", ct(101, "web-1").put("tags", "prod;web")),
+            pair("pve1", ct(102, "web-2").put("tags", "Canary")),
+            pair("pve2", ct(201, "db-1").put("tags", "prod")),
+            pair("pve2", mapper.createObjectNode().put("vmid", "202").put("hostname", "cache")),
+            pair("pve3", ct(101, "web-1")),
+            pair("pve3", mapper.createObjectNode().put("vmid", "x").put("name", "broken"))),
+            ContainerTools.NodeContainerPair::node, ContainerTools.NodeContainerPair::container);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "pve1:101                | pve1:101",
+        "pve2/db-1               | pve2:201",
+        "pve2/DB-1               | pve2:201",
+        "101                     | pve1:101,pve3:101",
+        "web-1                   | pve1:101,pve3:101",
+        "Web-1                   | pve1:101,pve3:101",
+        "cache                   | pve2:202",
+        "WEB-*                   | pve1:101,pve1:102,pve3:101",
+        "pve1/web-?              | pve1:101,pve1:102",
+        "re:^db-\\d$             | pve2:201",
+        "re:eb-2                 | pve1:102",
+        "tag:PROD                | pve1:101,pve2:201",
+        "tag:canary              | pve1:102",
+        "'db-1, pve1:101, 201'   | pve2:201,pve1:101",
+        "'pve9:101, tag:none, x' | ''",
+        "'pve1:abc, broken'      | ''",
+        "'re:^web-\\d{1,2}$, 201' | pve1:101,pve1:102,pve3:101,pve2:201",
+        "'re:^(db|web)-[1,2]$'   | pve1:101,pve1:102,pve2:201,pve3:101"
+    })
+    void resolvesSelectors(String selector, String expected) {
+        List<String> targets = index.resolve(selector).stream()
+            .map(pair -> pair.node() + ":" + GuestSelector.vmid(pair.container().path("vmid")))
+            .toList();
+
+        List<String> wanted = expected.isEmpty() ? List.of() : Arrays.asList(expected.split(","));
+        assertThat(targets).containsExactlyElementsOf(wanted);
+    }
+
+    @Test
+    void rejectsInvalidRegexToken() {
+        assertThatThrownBy(() -> index.resolve("web-1, re:web-(\\d"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("'re:web-(\\d'")
+            .hasMessageContaining("Unclosed group");
+    }
+
+    @Test
+    void skipsEntriesWithoutUsableVmid() {
+        assertThat(index.size()).isEqualTo(5);
+        assertThat(index.all()).extracting(ContainerTools.NodeContainerPair::node)
+            .containsExactly("pve1", "pve1", "pve2", "pve2", "pve3");
+        assertThat(index.isFor(source)).isTrue();
+        assertThat(index.isFor(new Object())).isFalse();
+        assertThat(new GuestSelector<ContainerTools.NodeContainerPair>(null, List.of(),
+            ContainerTools.NodeContainerPair::node, ContainerTools.NodeContainerPair::container).isFor(null)).isFalse();
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "prod;web  | WEB  | true",
+        "'a, b c'  | c    | true",
+        "webserver | web  | false",
+        "''        | web  | false"
+    })
+    void matchesTagsIgnoringCase(String tags, String tag, boolean present) {
+        assertThat(GuestSelector.hasTag(mapper.createObjectNode().put("tags", tags), tag)).isEqualTo(present);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "web-*, WEB-01, true",
+        "web-?, web-10, false",
+        "db.*, dbX1, false",
+        "*cache*, redis-cache-2, true"
+    })
+    void globMatchesWholeNameIgnoringCase(String glob, String name, boolean matches) {
+        assertThat(GuestSelector.glob(glob).matcher(name).matches()).isEqualTo(matches);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "web-*, true",
+        "pve1/web-?, true",
+        "web-1, false"
+    })
+    void detectsGlobWildcards(String token, boolean glob) {
+        assertThat(GuestSelector.isGlob(token)).isEqualTo(glob);
+    }
+
+    @ParameterizedTest
+    @CsvSource(delimiter = '|', value = {
+        "'101, pve1:102 ,, web-*'          | 101;pve1:102;web-*",
+        "'re:^web-\\d{2,3}$, tag:prod'      | re:^web-\\d{2,3}$;tag:prod",
+        "' RE:[a,b]x , 7'                  | RE:[a,b]x;7",
+        "'re:a\\,b,c'                       | re:a\\,b;c",
+        "'tag:a{1,2}'                      | tag:a{1;2}"
+    })
+    void splitsTokensKeepingRegexCommas(String selector, String expected) {
+        assertThat(GuestSelector.tokens(selector)).containsExactlyElementsOf(Arrays.asList(expected.split(";")));
+    }
+
+    @Test
+    void splitsNothingFromBlankSelectors() {
+        assertThat(GuestSelector.tokens(null)).isEmpty();
+        assertThat(GuestSelector.tokens(" , ")).isEqualTo(List.of());
+    }
+
+    @Test
+    void compilesRegexTokens() {
+        assertThat(GuestSelector.regex("re: ^db-\\d$").matcher("db-1").find()).isTrue();
+        assertThatThrownBy(() -> GuestSelector.regex("re:[web"))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageStartingWith("Invalid regular expression in selector token 're:[web': ")
+            .hasMessageContaining("Unclosed character class");
+    }
+
+    private ObjectNode ct(int vmid, String name) {
+        return mapper.createObjectNode().put("vmid", vmid).put("name", name);
+    }
+
+    private static ContainerTools.NodeContainerPair pair(String node, ObjectNode container) {
+        return new ContainerTools.NodeContainerPair(node, container, true);
+    }
+}
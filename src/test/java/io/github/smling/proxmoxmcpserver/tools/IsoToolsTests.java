@@ -4,6 +4,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -12,6 +14,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class IsoToolsTests {
@@ -62,6 +65,30 @@ class IsoToolsTests {
         assertThat(output).contains("test.iso");
     }
 
+    @Test
+    void listIsosReadsStoragePoolsFromInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        IsoTools tools = new IsoTools(proxmox);
+
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "local")
+            .put("content", "iso,vztmpl"));
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve2").put("storage", "local")
+            .put("content", "iso"));
+        ArrayNode content = mapper.createArrayNode();
+        content.add(mapper.createObjectNode().put("volid", "local:iso/debian.iso").put("size", 2048));
+        when(proxmox.get("/cluster/resources", Map.of("type", "storage")))
+            .thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get(eq("/nodes/pve2/storage/local/content"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(content));
+
+        String output = tools.listIsos("pve2", null);
+
+        assertThat(output).contains("debian.iso");
+        verify(proxmox, never()).get("/nodes");
+        verify(proxmox, never()).get(eq("/nodes/pve1/storage/local/content"), anyMap());
+    }
+
     @Test
     void listTemplatesRendersEntries() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
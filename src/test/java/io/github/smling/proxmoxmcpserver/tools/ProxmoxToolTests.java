@@ -2,13 +2,20 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
 import it.corsinvest.proxmoxve.api.Result;
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -17,6 +24,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 
 class ProxmoxToolTests {
+    private static final String UPID = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:qmstart:100:root@pam:";
 
     @Test
     void formatResponseHandlesNodeList() {
@@ -167,11 +175,63 @@ class ProxmoxToolTests {
         assertThat(node.path("value").asInt()).isEqualTo(1);
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "stopped, OK, 'Task Status: stopped (OK)'",
+        "stopped, command failed, 'Task Status: stopped (command failed)'",
+        "running, , 'Task Status: still running after 30s'"
+    })
+    void awaitTaskDescribesOutcome(String status, String exitStatus, String expected) throws Exception {
+        TaskTracker tasks = mock(TaskTracker.class);
+        TestTool tool = new TestTool(mock(ProxmoxClient.class), waitSeconds(30), tasks);
+        when(tasks.await(UPID, Duration.ofSeconds(30)))
+            .thenReturn(new TaskTracker.TaskStatus(TaskTracker.Upid.parse(UPID), status, exitStatus));
+
+        assertThat(tool.callAwaitTask(TestSupport.mapper().getNodeFactory().textNode(UPID)))
+            .isEqualTo("\n" + expected);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "0, " + UPID,
+        "30, not-a-upid"
+    })
+    void awaitTaskSkipsWhenDisabledOrNotUpid(int waitSeconds, String task) {
+        TaskTracker tasks = mock(TaskTracker.class);
+        TestTool tool = new TestTool(mock(ProxmoxClient.class), waitSeconds(waitSeconds), tasks);
+
+        assertThat(tool.callAwaitTask(TestSupport.mapper().getNodeFactory().textNode(task))).isEmpty();
+        verifyNoInteractions(tasks);
+    }
+
+    @Test
+    void awaitTaskIgnoresTrackerFailures() throws Exception {
+        TaskTracker tasks = mock(TaskTracker.class);
+        TestTool tool = new TestTool(mock(ProxmoxClient.class), waitSeconds(30), tasks);
+        when(tasks.await(any(), any())).thenThrow(new IllegalStateException("Proxmox API error: 500"));
+
+        assertThat(tool.callAwaitTask(TestSupport.mapper().getNodeFactory().textNode(UPID))).isEmpty();
+    }
+
+    private static ToolsConfig waitSeconds(int seconds) {
+        ToolsConfig config = new ToolsConfig();
+        config.setTaskWaitSeconds(seconds);
+        return config;
+    }
+
     private static final class TestTool extends ProxmoxTool {
         TestTool(ProxmoxClient proxmox) {
             super(proxmox);
         }
 
+        TestTool(ProxmoxClient proxmox, ToolsConfig tools, TaskTracker tasks) {
+            super(proxmox, tools, new ClusterInventory(proxmox), tasks);
+        }
+
+        String callAwaitTask(JsonNode task) {
+            return awaitTask(task);
+        }
+
         String callFormatResponse(Object data, String type) {
             return formatResponse(data, type);
         }
@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -11,6 +12,8 @@ import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
 import org.junit.jupiter.api.Test;
 
@@ -169,6 +172,22 @@ class SnapshotToolsTests {
         assertThat(output).contains("Deleted newer snapshots: child");
     }
 
+    @Test
+    void rollbackSnapshotInvalidatesInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ClusterInventory inventory = mock(ClusterInventory.class);
+        SnapshotTools tools = new SnapshotTools(proxmox, new ToolsConfig(), inventory, null);
+
+        when(proxmox.get("/nodes/pve1/lxc/101/snapshot"))
+            .thenReturn(TestSupport.resultWithData(mapper.createArrayNode()));
+        when(proxmox.postForm(eq("/nodes/pve1/lxc/101/snapshot/snap1/rollback"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK")));
+
+        tools.rollbackSnapshot("pve1", "101", "snap1", "lxc");
+
+        verify(inventory).invalidate();
+    }
+
     @Test
     void rollbackSnapshotHandlesNonArraySnapshots() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
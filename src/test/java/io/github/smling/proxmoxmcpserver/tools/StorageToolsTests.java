@@ -2,6 +2,8 @@ package io.github.smling.proxmoxmcpserver.tools;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -9,6 +11,7 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import java.util.Map;
 import org.junit.jupiter.api.Test;
 
 class StorageToolsTests {
@@ -92,4 +95,29 @@ class StorageToolsTests {
         assertThat(output).contains("Storage: local");
         assertThat(output).contains("Status: ONLINE");
     }
+
+    @Test
+    void getStorageReadsUsageFromClusterResources() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        StorageTools tools = new StorageTools(proxmox);
+
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve2").put("storage", "nfs")
+            .put("plugintype", "nfs").put("content", "backup").put("status", "available")
+            .put("disk", 10).put("maxdisk", 40));
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "nfs")
+            .put("plugintype", "nfs").put("content", "backup").put("status", "available")
+            .put("disk", 10).put("maxdisk", 40));
+        resources.add(mapper.createObjectNode().put("type", "storage").put("node", "pve1").put("storage", "local")
+            .put("plugintype", "dir").put("content", "iso").put("status", "unknown"));
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve1").put("vmid", 100));
+
+        when(proxmox.get("/cluster/resources", Map.of("type", "storage"))).thenReturn(TestSupport.resultWithData(resources));
+
+        String output = tools.getStorage();
+
+        assertThat(output).containsOnlyOnce("Storage: nfs");
+        assertThat(output).containsSubsequence("Storage: local", "Status: OFFLINE", "Storage: nfs", "Status: ONLINE");
+        verify(proxmox, never()).get("/storage");
+    }
 }
@@ -0,0 +1,100 @@
+package io.github.smling.proxmoxmcpserver.tools;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
+import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.core.TaskTracker;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+class TaskToolsTests {
+    private static final String UPID = "UPID:pve1:0000A1B2:0012C3D4:65A1B2C3:qmstart:100:root@pam:";
+
+    private TaskTracker tasks;
+    private TaskTools tools;
+
+    @BeforeEach
+    void setUp() {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        tasks = mock(TaskTracker.class);
+        tools = new TaskTools(proxmox, new ToolsConfig(), new ClusterInventory(proxmox), tasks);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "running, , 'Status: RUNNING - running'",
+        "stopped, OK, 'Status: OK - stopped (OK)'",
+        "stopped, command failed, 'Status: FAILED - stopped (command failed)'"
+    })
+    void getTaskFormatsStatusAndLog(String status, String exitStatus, String expected) throws Exception {
+        when(tasks.status(UPID)).thenReturn(status(status, exitStatus));
+        when(tasks.log(UPID, 10)).thenReturn(List.of("starting VM 100", "TASK OK"));
+
+        String output = tools.getTask(UPID, null);
+
+        assertThat(output).contains("Task: " + UPID, "Node: pve1", "Type: qmstart", "ID: 100", "User: root@pam",
+            expected, "Log (last 2 lines):", "  TASK OK");
+        assertThat(output).doesNotContain("Waited:");
+    }
+
+    @Test
+    void getTaskToleratesLogFailure() throws Exception {
+        when(tasks.status(UPID)).thenReturn(status("stopped", "OK"));
+        when(tasks.log(UPID, 3)).thenThrow(new IllegalStateException("Proxmox API error: 403"));
+
+        assertThat(tools.getTask(UPID, 3)).contains("Status: OK").doesNotContain("Log (");
+    }
+
+    @Test
+    void getTaskRejectsInvalidUpid() throws Exception {
+        when(tasks.status("TASK")).thenThrow(new IllegalArgumentException("Invalid UPID: TASK"));
+
+        assertThatThrownBy(() -> tools.getTask("TASK", null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid UPID");
+    }
+
+    @Test
+    void waitTaskUsesDefaultTimeout() throws Exception {
+        when(tasks.await(UPID, Duration.ofSeconds(60))).thenReturn(status("stopped", "OK"));
+        when(tasks.log(UPID, 5)).thenReturn(List.of("TASK OK"));
+
+        String output = tools.waitTask(UPID, null, 5);
+
+        assertThat(output).contains("Status: OK", "Waited: ").doesNotContain("still running");
+        verify(tasks).await(UPID, Duration.ofSeconds(60));
+    }
+
+    @Test
+    void waitTaskReportsStillRunning() throws Exception {
+        when(tasks.await(UPID, Duration.ofSeconds(2))).thenReturn(status("running", null));
+        when(tasks.log(UPID, 10)).thenReturn(List.of());
+
+        assertThat(tools.waitTask(UPID, Duration.ofSeconds(2), null))
+            .contains("Status: RUNNING", "task still running; call wait_task again")
+            .doesNotContain("Log (");
+    }
+
+    @Test
+    void waitTaskWrapsTrackerFailures() throws Exception {
+        when(tasks.await(UPID, Duration.ofSeconds(60))).thenThrow(new IllegalStateException("boom"));
+
+        assertThatThrownBy(() -> tools.waitTask(UPID, null, null))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("Failed to wait for task");
+    }
+
+    private static TaskTracker.TaskStatus status(String status, String exitStatus) {
+        return new TaskTracker.TaskStatus(TaskTracker.Upid.parse(UPID), status, exitStatus);
+    }
+}
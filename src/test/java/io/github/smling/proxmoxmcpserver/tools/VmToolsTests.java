@@ -7,18 +7,27 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
+import io.github.smling.proxmoxmcpserver.core.ClusterInventory;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.tools.console.CommandOutputListener;
 import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager;
 import java.lang.reflect.Field;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.MethodSource;
 
 class VmToolsTests {
@@ -85,6 +94,61 @@ class VmToolsTests {
         assertThat(output).contains("CPU Cores: N/A");
     }
 
+    @Test
+    void getVmsFetchesConfigsConcurrentlyInNodeOrder() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ToolsConfig toolsConfig = new ToolsConfig();
+        toolsConfig.setMaxConcurrency(4);
+        VmTools tools = new VmTools(proxmox, toolsConfig, new ClusterInventory(proxmox));
+
+        ArrayNode nodes = mapper.createArrayNode();
+        nodes.add(mapper.createObjectNode().put("node", "pve1"));
+        nodes.add(mapper.createObjectNode().put("node", "pve2"));
+        when(proxmox.get("/nodes")).thenReturn(TestSupport.resultWithData(nodes));
+        for (String nodeName : List.of("pve1", "pve2")) {
+            ArrayNode vms = mapper.createArrayNode();
+            for (int i = 0; i < 5; i++) {
+                String vmid = nodeName.substring(3) + "0" + i;
+                vms.add(mapper.createObjectNode().put("vmid", vmid).put("name", "vm" + vmid)
+                    .put("status", "running"));
+                when(proxmox.get("/nodes/" + nodeName + "/qemu/" + vmid + "/config")).thenAnswer(invocation -> {
+                    Thread.sleep(10);
+                    return TestSupport.resultWithData(mapper.createObjectNode().put("cores", vmid));
+                });
+            }
+            when(proxmox.get("/nodes/" + nodeName + "/qemu")).thenReturn(TestSupport.resultWithData(vms));
+        }
+
+        String output = tools.getVms();
+
+        assertThat(output).containsSubsequence("VM: vm100", "VM: vm104", "VM: vm200", "VM: vm204");
+        assertThat(output).contains("CPU Cores: 203");
+    }
+
+    @Test
+    void getVmsReadsInventoryFromClusterResources() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve2").put("vmid", 200)
+            .put("name", "vm2").put("status", "stopped").put("mem", 0).put("maxmem", 2048));
+        resources.add(mapper.createObjectNode().put("type", "qemu").put("node", "pve1").put("vmid", 100)
+            .put("name", "vm1").put("status", "running").put("mem", 1024).put("maxmem", 2048));
+        resources.add(mapper.createObjectNode().put("type", "lxc").put("node", "pve1").put("vmid", 300));
+
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        when(proxmox.get("/nodes/pve1/qemu/100/config"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("cores", 4)));
+        when(proxmox.get("/nodes/pve2/qemu/200/config")).thenThrow(new RuntimeException("boom"));
+
+        String output = tools.getVms();
+
+        assertThat(output).containsSubsequence("VM: vm1", "CPU Cores: 4", "VM: vm2", "CPU Cores: N/A");
+        assertThat(output).doesNotContain("300");
+        verify(proxmox, never()).get("/nodes");
+    }
+
     @Test
     void createVmThrowsWhenAlreadyExists() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -287,6 +351,47 @@ class VmToolsTests {
         assertThat(tools.startVm("pve1", "100")).contains("start initiated");
     }
 
+    @ParameterizedTest
+    @CsvSource({
+        "start, stopped",
+        "stop, running",
+        "shutdown, running",
+        "reset, running"
+    })
+    void powerActionsInvalidateInventory(String action, String current) throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ClusterInventory inventory = mock(ClusterInventory.class);
+        VmTools tools = new VmTools(proxmox, new ToolsConfig(), inventory);
+
+        when(proxmox.get("/nodes/pve1/qemu/100/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", current)));
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/100/status/" + action), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.getNodeFactory().textNode("TASK")));
+
+        switch (action) {
+            case "start" -> tools.startVm("pve1", "100");
+            case "stop" -> tools.stopVm("pve1", "100");
+            case "shutdown" -> tools.shutdownVm("pve1", "100");
+            default -> tools.resetVm("pve1", "100");
+        }
+
+        verify(inventory).invalidate();
+    }
+
+    @Test
+    void startVmKeepsInventoryWhenAlreadyRunning() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ClusterInventory inventory = mock(ClusterInventory.class);
+        VmTools tools = new VmTools(proxmox, new ToolsConfig(), inventory);
+
+        when(proxmox.get("/nodes/pve1/qemu/100/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", "running")));
+
+        tools.startVm("pve1", "100");
+
+        verify(inventory, never()).invalidate();
+    }
+
     @Test
     void stopVmReturnsAlreadyStopped() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -381,6 +486,58 @@ class VmToolsTests {
         assertThat(output).contains("SUCCESS");
     }
 
+    @Test
+    void executeCommandWithTimeoutReportsStillRunningAsFailed() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        VmConsoleManager consoleManager = mock(VmConsoleManager.class);
+        setField(tools, "consoleManager", consoleManager);
+
+        when(consoleManager.executeCommand("pve1", "100", "sleep 600", Duration.ofSeconds(5)))
+            .thenReturn(Map.of("success", false, "exited", false, "pid", "123", "output", "",
+                "error", "Command still running after 5000 ms (pid 123)"));
+
+        String output = tools.executeCommand("pve1", "100", "sleep 600", Duration.ofSeconds(5));
+
+        assertThat(output).contains("FAILED").contains("still running");
+    }
+
+    @Test
+    void streamCommandFormatsSummaryWithByteCounts() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        VmConsoleManager consoleManager = mock(VmConsoleManager.class);
+        setField(tools, "consoleManager", consoleManager);
+        when(consoleManager.streamCommand("pve1", "100", "dmesg", Duration.ofSeconds(5), 10, true,
+            CommandOutputListener.NONE))
+            .thenReturn(new VmConsoleManager.CommandSummary("123", true, 0, "last line\n", "", 5000, 0, true, 42));
+
+        String output = tools.streamCommand("pve1", "100", "dmesg", Duration.ofSeconds(5), 10, true,
+            CommandOutputListener.NONE);
+
+        assertThat(output).contains("Status: SUCCESS", "PID: 123", "Exit Code: 0",
+            "Output: 5000 bytes stdout, 0 bytes stderr (showing last 10 bytes per stream)", "Elapsed: 42 ms",
+            "last line");
+    }
+
+    @Test
+    void streamCommandUsesConfiguredDefaults() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        ToolsConfig toolsConfig = new ToolsConfig();
+        toolsConfig.setCommandTimeoutSeconds(12);
+        toolsConfig.setCommandOutputMaxBytes(2048);
+        VmTools tools = new VmTools(proxmox, toolsConfig, new ClusterInventory(proxmox));
+        VmConsoleManager consoleManager = mock(VmConsoleManager.class);
+        setField(tools, "consoleManager", consoleManager);
+        when(consoleManager.streamCommand("pve1", "100", "sleep 600", Duration.ofSeconds(12), 2048, false,
+            CommandOutputListener.NONE))
+            .thenReturn(new VmConsoleManager.CommandSummary("123", false, null, "", "", 0, 0, false, 12000));
+
+        String output = tools.streamCommand("pve1", "100", "sleep 600", null, null, false, CommandOutputListener.NONE);
+
+        assertThat(output).contains("Status: RUNNING", "Exit Code: -", "still running");
+    }
+
     @Test
     void executeCommandPropagatesError() throws Exception {
         ProxmoxClient proxmox = mock(ProxmoxClient.class);
@@ -471,6 +628,154 @@ class VmToolsTests {
             .hasMessageContaining("Failed to start VM");
     }
 
+    @Test
+    void executeCommandOnVmsRunsOnSelectedVmsOnly() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+        for (int vmid : List.of(101, 102)) {
+            when(proxmox.postForm(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec"), anyMap()))
+                .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("pid", vmid)));
+            when(proxmox.get(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec-status"), anyMap()))
+                .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("exited", 1)
+                    .put("exitcode", vmid - 101).put("out-data", "up " + vmid)));
+        }
+
+        String output = tools.executeCommandOnVms(null, "pve1", "web", "WEB-*", "uptime", 4, Duration.ofSeconds(5),
+            null);
+
+        assertThat(output).contains("Command Results: uptime")
+            .contains("VMs: 3 | OK: 1 | Failed: 2 | Still running: 0");
+        assertThat(output).containsPattern("101\\s+pve1\\s+web-1\\s+OK\\s+0\\s+\\d+ms\\s+up 101");
+        assertThat(output).containsPattern("102\\s+pve1\\s+web-2\\s+FAILED\\s+1");
+        assertThat(output).containsPattern("103\\s+pve1\\s+web-3\\s+ERROR\\s+-.*VM is not running");
+        assertThat(output).doesNotContain("db-1").doesNotContain("web-9");
+        verify(proxmox, never()).postForm(eq("/nodes/pve1/qemu/103/agent/exec"), anyMap());
+    }
+
+    @Test
+    void executeCommandOnVmsRendersJson() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/104/agent/exec"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("pid", 7)));
+        when(proxmox.get(eq("/nodes/pve1/qemu/104/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("exited", 1).put("exitcode", 0)
+                .put("out-data", "line1\nline2\n")));
+
+        String output = tools.executeCommandOnVms("pve1:104, pve2/web-9", null, null, null, "cat log", null, null,
+            "json");
+
+        JsonNode json = mapper.readTree(output);
+        assertThat(json.path("command").asText()).isEqualTo("cat log");
+        assertThat(json.path("results")).hasSize(2);
+        JsonNode first = json.path("results").get(0);
+        assertThat(first.path("vmid").asInt()).isEqualTo(105);
+        assertThat(first.path("outcome").asText()).isEqualTo("failed");
+        JsonNode second = json.path("results").get(1);
+        assertThat(second.path("vmid").asInt()).isEqualTo(104);
+        assertThat(second.path("ok").asBoolean()).isTrue();
+        assertThat(second.path("output").asText()).isEqualTo("line1\nline2\n");
+    }
+
+    @Test
+    void executeCommandOnVmsAcceptsSharedSelectorGrammar() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+        for (int vmid : List.of(101, 102, 104)) {
+            when(proxmox.postForm(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec"), anyMap()))
+                .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("pid", vmid)));
+            when(proxmox.get(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec-status"), anyMap()))
+                .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("exited", 1).put("exitcode", 0)));
+        }
+
+        String output = tools.executeCommandOnVms("re:^web-[1,2]$, tag:DB, WEB-9", null, null, null, "uptime", null,
+            Duration.ofSeconds(5), "json");
+
+        assertThat(mapper.readTree(output).path("results")).extracting(result -> result.path("vmid").asInt())
+            .containsExactlyInAnyOrder(101, 102, 104, 105);
+    }
+
+    @Test
+    void executeCommandOnVmsRejectsInvalidRegexSelector() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+
+        assertThatThrownBy(() -> tools.executeCommandOnVms("re:web-(", null, null, null, "uptime", null, null, null))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Invalid regular expression in selector token 're:web-('");
+    }
+
+    @Test
+    void executeCommandOnVmsChecksLiveStatusInsteadOfInventory() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+        stubLiveStatus(proxmox, "pve1", 103, "running");
+        stubLiveStatus(proxmox, "pve1", 101, "stopped");
+        when(proxmox.get("/nodes/pve1/qemu/102/status/current")).thenThrow(new RuntimeException("timeout"));
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/103/agent/exec"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("pid", 3)));
+        when(proxmox.get(eq("/nodes/pve1/qemu/103/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("exited", 1).put("exitcode", 0)));
+
+        String output = tools.executeCommandOnVms("101,102,103", null, null, null, "uptime", null,
+            Duration.ofSeconds(5), null);
+
+        assertThat(output).contains("VMs: 3 | OK: 1 | Failed: 2");
+        assertThat(output).containsPattern("101\\s+pve1\\s+web-1\\s+ERROR.*VM is not running \\(status: stopped\\)");
+        assertThat(output).containsPattern("102\\s+pve1\\s+web-2\\s+ERROR.*Status check failed: timeout");
+        assertThat(output).containsPattern("103\\s+pve1\\s+web-3\\s+OK");
+        verify(proxmox, never()).postForm(eq("/nodes/pve1/qemu/101/agent/exec"), anyMap());
+        verify(proxmox, never()).postForm(eq("/nodes/pve1/qemu/102/agent/exec"), anyMap());
+    }
+
+    @Test
+    void executeCommandOnVmsRequiresSelection() {
+        VmTools tools = new VmTools(mock(ProxmoxClient.class));
+
+        assertThatThrownBy(() -> tools.executeCommandOnVms(" ", null, null, "", "uptime", null, null, null))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("at least one of vmids, node, tag or name_pattern");
+    }
+
+    @Test
+    void executeCommandOnVmsRejectsEmptySelection() throws Exception {
+        ProxmoxClient proxmox = mock(ProxmoxClient.class);
+        VmTools tools = new VmTools(proxmox);
+        stubTaggedVms(proxmox);
+
+        assertThatThrownBy(() -> tools.executeCommandOnVms(null, null, "missing", null, "uptime", null, null, null))
+            .isInstanceOf(RuntimeException.class)
+            .hasMessageContaining("No VMs matched the selection");
+    }
+
+    private void stubTaggedVms(ProxmoxClient proxmox) throws Exception {
+        ArrayNode resources = mapper.createArrayNode();
+        resources.add(vmResource("pve1", 103, "web-3", "stopped", "web;prod"));
+        resources.add(vmResource("pve1", 101, "web-1", "running", "web;prod"));
+        resources.add(vmResource("pve1", 102, "web-2", "running", "Web"));
+        resources.add(vmResource("pve1", 104, "db-1", "running", "db"));
+        resources.add(vmResource("pve2", 105, "web-9", "stopped", "web"));
+        when(proxmox.get("/cluster/resources", Map.of("type", "vm"))).thenReturn(TestSupport.resultWithData(resources));
+        for (JsonNode vm : resources) {
+            stubLiveStatus(proxmox, vm.path("node").asText(), vm.path("vmid").asInt(), vm.path("status").asText());
+        }
+    }
+
+    private void stubLiveStatus(ProxmoxClient proxmox, String node, int vmid, String status) throws Exception {
+        when(proxmox.get("/nodes/" + node + "/qemu/" + vmid + "/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", status)));
+    }
+
+    private ObjectNode vmResource(String node, int vmid, String name, String status, String tags) {
+        return mapper.createObjectNode().put("type", "qemu").put("node", node).put("vmid", vmid).put("name", name)
+            .put("status", status).put("tags", tags);
+    }
+
     private static void setField(Object target, String name, Object value) throws Exception {
         Field field = target.getClass().getDeclaredField(name);
         field.setAccessible(true);
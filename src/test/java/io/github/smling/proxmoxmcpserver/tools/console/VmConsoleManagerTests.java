@@ -2,21 +2,40 @@ package io.github.smling.proxmoxmcpserver.tools.console;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import io.github.smling.proxmoxmcpserver.TestSupport;
+import io.github.smling.proxmoxmcpserver.config.ToolsConfig;
 import io.github.smling.proxmoxmcpserver.core.ProxmoxClient;
+import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager.CommandResult;
+import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager.CommandSummary;
+import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager.CommandTarget;
+import io.github.smling.proxmoxmcpserver.tools.console.VmConsoleManager.Outcome;
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
 
 class VmConsoleManagerTests {
 
     private final ObjectMapper mapper = TestSupport.mapper();
+    private final ProxmoxClient proxmox = mock(ProxmoxClient.class);
 
     @Test
     void executeCommandReturnsConsoleOutput() throws Exception {
@@ -117,4 +136,329 @@ class VmConsoleManagerTests {
             .isInstanceOf(IllegalArgumentException.class)
             .hasMessageContaining("not found");
     }
+
+    @Test
+    void executeCommandPollsUntilExited() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 2, "done")));
+
+        Map<String, Object> result = manager.executeCommand("pve1", "100", "make");
+
+        assertThat(result).containsEntry("success", true)
+            .containsEntry("exited", true)
+            .containsEntry("output", "done")
+            .containsEntry("exit_code", 2);
+        verify(proxmox, times(3)).get("/nodes/pve1/qemu/100/agent/exec-status", Map.of("pid", "123"));
+    }
+
+    @Test
+    void executeCommandReturnsFastCommandsWithoutFixedDelay() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "up 3 days")));
+
+        long started = System.nanoTime();
+        Map<String, Object> result = manager.executeCommand("pve1", "100", "uptime");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+        assertThat(result).containsEntry("output", "up 3 days");
+    }
+
+    @Test
+    void executeCommandReportsCommandsStillRunningAtDeadline() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "partial")));
+
+        long started = System.nanoTime();
+        Map<String, Object> result = manager.executeCommand("pve1", "100", "sleep 600", Duration.ofMillis(150));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(elapsed).isBetween(Duration.ofMillis(150), Duration.ofSeconds(1));
+        assertThat(result).containsEntry("success", false)
+            .containsEntry("exited", false)
+            .containsEntry("pid", "123")
+            .containsEntry("output", "partial")
+            .doesNotContainKey("exit_code");
+        assertThat(result.get("error").toString()).contains("still running");
+    }
+
+    @Test
+    void executeCommandCapsPollInterval() throws Exception {
+        ToolsConfig tools = new ToolsConfig();
+        tools.setCommandPollInitialMillis(5);
+        tools.setCommandPollMaxMillis(10);
+        VmConsoleManager manager = new VmConsoleManager(proxmox, tools);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")));
+
+        manager.executeCommand("pve1", "100", "sleep 600", Duration.ofMillis(120));
+
+        verify(proxmox, atLeast(8)).get("/nodes/pve1/qemu/100/agent/exec-status", Map.of("pid", "123"));
+    }
+
+    @Test
+    void streamCommandPassesNewOutputToListener() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "line1\n")))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "line1\nline2\n")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "line1\nline2\ndone\n")));
+        RecordingListener listener = new RecordingListener();
+
+        CommandSummary summary = manager.streamCommand("pve1", "100", "tail log", Duration.ofSeconds(5), 1024, false,
+            listener);
+
+        assertThat(listener.chunks).containsExactly("stdout:line1\n", "stdout:line2\n", "stdout:done\n");
+        assertThat(listener.running).containsExactly("123", "123");
+        assertThat(summary.ok()).isTrue();
+        assertThat(summary.output()).isEqualTo("line1\nline2\ndone\n");
+        assertThat(summary.outputBytes()).isEqualTo(17);
+        assertThat(summary.truncated()).isFalse();
+    }
+
+    @Test
+    void streamCommandSplitsLargeOutputIntoChunks() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        ObjectNode status = execStatus(true, 1, "x".repeat(10_000));
+        status.put("err-data", "failed");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(status));
+        RecordingListener listener = new RecordingListener();
+
+        CommandSummary summary = manager.streamCommand("pve1", "100", "cat big", Duration.ofSeconds(5), 100_000, false,
+            listener);
+
+        assertThat(listener.chunks).hasSize(4).last().isEqualTo("stderr:failed");
+        assertThat(listener.chunks.get(0)).hasSize("stdout:".length() + 4096);
+        assertThat(summary.ok()).isFalse();
+        assertThat(summary.exitCode()).isEqualTo(1);
+        assertThat(summary.outputBytes()).isEqualTo(10_000);
+        assertThat(summary.errorBytes()).isEqualTo(6);
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+        "abcdefghij, 4, false, abcd, 10",
+        "abcdefghij, 4, true, ghij, 10",
+        "h\u00e9llo\u20ac, 4, false, h\u00e9l, 9",
+        "h\u00e9llo\u20ac, 4, true, o\u20ac, 9"
+    })
+    void streamCommandCapsOutputBytes(String output, int cap, boolean tail, String kept, long bytes) throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, output)));
+
+        CommandSummary summary = manager.streamCommand("pve1", "100", "cat", Duration.ofSeconds(5), cap, tail,
+            CommandOutputListener.NONE);
+
+        assertThat(summary.output()).isEqualTo(kept);
+        assertThat(summary.outputBytes()).isEqualTo(bytes);
+        assertThat(summary.truncated()).isTrue();
+    }
+
+    @Test
+    void streamCommandReportsCommandsStillRunningAtDeadline() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubRunningVmWithPid("123");
+        when(proxmox.get(eq("/nodes/pve1/qemu/100/agent/exec-status"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")));
+
+        CommandSummary summary = manager.streamCommand("pve1", "100", "sleep 600", Duration.ofMillis(100), 1024,
+            false, CommandOutputListener.NONE);
+
+        assertThat(summary.exited()).isFalse();
+        assertThat(summary.exitCode()).isNull();
+        assertThat(summary.pid()).isEqualTo("123");
+        assertThat(summary.elapsedMillis()).isGreaterThanOrEqualTo(100);
+    }
+
+    @Test
+    void streamCommandRejectsStoppedVm() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        when(proxmox.get("/nodes/pve1/qemu/100/status/current"))
+            .thenReturn(TestSupport.resultWithData(mapper.createObjectNode().put("status", "stopped")));
+
+        assertThatThrownBy(() -> manager.streamCommand("pve1", "100", "uptime", Duration.ofSeconds(1), 1024, false,
+            CommandOutputListener.NONE))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("not running");
+    }
+
+    @Test
+    void executeCommandsReportsEveryOutcome() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        stubExec(101, "11");
+        stubExec(102, "12");
+        stubExec(104, "14");
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/103/agent/exec"), anyMap()))
+            .thenThrow(new RuntimeException("QEMU guest agent is not running"));
+        when(proxmox.get("/nodes/pve1/qemu/101/agent/exec-status", Map.of("pid", "11")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "ok")));
+        when(proxmox.get("/nodes/pve1/qemu/102/agent/exec-status", Map.of("pid", "12")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 3, "")));
+        when(proxmox.get("/nodes/pve1/qemu/104/agent/exec-status", Map.of("pid", "14")))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "partial")));
+        List<CommandResult> heard = new CopyOnWriteArrayList<>();
+
+        List<CommandResult> results = manager.executeCommands(
+            List.of(target(101), target(102), target(103), target(104)), "uptime", Duration.ofMillis(100), 4,
+            heard::add);
+
+        assertThat(results).containsExactlyInAnyOrderElementsOf(heard);
+        assertThat(results).extracting(result -> result.target().vmid(), CommandResult::outcome,
+                CommandResult::exitCode, CommandResult::ok)
+            .containsExactlyInAnyOrder(
+                tuple(101, Outcome.EXITED, 0, true),
+                tuple(102, Outcome.EXITED, 3, false),
+                tuple(103, Outcome.FAILED, null, false),
+                tuple(104, Outcome.RUNNING, null, false));
+        assertThat(results.get(results.size() - 1).target().vmid()).isEqualTo(104);
+        assertThat(results.get(results.size() - 1).output()).isEqualTo("partial");
+    }
+
+    @Test
+    void executeCommandsPollsAllPidsInSharedRounds() throws Exception {
+        ToolsConfig tools = new ToolsConfig();
+        tools.setCommandPollInitialMillis(5);
+        tools.setCommandPollMaxMillis(5);
+        VmConsoleManager manager = new VmConsoleManager(proxmox, tools);
+        stubExec(101, "11");
+        stubExec(102, "12");
+        when(proxmox.get("/nodes/pve1/qemu/101/agent/exec-status", Map.of("pid", "11")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "fast")));
+        when(proxmox.get("/nodes/pve1/qemu/102/agent/exec-status", Map.of("pid", "12")))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")))
+            .thenReturn(TestSupport.resultWithData(execStatus(false, null, "")))
+            .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "slow")));
+
+        List<CommandResult> results = manager.executeCommands(List.of(target(102), target(101)), "uptime",
+            Duration.ofSeconds(5), 2, result -> { });
+
+        assertThat(results).extracting(CommandResult::output).containsExactly("fast", "slow");
+        verify(proxmox, times(1)).get("/nodes/pve1/qemu/101/agent/exec-status", Map.of("pid", "11"));
+        verify(proxmox, times(3)).get("/nodes/pve1/qemu/102/agent/exec-status", Map.of("pid", "12"));
+    }
+
+    @Test
+    void executeCommandsDispatchesConcurrently() throws Exception {
+        VmConsoleManager manager = new VmConsoleManager(proxmox);
+        for (int vmid = 101; vmid <= 108; vmid++) {
+            ObjectNode exec = mapper.createObjectNode().put("pid", String.valueOf(vmid));
+            when(proxmox.postForm(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec"), anyMap())).thenAnswer(invocation -> {
+                Thread.sleep(100);
+                return TestSupport.resultWithData(exec);
+            });
+            when(proxmox.get(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec-status"), anyMap()))
+                .thenReturn(TestSupport.resultWithData(execStatus(true, 0, "ok")));
+        }
+        List<CommandTarget> targets = List.of(target(101), target(102), target(103), target(104),
+            target(105), target(106), target(107), target(108));
+
+        long started = System.nanoTime();
+        List<CommandResult> results = manager.executeCommands(targets, "uptime", Duration.ofSeconds(5), 8,
+            result -> { });
+
+        assertThat(Duration.ofNanos(System.nanoTime() - started)).isLessThan(Duration.ofMillis(500));
+        assertThat(results).hasSize(8).allMatch(CommandResult::ok);
+    }
+
+    @Test
+    void executeCommandsReportsPendingCommandsWhenInterruptedDuringRound() throws Exception {
+        ToolsConfig tools = new ToolsConfig();
+        tools.setCommandPollInitialMillis(5);
+        tools.setCommandPollMaxMillis(5);
+        VmConsoleManager manager = new VmConsoleManager(proxmox, tools);
+        stubExec(101, "11");
+        stubExec(102, "12");
+        CountDownLatch polling = new CountDownLatch(2);
+        when(proxmox.get("/nodes/pve1/qemu/102/agent/exec-status", Map.of("pid", "12"))).thenAnswer(invocation -> {
+            polling.countDown();
+            Thread.sleep(10_000);
+            return TestSupport.resultWithData(execStatus(true, 0, "late"));
+        });
+        when(proxmox.get("/nodes/pve1/qemu/101/agent/exec-status", Map.of("pid", "11"))).thenAnswer(invocation -> {
+            polling.countDown();
+            return TestSupport.resultWithData(execStatus(true, 0, "fast"));
+        });
+        AtomicReference<List<CommandResult>> results = new AtomicReference<>();
+        AtomicBoolean interrupted = new AtomicBoolean();
+        Thread caller = new Thread(() -> {
+            results.set(manager.executeCommands(List.of(target(102), target(101)), "uptime",
+                Duration.ofSeconds(30), 2, result -> { }));
+            interrupted.set(Thread.currentThread().isInterrupted());
+        });
+
+        caller.start();
+        assertThat(polling.await(5, TimeUnit.SECONDS)).isTrue();
+        caller.interrupt();
+        caller.join(5_000);
+
+        assertThat(caller.isAlive()).isFalse();
+        assertThat(interrupted).isTrue();
+        assertThat(results.get()).extracting(result -> result.target().vmid(), CommandResult::outcome,
+                CommandResult::pid)
+            .containsExactlyInAnyOrder(
+                tuple(101, Outcome.EXITED, "11"),
+                tuple(102, Outcome.FAILED, "12"));
+    }
+
+    private void stubRunningVmWithPid(String pid) throws Exception {
+        ObjectNode status = mapper.createObjectNode();
+        status.put("status", "running");
+        when(proxmox.get("/nodes/pve1/qemu/100/status/current"))
+            .thenReturn(TestSupport.resultWithData(status));
+        ObjectNode exec = mapper.createObjectNode();
+        exec.put("pid", pid);
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/100/agent/exec"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(exec));
+    }
+
+    private ObjectNode execStatus(boolean exited, Integer exitCode, String out) {
+        ObjectNode status = mapper.createObjectNode();
+        status.put("exited", exited ? 1 : 0);
+        if (exitCode != null) {
+            status.put("exitcode", exitCode);
+        }
+        if (!out.isEmpty()) {
+            status.put("out-data", out);
+        }
+        return status;
+    }
+
+    private void stubExec(int vmid, String pid) throws Exception {
+        ObjectNode exec = mapper.createObjectNode();
+        exec.put("pid", pid);
+        when(proxmox.postForm(eq("/nodes/pve1/qemu/" + vmid + "/agent/exec"), anyMap()))
+            .thenReturn(TestSupport.resultWithData(exec));
+    }
+
+    private static CommandTarget target(int vmid) {
+        return new CommandTarget("pve1", vmid, "vm" + vmid);
+    }
+
+    private static final class RecordingListener implements CommandOutputListener {
+        private final List<String> chunks = new CopyOnWriteArrayList<>();
+        private final List<String> running = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void output(String stream, String chunk) {
+            chunks.add(stream + ":" + chunk);
+        }
+
+        @Override
+        public void running(String pid, long elapsedMillis) {
+            running.add(pid);
+        }
+    }
 }